@@ -0,0 +1,354 @@
+package api;
+
+import gameplay.Controller;
+import gameplay.Game;
+import gameplay.GameListener;
+import gameplay.GameSnapshot;
+import gameplay.GameStatus;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import replay.RandomUserInterface;
+import server.TableActor;
+import card.player.Symbol;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <b> A small HTTP API over tables, for tooling and dashboards. </b>
+ * <p>
+ * Routes (every body is JSON):
+ * <ul>
+ * 	<li>GET /tables: the id, status, current player and winners of each table;</li>
+ * 	<li>POST /tables {"players": [names], "seed": n}: starts a table whose
+ * 		decisions are taken at random, and answers with its snapshot;</li>
+ * 	<li>GET /tables/{id}: the board, the players with their points, and the
+ * 		leaders (see {@link GameSnapshot#getLeaders()});</li>
+ * 	<li>POST /tables/{id}/actions {"action": "NEXT_TURN" | "RESTORE_HAND" |
+ * 		"PERFORM_SYMBOL", "symbol": name}: applies the action and answers
+ * 		with the new snapshot;</li>
+ * 	<li>GET /tables/{id}/events: a chunked stream of the table's snapshots,
+ * 		one per line, as they are published, until the game finishes.</li>
+ * </ul>
+ * The reads are answered from the last snapshot published by the table
+ * (see {@link SnapshotJson}), so polling never waits for the game; only the
+ * actions go through the table's {@link TableActor}.
+ * </p>
+ * <p>
+ * The requests are handled by a fixed number of threads with a bounded
+ * queue. When the queue is full, the thread accepting the requests handles
+ * the next one itself, which slows the clients down instead of queueing
+ * without bound. Each event stream holds a thread, so at most half the
+ * threads stream at a time.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class HttpApi implements AutoCloseable {
+
+	public static final int DEFAULT_PORT = 6480;
+	/**
+	 * The longest an action may take before the request gives up on it.
+	 */
+	private static final long ACTION_TIMEOUT_SECONDS = 30;
+	private static final int EVENT_QUEUE_SIZE = 64;
+
+	/**
+	 * A table served by the API.
+	 */
+	private static final class Table {
+		private final TableActor actor;
+		private final SnapshotJson json;
+
+		private Table(int id, TableActor actor_) {
+			actor = actor_;
+			json = new SnapshotJson(id);
+		}
+	}
+
+	private final HttpServer server;
+	private final ThreadPoolExecutor executor;
+	private final Executor tableExecutor;
+	private final Semaphore streams;
+	private final Map<Integer, Table> tables = new ConcurrentHashMap<>();
+	private final AtomicInteger nextTable = new AtomicInteger();
+
+	/**
+	 * Starts serving.
+	 * @param address the address to listen on; port 0 picks a free port
+	 * @param threads the number of threads handling the requests
+	 * @param queueCapacity the number of requests which can wait for a thread
+	 * @param tableExecutor_ the threads the tables started through the API run on
+	 */
+	public HttpApi(InetSocketAddress address, int threads, int queueCapacity, Executor tableExecutor_)
+			throws IOException {
+		tableExecutor = tableExecutor_;
+		streams = new Semaphore(Math.max(1, threads / 2));
+		AtomicInteger count = new AtomicInteger();
+		executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(queueCapacity), r -> {
+					Thread t = new Thread(r, "http-api-" + count.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+		server = HttpServer.create(address, 0);
+		server.setExecutor(executor);
+		server.createContext("/tables", this::handle);
+		server.start();
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Serves a table which is played elsewhere, e.g. by a remote client.
+	 * The actions submitted through the API are applied to it as well.
+	 */
+	public void addTable(int id, TableActor actor) {
+		tables.put(id, new Table(id, actor));
+		nextTable.accumulateAndGet(id, Math::max);
+	}
+
+	public void removeTable(int id) {
+		tables.remove(id);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			String[] path = exchange.getRequestURI().getPath().split("/");
+			String method = exchange.getRequestMethod();
+			// path[0] is empty and path[1] is "tables"
+			if (path.length == 2) {
+				if (method.equals("GET")) {
+					listTables(exchange);
+				} else if (method.equals("POST")) {
+					startTable(exchange);
+				} else {
+					error(exchange, 405, "Only GET and POST are allowed");
+				}
+				return;
+			}
+			Table table = path.length <= 4 ? tables.get(parseId(path[2])) : null;
+			if (table == null) {
+				error(exchange, 404, "No such table");
+			} else if (path.length == 3 && method.equals("GET")) {
+				send(exchange, 200, table.json.get(table.actor.getSnapshot()));
+			} else if (path.length == 4 && path[3].equals("actions") && method.equals("POST")) {
+				act(exchange, table);
+			} else if (path.length == 4 && path[3].equals("events") && method.equals("GET")) {
+				streamEvents(exchange, table);
+			} else {
+				error(exchange, 404, "No such resource");
+			}
+		} catch (IllegalArgumentException | IllegalStateException | JsonParseException e) {
+			error(exchange, 400, e.getMessage());
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private static int parseId(String id) {
+		try {
+			return Integer.parseInt(id);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private void listTables(HttpExchange exchange) throws IOException {
+		JsonArray list = new JsonArray();
+		for (Map.Entry<Integer, Table> e : tables.entrySet()) {
+			list.add(SnapshotJson.summary(e.getKey(), e.getValue().actor.getSnapshot()));
+		}
+		send(exchange, 200, list);
+	}
+
+	private void startTable(HttpExchange exchange) throws IOException {
+		JsonObject body = readBody(exchange);
+		JsonArray players = body.getAsJsonArray("players");
+		if (players == null) {
+			throw new IllegalArgumentException("The names of the players are missing");
+		}
+		String[] names = new String[players.size()];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = players.get(i).getAsString();
+		}
+		long seed = body.has("seed") ? body.get("seed").getAsLong() : new Random().nextLong();
+		Game game = new Game();
+		game.setUI(new RandomUserInterface(seed));
+		int id = nextTable.incrementAndGet();
+		game.setTableId(id);
+		Table table = new Table(id, new TableActor(tableExecutor, game, new Random(seed)));
+		boolean started = await(table.actor.submit(c -> c.newGame(names.length, names)));
+		if (!started) {
+			throw new IllegalArgumentException("Could not start a game with " + names.length + " players");
+		}
+		tables.put(id, table);
+		send(exchange, 201, table.json.get(table.actor.getSnapshot()));
+	}
+
+	private void act(HttpExchange exchange, Table table) throws IOException {
+		JsonObject body = readBody(exchange);
+		String action = body.has("action") ? body.get("action").getAsString() : "";
+		Function<Controller, Object> command;
+		switch (action) {
+		case "NEXT_TURN":
+			command = c -> c.playTurn(c.advanceToNextTurn());
+			break;
+		case "RESTORE_HAND":
+			command = c -> {
+				c.restorePlayerHand(c.getPlayerOfCurrentTurn());
+				return null;
+			};
+			break;
+		case "PERFORM_SYMBOL":
+			Symbol symbol = Symbol.valueOf(body.get("symbol").getAsString());
+			command = c -> {
+				c.performSymbolAction(c.getPlayerOfCurrentTurn(), symbol);
+				return null;
+			};
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown action \"" + action + "\"");
+		}
+		await(table.actor.submit(c -> {
+			GameStatus status = c.getGameStatus();
+			if (status != GameStatus.PLAYING) {
+				throw new IllegalStateException("The game is " + status.name().toLowerCase());
+			}
+			return command.apply(c);
+		}));
+		send(exchange, 200, table.json.get(table.actor.getSnapshot()));
+	}
+
+	/**
+	 * Streams the snapshots of the table until the game finishes or the
+	 * client goes away. Snapshots the client is too slow for are skipped.
+	 */
+	private void streamEvents(HttpExchange exchange, Table table) throws IOException {
+		if (!streams.tryAcquire()) {
+			error(exchange, 503, "Too many event streams");
+			return;
+		}
+		BlockingQueue<GameSnapshot> published = new ArrayBlockingQueue<>(EVENT_QUEUE_SIZE);
+		GameListener listener = new GameListener() {
+			@Override
+			public void snapshotPublished(Game game, GameSnapshot snapshot) {
+				while (!published.offer(snapshot)) {
+					published.poll();
+				}
+			}
+		};
+		table.actor.<Void>submit(c -> {
+			c.getGame().addListener(listener);
+			return null;
+		});
+		try {
+			exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+			exchange.sendResponseHeaders(200, 0);
+			OutputStream out = exchange.getResponseBody();
+			GameSnapshot snapshot = table.actor.getSnapshot();
+			long version = -1;
+			while (true) {
+				if (snapshot.getVersion() > version) {
+					version = snapshot.getVersion();
+					out.write(table.json.get(snapshot));
+					out.write('\n');
+					out.flush();
+				}
+				if (snapshot.getStatus() == GameStatus.FINISHED) {
+					break;
+				}
+				snapshot = published.take();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			streams.release();
+			table.actor.<Void>submit(c -> {
+				c.getGame().removeListener(listener);
+				return null;
+			});
+		}
+	}
+
+	private static <T> T await(CompletableFuture<T> result) {
+		try {
+			return result.get(ACTION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		} catch (TimeoutException e) {
+			throw new IllegalStateException("The table did not answer in time");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted");
+		}
+	}
+
+	private static JsonObject readBody(HttpExchange exchange) throws IOException {
+		try (Reader in = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+			JsonElement body = new JsonParser().parse(in);
+			if (!body.isJsonObject()) {
+				throw new IllegalArgumentException("The body must be a JSON object");
+			}
+			return body.getAsJsonObject();
+		}
+	}
+
+	private static void send(HttpExchange exchange, int status, JsonElement json) throws IOException {
+		send(exchange, status, json.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void send(HttpExchange exchange, int status, byte[] json) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, json.length);
+		exchange.getResponseBody().write(json);
+	}
+
+	private static void error(HttpExchange exchange, int status, String message) throws IOException {
+		JsonObject json = new JsonObject();
+		json.addProperty("error", message);
+		send(exchange, status, json);
+	}
+
+	/**
+	 * Stops serving; the event streams are cut.
+	 */
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+}
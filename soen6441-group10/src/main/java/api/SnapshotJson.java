@@ -0,0 +1,144 @@
+package api;
+
+import gameplay.GameSnapshot;
+import gameplay.GameSnapshot.AreaSnapshot;
+import gameplay.GameSnapshot.PlayerSnapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import util.Color;
+import card.player.GreenPlayerCard;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * <b> The JSON encoding of the snapshots of a table, cached. </b>
+ * <p>
+ * A snapshot never changes once published, so its encoding is only worked
+ * out once, by whichever request asks for it first, and handed to every
+ * other request until the table publishes a new snapshot. Encoding only
+ * reads the snapshot, never the game, so the requests never wait for the
+ * table's thread.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class SnapshotJson {
+
+	private static final class Encoded {
+		private final GameSnapshot snapshot;
+		private final byte[] json;
+
+		private Encoded(GameSnapshot snapshot_, byte[] json_) {
+			snapshot = snapshot_;
+			json = json_;
+		}
+	}
+
+	private final int tableId;
+	private final AtomicReference<Encoded> last = new AtomicReference<>();
+
+	public SnapshotJson(int tableId_) {
+		tableId = tableId_;
+	}
+
+	/**
+	 * @return the UTF-8 JSON of the given snapshot of the table; the array
+	 * 	is shared and must not be modified.
+	 */
+	public byte[] get(GameSnapshot snapshot) {
+		Encoded e = last.get();
+		if (e != null && e.snapshot == snapshot) {
+			return e.json;
+		}
+		Encoded fresh = new Encoded(snapshot, encode(tableId, snapshot).toString().getBytes(StandardCharsets.UTF_8));
+		// Only a newer snapshot replaces the cached one
+		if (e == null || e.snapshot.getVersion() < snapshot.getVersion()) {
+			last.compareAndSet(e, fresh);
+		}
+		return fresh.json;
+	}
+
+	/**
+	 * @return the JSON of the given snapshot: the board, the players with
+	 * 	their points, and the leaders.
+	 */
+	public static JsonObject encode(int tableId, GameSnapshot s) {
+		JsonObject json = summary(tableId, s);
+		json.addProperty("bank", s.getBankBalance());
+		json.addProperty("playerDeck", s.getPlayerDeckSize());
+		json.addProperty("randomEventDeck", s.getRandomEventDeckSize());
+
+		JsonArray players = new JsonArray();
+		for (PlayerSnapshot p : s.getPlayers()) {
+			JsonObject player = new JsonObject();
+			player.addProperty("color", p.getColor().name());
+			player.addProperty("name", p.getName());
+			player.addProperty("personality", p.getPersonality() == null ? null : p.getPersonality().name());
+			player.addProperty("money", p.getMoney());
+			player.addProperty("points", p.getPoints());
+			player.addProperty("minions", p.getMinions());
+			player.addProperty("buildings", p.getBuildings());
+			player.addProperty("handSize", p.getHandSize());
+			JsonArray cards = new JsonArray();
+			for (GreenPlayerCard c : p.getPlayerCards()) {
+				cards.add(new JsonPrimitive(c.name()));
+			}
+			player.add("cards", cards);
+			players.add(player);
+		}
+		json.add("players", players);
+
+		JsonArray board = new JsonArray();
+		for (AreaSnapshot a : s.getAreas()) {
+			JsonObject area = new JsonObject();
+			area.addProperty("area", a.getArea().name());
+			area.addProperty("buildingOwner", name(a.getBuildingOwner()));
+			JsonObject minions = new JsonObject();
+			for (Map.Entry<Color, Integer> m : a.getMinions().entrySet()) {
+				minions.addProperty(m.getKey().name(), m.getValue());
+			}
+			area.add("minions", minions);
+			area.addProperty("trolls", a.getTrolls());
+			area.addProperty("demons", a.getDemons());
+			area.addProperty("troubleMarker", a.hasTroubleMarker());
+			area.addProperty("controlledBy", name(a.getControlledBy()));
+			board.add(area);
+		}
+		json.add("board", board);
+		json.add("leaders", colors(s.getLeaders()));
+		return json;
+	}
+
+	/**
+	 * @return the JSON of what a list of tables shows of the given snapshot.
+	 */
+	public static JsonObject summary(int tableId, GameSnapshot s) {
+		JsonObject json = new JsonObject();
+		json.addProperty("id", tableId);
+		json.addProperty("version", s.getVersion());
+		json.addProperty("status", s.getStatus().name());
+		json.addProperty("currentPlayer", name(s.getCurrentPlayer()));
+		json.add("winners", colors(s.getWinners()));
+		return json;
+	}
+
+	private static JsonArray colors(Collection<Color> colors) {
+		JsonArray array = new JsonArray();
+		for (Color c : colors) {
+			array.add(new JsonPrimitive(c.name()));
+		}
+		return array;
+	}
+
+	private static String name(Color c) {
+		return c == null ? null : c.name();
+	}
+
+}
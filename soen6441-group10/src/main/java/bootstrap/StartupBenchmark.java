@@ -0,0 +1,169 @@
+package bootstrap;
+
+import gameplay.Controller;
+import gameplay.Game;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import replay.RandomUserInterface;
+import util.Color;
+import util.Interrupt;
+import card.city.AnkhMorporkArea;
+import card.player.GreenPlayerCard;
+import card.player.Symbol;
+
+/**
+ * <b> Measures the time a new virtual machine takes to get to its first game. </b>
+ * <p>
+ * The benchmark starts the given number of virtual machines one after the
+ * other, each of which sets up the game's static tables, starts a game of
+ * four and plays a few turns at random, the way a simulation worker or a
+ * tool would. It reports the time from the start of each process to its
+ * first game, and the time spent in the process on the static tables and
+ * on the game.
+ * </p>
+ * <p>
+ * The options following the number of runs are given to the virtual
+ * machines, e.g. the class-data sharing archive built by the "appcds"
+ * profile of the build, to compare the startup with and without it:
+ * </p>
+ * <pre>
+ * java bootstrap.StartupBenchmark 20
+ * java bootstrap.StartupBenchmark 20 -XX:SharedArchiveFile=target/ankhmorpork.jsa
+ * </pre>
+ * A single run in this process, which the archive is built from:
+ * <pre>
+ * java bootstrap.StartupBenchmark probe
+ * </pre>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class StartupBenchmark {
+
+	public static final String PROBE = "probe";
+
+	private static final String[] NAMES = { "George", "Dimitri", "Ross", "Nick" };
+	private static final int TURNS = 8;
+
+	/**
+	 * Sets up the static tables and plays a first game, then prints the
+	 * nanoseconds each took.
+	 */
+	static void probe() {
+		long start = System.nanoTime();
+		int constants = Color.values().length + Interrupt.values().length + AnkhMorporkArea.values().length
+				+ Symbol.values().length + GreenPlayerCard.values().length;
+		long tables = System.nanoTime();
+
+		// The game prints as it is played
+		PrintStream out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+		}));
+		try {
+			Game game = new Game();
+			game.setUI(new RandomUserInterface(1));
+			Controller controller = new Controller(game);
+			controller.newGame(NAMES.length, NAMES);
+			for (int turn = 0; turn < TURNS; turn++) {
+				if (controller.playTurn(controller.advanceToNextTurn())) {
+					break;
+				}
+			}
+		} finally {
+			System.setOut(out);
+		}
+		long game = System.nanoTime();
+		System.out.println(PROBE + " " + constants + " " + (tables - start) + " " + (game - tables));
+	}
+
+	/**
+	 * Starts a virtual machine which runs the probe.
+	 * @return the nanoseconds from the start of the process to the end of its
+	 * 	first game, then those taken by the static tables and by the game.
+	 */
+	static long[] run(List<String> options) throws IOException, InterruptedException {
+		List<String> command = new ArrayList<>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.addAll(options);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(StartupBenchmark.class.getName());
+		command.add(PROBE);
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		String result = null;
+		try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(),
+				StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (line.startsWith(PROBE + " ")) {
+					result = line;
+				} else {
+					// Warnings of the virtual machine, e.g. an archive which cannot be mapped
+					System.out.println(line);
+				}
+			}
+		}
+		long total = System.nanoTime() - start;
+		if (process.waitFor() != 0 || result == null) {
+			throw new IllegalStateException("The probe failed with " + process.exitValue());
+		}
+		String[] fields = result.split(" ");
+		return new long[] { total, Long.parseLong(fields[2]), Long.parseLong(fields[3]) };
+	}
+
+	private static double median(List<Long> nanos) {
+		List<Long> sorted = new ArrayList<>(nanos);
+		Collections.sort(sorted);
+		return millis(sorted.get(sorted.size() / 2));
+	}
+
+	private static double millis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length > 0 && args[0].equals(PROBE)) {
+			probe();
+			return;
+		}
+		int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		List<String> options = args.length > 1 ? Arrays.asList(args).subList(1, args.length)
+				: Collections.<String>emptyList();
+
+		List<Long> totals = new ArrayList<>();
+		List<Long> tables = new ArrayList<>();
+		List<Long> games = new ArrayList<>();
+		for (int i = 0; i < runs; i++) {
+			long[] run = run(options);
+			totals.add(run[0]);
+			tables.add(run[1]);
+			games.add(run[2]);
+		}
+		System.out.println(runs + " runs" + (options.isEmpty() ? "" : " with " + String.join(" ", options)));
+		System.out.println(String.format("time to first game  median %7.1f ms  min %7.1f ms", median(totals),
+				millis(Collections.min(totals))));
+		System.out.println(String.format("  static tables     median %7.1f ms", median(tables)));
+		System.out.println(String.format("  first game        median %7.1f ms", median(games)));
+	}
+
+}
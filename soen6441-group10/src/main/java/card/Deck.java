@@ -1,5 +1,7 @@
 package card;
 
+import gameplay.Die;
+
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Stack;
@@ -34,17 +36,17 @@ public abstract class Deck<C extends Card> {
 	}
 	
 	/**
-	 * <b>Puts card into the deck.</b>
+	 * <b>Puts card into the deck, to be drawn next.</b>
 	 */
-	public void putCardOnTop() {
-		
+	public void putCardOnTop(C card) {
+		cards.push(card);
 	}
 	
 	/**
 	 * <b>Shuffles the deck.</b>
 	 */
 	public void shuffle() {
-		Collections.shuffle(cards);
+		Collections.shuffle(cards, Die.getDie().getRandom());
 	}
 	
 	/**
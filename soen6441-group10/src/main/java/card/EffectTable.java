@@ -0,0 +1,127 @@
+package card;
+
+import gameplay.Game;
+import gameplay.Player;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import card.city.AnkhMorporkArea;
+import card.player.GreenPlayerCard;
+import card.player.Symbol;
+import card.random.RandomEventCard;
+
+/**
+ * <b> The effects of the rules wrapped by a tool, e.g. a profiler, in place
+ * of the original ones. </b>
+ * <p>
+ * The text of every green player card, the action of every symbol and city
+ * area card and the effect of every random event are wrapped into a table
+ * which is built whole, then published with a single volatile write: a game
+ * played on any thread looks its effects up either all in the table or all
+ * among the original ones, never in a table half built. Once unwrapped, the
+ * cards give their original effects themselves, so nothing of the wrapping
+ * is left in the games played.
+ * </p>
+ * <p>
+ * The price is a volatile read and a branch at every effect played, wrapped or
+ * not: a few nanoseconds, where the effects take microseconds (see
+ * {@link profiling.EffectLookupBenchmark}). Putting the wrapped effects in the
+ * cards' own fields would save it, but a game played on another thread could
+ * then see some effects wrapped and others not.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public final class EffectTable {
+
+	/**
+	 * Wraps the effects of the rules, one at a time.
+	 */
+	public interface Wrapper {
+		/**
+		 * @param effect the card, symbol, area or event whose effect it is
+		 * @param action the original effect, or null if there is none
+		 * @return what is played instead of the original effect
+		 */
+		<T, U> BiConsumer<T, U> wrap(Enum<?> effect, BiConsumer<T, U> action);
+	}
+
+	/** The wrapped effects, or null while the original ones are played. */
+	private static volatile EffectTable wrapped;
+
+	private final List<BiConsumer<Player, Game>> texts = new ArrayList<>();
+	private final List<BiConsumer<Player, Game>> symbolActions = new ArrayList<>();
+	private final Map<AnkhMorporkArea, BiConsumer<Player, Game>> areaActions = new EnumMap<>(AnkhMorporkArea.class);
+	private final List<BiConsumer<Game, Player>> events = new ArrayList<>();
+
+	/**
+	 * Wraps the original effects, which the cards give while none are wrapped.
+	 */
+	private EffectTable(Wrapper wrapper) {
+		for (GreenPlayerCard c : GreenPlayerCard.values()) {
+			texts.add(wrapper.wrap(c, c.getText()));
+		}
+		for (Symbol s : Symbol.values()) {
+			symbolActions.add(wrapper.wrap(s, s.getGameAction()));
+		}
+		for (AnkhMorporkArea a : AnkhMorporkArea.values()) {
+			areaActions.put(a, wrapper.wrap(a, AnkhMorporkArea.getAreaAction(a)));
+		}
+		for (RandomEventCard e : RandomEventCard.values()) {
+			events.add(wrapper.wrap(e, e.getGameAction()));
+		}
+	}
+
+	/**
+	 * Plays the effects the given wrapper wraps the original ones in, from
+	 * now on and on every thread.
+	 * @throws IllegalStateException if the effects are wrapped already
+	 */
+	public static synchronized void wrap(Wrapper wrapper) {
+		if (wrapped != null) {
+			throw new IllegalStateException("The effects of the rules are wrapped already");
+		}
+		wrapped = new EffectTable(wrapper);
+	}
+
+	/**
+	 * Plays the original effects again.
+	 */
+	public static synchronized void unwrap() {
+		wrapped = null;
+	}
+
+	public static boolean isWrapped() {
+		return wrapped != null;
+	}
+
+	/**
+	 * @return the wrapped text of the given card if the effects are wrapped,
+	 * 	the given original text otherwise.
+	 */
+	public static BiConsumer<Player, Game> textOf(GreenPlayerCard card, BiConsumer<Player, Game> text) {
+		EffectTable table = wrapped;
+		return table == null ? text : table.texts.get(card.ordinal());
+	}
+
+	public static BiConsumer<Player, Game> actionOf(Symbol symbol, BiConsumer<Player, Game> action) {
+		EffectTable table = wrapped;
+		return table == null ? action : table.symbolActions.get(symbol.ordinal());
+	}
+
+	public static BiConsumer<Player, Game> areaActionOf(AnkhMorporkArea area, BiConsumer<Player, Game> action) {
+		EffectTable table = wrapped;
+		return table == null ? action : table.areaActions.get(area);
+	}
+
+	public static BiConsumer<Game, Player> eventOf(RandomEventCard event, BiConsumer<Game, Player> action) {
+		EffectTable table = wrapped;
+		return table == null ? action : table.events.get(event.ordinal());
+	}
+
+}
@@ -3,16 +3,18 @@ package card.city;
 import gameplay.BoardArea;
 import gameplay.Game;
 import gameplay.Player;
-import io.TextUserInterface;
+import io.UserInterface;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import card.Card;
+import card.EffectTable;
 import card.player.GreenPlayerCard;
 import card.player.Symbol;
 
@@ -62,120 +64,137 @@ public enum AnkhMorporkArea implements Card {
 
 	private static final int MINION_COST = 3;
 	
-	protected static final Map<Integer, AnkhMorporkArea> codeToAreaMap = new HashMap<>();
+	/**
+	 * The areas indexed by their code, so that the area of a die roll is
+	 * looked up without boxing or hashing the roll.
+	 */
+	private static final AnkhMorporkArea[] areasByCode;
 	static {
-		for (AnkhMorporkArea a : AnkhMorporkArea.values()) {
-			codeToAreaMap.put(a.getAreaCode(), a);
+		int maxCode = 0;
+		for (AnkhMorporkArea a : values()) {
+			maxCode = Math.max(maxCode, a.getAreaCode());
+		}
+		areasByCode = new AnkhMorporkArea[maxCode + 1];
+		for (AnkhMorporkArea a : values()) {
+			areasByCode[a.getAreaCode()] = a;
 		}
 	}
 	
-	private static final Map<AnkhMorporkArea, BiConsumer<Player, Game>> cityCardFunctionMap
-		= new HashMap<>();
-	static { 
+	/**
+	 * The actions of the city area cards, set up the first time one is
+	 * looked up rather than when the areas are: most uses of the areas, e.g.
+	 * loading a game, never play a city area card.
+	 */
+	private static final class CityCardActions {
+
+		private static final Map<AnkhMorporkArea, BiConsumer<Player, Game>> ACTIONS
+			= new EnumMap<>(AnkhMorporkArea.class);
+		static {
 		
-		// 1. DOLLY_SISTERS
-		cityCardFunctionMap.put(DOLLY_SISTERS, (player, game) -> {
-			payAndAddMinion(DOLLY_SISTERS, player, game);
-		}); 
+			// 1. DOLLY_SISTERS
+			ACTIONS.put(DOLLY_SISTERS, (player, game) -> {
+				payAndAddMinion(DOLLY_SISTERS, player, game);
+			}); 
 		
-		// 2. UNREAL ESTATE
-		cityCardFunctionMap.put(UNREAL_ESTATE, (player, game) -> {
-			// Draw one card and then discard one card
-			if(game.addPlayerCard(player)) {
-				System.out.println("Added new player card");
-				TextUserInterface UI = TextUserInterface.getUI();
-				GreenPlayerCard discardCard = UI.getCardChoice(player.getPlayerCards(), 
-					"Choose a card to discard: ");
-				game.discardCard(discardCard, player);
-				System.out.println("Discarded player card");
-			}
-		});
+			// 2. UNREAL ESTATE
+			ACTIONS.put(UNREAL_ESTATE, (player, game) -> {
+				// Draw one card and then discard one card
+				if(game.addPlayerCard(player)) {
+					game.getUI().println("Added new player card");
+					UserInterface UI = game.getUI();
+					GreenPlayerCard discardCard = UI.getCardChoice(player.getPlayerCards(), 
+						"Choose a card to discard: ");
+					game.discardCard(discardCard, player);
+					game.getUI().println("Discarded player card");
+				}
+			});
 		
-		// 3. DRAGON'S LANDING
-		cityCardFunctionMap.put(DRAGONS_LANDING, (player, game) -> {
-			System.out.println("Giving player 2$");
-			game.givePlayerMoneyFromBank(player, 2);
-		});
+			// 3. DRAGON'S LANDING
+			ACTIONS.put(DRAGONS_LANDING, (player, game) -> {
+				game.getUI().println("Giving player 2$");
+				game.givePlayerMoneyFromBank(player, 2);
+			});
 		
-		// 4. SMALL GODS
-		cityCardFunctionMap.put(SMALL_GODS, (player, game) -> {
-			throw new IllegalStateException("The course of events caused by playing "
-					+ "Small Gods is implemented in the Game class, you should not be here");
-		});
+			// 4. SMALL GODS
+			ACTIONS.put(SMALL_GODS, (player, game) -> {
+				throw new IllegalStateException("The course of events caused by playing "
+						+ "Small Gods is implemented in the Game class, you should not be here");
+			});
 		
-		// 5. THE SCOURS
-		cityCardFunctionMap.put(THE_SCOURS, (player, game) -> {
-			TextUserInterface UI = new TextUserInterface();
-			Collection<GreenPlayerCard> playerCards = player.getPlayerCards();
-			GreenPlayerCard discardCard = UI.getCardChoice(playerCards, "Choose a card to discard: ");
-			player.removePlayerCard(discardCard);
-			System.out.println(discardCard + " removed.");
-			if (game.givePlayerMoneyFromBank(player, 2)) {
-				System.out.println("Given $2 to " + player.getName() + "(" + player.getColor() + ").");
-			}
-		});
+			// 5. THE SCOURS
+			ACTIONS.put(THE_SCOURS, (player, game) -> {
+				UserInterface UI = game.getUI();
+				Collection<GreenPlayerCard> playerCards = player.getPlayerCards();
+				GreenPlayerCard discardCard = UI.getCardChoice(playerCards, "Choose a card to discard: ");
+				player.removePlayerCard(discardCard);
+				game.getUI().println(discardCard + " removed.");
+				if (game.givePlayerMoneyFromBank(player, 2)) {
+					game.getUI().println("Given $2 to " + player.getName() + "(" + player.getColor() + ").");
+				}
+			});
 		
-		// 6. THE HIPPO
-		cityCardFunctionMap.put(THE_HIPPO, (player, game) -> {
-			if (game.givePlayerMoneyFromBank(player, 2)) {
-				System.out.println("Given $2 to " + player.getName() + "(" + player.getColor() + ").");
-			}
-		});
+			// 6. THE HIPPO
+			ACTIONS.put(THE_HIPPO, (player, game) -> {
+				if (game.givePlayerMoneyFromBank(player, 2)) {
+					game.getUI().println("Given $2 to " + player.getName() + "(" + player.getColor() + ").");
+				}
+			});
 		
-		// 7. THE SHADES
-		cityCardFunctionMap.put(THE_SHADES, (player, game) -> {
-			TextUserInterface UI = new TextUserInterface();
-			Collection<AnkhMorporkArea> shadesAndAdjacentWithMinions = 
-					getAreaAndAdjacentAreas(THE_SHADES)
-						.stream()
-						.filter(a -> game.getMinionCountForArea(a) > 0 && !game.hasTroubleMarker(a.getAreaCode()))
-						.collect(Collectors.toList());
-			if (!shadesAndAdjacentWithMinions.isEmpty()) {
-				AnkhMorporkArea area = 
-					UI.getAreaChoice(shadesAndAdjacentWithMinions, "Place a trouble marker in "
-							+ "an area already containing at least one minion (and no trouble marker :-).",
-							"Choose an area: ");
-				game.addTroubleMarker(area.getAreaCode()); 
-				System.out.println("Troublemarker added.");
-			} else {
-				System.out.println("No areas available!");
-			}
-		});
+			// 7. THE SHADES
+			ACTIONS.put(THE_SHADES, (player, game) -> {
+				UserInterface UI = game.getUI();
+				Collection<AnkhMorporkArea> shadesAndAdjacentWithMinions = 
+						getAreaAndAdjacentAreas(THE_SHADES)
+							.stream()
+							.filter(a -> game.getMinionCountForArea(a) > 0 && !game.hasTroubleMarker(a.getAreaCode()))
+							.collect(Collectors.toList());
+				if (!shadesAndAdjacentWithMinions.isEmpty()) {
+					AnkhMorporkArea area = 
+						UI.getAreaChoice(shadesAndAdjacentWithMinions, "Place a trouble marker in "
+								+ "an area already containing at least one minion (and no trouble marker :-).",
+								"Choose an area: ");
+					game.addTroubleMarker(area.getAreaCode()); 
+					game.getUI().println("Troublemarker added.");
+				} else {
+					game.getUI().println("No areas available!");
+				}
+			});
 		
-		// 8. DIMWELL
-		cityCardFunctionMap.put(DIMWELL, (player, game) -> {
-			payAndAddMinion(DIMWELL, player, game);
-		});
+			// 8. DIMWELL
+			ACTIONS.put(DIMWELL, (player, game) -> {
+				payAndAddMinion(DIMWELL, player, game);
+			});
 		
-		// 9. LONGWALL
-		cityCardFunctionMap.put(LONGWALL, (player, game) -> {
-			if (game.givePlayerMoneyFromBank(player, 1)) {
-				System.out.println("Given $1 to " + player.getName() + "(" + player.getColor() + ").");
-			}
-		});
+			// 9. LONGWALL
+			ACTIONS.put(LONGWALL, (player, game) -> {
+				if (game.givePlayerMoneyFromBank(player, 1)) {
+					game.getUI().println("Given $1 to " + player.getName() + "(" + player.getColor() + ").");
+				}
+			});
 		
-		// 10. ISLE OF GODS
-		cityCardFunctionMap.put(ISLE_OF_GODS, (player, game) -> {
-			TextUserInterface UI = new TextUserInterface();
-			if (player.hasMoney(2) && UI.getUserYesOrNoChoice("Pay $2 to remove a trouble marker?")) {
-				game.giveBankMoneyFromPlayer(player, 2);
-				Symbol.REMOVE_TROUBLE_MARKER.getGameAction().accept(player, game);
-			}
-		});
+			// 10. ISLE OF GODS
+			ACTIONS.put(ISLE_OF_GODS, (player, game) -> {
+				UserInterface UI = game.getUI();
+				if (player.hasMoney(2) && UI.getUserYesOrNoChoice("Pay $2 to remove a trouble marker?")) {
+					game.giveBankMoneyFromPlayer(player, 2);
+					Symbol.REMOVE_TROUBLE_MARKER.getGameAction().accept(player, game);
+				}
+			});
 		
-		// 11. SEVEN SLEEPERS
-		cityCardFunctionMap.put(SEVEN_SLEEPERS, (player, game) -> {
-			if (game.givePlayerMoneyFromBank(player, 3)) {
-				System.out.println("Given $3 to " + player.getName() + "(" + player.getColor() + ").");
-			}
-		});
+			// 11. SEVEN SLEEPERS
+			ACTIONS.put(SEVEN_SLEEPERS, (player, game) -> {
+				if (game.givePlayerMoneyFromBank(player, 3)) {
+					game.getUI().println("Given $3 to " + player.getName() + "(" + player.getColor() + ").");
+				}
+			});
 		
-		// 12. NAP HILL
-		cityCardFunctionMap.put(NAP_HILL, (player, game) -> {
-			if (game.givePlayerMoneyFromBank(player, 1)) {
-				System.out.println("Given $1 to " + player.getName() + "(" + player.getColor() + ").");
-			}
-		});
+			// 12. NAP HILL
+			ACTIONS.put(NAP_HILL, (player, game) -> {
+				if (game.givePlayerMoneyFromBank(player, 1)) {
+					game.getUI().println("Given $1 to " + player.getName() + "(" + player.getColor() + ").");
+				}
+			});
+		}
 	}
 
 	private static final int[][] ADJACENCY_MATRIX = new int[][] {
@@ -217,12 +236,26 @@ public enum AnkhMorporkArea implements Card {
 		return cityCardDescription;
 	}
 	
+	/**
+	 * @return the area of the given code, or null if there is none.
+	 */
 	public static AnkhMorporkArea forCode(int areaCode) {
-		return codeToAreaMap.get(areaCode);
+		return areaCode >= 0 && areaCode < areasByCode.length ? areasByCode[areaCode] : null;
 	}
 	
+	/**
+	 * @return the highest code of an area, e.g. to index arrays by area code.
+	 */
+	public static int getMaxAreaCode() {
+		return areasByCode.length - 1;
+	}
+	
+	/**
+	 * @return the action of the area's city area card, or what it is wrapped
+	 * 	in if the effects are (see {@link EffectTable}).
+	 */
 	public static BiConsumer<Player, Game> getAreaAction(AnkhMorporkArea a) {
-		return cityCardFunctionMap.get(a);
+		return EffectTable.areaActionOf(a, CityCardActions.ACTIONS.get(a));
 	}
 
 	public boolean isNeighboringWith(AnkhMorporkArea otherArea) {
@@ -234,8 +267,13 @@ public enum AnkhMorporkArea implements Card {
 	}
 	
 	public static List<AnkhMorporkArea> getAreaAndAdjacentAreas(AnkhMorporkArea a) {
-		return codeToAreaMap.keySet().stream().filter(i -> (ADJACENCY_MATRIX[a.getAreaCode() - 1][i - 1] == 1))
-				.map(i -> AnkhMorporkArea.forCode(i)).collect(Collectors.toList());
+		List<AnkhMorporkArea> areas = new ArrayList<>();
+		for (AnkhMorporkArea other : values()) {
+			if (ADJACENCY_MATRIX[a.getAreaCode() - 1][other.getAreaCode() - 1] == 1) {
+				areas.add(other);
+			}
+		}
+		return areas;
 	}
 	
 	public static List<AnkhMorporkArea> getAdjacentAreas(AnkhMorporkArea a) {
@@ -249,8 +287,7 @@ public enum AnkhMorporkArea implements Card {
 	}
 	
 	private static void payAndAddMinion(AnkhMorporkArea a, Player player, Game game) {
-		TextUserInterface UI = TextUserInterface.getUI();
-		Map<Integer, BoardArea> gameBoard = game.getGameBoard();
+		UserInterface UI = game.getUI();
 
 		if (game.giveBankMoneyFromPlayer(player, MINION_COST)) {
 
@@ -262,7 +299,7 @@ public enum AnkhMorporkArea implements Card {
 				AnkhMorporkArea chosenArea = UI.getAreaChoice(dollySistersAndNeighbors, 
 						"All minions available. Select area to place minion",
 						"Choose Area: ");
-				gameBoard.get(chosenArea.getAreaCode()).addMinion(player);
+				game.getBoardArea(chosenArea.getAreaCode()).addMinion(player);
 			} else if (availableMinions == 0) {
 
 				// Get the areas where the player has minions
@@ -282,10 +319,10 @@ public enum AnkhMorporkArea implements Card {
 				AnkhMorporkArea chosenArea = UI.getAreaChoice(dollySistersAndNeighbors, 
 						"Unused minions available. Select an area to place a new minion.",
 						"Choose Area: ");
-				gameBoard.get(chosenArea.getAreaCode()).addMinion(player);	
+				game.getBoardArea(chosenArea.getAreaCode()).addMinion(player);	
 			}
 		} else {
-			System.out.println(player.getName()
+			game.getUI().println(player.getName()
 					+ " doesn't have enough money to place a minion!");
 		}
 	}
@@ -3,9 +3,6 @@ package card.personality;
 import gameplay.Game;
 import gameplay.Player;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import card.Card;
 
 /**
@@ -79,7 +76,7 @@ public enum PersonalityCard implements Card {
 		boolean hasPlayerWon = winningConditionChecker.apply(numberOfPlayers,
 				player, game);
 		if (hasPlayerWon) {
-			System.out.println(player.getName() + " has won the game with " +
+			game.getUI().println(player.getName() + " has won the game with " +
 					name());
 		}
 		return hasPlayerWon;
@@ -91,39 +88,27 @@ public enum PersonalityCard implements Card {
 	
 	/**
 	 * This can be used as an aid for lookups as needed by different personality cards.
+	 * The numbers are kept in arrays indexed by the number of players rather
+	 * than in maps, so checking a winning condition allocates nothing.
 	 */
 	private static class WinningConditionHelper {
 		
-		private static final int CONDITION_COUNT = 3;
-
 		/**
 		 * Depending on the number of players you have to have a certain number
 		 * of minions in different areas on the board.
 		 */
-		private static final Map<Integer, Integer> minimumRequiredMinions = 
-				new HashMap<>(CONDITION_COUNT);
-		static {
-			minimumRequiredMinions.put(2, 11);
-			minimumRequiredMinions.put(3, 10);
-			minimumRequiredMinions.put(4, 9);
-		}
+		private static final int[] minimumRequiredMinions = { 0, 0, 11, 10, 9 };
 		
-		private static final Map<Integer, Integer> minimumControlledAreas = 
-				new HashMap<>(CONDITION_COUNT);
-		static {
-			minimumControlledAreas.put(2, 7);
-			minimumControlledAreas.put(3, 5);
-			minimumControlledAreas.put(4, 4);
-		}
+		private static final int[] minimumControlledAreas = { 0, 0, 7, 5, 4 };
 		
 		private WinningConditionHelper() {};
 		
-		private static Integer getMinimumRequiredMinions(Integer numberOfPlayers) {
-			return minimumRequiredMinions.get(numberOfPlayers);
+		private static int getMinimumRequiredMinions(int numberOfPlayers) {
+			return minimumRequiredMinions[numberOfPlayers];
 		}
 		
 		private static Boolean hasWonByControlledAreas(Integer numberOfPlayers, Player player, Game game) {
-			return game.getNumberOfAreasControlled(player) >= minimumControlledAreas.get(numberOfPlayers);
+			return game.getNumberOfAreasControlled(player) >= minimumControlledAreas[numberOfPlayers];
 		}
 
 	}
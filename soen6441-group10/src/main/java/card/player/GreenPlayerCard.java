@@ -1,22 +1,27 @@
 package card.player;
 
 import gameplay.BoardArea;
+import gameplay.Controller;
 import gameplay.Die;
 import gameplay.Game;
 import gameplay.Player;
-import io.TextUserInterface;
+import io.UserInterface;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Scanner;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import util.Color;
 import card.Card;
+import card.EffectTable;
 import card.city.AnkhMorporkArea;
 import card.personality.PersonalityCard;
 import card.personality.PersonalityDeck;
@@ -30,15 +35,13 @@ import card.personality.PersonalityDeck;
  * @author Team 10 - SOEN6441
  * @version 2.0
  */
-@SuppressWarnings("serial")
 public enum GreenPlayerCard implements Card {
 
 	INIGO_SKIMMER(	
-			new ArrayList<Symbol>() {{
-				add(Symbol.ASSASINATION);
-				add(Symbol.TAKE_MONEY);	// Take 2 Dollars		
-			}},
-			(player,game) ->{},
+			symbols(
+					Symbol.ASSASINATION,
+					Symbol.TAKE_MONEY), // Take 2 Dollars
+			NoText.INSTANCE,
 			// Money
 			2,
 			// ID
@@ -53,19 +56,17 @@ public enum GreenPlayerCard implements Card {
 			 * Place the remaining cards back as the discard pile.
 			 */
 			(player, game) -> {
-				System.out.println("Playing text -> getting four cards from discard pile");
+				game.getUI().println("Playing text -> getting four cards from discard pile");
 				DiscardPile pile = game.getDiscardPile();
 				if(pile.size() == 0) {
-					System.out.println("Discard pile is 0");
+					game.getUI().println("Discard pile is 0");
 					return;
 				}
 				pile.shuffle();
 				game.drawDiscardCards(player, 4);
-				System.out.println("Drew 4 cards from discard pile");
+				game.getUI().println("Drew 4 cards from discard pile");
 			},
-			new ArrayList<Symbol>() {{
-				add(Symbol.PLACE_MINION);		
-			}},
+			symbols(Symbol.PLACE_MINION),
 			// Money
 			0,
 			// ID
@@ -79,13 +80,11 @@ public enum GreenPlayerCard implements Card {
 			 * Take 3 cards from the draw deck.
 			 */
 			(player, game) -> {
-				//System.out.println("YOU CALLED HEX");
-				System.out.println("Playing text -> taking 3 cards from draw deck");
+				//game.getUI().println("YOU CALLED HEX");
+				game.getUI().println("Playing text -> taking 3 cards from draw deck");
 				game.addPlayerCard(player,3);			
 			},
-			new ArrayList<Symbol>() {{
-				add(Symbol.PLACE_A_BUILDING);		
-			}},
+			symbols(Symbol.PLACE_A_BUILDING),
 			// Money
 			0,
 			// ID
@@ -105,8 +104,7 @@ public enum GreenPlayerCard implements Card {
 			(player, game) -> {
 				int dieRoll = Die.getDie().roll();
 
-				//TextUserInterface textUI = new TextUserInterface();
-				TextUserInterface textUI = TextUserInterface.getUI();
+				UserInterface textUI = game.getUI();
 				
 				if(dieRoll >= 7) {
 					Map<Color, Player> players = game.getPlayersMap();
@@ -118,15 +116,15 @@ public enum GreenPlayerCard implements Card {
 						if(p.getMoney() < 3) excludeList.add(p.getColor());
 					}
 					
-					Player chosenPlayer = textUI.getPlayer(players, excludeList, true);
+					Player chosenPlayer = game.choosePlayer(players, excludeList, true);
 					if(chosenPlayer == null) {
 						// Make sure we turn the console back to the players color
-						System.out.println(player.getColor().getAnsi());
+						game.getUI().println(player.getColor().getAnsi());
 						
 						return;
 					}
 					
-					chosenPlayer.decreaseMoney(3);
+					game.takePlayerMoney(chosenPlayer, 3);
 					player.increaseMoney(3);
 
 					
@@ -135,15 +133,13 @@ public enum GreenPlayerCard implements Card {
 					//chosenArea.removeMinion(player);
 					game.removeMinion(chosenArea.getArea().getAreaCode(), player);
 				} else {
-					System.out.println("No Action");
+					game.getUI().println("No Action");
 				}
 				
 				
 				
 			},
-			new ArrayList<Symbol>() {{
-				add(Symbol.PLAY_ANOTHER_CARD);		
-			}},
+			symbols(Symbol.PLAY_ANOTHER_CARD),
 			// Money
 			0,
 			// ID
@@ -157,12 +153,9 @@ public enum GreenPlayerCard implements Card {
 			 * Discard as many cards as you wish and 
 			 * take $2 for each one discarded.
 			 */
-			new ArrayList<Symbol>() {{
-				add(Symbol.PLACE_MINION);
-			}},
+			symbols(Symbol.PLACE_MINION),
 			(player, game) -> {
-//				TextUserInterface UI = new TextUserInterface();
-				TextUserInterface UI = TextUserInterface.getUI();
+				UserInterface UI = game.getUI();
 				
 				// Find out if player has cards to play
 				Set<GreenPlayerCard> playerCards = player.getPlayerCards();
@@ -176,7 +169,7 @@ public enum GreenPlayerCard implements Card {
 								"Choose a card to discard: ");
 						// Use game.discardCard instead of player.removePlayerCard
 						if(discardCard.getID() == 5) {
-							System.out.println("Can't play the current hand");
+							game.getUI().println("Can't play the current hand");
 						}
 					}
 
@@ -189,7 +182,7 @@ public enum GreenPlayerCard implements Card {
 				}
 				
 				if(playerCards.size() == 1) {
-					System.out.println("No cards in hand to play.");
+					game.getUI().println("No cards in hand to play.");
 				}
 				
 			},
@@ -202,11 +195,10 @@ public enum GreenPlayerCard implements Card {
 	), 
 	
 	HARGAS_HOUSE_OF_RIBS(
-			new ArrayList<Symbol>() {{
-				add(Symbol.TAKE_MONEY);	//3 Dollars	
-				add(Symbol.PLACE_MINION);
-			}},
-			(player,game) ->{},
+			symbols(
+					Symbol.TAKE_MONEY, // 3 Dollars
+					Symbol.PLACE_MINION),
+			NoText.INSTANCE,
 			// Money
 			3,
 			// ID
@@ -216,11 +208,10 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	MR_GRYLE(
-			new ArrayList<Symbol>() {{
-				add(Symbol.ASSASINATION);	
-				add(Symbol.TAKE_MONEY); // 1 Dollar
-			}},	
-			(player,game) ->{},
+			symbols(
+					Symbol.ASSASINATION,
+					Symbol.TAKE_MONEY), // 1 Dollar
+			NoText.INSTANCE,
 			// Money
 			1,
 			// ID
@@ -230,10 +221,8 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	THE_PEELED_NUTS(
-			new ArrayList<Symbol>() {{		
-				
-			}},
-			(player,game) ->{},
+			symbols(),
+			NoText.INSTANCE,
 			// Money
 			0,
 			// ID
@@ -246,16 +235,14 @@ public enum GreenPlayerCard implements Card {
 			/*
 			 * Earn $1 for each minion in THE ISLE OF GODS.
 			 */
-			new ArrayList<Symbol>() {{
-				add(Symbol.PLACE_A_BUILDING);	
-			}},
+			symbols(Symbol.PLACE_A_BUILDING),
 			(player, game) -> {
 				int minionCount=game.getMinionCountForArea(AnkhMorporkArea.ISLE_OF_GODS);
 				if(game.getBank().decreaseBalance(minionCount)){
 					player.increaseMoney(minionCount);
-					System.out.println("Took " + minionCount + " from bank");
+					game.getUI().println("Took " + minionCount + " from bank");
 				} else {
-					System.out.println("Bank is too poor to be able to take that money");
+					game.getUI().println("Bank is too poor to be able to take that money");
 				}
 			},
 			// Money
@@ -271,32 +258,29 @@ public enum GreenPlayerCard implements Card {
 			 * Take $3 from a player of your choice.
 			 */
 			(player, game) -> {
-//				TextUserInterface UI = new TextUserInterface();
-				TextUserInterface UI = TextUserInterface.getUI();
+				UserInterface UI = game.getUI();
 				Map<Color,Player> myPlayersMap = game.getPlayersMap();
 				
 				ArrayList<Color> excludeList = new ArrayList<Color>();
 				excludeList.add(player.getColor());
 				
 				
-				Player choosenPlayer = UI.getPlayer(myPlayersMap, excludeList, true);
+				Player choosenPlayer = game.choosePlayer(myPlayersMap, excludeList, true);
 				if(choosenPlayer == null) {
 					// Make sure we turn the console back to the players color
-					System.out.println(player.getColor().getAnsi());
+					game.getUI().println(player.getColor().getAnsi());
 					
 					return;
 				}
 				
-				if(choosenPlayer.decreaseMoney(3)){
+				if(game.takePlayerMoney(choosenPlayer, 3)){
 					player.increaseMoney(3);
 		}
 				else{
-					System.out.println("That Player don't have $3, sorry action can't be completed");
+					game.getUI().println("That Player don't have $3, sorry action can't be completed");
 				}
 			},
-			new ArrayList<Symbol>() {{
-				add(Symbol.PLAY_ANOTHER_CARD);	
-			}},
+			symbols(Symbol.PLAY_ANOTHER_CARD),
 			// Money
 			0,
 			// ID
@@ -310,11 +294,10 @@ public enum GreenPlayerCard implements Card {
 			 * Discard one card.
 			 */
 			(player, game) -> {
-			//	TextUserInterface UI = new TextUserInterface();
-				TextUserInterface UI = TextUserInterface.getUI();
+				UserInterface UI = game.getUI();
 				Set<GreenPlayerCard> playerCards = player.getPlayerCards();
 				if(playerCards.size() == 1) {
-					System.out.println("Only have 1 card and thats modo, so can't discard one");
+					game.getUI().println("Only have 1 card and thats modo, so can't discard one");
 					return;
 				}
 				
@@ -324,16 +307,14 @@ public enum GreenPlayerCard implements Card {
 					discardCard = UI.getCardChoice(playerCards, 
 							"Choose a card to discard: ");
 					if(discardCard.getID() == 11) {
-						System.out.println("You are playing that card and it cannot be removed");
+						game.getUI().println("You are playing that card and it cannot be removed");
 					}
 				}
 				// USE GAME DISCARD CARD
 //				player.removePlayerCard(discardCard);
 				game.discardCard(discardCard, player);
 			},
-			new ArrayList<Symbol>() {{
-				add(Symbol.PLACE_MINION);	
-			}},
+			symbols(Symbol.PLACE_MINION),
 			// Money
 			0,
 			// ID
@@ -343,11 +324,10 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	THE_MENDED_DRUM(
-			new ArrayList<Symbol>() {{
-				add(Symbol.PLACE_A_BUILDING);	
-				add(Symbol.TAKE_MONEY); //2 Dollars
-			}},
-			(player,game) ->{},
+			symbols(
+					Symbol.PLACE_A_BUILDING,
+					Symbol.TAKE_MONEY), // 2 Dollars
+			NoText.INSTANCE,
 			// Money
 			2,
 			// ID
@@ -363,9 +343,7 @@ public enum GreenPlayerCard implements Card {
 			(player, game) -> {
 				game.addPlayerCard(player,4);
 			},
-			new ArrayList<Symbol>() {{
-				
-			}},
+			symbols(),
 			// Money
 			0,
 			// ID
@@ -381,9 +359,7 @@ public enum GreenPlayerCard implements Card {
 			(player, game) -> {
 				game.addPlayerCard(player,4);
 			},
-			new ArrayList<Symbol>() {{
-				
-			}},
+			symbols(),
 			// Money
 			0,
 			// ID
@@ -402,19 +378,18 @@ public enum GreenPlayerCard implements Card {
 			boolean haveCards = true;
 			int discardedCount=0;
 			while (haveCards && player.getPlayerCards().size() > 1) {
-			//	TextUserInterface UI = new TextUserInterface();
-				TextUserInterface UI = TextUserInterface.getUI();
+				UserInterface UI = game.getUI();
 				
 				GreenPlayerCard discardCard = UI.getCardChoice(player.getPlayerCards(), 
 						"Choose a card to discard: ");
 				while(discardCard.getID() == 15) {
-					System.out.println("Cannot discard current card!");
+					game.getUI().println("Cannot discard current card!");
 					discardCard = UI.getCardChoice(player.getPlayerCards(), 
 							"Choose a card to discard: ");
 				}
 				if(game.discardCard(discardCard, player)) discardedCount ++;
 				else {
-					System.out.println("can't remove any more cards");
+					game.getUI().println("can't remove any more cards");
 					break;
 				}
 				if (player.getHandSize()==0) haveCards=false;
@@ -425,14 +400,12 @@ public enum GreenPlayerCard implements Card {
 				}
 			}
 			if(player.getPlayerCards().size() == 1) {
-				System.out.println("No more cards to play");
+				game.getUI().println("No more cards to play");
 			}
 			// player gets $1 for each discarded card
 			player.increaseMoney(discardedCount);
 		}, 
-		new ArrayList<Symbol>() {{
-			add(Symbol.PLACE_A_BUILDING);	
-		}},
+		symbols(Symbol.PLACE_A_BUILDING),
 		// Money
 		0,
 		// ID
@@ -448,14 +421,12 @@ public enum GreenPlayerCard implements Card {
 		(player, game) -> {
 			int numberTrouble = game.getTotalNumberOfTroubleMarkers();
 			if (game.getBank().decreaseBalance(numberTrouble) && player.increaseMoney(numberTrouble)) {
-				System.out.println("You earned " + numberTrouble);
+				game.getUI().println("You earned " + numberTrouble);
 			} else {
-				System.out.println("Not enough funds to pay player");
+				game.getUI().println("Not enough funds to pay player");
 			}
 		}, 
-		new ArrayList<Symbol>() {{
-			add(Symbol.PLACE_MINION);
-		}},
+		symbols(Symbol.PLACE_MINION),
 		// Money
 		0,
 		// ID
@@ -469,12 +440,9 @@ public enum GreenPlayerCard implements Card {
 		 * Choose one player. Give them one of your cards. 
 		 * They must give you $2 in return.
 		 */
-		new ArrayList<Symbol>() {{
-			add(Symbol.PLACE_A_BUILDING);	
-		}},
+		symbols(Symbol.PLACE_A_BUILDING),
 		(player, game) -> {
-//			TextUserInterface UI = new TextUserInterface();
-			TextUserInterface UI = TextUserInterface.getUI();
+			UserInterface UI = game.getUI();
 			Map<Color,Player> myPlayersMap;
 			myPlayersMap = game.getPlayersMap();
 			
@@ -487,13 +455,13 @@ public enum GreenPlayerCard implements Card {
 				}
 			}
 			if(!validChoice) {
-				System.out.println("No other player in game has 2$, sorry");
+				game.getUI().println("No other player in game has 2$, sorry");
 				return;
 			}
 			
 			// Ensure player has cards to give
 			if(player.getPlayerCards().size() == 1) {
-				System.out.println("You have no other cards to give");
+				game.getUI().println("You have no other cards to give");
 				return;
 			}
 			
@@ -506,9 +474,9 @@ public enum GreenPlayerCard implements Card {
 			}
 			
 			// Chose a valid player
-			Player choosenPlayer = UI.getPlayer(myPlayersMap, excludeList, true);
+			Player choosenPlayer = game.choosePlayer(myPlayersMap, excludeList, true);
 			if(choosenPlayer == null) {// Make sure we turn the console back to the players color
-				System.out.println(player.getColor().getAnsi());
+				game.getUI().println(player.getColor().getAnsi());
 				
 				return;
 			}
@@ -516,13 +484,13 @@ public enum GreenPlayerCard implements Card {
 			// Make selection, cannot get rid of this card
 			GreenPlayerCard card = UI.getCardChoice(player.getPlayerCards(),"choose a card to give to the choosen player");
 			while(card.getID() == 17) {
-				System.out.println("Cannot choose current card in player");
+				game.getUI().println("Cannot choose current card in player");
 				card = UI.getCardChoice(player.getPlayerCards(),"choose a card to give to the choosen player");
 			}
 			
 			player.removePlayerCard(card);
 			choosenPlayer.addPlayerCard(card);
-			choosenPlayer.decreaseMoney(2);
+			game.takePlayerMoney(choosenPlayer, 2);
 			player.increaseMoney(2);
 				
 		},
@@ -540,17 +508,14 @@ public enum GreenPlayerCard implements Card {
 		 * a trouble marker to an adjacent area.
 		 */
 		//TODO text area should be in middle
-		new ArrayList<Symbol>() {{
-			add(Symbol.RANDOM_EVENT);	
-			add(Symbol.PLAY_ANOTHER_CARD);	
-		}},
+		symbols(Symbol.RANDOM_EVENT, Symbol.PLAY_ANOTHER_CARD),
 		(player, game) -> {
 			// Ensure player has minions in trouble area
 			// if so remove it and place it on adjacent area
 			Map<Integer, BoardArea> minionAreas = game.getAreasWithPlayerMinions(player);
 			Map<Integer, BoardArea> troubleMinionAreas = new HashMap<Integer, BoardArea>();
 			if(minionAreas.size() == 0) {
-				System.out.println("You have no minions to move");
+				game.getUI().println("You have no minions to move");
 				return;
 			}
 			
@@ -561,13 +526,12 @@ public enum GreenPlayerCard implements Card {
 			}
 			
 			if(troubleMinionAreas.size() == 0) {
-				System.out.println("No minion areas contain trouble");
+				game.getUI().println("No minion areas contain trouble");
 				return;
 			}
 			
 			// Get remove minion area
-			//TextUserInterface UI = new TextUserInterface();
-			TextUserInterface UI = TextUserInterface.getUI();
+			UserInterface UI = game.getUI();
 			
 			BoardArea removeArea = UI.getAreaChoice(troubleMinionAreas, "Choose area to remove minion", "Choose area", true);
 			// Get nighbouring areas
@@ -593,11 +557,10 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	THE_ROYAL_MINT(
-		new ArrayList<Symbol>() {{
-			add(Symbol.PLACE_A_BUILDING);
-			add(Symbol.TAKE_MONEY); //5 Dollars
-		}},
-		(player,game) ->{},
+		symbols(
+				Symbol.PLACE_A_BUILDING,
+				Symbol.TAKE_MONEY), // 5 Dollars
+		NoText.INSTANCE,
 		// Money
 		5,
 		// ID
@@ -612,9 +575,7 @@ public enum GreenPlayerCard implements Card {
 		 * Select one player. They must give you 
 		 * two cards of their choice.
 		 */	
-		new ArrayList<Symbol>() {{
-			add(Symbol.PLACE_MINION);
-		}},
+		symbols(Symbol.PLACE_MINION),
 		(player, game) -> {
 			
 			// Ensure one player has two cards to give
@@ -625,12 +586,11 @@ public enum GreenPlayerCard implements Card {
 				}
 			}
 			if(!validChoice) {
-				System.out.println("No other player has 2 cards to give - sorry");
+				game.getUI().println("No other player has 2 cards to give - sorry");
 				return;
 			}
 			
-			//TextUserInterface UI = new TextUserInterface();
-			TextUserInterface UI = TextUserInterface.getUI();
+			UserInterface UI = game.getUI();
 			
 			ArrayList<Color> excludeList = new ArrayList<Color>();
 			excludeList.add(player.getColor());
@@ -639,16 +599,16 @@ public enum GreenPlayerCard implements Card {
 					excludeList.add(p.getColor());
 				}
 			}
-			Player selectedPlayer = UI.getPlayer(game.getPlayersMap(), excludeList, true);
+			Player selectedPlayer = game.choosePlayer(game.getPlayersMap(), excludeList, true);
 			if(selectedPlayer == null) {
 				// Make sure we turn the console back to the players color
-				System.out.println(player.getColor().getAnsi());
+				game.getUI().println(player.getColor().getAnsi());
 				
 				return;
 			}
 			
 			for(int i =0; i<2; i++){
-				System.out.println("Important!!! Change palyers - " + selectedPlayer.getName() +" has to choose two of his cards to give away!!");
+				game.getUI().println("Important!!! Change palyers - " + selectedPlayer.getName() +" has to choose two of his cards to give away!!");
 				GreenPlayerCard chosenCard = UI.getCardChoice(selectedPlayer.getPlayerCards(), selectedPlayer.getName() + " choose a card to give away");
 				player.addPlayerCard(chosenCard);
 				selectedPlayer.removePlayerCard(chosenCard);
@@ -663,11 +623,10 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	PINK_PUSSYCAT_CLUB(
-		new ArrayList<Symbol>() {{
-			add(Symbol.TAKE_MONEY);//3 Dollars
-			add(Symbol.PLAY_ANOTHER_CARD);
-		}},
-		(player, game) -> {},
+		symbols(
+				Symbol.TAKE_MONEY, // 3 Dollars
+				Symbol.PLAY_ANOTHER_CARD),
+		NoText.INSTANCE,
 		// Money
 		3,
 		// ID
@@ -684,13 +643,11 @@ public enum GreenPlayerCard implements Card {
 		 */
 		(player, game) -> {
 			// Get another personality card
-			System.out.println("Assigning new personality card!");
+			game.getUI().println("Assigning new personality card!");
 			game.assignPersonality(player);
 			
 		}, 
-		new ArrayList<Symbol>() {{
-			add(Symbol.PLACE_A_BUILDING);
-		}},
+		symbols(Symbol.PLACE_A_BUILDING),
 		// Money
 		0,
 		// ID
@@ -709,11 +666,10 @@ public enum GreenPlayerCard implements Card {
 		 * They cannot get rid of this card.	
 		 */
 			(player, game) -> {
-//				TextUserInterface UI = new TextUserInterface();
-				TextUserInterface UI = TextUserInterface.getUI();
+				UserInterface UI = game.getUI();
 				Map<Color,Player> myPlayersMap = game.getPlayersMap();
 				
-				System.out.println("Choose a player to give you 5 dollars");
+				game.getUI().println("Choose a player to give you 5 dollars");
 				
 				
 				ArrayList<Color> excludeList = new ArrayList<Color>();
@@ -721,10 +677,10 @@ public enum GreenPlayerCard implements Card {
 				
 				
 				// Chose a valid player
-				Player choosenPlayer = UI.getPlayer(myPlayersMap, excludeList, true);
+				Player choosenPlayer = game.choosePlayer(myPlayersMap, excludeList, true);
 				if(choosenPlayer == null) {
 					// Make sure we turn the console back to the players color
-					System.out.println(player.getColor().getAnsi());
+					game.getUI().println(player.getColor().getAnsi());
 					
 					return;
 				}
@@ -732,43 +688,37 @@ public enum GreenPlayerCard implements Card {
 				boolean hasMoney = choosenPlayer.getMoney() > 5;
 				boolean wantsToGive = false;
 				if(!hasMoney) {
-					System.out.println("Damn, " + choosenPlayer.getName() + " doesn't have 5 dollars");
+					game.getUI().println("Damn, " + choosenPlayer.getName() + " doesn't have 5 dollars");
 				} else {
-					System.out.println(choosenPlayer.getColor().getAnsi());
+					game.getUI().println(choosenPlayer.getColor().getAnsi());
 					wantsToGive = UI.getUserYesOrNoChoice(choosenPlayer.getName() + " do you want to give " + player.getName() + 
 							" $5");
 
-					System.out.println(player.getColor().getAnsi());
+					game.getUI().println(player.getColor().getAnsi());
 					if(wantsToGive) {
-						choosenPlayer.decreaseMoney(5);
+						game.takePlayerMoney(choosenPlayer, 5);
 						player.increaseMoney(5);
-						System.out.println("Money transfered");
+						game.getUI().println("Money transfered");
 					}
 				}
 				
 				// Ok, lets have some fun
 				// give this card to the player, make sure he cant get rid of it
 				if(!hasMoney || !wantsToGive) {
-					// Why do we use current card in play??? because we cant reference this enum
-					// since it isn't created
-					if(game.getCurrentCardInPlay().getID() != 23) {
-						//TODO throw error
-						System.out.println("ISSUE IN WHITEFACE");
-					}
-					
 					// Give card to other player and say he cant get rid of it
 					// Unless currentPlayer got this card via this means
-					if(!player.getUnplayableCards().contains(game.getCurrentCardInPlay())){
-						game.addPlayerCard(choosenPlayer, game.getCurrentCardInPlay());
-						choosenPlayer.addUnplayableCard(game.getCurrentCardInPlay());
-						game.removePlayerCard(game.getCurrentCardInPlay(), player);
-						System.out.println("Card has been given to " + choosenPlayer.getName());
+					// Look this card up by name: the enum can't be referenced in its own
+					// initializer, and the card in play is null when the text is played on its own
+					GreenPlayerCard thisCard = GreenPlayerCard.valueOf("DR_WHITEFACE");
+					if(!player.getUnplayableCards().contains(thisCard)){
+						game.addPlayerCard(choosenPlayer, thisCard);
+						choosenPlayer.addUnplayableCard(thisCard);
+						game.removePlayerCard(thisCard, player);
+						game.getUI().println("Card has been given to " + choosenPlayer.getName());
 					}
 				}
 			},
-		new ArrayList<Symbol>() {{
-			add(Symbol.PLACE_MINION);
-		}},
+		symbols(Symbol.PLACE_MINION),
 		// Money
 		0,
 		// ID
@@ -779,14 +729,12 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	WALLACE_SONKY(
-		new ArrayList<Symbol>() {{
-			add(Symbol.INTERRUPT);
-		}},
+		symbols(Symbol.INTERRUPT),
 		/*
 		 * You cannot be affected by the text on a card 
 		 * played by another player
 		 */
-		(player, game) -> {},
+		NoText.INSTANCE,
 		// Money
 		0,
 		// ID
@@ -802,8 +750,7 @@ public enum GreenPlayerCard implements Card {
 			 * one of your cards.  They must 
 			 * give you 2$ in return
 			 */
-			//TextUserInterface UI = new TextUserInterface();
-			TextUserInterface UI = TextUserInterface.getUI();
+			UserInterface UI = game.getUI();
 			
 			Map<Color,Player> myPlayersMap;
 			myPlayersMap = game.getPlayersMap();
@@ -817,13 +764,13 @@ public enum GreenPlayerCard implements Card {
 				}
 			}
 			if(!validChoice) {
-				System.out.println("No other player in game has 2$, sorry");
+				game.getUI().println("No other player in game has 2$, sorry");
 				return;
 			}
 			
 			// Ensure player has cards to give
 			if(player.getPlayerCards().size() == 1) {
-				System.out.println("You have no other cards to give");
+				game.getUI().println("You have no other cards to give");
 				return;
 			}
 			
@@ -834,10 +781,10 @@ public enum GreenPlayerCard implements Card {
 			}
 			
 			// Chose a valid player
-			Player choosenPlayer = UI.getPlayer(myPlayersMap, excludeList, true);
+			Player choosenPlayer = game.choosePlayer(myPlayersMap, excludeList, true);
 			if(choosenPlayer == null ){
 				// Make sure we turn the console back to the players color
-				System.out.println(player.getColor().getAnsi());
+				game.getUI().println(player.getColor().getAnsi());
 				
 				return;
 			}
@@ -845,18 +792,16 @@ public enum GreenPlayerCard implements Card {
 			// Make selection, cannot get rid of this card
 			GreenPlayerCard card = UI.getCardChoice(player.getPlayerCards(),"choose a card to give to the choosen player");
 			while(card.getID() == 25) {
-				System.out.println("Cannot choose current card in player");
+				game.getUI().println("Cannot choose current card in player");
 				card = UI.getCardChoice(player.getPlayerCards(),"choose a card to give to the choosen player");
 			}
 			
 			player.removePlayerCard(card);
 			choosenPlayer.addPlayerCard(card);
-			choosenPlayer.decreaseMoney(2);
+			game.takePlayerMoney(choosenPlayer, 2);
 			player.increaseMoney(2);
 		},
-		new ArrayList<Symbol>() {{
-			add(Symbol.PLACE_MINION);
-		}},
+		symbols(Symbol.PLACE_MINION),
 		// Money
 		0,
 		// ID
@@ -866,11 +811,8 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	MR_PIN_AND_MR_TULIP(
-		new ArrayList<Symbol>() {{
-			add(Symbol.ASSASINATION);
-			add(Symbol.TAKE_MONEY);		
-		}},
-		(player,game) ->{},
+		symbols(Symbol.ASSASINATION, Symbol.TAKE_MONEY),
+		NoText.INSTANCE,
 		// Money
 		1,
 		// ID
@@ -890,16 +832,14 @@ public enum GreenPlayerCard implements Card {
 			{
 				if(entry.getValue().getColor() == player.getColor()) continue;
 			   if(entry.getValue().getMoney()>=2) {
-				   entry.getValue().decreaseMoney(2);
+				   game.takePlayerMoney(entry.getValue(), 2);
 				   player.increaseMoney(2);
-				   System.out.println("Took $2 from "+entry.getValue().getName());
+				   game.getUI().println("Took $2 from "+entry.getValue().getName());
 			   }
 			   else continue;
 			}
 		},
-		new ArrayList<Symbol>() {{
-			add(Symbol.PLACE_MINION);
-		}},
+		symbols(Symbol.PLACE_MINION),
 		// Money
 		0,
 		// ID
@@ -909,18 +849,18 @@ public enum GreenPlayerCard implements Card {
 			
 	),
 	MR_BOGGIS(
-		new ArrayList<Symbol>() {{
-			add(Symbol.PLACE_MINION);
-		}},
+		symbols(Symbol.PLACE_MINION),
 		(player, game) -> {
-			Map<Color,Player> myPlayersMap = game.getPlayersMap();
+			// A copy: the player must not be removed from the game
+			Map<Color,Player> myPlayersMap = new EnumMap<Color, Player>(Color.class);
+			myPlayersMap.putAll(game.getPlayersMap());
 			myPlayersMap.remove(player.getColor());
 			for (Entry<Color, Player>  entry : myPlayersMap.entrySet())
 			{
 			   if(entry.getValue().getMoney()>=2) {
-				   entry.getValue().decreaseMoney(2);
+				   game.takePlayerMoney(entry.getValue(), 2);
 				   player.increaseMoney(2);
-				   System.out.println("Took $2 from "+entry.getValue().getName());
+				   game.getUI().println("Took $2 from "+entry.getValue().getName());
 			   }
 			   else continue;
 			}
@@ -933,12 +873,11 @@ public enum GreenPlayerCard implements Card {
 		"SCROLL: TAKE 2$ FROM EVERY OTHER PLAYER"
 	),
 	MR_BENT(
-		new ArrayList<Symbol>(){{
-			add(Symbol.PLAY_ANOTHER_CARD);
-		}},
+		symbols(Symbol.PLAY_ANOTHER_CARD),
 		(player, game) -> {
 				game.givePlayerMoneyFromBank(player,10);
-				player.addUnplayableCard(game.getCurrentCardInPlay());
+				// By name: the enum can't be referenced in its own initializer
+				player.addUnplayableCard(GreenPlayerCard.valueOf("MR_BENT"));
 		},
 		// Money
 		0,
@@ -949,12 +888,10 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	THE_BEGGARS_GUILD(
-		new ArrayList<Symbol>(){{
-			add(Symbol.PLACE_MINION);
-		}},
+		symbols(Symbol.PLACE_MINION),
 		(player, game) -> {
 			//calling the singleton
-			TextUserInterface UI = TextUserInterface.getUI();
+			UserInterface UI = game.getUI();
 			
 			//Get a list of player and exclude self from it
 			Map<Color,Player> myPlayersMap = game.getPlayersMap();
@@ -967,10 +904,10 @@ public enum GreenPlayerCard implements Card {
 				}
 			}
 			// Chose a valid player
-			Player choosenPlayer = UI.getPlayer(myPlayersMap, excludeList, true);
+			Player choosenPlayer = game.choosePlayer(myPlayersMap, excludeList, true);
 			if(choosenPlayer == null ) {
 				// Make sure we turn the console back to the players color
-				System.out.println(player.getColor().getAnsi());
+				game.getUI().println(player.getColor().getAnsi());
 				
 				 return;
 			}
@@ -990,12 +927,11 @@ public enum GreenPlayerCard implements Card {
 	),
 
 	THE_BANK_OF_ANKH_MORPORK(
-		new ArrayList<Symbol>(){{
-			add(Symbol.PLAY_ANOTHER_CARD);
-		}},
+		symbols(Symbol.PLAY_ANOTHER_CARD),
 		(player, game) -> {
 			game.givePlayerMoneyFromBank(player,10);
-			player.addUnplayableCard(game.getCurrentCardInPlay());
+			// By name: the enum can't be referenced in its own initializer
+			player.addUnplayableCard(GreenPlayerCard.valueOf("THE_BANK_OF_ANKH_MORPORK"));
 		},
 		// Money
 		0,
@@ -1006,12 +942,9 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	THE_ANKH_MORPORK_SUNSHINE_DRAGON_SANCTUARY(
-		new ArrayList<Symbol>(){{
-			add(Symbol.PLAY_ANOTHER_CARD);
-		}},
+		symbols(Symbol.PLAY_ANOTHER_CARD),
 		(player, game) -> {
-			//TextUserInterface UI = new TextUserInterface();
-			TextUserInterface UI = TextUserInterface.getUI();
+			UserInterface UI = game.getUI();
 			for(Player p: game.getPlayers()){
 				// Don't ask current player playing
 				if(p.getColor() == player.getColor()) continue;
@@ -1024,8 +957,8 @@ public enum GreenPlayerCard implements Card {
 					if(!choiceMade) {
 						if(UI.getUserYesOrNoChoice(p.getName() + "do you want to give $1 instead of a card? (otherwise you have to give up one card)")){
 							if(p.getMoney()>=1) {
-								if(p.decreaseMoney(1)&player.increaseMoney(1))
-									System.out.println("Took $1 from "+p.getName());
+								if(game.takePlayerMoney(p, 1)&player.increaseMoney(1))
+									game.getUI().println("Took $1 from "+p.getName());
 									choiceMade = true;
 								}
 							else choiceMade = true;
@@ -1043,11 +976,8 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	SERGANT_ANGUA(
-		new ArrayList<Symbol>(){{
-			add(Symbol.REMOVE_TROUBLE_MARKER);
-			add(Symbol.PLAY_ANOTHER_CARD);
-		}},
-		(player, game) -> {},
+		symbols(Symbol.REMOVE_TROUBLE_MARKER, Symbol.PLAY_ANOTHER_CARD),
+		NoText.INSTANCE,
 		// Money
 		0,
 		// ID
@@ -1057,12 +987,8 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	THE_AGONY_AUNTS(
-		new ArrayList<Symbol>() {{
-			add(Symbol.ASSASINATION);
-			add(Symbol.TAKE_MONEY);
-			add(Symbol.PLACE_MINION);
-		}},
-		(player, game) -> {},
+		symbols(Symbol.ASSASINATION, Symbol.TAKE_MONEY, Symbol.PLACE_MINION),
+		NoText.INSTANCE,
 		// Money
 		2,
 		// ID
@@ -1075,12 +1001,10 @@ public enum GreenPlayerCard implements Card {
 	 * Earn 1 dollar for each minion in the isles of gods
 	 */
 	THE_DYSK(
-		new ArrayList<Symbol>(){{
-			add(Symbol.PLACE_A_BUILDING);
-		}},
+		symbols(Symbol.PLACE_A_BUILDING),
 		(player, game) -> {
 			int minions = game.getMinionCountForArea(AnkhMorporkArea.ISLE_OF_GODS);
-			System.out.println("Giving " + minions + " to player");
+			game.getUI().println("Giving " + minions + " to player");
 			player.increaseMoney(minions);
 			
 		},
@@ -1093,17 +1017,15 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	THE_DUCKMAN(
-		new ArrayList<Symbol>(){{
-		}},
+		symbols(),
 		(player, game) -> {
-			//System.out.println("NOT IMPLEMENTED: THE_DUCKMAN: move a minion belonging to "
+			//game.getUI().println("NOT IMPLEMENTED: THE_DUCKMAN: move a minion belonging to "
 			//+ "another player from one area "
 			//+ "to an adjacent area");
 			
-		//TextUserInterface UI = new TextUserInterface();
-			TextUserInterface UI = TextUserInterface.getUI();
+			UserInterface UI = game.getUI();
 		Map<Color,Player> myPlayersMap = game.getPlayersMap();
-		Map<Color, Player> playerWithMinion = new HashMap<Color, Player>();
+		Map<Color, Player> playerWithMinion = new EnumMap<Color, Player>(Color.class);
 		
 		for(Player p : myPlayersMap.values()) {
 			if(p.getColor() == player.getColor()) continue;
@@ -1114,7 +1036,7 @@ public enum GreenPlayerCard implements Card {
 		}
 		
 		if(playerWithMinion.size() == 0) {
-			System.out.println("No players have minions you can remove");
+			game.getUI().println("No players have minions you can remove");
 			return;
 		}
 		
@@ -1124,11 +1046,11 @@ public enum GreenPlayerCard implements Card {
 		
 		
 		// Chose a valid player
-		System.out.println("Choose player to remove minion from:");
-		Player choosenPlayer = UI.getPlayer(playerWithMinion, excludeList, true);
+		game.getUI().println("Choose player to remove minion from:");
+		Player choosenPlayer = game.choosePlayer(playerWithMinion, excludeList, true);
 		if(choosenPlayer == null) {
 			// Make sure we turn the console back to the players color
-			System.out.println(player.getColor().getAnsi());
+			game.getUI().println(player.getColor().getAnsi());
 			
 			return;
 		}
@@ -1137,7 +1059,7 @@ public enum GreenPlayerCard implements Card {
 		// if so remove it and place it on adjacent area
 		Map<Integer, BoardArea> minionAreas = game.getAreasWithPlayerMinions(choosenPlayer);
 		if(minionAreas.size() == 0) {
-			System.out.println("She/He has no minions to move");
+			game.getUI().println("She/He has no minions to move");
 			return;
 		}
 						
@@ -1171,24 +1093,25 @@ public enum GreenPlayerCard implements Card {
 	 * Play any two other cards from your hand
 	 */
 	DRUMKNOTT(
-		new ArrayList<Symbol>(){{
-		}},
+		symbols(),
 		(player, game) -> {
 
 			Set<GreenPlayerCard> playerCards = player.getPlayerCards();
 			if(playerCards.size() < 3) {
-				System.out.println("You do not have enough cards");
+				game.getUI().println("You do not have enough cards");
 			} else {
-				//TextUserInterface UI = new TextUserInterface();
 				for(int i=0;i<2;++i){
-					TextUserInterface UI = TextUserInterface.getUI();
+					UserInterface UI = game.getUI();
 
-					GreenPlayerCard c = UI.getCardChoice(player.getPlayerCards(), "Choose a card to play: ");
-					while(c.getID() == 37) {
-						System.out.println("You cannot play this card");
-						c = UI.getCardChoice(player.getPlayerCards(), "Choose a card to play: ");
+					// This card cannot be played again
+					List<GreenPlayerCard> otherCards = player.getPlayerCards().stream()
+							.filter(card -> card.getID() != 37).collect(Collectors.toList());
+					if (otherCards.isEmpty()) {
+						game.getUI().println("You do not have any other card to play");
+						break;
 					}
-					UI.playPlayerCard(c, player);
+					GreenPlayerCard c = UI.getCardChoice(otherCards, "Choose a card to play: ");
+					new Controller(game).playPlayerCard(c, player);
 				}
 			}
 		},
@@ -1200,13 +1123,10 @@ public enum GreenPlayerCard implements Card {
 		"SCROLL: PLAY ANY TWO OTHER CARDS FROM HAND"
 	),
 	
-	@SuppressWarnings("resource")
 	CMOT_DIBBLER(
-		new ArrayList<Symbol>(){{
-			add(Symbol.PLAY_ANOTHER_CARD);
-		}},
+		symbols(Symbol.PLAY_ANOTHER_CARD),
 		(player, game) -> {
-			//System.out.println("NOT IMPLEMENTED: COMT_DIBBLER: Roll the die. on the role of 7 or more"
+			//game.getUI().println("NOT IMPLEMENTED: COMT_DIBBLER: Roll the die. on the role of 7 or more"
 			//	+ "you take $4 from the bank. on a roll"
 			//	+ "of 1 you must pay $2 to the bank"
 			//	+ "or remove one of your minions from"
@@ -1214,45 +1134,25 @@ public enum GreenPlayerCard implements Card {
 			//	+ "no effect");
 			
 			int dieRoll = Die.getDie().roll();
-			System.out.println("Dice rolled: " + dieRoll);
+			game.getUI().println("Dice rolled: " + dieRoll);
 
-//			TextUserInterface textUI = new TextUserInterface();
-			TextUserInterface textUI = TextUserInterface.getUI();
+			UserInterface textUI = game.getUI();
 			
 			if(dieRoll >= 7) {	
-				System.out.println("Giving 4$");
+				game.getUI().println("Giving 4$");
 				game.givePlayerMoneyFromBank(player,4);							
 			} 
 			else if(dieRoll == 1) {
-				
-				Scanner scanner = new Scanner(System.in);
-				String optionChoice = null;
-				
-				System.out.println("\tYou have 2 options:");
-				System.out.println("\t1- Paying 2$ to the bank, enter 1");
-				System.out.println("\t2- Removing a minion, enter 2");
-				System.out.print("Choice: ");
-				optionChoice = scanner.nextLine();
-			
-				switch (optionChoice){
-				case "1":
-				{
+				game.getUI().println("\tYou have 2 options: paying 2$ to the bank or removing a minion");
+				if (textUI.getUserYesOrNoChoice("Do you want to pay 2$ to the bank?")) {
 					game.giveBankMoneyFromPlayer(player,2);
-				}
-					break;			
-				case "2":
-				{
+				} else {
 					BoardArea chosenArea = textUI.getAreaChoice(game.getAreasWithPlayerMinions(player), "Choose area to remove minion", "Choose: ");
 					//chosenArea.removeMinion(player);	
 					game.removeMinion(chosenArea.getArea().getAreaCode(), player);
 				}
-					break;
-					
-				default: System.out.println("\tPlease enter your choice:");
-				    break;
-				}
 			} else {	
-				System.out.println("No Action");
+				game.getUI().println("No Action");
 			}
 		},
 		// Money
@@ -1264,11 +1164,8 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	DR_CRUCES(
-		new ArrayList<Symbol>() {{
-			add(Symbol.ASSASINATION);
-			add(Symbol.TAKE_MONEY);
-		}},
-		(player, game) -> {},
+		symbols(Symbol.ASSASINATION, Symbol.TAKE_MONEY),
+		NoText.INSTANCE,
 		// Money
 		3,
 		// ID
@@ -1278,12 +1175,8 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	CAPTAIN_CARROT(
-		new ArrayList<Symbol>() {{
-			add(Symbol.PLACE_MINION);
-			add(Symbol.REMOVE_TROUBLE_MARKER);
-			add(Symbol.TAKE_MONEY);
-		}},
-		(player, game) -> {},
+		symbols(Symbol.PLACE_MINION, Symbol.REMOVE_TROUBLE_MARKER, Symbol.TAKE_MONEY),
+		NoText.INSTANCE,
 		// Money
 		1,
 		// ID 
@@ -1294,21 +1187,18 @@ public enum GreenPlayerCard implements Card {
 	
 	
 	MRS_CAKE(
-		new ArrayList<Symbol>(){{
-			add(Symbol.TAKE_MONEY);
-			add(Symbol.PLACE_A_BUILDING);
-		}},
+		symbols(Symbol.TAKE_MONEY, Symbol.PLACE_A_BUILDING),
 		(player, game) -> {
 			PersonalityDeck personalityDeck = game.getPersonalityDeck();
 			int visibleSize = personalityDeck.size() -1;
 			if (visibleSize < 0) {
-				System.out.println("Only one personality left in deck...");
+				game.getUI().println("Only one personality left in deck...");
 			} else {
 				int count = 0;
-				System.out.println("Showing " + (visibleSize + 1) + " unused personality cards...");
+				game.getUI().println("Showing " + (visibleSize + 1) + " unused personality cards...");
 				for(PersonalityCard card: personalityDeck.getDeck()) {
 					if(count >= visibleSize) break;
-					System.out.println(card);
+					game.getUI().println(card.toString());
 				}
 			}
 		},
@@ -1322,11 +1212,9 @@ public enum GreenPlayerCard implements Card {
 	
 	
 	GROAT(
-		new ArrayList<Symbol>() {{
-			add(Symbol.PLACE_MINION);
-		}},
+		symbols(Symbol.PLACE_MINION),
 		(player, game) -> {
-			System.out.println("No Text on card");
+			game.getUI().println("No Text on card");
 		},
 		// Money
 		0,
@@ -1337,12 +1225,9 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	GIMLETS_DWARF_DELICATESSEN(
-		new ArrayList<Symbol>() {{
-			add(Symbol.TAKE_MONEY);
-			add(Symbol.PLACE_MINION);				
-		}},
+		symbols(Symbol.TAKE_MONEY, Symbol.PLACE_MINION),
 		(player, game) -> {
-			System.out.println("No Text on Card");
+			game.getUI().println("No Text on Card");
 		},
 		// Money
 		3,
@@ -1353,9 +1238,7 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	GASPODE(
-		new ArrayList<Symbol>() {{
-			add(Symbol.INTERRUPT);
-		}},
+		symbols(Symbol.INTERRUPT),
 		(player, game) -> {
 			// No need to implement .. this is an interrupt card, handled in game flow
 		},
@@ -1368,9 +1251,7 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	THE_FRESH_START_CLUB(
-		new ArrayList<Symbol>() {{
-			add(Symbol.INTERRUPT);
-		}},
+		symbols(Symbol.INTERRUPT),
 		(player, game) -> {
 			// No need to implement .. this is an interrupt card, handled in game flow
 		},
@@ -1383,18 +1264,15 @@ public enum GreenPlayerCard implements Card {
 	),
 	
 	FOUL_OLE_RON(
-		new ArrayList<Symbol>(){{
-			add(Symbol.PLAY_ANOTHER_CARD);
-		}},
+		symbols(Symbol.PLAY_ANOTHER_CARD),
 		(player, game) -> {
-			//System.out.println("NOT IMPLEMENTED: FOUL_OLE_RON: move a minion belonging to"
+			//game.getUI().println("NOT IMPLEMENTED: FOUL_OLE_RON: move a minion belonging to"
 			//	+ "another player from one area"
 			//	+ "to an adjacent area");
 
-//			TextUserInterface UI = new TextUserInterface();
-			TextUserInterface UI = TextUserInterface.getUI();
+			UserInterface UI = game.getUI();
 			Map<Color,Player> myPlayersMap = game.getPlayersMap();
-			Map<Color, Player> playerWithMinion = new HashMap<Color, Player>();
+			Map<Color, Player> playerWithMinion = new EnumMap<Color, Player>(Color.class);
 			
 			for(Player p : myPlayersMap.values()) {
 				if(p.getColor() == player.getColor()) continue;
@@ -1405,7 +1283,7 @@ public enum GreenPlayerCard implements Card {
 			}
 			
 			if(playerWithMinion.size() == 0) {
-				System.out.println("No players have minions you can remove");
+				game.getUI().println("No players have minions you can remove");
 				return;
 			}
 			
@@ -1415,12 +1293,12 @@ public enum GreenPlayerCard implements Card {
 			
 			
 			// Chose a valid player
-			System.out.println("Choose player to remove minion from:");
-			Player choosenPlayer = UI.getPlayer(playerWithMinion, excludeList, true);
+			game.getUI().println("Choose player to remove minion from:");
+			Player choosenPlayer = game.choosePlayer(playerWithMinion, excludeList, true);
 			
 			if(choosenPlayer == null) {
 				// Make sure we turn the console back to the players color
-				System.out.println(player.getColor().getAnsi());
+				game.getUI().println(player.getColor().getAnsi());
 				return;
 			}
 			
@@ -1428,7 +1306,7 @@ public enum GreenPlayerCard implements Card {
 			// if so remove it and place it on adjacent area
 			Map<Integer, BoardArea> minionAreas = game.getAreasWithPlayerMinions(choosenPlayer);
 			if(minionAreas.size() == 0) {
-				System.out.println("She/He has no minions to move");
+				game.getUI().println("She/He has no minions to move");
 				return;
 			}
 							
@@ -1465,15 +1343,12 @@ public enum GreenPlayerCard implements Card {
 	 * They cannot get rid of this card
 	 */
 	THE_FOOLS_GUILD(
-		new ArrayList<Symbol>() {{
-			add(Symbol.PLACE_MINION);
-		}},
+		symbols(Symbol.PLACE_MINION),
 		(player, game) -> {
-//			TextUserInterface UI = new TextUserInterface();
-			TextUserInterface UI = TextUserInterface.getUI();
+			UserInterface UI = game.getUI();
 			Map<Color,Player> myPlayersMap = game.getPlayersMap();
 			
-			System.out.println("Choose a player to give you 5 dollars");
+			game.getUI().println("Choose a player to give you 5 dollars");
 			
 			
 			ArrayList<Color> excludeList = new ArrayList<Color>();
@@ -1481,10 +1356,10 @@ public enum GreenPlayerCard implements Card {
 			
 			
 			// Chose a valid player
-			Player choosenPlayer = UI.getPlayer(myPlayersMap, excludeList, true);
+			Player choosenPlayer = game.choosePlayer(myPlayersMap, excludeList, true);
 			if(choosenPlayer == null) {
 				// Make sure we turn the console back to the players color
-				System.out.println(player.getColor().getAnsi());
+				game.getUI().println(player.getColor().getAnsi());
 				
 				return;
 			}
@@ -1492,12 +1367,12 @@ public enum GreenPlayerCard implements Card {
 			boolean hasMoney = choosenPlayer.getMoney() > 5;
 			boolean wantsToGive = false;
 			if(!hasMoney) {
-				System.out.println("Damn, " + choosenPlayer.getName() + " doesn't have 5 dollars");
+				game.getUI().println("Damn, " + choosenPlayer.getName() + " doesn't have 5 dollars");
 			} else {
 				wantsToGive = UI.getUserYesOrNoChoice(choosenPlayer.getName() + " do you want to give " + player.getName() + 
 						" $5");
 				if(wantsToGive) {
-					choosenPlayer.decreaseMoney(5);
+					game.takePlayerMoney(choosenPlayer, 5);
 					player.increaseMoney(5);
 				}
 			}
@@ -1505,19 +1380,15 @@ public enum GreenPlayerCard implements Card {
 			// Ok, lets have some fun
 			// give this card to the player, make sure he cant get rid of it
 			if(!hasMoney || !wantsToGive) {
-				// Why do we use current card in play??? because we cant reference this enum
-				// since it isn't created
-				if(game.getCurrentCardInPlay().getID() != 47) {
-					//TODO throw error
-					System.out.println("ISSUE IN THE FOOLS GUILD");
-				}
-				
 				// Give card to other player and say he cant get rid of it
 				// Unless currentPlayer got this card via this means
-				if(!player.getUnplayableCards().contains(game.getCurrentCardInPlay())){
-					game.addPlayerCard(choosenPlayer, game.getCurrentCardInPlay());
-					choosenPlayer.addUnplayableCard(game.getCurrentCardInPlay());
-					game.removePlayerCard(game.getCurrentCardInPlay(), player);
+				// Look this card up by name: the enum can't be referenced in its own
+				// initializer, and the card in play is null when the text is played on its own
+				GreenPlayerCard thisCard = GreenPlayerCard.valueOf("THE_FOOLS_GUILD");
+				if(!player.getUnplayableCards().contains(thisCard)){
+					game.addPlayerCard(choosenPlayer, thisCard);
+					choosenPlayer.addUnplayableCard(thisCard);
+					game.removePlayerCard(thisCard, player);
 				}
 			}
 		},
@@ -1534,15 +1405,12 @@ public enum GreenPlayerCard implements Card {
 	 */
 	// TODO NEEDS INTERRUPT
 	THE_FIRE_BRIGADE(
-		new ArrayList<Symbol>(){{
-			add(Symbol.PLAY_ANOTHER_CARD);
-		}},
+		symbols(Symbol.PLAY_ANOTHER_CARD),
 		(player, game) -> {
-//			TextUserInterface UI = new TextUserInterface();
-			TextUserInterface UI = TextUserInterface.getUI();
+			UserInterface UI = game.getUI();
 			Map<Color,Player> myPlayersMap = game.getPlayersMap();
 			
-			System.out.println("Choose a player to give you 5 dollars");
+			game.getUI().println("Choose a player to give you 5 dollars");
 			
 			
 			ArrayList<Color> excludeList = new ArrayList<Color>();
@@ -1550,10 +1418,10 @@ public enum GreenPlayerCard implements Card {
 			
 			
 			// Chose a valid player
-			Player choosenPlayer = UI.getPlayer(myPlayersMap, excludeList, true);
+			Player choosenPlayer = game.choosePlayer(myPlayersMap, excludeList, true);
 			if(choosenPlayer == null) {
 				// Make sure we turn the console back to the players color
-				System.out.println(player.getColor().getAnsi());
+				game.getUI().println(player.getColor().getAnsi());
 				
 				return;
 			}
@@ -1562,23 +1430,23 @@ public enum GreenPlayerCard implements Card {
 			boolean hasMoney = choosenPlayer.getMoney() > 5;
 			boolean wantsToGive = false;
 			if(!hasMoney) {
-				System.out.println("Damn, " + choosenPlayer.getName() + " doesn't have 5 dollars");
+				game.getUI().println("Damn, " + choosenPlayer.getName() + " doesn't have 5 dollars");
 			} else {
-				System.out.println(choosenPlayer.getColor().getAnsi());
+				game.getUI().println(choosenPlayer.getColor().getAnsi());
 				wantsToGive = UI.getUserYesOrNoChoice(choosenPlayer.getName() + " do you want to give " + player.getName() + 
 						" $5");
-				System.out.println(game.getPlayerOfCurrentTurn().getColor().getAnsi());
+				game.getUI().println(game.getPlayerOfCurrentTurn().getColor().getAnsi());
 				if(wantsToGive) {
-					choosenPlayer.decreaseMoney(5);
+					game.takePlayerMoney(choosenPlayer, 5);
 					player.increaseMoney(5);
 				}
 			}
 			
 			if(!hasMoney || !wantsToGive) {
-				System.out.println("...ok ... " + player.getName() + " will choose a building to remove...");
+				game.getUI().println("...ok ... " + player.getName() + " will choose a building to remove...");
 				Map<Integer, BoardArea> buildings = game.getBuildingAreas(choosenPlayer);
 				if(buildings.size() == 0) {
-					System.out.println("No buildings to be removed, sorry");
+					game.getUI().println("No buildings to be removed, sorry");
 				} else {
 					BoardArea chosenArea = UI.getAreaChoice(buildings, "Select an area: ", "Choice: ");
 				//	chosenArea.removeBuilding();
@@ -1595,6 +1463,13 @@ public enum GreenPlayerCard implements Card {
 	)
 	;
 	
+	/**
+	 * The text of the cards which have none, shared by all of them.
+	 */
+	private static final class NoText {
+		private static final BiConsumer<Player, Game> INSTANCE = (player, game) -> {};
+	}
+
 	private BiConsumer<Player, Game> text;
 
 	private List<Symbol> symbols;
@@ -1630,12 +1505,25 @@ public enum GreenPlayerCard implements Card {
 	
 
 	
+	/**
+	 * @return the symbols of a card, in the order they are played. A plain
+	 * 	list rather than a subclass of its own for each card keeps the class
+	 * 	loading at startup down.
+	 */
+	private static List<Symbol> symbols(Symbol... symbols) {
+		return Collections.unmodifiableList(Arrays.asList(symbols));
+	}
+
 	public List<Symbol> getSymbols() {
 		return this.symbols;
 	}
 	
+	/**
+	 * @return the text of the card, or what it is wrapped in if the effects
+	 * 	are (see {@link EffectTable}).
+	 */
 	public BiConsumer<Player, Game> getText() {
-		return this.text;
+		return EffectTable.textOf(this, this.text);
 	}
 	
 	public boolean hasScroll() {
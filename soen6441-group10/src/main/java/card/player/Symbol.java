@@ -3,7 +3,7 @@ package card.player;
 import gameplay.BoardArea;
 import gameplay.Game;
 import gameplay.Player;
-import io.TextUserInterface;
+import io.UserInterface;
 
 import java.util.ArrayList;
 import java.util.Map;
@@ -13,8 +13,14 @@ import java.util.stream.Collectors;
 
 import util.Color;
 import util.Interrupt;
+import card.EffectTable;
 import card.city.AnkhMorporkArea;
 import card.random.RandomEventCard;
+import metrics.EngineMetrics;
+import telemetry.RandomEventResolvedEvent;
+import telemetry.Telemetry;
+import tracing.SpanKind;
+import tracing.Tracer;
 
 /**
  * 
@@ -40,7 +46,7 @@ public enum Symbol {
 	 * minion in any area. </b>
 	*/
 	PLACE_MINION((player, game)->{
-		TextUserInterface UI = TextUserInterface.getUI();
+		UserInterface UI = game.getUI();
 		// Get players minion count
 		int availableMinions = player.getMinionCount();
 
@@ -123,7 +129,7 @@ public enum Symbol {
 	PLACE_A_BUILDING((player, game)->{
 		// Get players buildings
 		int playerBuildings = player.getBuildings();
-		TextUserInterface UI = new TextUserInterface();
+		UserInterface UI = game.getUI();
 		// Case 1: Must remove a building first
 		if(playerBuildings == 0){
 			// Choose Area to remove building from
@@ -133,7 +139,7 @@ public enum Symbol {
 			Map<Integer, BoardArea> freeAreas = game.getBuildingFreeAreas(player);
 			// Check that you can place a building
 			if(freeAreas.size() == 0) {
-				System.out.println("All areas have a building or a trouble marker.");
+				game.getUI().println("All areas have a building or a trouble marker.");
 			} else {
 				//Do the building removal and placement
 		//		chosenRemoveArea.removeBuilding();
@@ -143,7 +149,7 @@ public enum Symbol {
 				excludeList.add(chosenRemoveArea.getArea().getAreaCode());
 				BoardArea chosenPlaceArea = UI.getAreaChoice(freeAreas, "Choose Area to place building on", "Choose Area: ", excludeList);
 				game.addBuilding(player, chosenPlaceArea);
-				System.out.println("Building added.");
+				game.getUI().println("Building added.");
 				
 			}
 		} else {
@@ -151,11 +157,11 @@ public enum Symbol {
 			// Choose Area to place building on
 			Map<Integer, BoardArea> freeAreas = game.getBuildingFreeAreas(player);
 			if(freeAreas.size() == 0) {
-				System.out.println("All areas either has a building or a trouble marker or you do not have areas with minions.");
+				game.getUI().println("All areas either has a building or a trouble marker or you do not have areas with minions.");
 			} else {
 				BoardArea chosenPlaceArea = UI.getAreaChoice(freeAreas, "Choose Area to place building on", "Choose Area: ");
 				game.addBuilding(player, chosenPlaceArea);
-				System.out.println("Building added.");
+				game.getUI().println("Building added.");
 			}
 		}
 	}),
@@ -197,17 +203,16 @@ public enum Symbol {
 			
 		}
 		if(troubleAreas2.size() == 0) {
-			System.out.println("No areas to perform assainate");
+			game.getUI().println("No areas to perform assainate");
 			return;
 		}
 		
-//		TextUserInterface textUI = new TextUserInterface();
-		TextUserInterface textUI = TextUserInterface.getUI();
+		UserInterface textUI = game.getUI();
 		
 		BoardArea trouble = textUI.getAreaChoice(troubleAreas2, "Select area for assasinnation", "choice: ", true);
 	
-		Color c  = textUI.assassinatePiece(trouble, player, game);
-		System.out.println("Assasination took place");
+		Color c  = game.assassinate(trouble, player);
+		game.getUI().println("Assasination took place");
 
 		if(c != null) {
 			Player affectedPlayer = game.getPlayerOfColor(c);
@@ -222,8 +227,11 @@ public enum Symbol {
 	 */
 	REMOVE_TROUBLE_MARKER((player, game) ->{
 		Map<Integer, BoardArea> troubleAreas = game.getTroubleAreas();
-		//TextUserInterface textUI = new TextUserInterface();
-		TextUserInterface textUI = TextUserInterface.getUI();
+		if (troubleAreas.isEmpty()) {
+			game.getUI().println("No areas with trouble markers");
+			return;
+		}
+		UserInterface textUI = game.getUI();
 		
 		BoardArea trouble = textUI.getAreaChoice(troubleAreas, "Select area to remove trouble", "Choice: ");
 		//trouble.removeTroubleMarker();
@@ -243,7 +251,7 @@ public enum Symbol {
 			Integer amount = playerCard.getMoney();
 			game.getBank().decreaseBalance(amount);
 			player.increaseMoney(amount);
-			System.out.println("Took " + amount + " from bank");
+			game.getUI().println("Took " + amount + " from bank");
 		}
 	}),
 	
@@ -261,9 +269,20 @@ public enum Symbol {
 	RANDOM_EVENT((player, game) -> {
 		
 		RandomEventCard random = game.drawRandomEventCard().get();
+		RandomEventResolvedEvent event = null;
+		if (Telemetry.isRecording()) {
+			event = new RandomEventResolvedEvent();
+			event.begin();
+		}
+		long span = Tracer.begin();
 		random.getGameAction().accept(game, player);
+		Tracer.end(span, SpanKind.RANDOM_EVENT, random.name());
+		if (event != null) {
+			event.finish(game.getTableId(), random, player);
+		}
+		EngineMetrics.RANDOM_EVENTS.increment(random);
 
-		System.out.println(random + " was played");
+		game.getUI().println(random + " was played");
 	}),
 	
 	/**
@@ -291,7 +310,7 @@ public enum Symbol {
 	 * card retrospectively.</b>
 	 */
 	INTERRUPT((player, game) -> {
-		System.out.println("You played an interrupt ... interrupts usually play them selves");
+		game.getUI().println("You played an interrupt ... interrupts usually play them selves");
 	})
 	
     ;
@@ -320,10 +339,11 @@ public enum Symbol {
 	
 	/**
 	 * 
-	 * @return function to execute
+	 * @return function to execute, or what it is wrapped in if the effects
+	 * 	are (see {@link EffectTable})
 	 */
 	public BiConsumer<Player, Game> getGameAction() {
-		return gameAction;
+		return EffectTable.actionOf(this, gameAction);
 	}
 
 	
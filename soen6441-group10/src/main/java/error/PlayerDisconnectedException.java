@@ -0,0 +1,15 @@
+package error;
+
+/**
+ * Thrown in the middle of a turn when the remote player who has to take a
+ * decision has disconnected; the turn is abandoned.
+ */
+public class PlayerDisconnectedException extends RuntimeException {
+
+	private static final long serialVersionUID = 4410713312545014472L;
+
+	public PlayerDisconnectedException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,19 @@
+package error;
+
+/**
+ * Thrown when a recorded game does not replay the way it was played, e.g.
+ * because a recorded decision is not a valid choice anymore or the final
+ * points differ from the recorded ones.
+ */
+public class ReplayDivergenceException extends IllegalStateException {
+
+	private static final long serialVersionUID = -6093287617750236571L;
+
+	public ReplayDivergenceException(String message) {
+		super(message);
+	}
+
+	public ReplayDivergenceException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,21 @@
+package error;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a saved document cannot be upgraded to the current save schema,
+ * e.g. because it was written by a newer version of the game or refers to
+ * cards that no longer exist.
+ */
+public class SchemaMigrationException extends IOException {
+
+	private static final long serialVersionUID = 4127706243513286418L;
+
+	public SchemaMigrationException(String message) {
+		super(message);
+	}
+
+	public SchemaMigrationException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -1,8 +1,7 @@
 package gameplay;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.Optional;
 
 import util.Color;
 import card.city.AnkhMorporkArea;
@@ -21,6 +20,12 @@ import card.city.AnkhMorporkArea;
  */
 public class BoardArea {
 
+	/**
+	 * The colors the minions can be of, to go through them without
+	 * allocating an iterator (Color.values() copies the constants).
+	 */
+	private static final Color[] COLORS = Color.values();
+
 	private AnkhMorporkArea area;
 
 	private Map<Color, Integer> minions;
@@ -42,7 +47,7 @@ public class BoardArea {
 	 * This constructor is invoked to create objects from the class Area.
 	 */
 	public BoardArea() {
-		minions = new HashMap<Color, Integer>();
+		minions = new EnumMap<Color, Integer>(Color.class);
 		troubleMarker = false;
 		buildingColor = Color.UNDEFINED;
 		demonCount = 0;
@@ -151,8 +156,7 @@ public class BoardArea {
 	 *            the player
 	 */
 	public void addMinion(Player p) {
-		troubleMarker = 
-				(minions.values().stream().anyMatch(c -> c > 0)) || demonCount > 0 || trollCount > 0;
+		troubleMarker = getMinionCount() > 0 || demonCount > 0 || trollCount > 0;
 		Color playerColor = p.getColor();
 		p.decreaseMinions();
 		if (minions.get(playerColor) == null) {
@@ -213,7 +217,7 @@ public class BoardArea {
 	 * @return true if adding a troll succeeded, false otherwise.
 	 */
 	public boolean addTroll() {
-		troubleMarker = (minions.values().stream().anyMatch(c -> c > 0)) || demonCount > 0 || trollCount > 0;
+		troubleMarker = getMinionCount() > 0 || demonCount > 0 || trollCount > 0;
 		trollCount++;
 		return true;
 	}
@@ -307,12 +311,15 @@ public class BoardArea {
 	public boolean isControlledBy(Player p) {
 		int playerPieces = getMinionCountForPlayer(p) + 
 				(getBuildingOwner() == p.getColor() ? 1 : 0);
-		Optional<Integer> maxPiecesOwnedByAnyOtherPlayer = minions.entrySet().stream()
-				.filter(e -> e.getKey() != p.getColor())
-				.map(e -> e.getValue() + (getBuildingOwner() == e.getKey() ? 1 : 0))
-				.max(Integer::compare);
-		return (playerPieces > (maxPiecesOwnedByAnyOtherPlayer.isPresent() ? 
-					maxPiecesOwnedByAnyOtherPlayer.get() : 0) 
+		int maxPiecesOwnedByAnyOtherPlayer = 0;
+		for (Color c : COLORS) {
+			Integer count = minions.get(c);
+			if (c != p.getColor() && count != null) {
+				maxPiecesOwnedByAnyOtherPlayer = Math.max(maxPiecesOwnedByAnyOtherPlayer,
+						count + (getBuildingOwner() == c ? 1 : 0));
+			}
+		}
+		return (playerPieces > maxPiecesOwnedByAnyOtherPlayer
 				&& playerPieces > getTrollCount() && getDemonCount() == 0);
 	}
 	
@@ -340,12 +347,14 @@ public class BoardArea {
 	 * are not included).
 	 */
 	public int getMinionCount() {
-		return minions
-				.values()
-				.stream()
-				.map(v -> v != null ? v : 0)
-				.reduce(0,
-						(partialSum, contribution) -> partialSum + contribution);
+		int count = 0;
+		for (Color c : COLORS) {
+			Integer minionsOfColor = minions.get(c);
+			if (minionsOfColor != null) {
+				count += minionsOfColor;
+			}
+		}
+		return count;
 	}
 
 	@Override
@@ -1,12 +1,27 @@
 
 package gameplay;
 
+import io.UserInterface;
+
 import java.util.Collection;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import util.Color;
+import card.Card;
+import card.city.CityAreaCard;
+import card.personality.PersonalityCard;
+import card.player.GreenPlayerCard;
 import card.player.Symbol;
 import error.InvalidGameStateException;
+import metrics.EngineMetrics;
+import telemetry.CardPlayedEvent;
+import telemetry.CityAreaCardEvent;
+import telemetry.SymbolPerformedEvent;
+import telemetry.Telemetry;
+import tracing.SpanKind;
+import tracing.Tracer;
 
 /**
  * This class represents the Controller layer of MVC pattern.
@@ -25,10 +40,12 @@ public class Controller {
 	
 	public Controller(Game game_) {
 		game = game_;
+		game.publishSnapshot();
 	}
 	
 	public void setGame(Game game_){
 		game = game_;
+		game.publishSnapshot();
 	}
 	
 	/**
@@ -41,8 +58,10 @@ public class Controller {
 			game.setUp(numberOfPlayers, playerNames);
 			game.init();
 		} catch (InvalidGameStateException e) {
-			System.out.println(e.getMessage());
+			game.getUI().println(e.getMessage());
 			return false;
+		} finally {
+			game.publishSnapshot();
 		}
 
 		return true;
@@ -117,11 +136,26 @@ public class Controller {
 	}
 	
 	public void performSymbolAction(Player p, Symbol s) {
+		GreenPlayerCard card = game.getCurrentCardInPlay();
+		SymbolPerformedEvent event = null;
+		if (Telemetry.isRecording()) {
+			event = new SymbolPerformedEvent();
+			event.begin();
+		}
+		long span = Tracer.begin();
 		s.getGameAction().accept(p, game);
+		Tracer.end(span, SpanKind.SYMBOL, s.name());
+		if (event != null) {
+			event.finish(game.getTableId(), s, card, p);
+		}
+		game.publishSnapshot();
 	}
 	
 	public void restorePlayerHand(Player p) {
+		long span = Tracer.begin();
 		game.restorePlayerHand(p);
+		Tracer.end(span, SpanKind.RESTORE_HAND, null);
+		game.publishSnapshot();
 	}
 	
 	public boolean hasPlayerWon(Player p) {
@@ -142,4 +176,251 @@ public class Controller {
 		game.shuffleDecks();
 	}
 	
+	/**
+	 * Runs the given player's turn which consists of drawing a card (or more,
+	 * if applicable), performing selectively the symbols on the card 
+	 * (except for Random Events, which are mandatory) and restoring the hand
+	 * back to 5 cards (if applicable).<br>
+	 * The player's decisions are taken through the game's user interface
+	 * (see {@link Game#getUI()}).
+	 * @param p the player whose turn it currently is.
+	 * @return true if the game has finished either at the beginning or the end
+	 * of this turn, false otherwise.
+	 */
+	public boolean playTurn(Player p) {
+		long start = System.nanoTime();
+		long decisions = game.getUI().getDecisionCount();
+		long span = Tracer.beginTurn(game.getTableId());
+		boolean finished;
+		try {
+			finished = playTurn(p, true);
+		} finally {
+			Tracer.endTurn(span, p.getName());
+		}
+		EngineMetrics.TURNS.increment();
+		EngineMetrics.TURN_DURATION.record(System.nanoTime() - start);
+		if (decisions >= 0) {
+			EngineMetrics.DECISIONS_PER_TURN.record(game.getUI().getDecisionCount() - decisions);
+		}
+		game.fireTurnFinished(p);
+		return finished;
+	}
+	
+	/**
+	 * @param firstTime should be true if this is the first time a player has to choose
+	 * a card to play, false otherwise.
+	 */
+	private boolean playTurn(Player p, boolean firstTime) {
+		UserInterface ui = game.getUI();
+		if (firstTime) {
+			p.resetCityAreaCards();
+		}
+
+		ui.turnStarted(p, game);
+
+		// For all the players except Commander Vimes, check the winning conditions
+		// in the beginning
+		if (firstTime && hasPlayerWon(p)) {
+			game.getUI().println(p + " has won the game!");
+			return true;
+		}
+
+		// This is dirty but it would take a lot more time to rewrite everything
+		// with proper variance... if it's even possible. At least the casts are safe.
+		long span = Tracer.begin();
+		Card c = ui.getCardChoice(p.getPlayableCards(), "Choose a card to play: ");
+		Tracer.end(span, SpanKind.CARD_CHOICE, null);
+		if (c instanceof GreenPlayerCard) {
+			playPlayerCard((GreenPlayerCard) c, p);
+		} else if (c instanceof CityAreaCard) {
+			playCityAreaCard((CityAreaCard) c, p);
+			playTurn(p, false);
+		}
+		
+		// The following must only be performed if the game hasn't finished
+		// If the game has finished after the player has finished playing
+		// (that can only happen if the cards run out) then the following block
+		// should be executed once and only once.
+		if (getGameStatus() != GameStatus.FINISHED) {
+			restorePlayerHand(p);
+			// For Commander Vimes we only check the winning condition at the end
+			if ((p.getPersonality() == PersonalityCard.COMMANDER_VIMES && hasPlayerWon(p))) {
+				game.getUI().println(PersonalityCard.COMMANDER_VIMES + " has won the game.");
+				return true;
+			}
+			
+			// If the deck was empty and nobody had Commander Vimes, the game will
+			// finish on points
+			List<Player> winners = finishGameOnPoints(true);
+			if (!winners.isEmpty()) {
+				game.getUI().println("Game winners: " + winners);
+			}
+			
+			ui.turnFinished(p, game);
+			return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Polls the player in turn to play a city area card (if he has any available).
+	 * If the player wishes so, a card will be played.
+	 */
+	public void playCityAreaCardBetweenSymbols(Player p) {
+		List<CityAreaCard> playableCityAreaCards = 
+				p.getCityAreaCards()
+					.stream().filter(c -> (!c.isDisabled() && !c.hasBeenPlayed() && !c.isSmallGods()))
+					.collect(Collectors.toList());
+		// So that (s)he can play multiple city area cards between symbols
+		while (!playableCityAreaCards.isEmpty() && game.getUI().getUserYesOrNoChoice("Do you want "
+				+ "to play a city area card in between another action?")) {
+			CityAreaCard cardToPlay = game.getUI().getCardChoice(playableCityAreaCards, "Choose a city area card to play: ");
+			playCityAreaCard(cardToPlay, p);
+			playableCityAreaCards.remove(cardToPlay);
+		}
+	}
+	
+	public void playCityAreaCard(CityAreaCard c, Player p) {
+		game.getUI().println("Playing: " + c);
+		CityAreaCardEvent event = null;
+		if (Telemetry.isRecording()) {
+			event = new CityAreaCardEvent();
+			event.begin();
+		}
+		long span = Tracer.begin();
+		c.getCardAction().accept(p, game);
+		Tracer.end(span, SpanKind.CITY_AREA, c.getArea().name());
+		c.setHasBeenPlayed(true);
+		if (event != null) {
+			event.finish(game.getTableId(), c, p);
+		}
+	}
+
+	public void playPlayerCard(GreenPlayerCard c, Player p) {
+		long span = Tracer.begin();
+		try {
+			if (!Telemetry.isRecording()) {
+				playCard(c, p);
+				return;
+			}
+			CardPlayedEvent event = new CardPlayedEvent();
+			event.begin();
+			try {
+				playCard(c, p);
+			} finally {
+				event.finish(game.getTableId(), c, p);
+			}
+		} finally {
+			Tracer.end(span, SpanKind.CARD, c.name());
+		}
+	}
+
+	private void playCard(GreenPlayerCard c, Player p) {
+		game.setCurrentCardInPlay(c);
+		game.fireCardPlayed(p, c);
+
+		// Determine which needs to be completed first (symbols or text)
+		game.getUI().println("Playing symbols");
+		if (c.isTextFirst()) {
+			// play text
+			// if text returns false, its because we gave away this card
+			boolean res = playText(c, p);
+			if (!res) {
+				game.setCurrentCardInPlay(null);
+				return;
+			}
+			// Perform symbols
+			// If symbols return false
+			// Its because we've recursed into playing another card
+			res = playSymbols(c, p);
+			if (!res) {
+				return;
+			}
+		} else {
+			// Perform symbols
+			// If symbols return false
+			// Its because we've recursed into playig another card
+			boolean res = playSymbols(c, p);
+			if (!res) {
+				return;
+			}
+			res = playText(c, p);
+			if (!res) {
+				game.setCurrentCardInPlay(null);
+				return;
+			}
+		}
+		game.getUI().println("Done playing symbols");
+
+		game.discardCard(c, p);
+		game.setCurrentCardInPlay(null);
+	}
+	
+	/**
+	 * 
+	 * @param c GreenPlayerCard being played
+	 * @param p Player who's turn it is
+	 * @return boolean:	if card was given away through course of symbol play
+	 */
+	private boolean playText(GreenPlayerCard c, Player p) {
+		if(!c.hasScroll()) return true;
+		BiConsumer<Player, Game> textAction = c.getText();
+		if (textAction != null) {
+			playCityAreaCardBetweenSymbols(p);
+			if (game.getUI().getUserYesOrNoChoice("Do you want to perform the scroll (" 
+					+ c.getDesc() + ") symbol?")) {
+				textAction.accept(p, game);
+
+				// Its possible, due to the evil ways of the text symbols
+				// that the card we are playing, is now given to another player
+				// ie the fools guild
+				// so we should check here to make sure the player still has
+				// this card
+				if (!p.getPlayerCards().contains(c)) {
+					// if player has given away this card, then we
+					// need to make sure that the card isnt discarded or symbols
+					// played
+					return false;
+				}
+
+			}
+		}
+
+		return true;
+	}
+	
+	/**
+	 * 
+	 * @param c GreenPlayerCard currently in use
+	 * @param p Player who turn it is
+	 */
+	private boolean playSymbols(GreenPlayerCard c, Player p) {
+		// Perform the symbols on the cards selectively
+		for (Symbol s : c.getSymbols()) {
+			playCityAreaCardBetweenSymbols(p);
+			// Only Random Events are mandatory
+			if (s != Symbol.RANDOM_EVENT) {
+				if (game.getUI().getUserYesOrNoChoice("Do you want to perform " + s + "?")) {
+					if (s == Symbol.PLAY_ANOTHER_CARD) {
+						game.discardCard(c, p);
+						playTurn(p, false);
+						return false;
+					}
+					performSymbolAction(p, s);
+					if(s == Symbol.INTERRUPT) {
+						// Symbol is an interrupt -> return false so text doesnt play
+						return false;
+					}
+					
+				}
+			} else {
+				game.getUI().println("Random Event Symbol, must play...");
+				performSymbolAction(p, s);
+			}
+		}
+		return true;
+		
+	}
+	
 }
@@ -2,11 +2,17 @@ package gameplay;
 
 import java.util.Random;
 
+/**
+ * The game's die, which is also the source of randomness for shuffling the decks.<br>
+ * Each thread has its own die, so that games played on different threads
+ * (e.g. replayed in batch) do not share a random sequence; seeding the die
+ * makes a game played on the thread reproducible.
+ */
 public class Die {
 	
 	private static final int SIDES = 12;
 	
-	private static Die instance = null;
+	private static final ThreadLocal<Die> instance = ThreadLocal.withInitial(Die::new);
 	
 	private Random randomGen = new Random();
 	
@@ -17,11 +23,30 @@ public class Die {
 	private Die() {}
 	
 	public static Die getDie() {
-		if (instance == null) {
-			instance = new Die();
-		}
-		
-		return instance;
+		return instance.get();
+	}
+	
+	/**
+	 * Restarts the die's random sequence from the given seed.
+	 */
+	public void setSeed(long seed) {
+		randomGen = new Random(seed);
+	}
+	
+	/**
+	 * @return the random generator behind the die; its state determines every
+	 * future roll and shuffle.
+	 */
+	public Random getRandom() {
+		return randomGen;
+	}
+	
+	/**
+	 * Replaces the random generator behind the die, e.g. to resume a random
+	 * sequence saved in a checkpoint.
+	 */
+	public void setRandom(Random random) {
+		randomGen = random;
 	}
 
 	/**
@@ -32,15 +57,20 @@ public class Die {
 			return cheat;
 		}
 		
-		int result = randomGen.nextInt(SIDES) + 1;
-		System.out.println("Die roll: " + result);
-		return result;
+		return randomGen.nextInt(SIDES) + 1;
 	}
 	
 	public void setCheat(int cheat) {
 		this.cheat = cheat;
 	}
 	
+	/**
+	 * Lets the die roll at random again after {@link #setCheat(int)}.
+	 */
+	public void clearCheat() {
+		cheat = null;
+	}
+	
 	/**
 	 * Returns an integer between 0 (inclusive) and the given number of players 
 	 * (exclusive) which determines which player should play first (the result
@@ -1,17 +1,19 @@
 package gameplay;
 
 import io.TextUserInterface;
+import io.UserInterface;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import util.Color;
@@ -27,6 +29,10 @@ import card.player.Symbol;
 import card.random.RandomEventCard;
 import card.random.RandomEventDeck;
 import error.InvalidGameStateException;
+import telemetry.InterruptWindowEvent;
+import telemetry.Telemetry;
+import tracing.SpanKind;
+import tracing.Tracer;
 
 /**
  * This class represents the bulk of the actions available in the game.<br> It sets
@@ -60,10 +66,10 @@ public class Game {
 	/**
 	 * For most, if not all, use cases, we need to alter the state
 	 * of a board area based on its area code (which is the value after
-	 * rolling the die).<br> So it makes most sense to keep areas in an
-	 * Integer -> BoardArea map.
+	 * rolling the die).<br> So it makes most sense to keep areas in a
+	 * board indexed by area code.
 	 */
-	private Map<Integer, BoardArea> gameBoard;
+	private GameBoard gameBoard;
 
 	private RandomEventDeck randomEventDeck;
 
@@ -78,12 +84,122 @@ public class Game {
 	private int currentTurn;
 
 	private GreenPlayerCard currentCardInPlay;
+	
+	/**
+	 * The colors of the players who won the game, once it has finished.
+	 */
+	private List<Color> winners = new ArrayList<>();
+	
+	/**
+	 * Where the players' decisions are taken; not part of the game's state.
+	 */
+	private transient UserInterface ui;
+	
+	private transient List<GameListener> listeners = new ArrayList<>();
+	
+	private transient volatile GameSnapshot snapshot;
+	
+	private transient long interruptWindowMillis;
+	
+	/**
+	 * The table the game is played at, which tags its recorded events.
+	 */
+	private transient int tableId;
 
 	public Game() {
 		status = GameStatus.UNINITIATED;
-		gameBoard = new HashMap<>();
+		gameBoard = new GameBoard();
+		currentCardInPlay = null;
+		interrupts = new EnumMap<>(GreenPlayerCard.class);
+	}
+	
+	/**
+	 * Puts the game back in the state of a new game, so that it can be set up
+	 * again. The listeners and the user interface are removed as well.
+	 */
+	public void reset() {
+		status = GameStatus.UNINITIATED;
+		gameBank = null;
+		players = null;
+		playerTurnOrder = null;
+		personalityDeck = null;
+		playerDeck = null;
+		randomEventDeck = null;
+		discardPile = null;
+		gameBoard.clear();
+		interrupts.clear();
+		currentTurn = 0;
 		currentCardInPlay = null;
-		interrupts = new HashMap<>();
+		winners = new ArrayList<>();
+		ui = null;
+		listeners.clear();
+		snapshot = null;
+	}
+	
+	/**
+	 * @return the user interface through which the players of this game take 
+	 * their decisions - the command line unless another one was set.
+	 */
+	public UserInterface getUI() {
+		return ui != null ? ui : TextUserInterface.getUI();
+	}
+	
+	public void setUI(UserInterface ui_) {
+		ui = ui_;
+	}
+	
+	public void addListener(GameListener listener) {
+		listeners.add(listener);
+	}
+	
+	public void removeListener(GameListener listener) {
+		listeners.remove(listener);
+	}
+	
+	void fireCardPlayed(Player p, GreenPlayerCard card) {
+		publishSnapshot();
+		for (GameListener l : listeners) {
+			l.cardPlayed(this, p, card);
+		}
+	}
+	
+	void fireTurnFinished(Player p) {
+		publishSnapshot();
+		for (GameListener l : listeners) {
+			l.turnFinished(this, p);
+		}
+	}
+	
+	/**
+	 * @return the state of the game as of its last action. Unlike the rest
+	 * of the game, the snapshot can be read from any thread.
+	 */
+	public GameSnapshot getSnapshot() {
+		GameSnapshot s = snapshot;
+		return s == null ? GameSnapshot.EMPTY : s;
+	}
+	
+	/**
+	 * Carries on the snapshots of a game loaded back from its saved state
+	 * from its last snapshot, so that their versions keep going up.
+	 */
+	public void restoreSnapshot(GameSnapshot s) {
+		snapshot = s == GameSnapshot.EMPTY ? null : s;
+	}
+	
+	/**
+	 * Publishes the current state of the game to the readers of
+	 * {@link #getSnapshot()}; must be called by the thread playing the game,
+	 * after each action.
+	 * @return the new snapshot.
+	 */
+	public GameSnapshot publishSnapshot() {
+		GameSnapshot s = GameSnapshot.of(this, snapshot);
+		snapshot = s;
+		for (GameListener l : listeners) {
+			l.snapshotPublished(this, s);
+		}
+		return s;
 	}
 
 	/**
@@ -107,7 +223,7 @@ public class Game {
 			gameBank = new Bank();
 
 			playerTurnOrder = new Color[numberOfPlayers];
-			players = new HashMap<>();
+			players = new EnumMap<>(Color.class);
 			for (int i = 0; i < numberOfPlayers; i++) {
 				Player p = new Player();
 				p.setName(playerNames[i]);
@@ -192,9 +308,18 @@ public class Game {
 		
 	/**
 	 * Similar to getBoard but returns areas with indexes.
+	 * @return a read-only view of the board.
 	 */
 	public Map<Integer, BoardArea> getGameBoard() {
-		return gameBoard;
+		return gameBoard == null ? null : Collections.unmodifiableMap(gameBoard);
+	}
+	
+	/**
+	 * @return the board area of the given code, e.g. a die roll, or null if
+	 * 	there is none.
+	 */
+	public BoardArea getBoardArea(int areaCode) {
+		return gameBoard.get(areaCode);
 	}
 	
 	/**
@@ -285,17 +410,22 @@ public class Game {
 	 * @param p the player whose hand size must be restored.
 	 */
 	public boolean addPlayerCard(Player p , int i){
-		while(i>0){
-			if (hasPlayerCardsLeft()) {
-				GreenPlayerCard card = playerDeck.drawCard().get();
-				addPlayerCard(p, card);
-				i--;
-			} else {
-				System.out.println("Out of cards");
-				return false;
+		long span = Tracer.begin();
+		try {
+			while(i>0){
+				if (hasPlayerCardsLeft()) {
+					GreenPlayerCard card = playerDeck.drawCard().get();
+					addPlayerCard(p, card);
+					i--;
+				} else {
+					getUI().println("Out of cards");
+					return false;
+				}
 			}
+			return true;
+		} finally {
+			Tracer.end(span, SpanKind.DRAW, null);
 		}
-		return true;
 	}
 	
 	public void addPlayerCard(Player player, GreenPlayerCard card) {
@@ -326,7 +456,13 @@ public class Game {
 	 *         nothing, if the deck is out of cards.
 	 */
 	public Optional<RandomEventCard> drawRandomEventCard() {
-		 return randomEventDeck.drawCard();
+		Optional<RandomEventCard> event = randomEventDeck.drawCard();
+		if (event.isPresent()) {
+			for (GameListener l : listeners) {
+				l.randomEventDrawn(this, event.get());
+			}
+		}
+		return event;
 	}
 
 	/**
@@ -365,9 +501,14 @@ public class Game {
 	 *         board.
 	 */
 	public int getTotalMinionCountForPlayer(Player player) {
-		return gameBoard.values().stream()
-				.map(area -> (area.getDemonCount() == 0) ? area.getMinionCountForPlayer(player) : 0)
-				.reduce(0, (sumSoFar, next) -> sumSoFar + next);
+		int count = 0;
+		for (int code = 0; code <= AnkhMorporkArea.getMaxAreaCode(); code++) {
+			BoardArea area = gameBoard.get(code);
+			if (area != null && area.getDemonCount() == 0) {
+				count += area.getMinionCountForPlayer(player);
+			}
+		}
+		return count;
 	}
 	
 	/**
@@ -389,8 +530,9 @@ public class Game {
 	 */
 	public int getNumberOfAreasControlled(Player player) {
 		int count = 0;
-		for (BoardArea ba : gameBoard.values()) {
-			if (ba.isControlledBy(player)) {
+		for (int code = 0; code <= AnkhMorporkArea.getMaxAreaCode(); code++) {
+			BoardArea ba = gameBoard.get(code);
+			if (ba != null && ba.isControlledBy(player)) {
 				count++;
 			}
 		}
@@ -428,11 +570,13 @@ public class Game {
 		Map<Integer, BoardArea> possibleAreas = new HashMap<Integer, BoardArea>();
 
 		for (BoardArea ba : gameBoard.values()) {
-			AnkhMorporkArea area = ba.getArea();
 			if (ba.getMinionCountForPlayer(player) != 0) {
-				possibleAreas.put(area.getAreaCode(), ba);
-				Map<Integer, BoardArea> neighbours = getNeighbours(ba);
-				possibleAreas.putAll(neighbours);
+				// An area is adjacent to itself
+				for (BoardArea neighbour : gameBoard.values()) {
+					if (ba.isNeighboringWith(neighbour)) {
+						possibleAreas.put(neighbour.getArea().getAreaCode(), neighbour);
+					}
+				}
 			}
 		}
 
@@ -444,7 +588,7 @@ public class Game {
 	 */
 	public Optional<Map<Color, Integer>> getMinionsInArea(AnkhMorporkArea a) {
 		return gameBoard.get(a.getAreaCode()).getMinionCount() > 0 ?
-				Optional.of(new HashMap<>(gameBoard.get(a.getAreaCode()).getMinions())) 
+				Optional.of(new LinkedHashMap<>(gameBoard.get(a.getAreaCode()).getMinions())) 
 					: Optional.empty();
 	}
 
@@ -458,18 +602,27 @@ public class Game {
 	 * @return Map of boardArea neighboring to boardArea
 	 */
 	public Map<Integer, BoardArea> getNeighbours(BoardArea boardArea) {
-		return gameBoard.values().stream()
-				.filter(a -> boardArea.isNeighboringWith(a))
-				.collect(Collectors.toMap(a -> a.getArea().getAreaCode(), Function.identity()));
+		Map<Integer, BoardArea> neighbours = new HashMap<Integer, BoardArea>();
+		for (BoardArea a : gameBoard.values()) {
+			if (boardArea.isNeighboringWith(a)) {
+				neighbours.put(a.getArea().getAreaCode(), a);
+			}
+		}
+		return neighbours;
 	}
 	
 	/**
 	 * @return the total number of trouble markers currently placed on the board.
 	 */
 	public int getTotalNumberOfTroubleMarkers() {
-		return gameBoard.values().stream()
-				.map(area -> area.hasTroubleMarker() ? 1 : 0)
-				.reduce(0, (partialSum, current) -> partialSum + current);
+		int count = 0;
+		for (int code = 0; code <= AnkhMorporkArea.getMaxAreaCode(); code++) {
+			BoardArea area = gameBoard.get(code);
+			if (area != null && area.hasTroubleMarker()) {
+				count++;
+			}
+		}
+		return count;
 	}
 	
 	/**
@@ -500,17 +653,20 @@ public class Game {
 		// has Small Gods to protect his minions/buildings:
 		// Remove minions, demons, trolls and buildings in succession
 
-		for (Map.Entry<Color, Integer> e : a.getMinions().entrySet()) {
+		// The counts are taken beforehand as they go down while pieces are removed
+		for (Map.Entry<Color, Integer> e : new LinkedHashMap<>(a.getMinions()).entrySet()) {
 			for (int i = 0; i < e.getValue(); i++) {
 				removeMinion(areaId, getPlayerOfColor(e.getKey()));
 			}
 		}
 		
-		for (int i = 0; i < a.getDemonCount(); i++) {
+		int demonCount = a.getDemonCount();
+		for (int i = 0; i < demonCount; i++) {
 			removeDemon(areaId);
 		}
 		
-		for (int i = 0; i < a.getTrollCount(); i++) {
+		int trollCount = a.getTrollCount();
+		for (int i = 0; i < trollCount; i++) {
 			a.removeTroll();
 		}
 		
@@ -588,7 +744,7 @@ public class Game {
 			Player owner = getPlayerOfColor(a.getBuildingOwner());
 			if (owner.canProtectPieces() && willProtectPiece(owner)) {
 				payToProtectPiece(owner);
-				System.out.println("Building protected.");
+				getUI().println("Building protected.");
 				return false;
 			}
 			a.removeBuilding();
@@ -617,7 +773,7 @@ public class Game {
 	 * @return true if the transaction was completed successfully, false otherwise.
 	 */
 	public boolean giveBankMoneyFromPlayer(Player p, int amount) {
-		if (p.decreaseMoney(amount)) {
+		if (takePlayerMoney(p, amount)) {
 			gameBank.increaseBalance(amount);
 			return true;
 		} else {
@@ -625,6 +781,19 @@ public class Game {
 		}
 	}
 
+	/**
+	 * Takes money from the given player, telling the players if he cannot afford it.
+	 * @return true if the money was taken, false otherwise.
+	 */
+	public boolean takePlayerMoney(Player p, int amount) {
+		if (p.decreaseMoney(amount)) {
+			return true;
+		}
+		getUI().println(p.getName() + " cannot afford to pay $" + amount + 
+				" (has $" + p.getMoney() + ")!");
+		return false;
+	}
+
 	/**
 	 * 
 	 * @param player
@@ -653,11 +822,11 @@ public class Game {
 			if (a.getBuildingOwner() != Color.UNDEFINED) {
 				Player p = players.get(a.getBuildingOwner());
 				if (giveBankMoneyFromPlayer(p, BUILDING_COST)) {
-					System.out.println(p.getName() + " (" + p.getColor() + ") " +
+					getUI().println(p.getName() + " (" + p.getColor() + ") " +
 							"paying $" + BUILDING_COST + " for " + area.name() + "...");
 				} else {
 					removeBuilding(area.getAreaCode());
-					System.out.println("Building removed for " + p.getName() + "(" +
+					getUI().println("Building removed for " + p.getName() + "(" +
 							p.getColor() + " at " + area.name() + ".");
 				}
 			}
@@ -700,7 +869,7 @@ public class Game {
 		if (affectedArea.getMinionCountForPlayer(player) > 0) {
 			if (player.canProtectPieces() && willProtectPiece(player)) {
 				payToProtectPiece(player);
-				System.out.println("Minion saved.");
+				getUI().println("Minion saved.");
 				return false;
 			}
 			affectedArea.removeMinion(player);
@@ -743,7 +912,7 @@ public class Game {
 			Player buildingOwner = players.get(boardArea.getBuildingOwner());
 			if (buildingOwner.canProtectPieces() && willProtectPiece(buildingOwner)) {
 				payToProtectPiece(buildingOwner);
-				System.out.println("Area protected by demon.");
+				getUI().println("Area protected by demon.");
 				return false;
 			}
 		}
@@ -795,8 +964,12 @@ public class Game {
 	 * @return true if the game is over because the given player has won, false otherwise.
 	 */
 	public boolean hasPlayerWon(Player p) {
-		if (p.getPersonality().hasWon(players.size(), p, this)) {
+		long span = Tracer.begin();
+		boolean won = p.getPersonality().hasWon(players.size(), p, this);
+		Tracer.end(span, SpanKind.WIN_CHECK, p.getPersonality().name());
+		if (won) {
 			status = GameStatus.FINISHED;
+			winners = new ArrayList<>(Collections.singletonList(p.getColor()));
 			return true;
 		}
 		return false;
@@ -815,7 +988,17 @@ public class Game {
 			return Collections.emptyList();
 		}
 		status = GameStatus.FINISHED;
-		return getWinnersByPoints();
+		List<Player> winningPlayers = getWinnersByPoints();
+		winners = winningPlayers.stream().map(Player::getColor).collect(Collectors.toList());
+		return winningPlayers;
+	}
+	
+	/**
+	 * @return the colors of the players who won the game, or an empty list if
+	 * the game has not finished.
+	 */
+	public List<Color> getWinners() {
+		return winners == null ? Collections.emptyList() : Collections.unmodifiableList(winners);
 	}
 
 	/**
@@ -837,7 +1020,7 @@ public class Game {
 				players.values().stream().collect(Collectors.groupingBy(p -> getPlayerPoints(p)));
 		int maxPoints = pointsToPlayers.keySet().stream().max(Integer::compare).get();
 		if (pointsToPlayers.get(maxPoints).size() == 1) {
-			System.out.println("The game has a winner with " + maxPoints + " points.");
+			getUI().println("The game has a winner with " + maxPoints + " points.");
 			return pointsToPlayers.get(maxPoints);
 		}
 			
@@ -846,9 +1029,9 @@ public class Game {
 				players.values().stream().collect(Collectors.groupingBy(p -> p.getMoney()));
 		int highestBuildingValue = highestBuildingsToPlayers.keySet().stream().max(Integer::compare).get();
 		if (highestBuildingsToPlayers.get(highestBuildingValue).size() == 1) {
-			System.out.println("The game has one winner with a building of value $" + highestBuildingValue + ".");
+			getUI().println("The game has one winner with a building of value $" + highestBuildingValue + ".");
 		} else {
-			System.out.println("There are multiple winners to the game (same $, highest building value).");
+			getUI().println("There are multiple winners to the game (same $, highest building value).");
 		}
 
 		return highestBuildingsToPlayers.get(highestBuildingValue);
@@ -867,13 +1050,14 @@ public class Game {
 	 * @return the number of points for the given player.
 	 */
 	public int getPlayerPoints(Player p) {
-		int points = gameBoard
-				.values()
-				.stream()
-				.map(area -> (area.getDemonCount() == 0 ? (area.getMinionCountForPlayer(p) * MINION_POINTS) : 0) + 
-						((area.getBuildingOwner() == p.getColor() &&
-						area.getDemonCount() == 0) ? area.getBuildingCost() : 0))
-				.reduce(0, (s, areaPoints) -> s + areaPoints);
+		int points = 0;
+		for (int code = 0; code <= AnkhMorporkArea.getMaxAreaCode(); code++) {
+			BoardArea area = gameBoard.get(code);
+			if (area != null && area.getDemonCount() == 0) {
+				points += area.getMinionCountForPlayer(p) * MINION_POINTS
+						+ (area.getBuildingOwner() == p.getColor() ? area.getBuildingCost() : 0);
+			}
+		}
 		
 		
 		int loanBalance = p.getLoanBalance(); // caution: this is non-positive!
@@ -894,11 +1078,14 @@ public class Game {
 	 * owned building in demon-free areas - loans taken out * $12)
 	 */
 	public int getPlayerNetWorth(Player p) {
-		return p.getMoney()
-				+ gameBoard.values().stream()
-					.map(a -> (a.getDemonCount() == 0 && a.getBuildingOwner() == p.getColor()) ? 
-							a.getBuildingCost() : 0)
-					.reduce(0, (sum, cur) -> sum + cur) + p.getLoanBalance();
+		int worth = p.getMoney() + p.getLoanBalance();
+		for (int code = 0; code <= AnkhMorporkArea.getMaxAreaCode(); code++) {
+			BoardArea a = gameBoard.get(code);
+			if (a != null && a.getDemonCount() == 0 && a.getBuildingOwner() == p.getColor()) {
+				worth += a.getBuildingCost();
+			}
+		}
+		return worth;
 	}
 
 	/**
@@ -964,8 +1151,11 @@ public class Game {
 		}
 	}
 
+	/**
+	 * @return a read-only view of the players, by color.
+	 */
 	public Map<Color, Player> getPlayersMap(){
-		return this.players;
+		return players == null ? null : Collections.unmodifiableMap(players);
 	}
 
 	/**
@@ -975,6 +1165,13 @@ public class Game {
 	public Deck<GreenPlayerCard> getPlayerDeck() {
 		return this.playerDeck;
 	}
+	
+	/**
+	 * @return game random event deck
+	 */
+	public Deck<RandomEventCard> getRandomEventDeck() {
+		return this.randomEventDeck;
+	}
 
 	
 	/**
@@ -985,92 +1182,130 @@ public class Game {
 	 * @return true if interrupt was played
 	 */
 	public boolean notifyInterrupt(Interrupt interrupt, Player affectedPlayer, BoardArea affectedArea) {
-		GreenPlayerCard interruptCard = null;
-
-		boolean willPlay = setUpNotify(GreenPlayerCard.GASPODE, affectedPlayer,
-				interrupt, Interrupt.ASSASINATION);
-
-		if (willPlay) {
+		GreenPlayerCard interruptCard = openInterruptWindow(interrupt, affectedPlayer);
+		if (interruptCard == GreenPlayerCard.GASPODE) {
 			affectedArea.addMinion(affectedPlayer);
-			interruptCard = GreenPlayerCard.GASPODE;
-		}
-
-		if (!willPlay) {
-			willPlay = setUpNotify(GreenPlayerCard.THE_FRESH_START_CLUB,
-					affectedPlayer, interrupt, Interrupt.ASSASINATION);
-		}
-
-		// Check if will play this card
-		// Important to check that interrupt card isn't already set
-		// if it is, we've already played a card
-		if (willPlay && interruptCard == null) {
+		} else if (interruptCard == GreenPlayerCard.THE_FRESH_START_CLUB) {
 			// get Areas to place minion
 			Map<Integer, BoardArea> possibilities = getMinionPlacementAreas(affectedPlayer);
 			ArrayList<Integer> excludeList = new ArrayList<Integer>();
 			excludeList.add(affectedArea.getArea().getAreaCode());
-			TextUserInterface UI = new TextUserInterface();
-			BoardArea chosenArea = UI.getAreaChoice(possibilities,
+			BoardArea chosenArea = getUI().getAreaChoice(possibilities,
 					"Select area to replace assasinated minion.",
 					"Choose area:", true, excludeList);
 			chosenArea.addMinion(affectedPlayer);
-			interruptCard = GreenPlayerCard.THE_FRESH_START_CLUB;
 		}
 
-		if (willPlay) {
+		if (interruptCard != null) {
 			discardCard(interruptCard, affectedPlayer);
-
 		}
-		return willPlay;
+		return interruptCard != null;
 	}
 	
 	public boolean notifyInterrupt(Interrupt interrupt, Player affectedPlayer) {
-		GreenPlayerCard interruptCard = null;
-		boolean willPlay = setUpNotify(GreenPlayerCard.WALLACE_SONKY,
-				affectedPlayer, interrupt, Interrupt.SCROLL);
-		if (willPlay) {
+		GreenPlayerCard interruptCard = openInterruptWindow(interrupt, affectedPlayer);
+		if (interruptCard != null) {
 			// Nothing to do here since this notify is done before the scroll
 			// gets played
 			// just remove card
-			interruptCard = GreenPlayerCard.WALLACE_SONKY;
 			discardCard(interruptCard, affectedPlayer);
 		}
-
-		return willPlay;
+		return interruptCard != null;
 	}
 
 	/**
-	 * Helper function to find out if interrupt will be played
+	 * Holds back the effect which signaled the interrupt while the affected
+	 * player may play one of the cards answering it (see {@link InterruptWindow}).
 	 * 
-	 * @param card
-	 *            Card that has interrupt symbol
-	 * @param affectedPlayer
-	 *            Player that may be able to play interrupt card
 	 * @param interrupt
 	 *            Interrupt that was signaled from elsewhere
-	 * @param searchInterrupt
-	 *            Interrupt that if found allows some change to take place
-	 * @param played
-	 *            If a previous interrupt has been played in this turn
-	 * @return
-	 */
-	public boolean setUpNotify(GreenPlayerCard card, Player affectedPlayer,
-			Interrupt interrupt, Interrupt searchInterrupt) {
-
-		if (interrupt == searchInterrupt) {
-			Color playerColor = interrupts.get(card);
-			if (playerColor != null) {
-				Player player = getPlayerOfColor(playerColor);
-				if (affectedPlayer.getColor() == player.getColor()) {
-					TextUserInterface UI = TextUserInterface.getUI();
-					System.out.println(affectedPlayer.getColor().getAnsi());
-					if (UI.playInterrupt(affectedPlayer, card)) {
-						System.out.println(getPlayerOfCurrentTurn().getColor().getAnsi());	
-						return true;
-					}
-				}
-			}
+	 * @param affectedPlayer
+	 *            Player that may be able to play an interrupt card
+	 * @return the interrupt card played, or null if none was
+	 */
+	public GreenPlayerCard openInterruptWindow(Interrupt interrupt, Player affectedPlayer) {
+		InterruptWindow window = new InterruptWindow(interrupt, affectedPlayer, interrupts);
+		if (window.getEligibleCards().isEmpty()) {
+			return null;
 		}
-		return false;
+		getUI().println(affectedPlayer.getColor().getAnsi());
+		InterruptWindowEvent event = null;
+		if (Telemetry.isRecording()) {
+			event = new InterruptWindowEvent();
+			event.begin();
+		}
+		long span = Tracer.begin();
+		GreenPlayerCard played = window.resolve(getUI(), interruptWindowMillis);
+		Tracer.end(span, SpanKind.INTERRUPT, interrupt.name());
+		if (event != null) {
+			event.finish(tableId, window, played);
+		}
+		if (played != null) {
+			getUI().println(getPlayerOfCurrentTurn().getColor().getAnsi());
+		}
+		return played;
+	}
+
+	/**
+	 * @return the time an interrupt window stays open, or 0 if it waits for
+	 * the affected player as long as it takes.
+	 */
+	public long getInterruptWindowMillis() {
+		return interruptWindowMillis;
+	}
+
+	public void setInterruptWindowMillis(long millis) {
+		interruptWindowMillis = millis;
+	}
+
+	/**
+	 * @return the id of the table the game is played at, or 0 if it is not
+	 * played on a server.
+	 */
+	public int getTableId() {
+		return tableId;
+	}
+
+	public void setTableId(int tableId_) {
+		tableId = tableId_;
+	}
+
+	/**
+	 * Asks the player whose turn it is to choose a player.
+	 * @param playerMap the players to choose from
+	 * @param excludeList the colors of the players which cannot be chosen
+	 * @param checkWallace true if the chosen player can stop the scroll being
+	 * played with {@link GreenPlayerCard#WALLACE_SONKY}
+	 * @return the chosen player, or null if no player could be chosen or the
+	 * chosen player played Wallace Sonky.
+	 */
+	public Player choosePlayer(Map<Color, Player> playerMap, ArrayList<Color> excludeList,
+			boolean checkWallace) {
+		Player chosen = getUI().getPlayer(playerMap, excludeList);
+		if (chosen != null && checkWallace && notifyInterrupt(Interrupt.SCROLL, chosen)) {
+			return null;
+		}
+		return chosen;
+	}
+	
+	/**
+	 * Asks the killer to choose a troll, demon or minion (but not his own) in the
+	 * given area and removes it.
+	 * @return the color of the player whose minion was assassinated, or null if
+	 * a troll or a demon was.
+	 */
+	public Color assassinate(BoardArea trouble, Player killer) {
+		String choice = getUI().getAssassinationChoice(trouble, killer);
+		if (choice.equals("t")) {
+			trouble.removeTroll();
+			return null;
+		} else if (choice.equals("d")) {
+			removeDemon(trouble.getArea().getAreaCode());
+			return null;
+		}
+		Color c = Color.valueOf(choice);
+		trouble.removeMinion(getPlayerOfColor(c));
+		return c;
 	}
 
 	public void addInterrupt(GreenPlayerCard card, Player player) {
@@ -1092,7 +1327,7 @@ public class Game {
 	 * @return true if the player is going to protect his/her piece, false otherwise.
 	 */
 	private boolean willProtectPiece(Player p) {
-		return new TextUserInterface().getUserYesOrNoChoice(p.getName() + "(" + p.getColor() 
+		return getUI().getUserYesOrNoChoice(p, p.getName() + "(" + p.getColor() 
 				+ ") has Small Gods. Pay $3 to protect a piece/building affected "
 				+ "by the ongoing event?");
 	}
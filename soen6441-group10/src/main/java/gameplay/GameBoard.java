@@ -0,0 +1,167 @@
+package gameplay;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import card.city.AnkhMorporkArea;
+
+/**
+ * <b> The areas of a game's board, indexed by their area code. </b>
+ * <p>
+ * The areas are kept in an array indexed by their code, so that the area of
+ * a die roll is looked up without boxing or hashing its code (see
+ * {@link #get(int)}). As a map, the board is iterated in the order of the
+ * area codes, as the hash map it replaces was, and it is saved the same way.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class GameBoard extends AbstractMap<Integer, BoardArea> {
+
+	private final BoardArea[] areas = new BoardArea[AnkhMorporkArea.getMaxAreaCode() + 1];
+	private int size;
+
+	/**
+	 * @return the area of the given code, or null if the board has none.
+	 */
+	public BoardArea get(int areaCode) {
+		return areaCode >= 0 && areaCode < areas.length ? areas[areaCode] : null;
+	}
+
+	@Override
+	public BoardArea get(Object key) {
+		return key instanceof Integer ? get(((Integer) key).intValue()) : null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public BoardArea put(Integer areaCode, BoardArea area) {
+		if (area == null) {
+			throw new NullPointerException("No area given for the code " + areaCode);
+		}
+		if (areaCode < 0 || areaCode >= areas.length) {
+			throw new IllegalArgumentException("There is no area of code " + areaCode);
+		}
+		BoardArea previous = areas[areaCode];
+		areas[areaCode] = area;
+		if (previous == null) {
+			size++;
+		}
+		return previous;
+	}
+
+	@Override
+	public BoardArea remove(Object key) {
+		BoardArea previous = get(key);
+		if (previous != null) {
+			areas[(Integer) key] = null;
+			size--;
+		}
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(areas, null);
+		size = 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Collection<BoardArea> values() {
+		return new AbstractCollection<BoardArea>() {
+			@Override
+			public Iterator<BoardArea> iterator() {
+				return new AreaIterator<BoardArea>() {
+					@Override
+					BoardArea element(int areaCode) {
+						return areas[areaCode];
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	@Override
+	public Set<Entry<Integer, BoardArea>> entrySet() {
+		return new AbstractSet<Entry<Integer, BoardArea>>() {
+			@Override
+			public Iterator<Entry<Integer, BoardArea>> iterator() {
+				return new AreaIterator<Entry<Integer, BoardArea>>() {
+					@Override
+					Entry<Integer, BoardArea> element(int areaCode) {
+						return new SimpleImmutableEntry<>(areaCode, areas[areaCode]);
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * Iterates the codes of the areas on the board, in order.
+	 */
+	private abstract class AreaIterator<T> implements Iterator<T> {
+		private int next = advance(0);
+		private int last = -1;
+
+		private int advance(int from) {
+			while (from < areas.length && areas[from] == null) {
+				from++;
+			}
+			return from;
+		}
+
+		abstract T element(int areaCode);
+
+		@Override
+		public boolean hasNext() {
+			return next < areas.length;
+		}
+
+		@Override
+		public T next() {
+			if (next >= areas.length) {
+				throw new NoSuchElementException();
+			}
+			last = next;
+			next = advance(next + 1);
+			return element(last);
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+			areas[last] = null;
+			size--;
+			last = -1;
+		}
+	}
+
+}
@@ -0,0 +1,45 @@
+package gameplay;
+
+import card.player.GreenPlayerCard;
+import card.random.RandomEventCard;
+
+/**
+ * <b> Gets notified of what happens in a game while it is being played. </b>
+ * <p>
+ * Listeners are added to a game with {@link Game#addListener(GameListener)}
+ * and are notified on the thread which plays the game, so they must be quick
+ * (e.g. hand the facts over to another thread).
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public interface GameListener {
+
+	/**
+	 * Invoked when a player starts playing a player card.
+	 */
+	default void cardPlayed(Game game, Player player, GreenPlayerCard card) {
+	}
+
+	/**
+	 * Invoked when a random event card is drawn, before its action is performed.
+	 */
+	default void randomEventDrawn(Game game, RandomEventCard event) {
+	}
+
+	/**
+	 * Invoked at the end of each turn, including the one which finished the game.
+	 * @param player the player whose turn it was
+	 */
+	default void turnFinished(Game game, Player player) {
+	}
+
+	/**
+	 * Invoked after each action, once its snapshot has been published
+	 * (see {@link Game#publishSnapshot()}).
+	 */
+	default void snapshotPublished(Game game, GameSnapshot snapshot) {
+	}
+
+}
@@ -0,0 +1,362 @@
+package gameplay;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import util.Color;
+import card.city.AnkhMorporkArea;
+import card.player.GreenPlayerCard;
+import card.personality.PersonalityCard;
+
+/**
+ * <b> An immutable copy of the state of a game that other threads can read. </b>
+ * <p>
+ * A game is only ever changed by the thread which plays it; the other
+ * threads (network, spectators, status screens...) read the snapshot it
+ * publishes after each action (see {@link Game#getSnapshot()}) instead of
+ * the live objects, so they never see a half-played action.
+ * </p>
+ * <p>
+ * Most actions only change an area or two and a player or two, so a new
+ * snapshot reuses the parts of the previous one which have not changed:
+ * only the changed areas and players are copied.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public final class GameSnapshot {
+
+	/**
+	 * The snapshot of a game which has not been set up.
+	 */
+	public static final GameSnapshot EMPTY = new GameSnapshot(0, GameStatus.UNINITIATED, null,
+			Collections.<PlayerSnapshot> emptyList(), Collections.<AreaSnapshot> emptyList(),
+			Collections.<Color> emptyList(), 0, 0, 0);
+
+	private final long version;
+	private final GameStatus status;
+	private final Color currentPlayer;
+	private final List<PlayerSnapshot> players;
+	private final List<AreaSnapshot> areas;
+	private final List<Color> winners;
+	private final int bankBalance;
+	private final int playerDeckSize;
+	private final int randomEventDeckSize;
+
+	private GameSnapshot(long version_, GameStatus status_, Color currentPlayer_, List<PlayerSnapshot> players_,
+			List<AreaSnapshot> areas_, List<Color> winners_, int bankBalance_, int playerDeckSize_,
+			int randomEventDeckSize_) {
+		version = version_;
+		status = status_;
+		currentPlayer = currentPlayer_;
+		players = players_;
+		areas = areas_;
+		winners = winners_;
+		bankBalance = bankBalance_;
+		playerDeckSize = playerDeckSize_;
+		randomEventDeckSize = randomEventDeckSize_;
+	}
+
+	/**
+	 * Copies the state of the game; must be called by the thread which plays it.
+	 * @param previous the game's previous snapshot, whose unchanged parts are
+	 * 	reused, or null
+	 */
+	static GameSnapshot of(Game game, GameSnapshot previous) {
+		long version = previous == null ? 1 : previous.version + 1;
+		if (game.getStatus() == GameStatus.UNINITIATED || game.getPlayersMap() == null) {
+			return new GameSnapshot(version, GameStatus.UNINITIATED, null, EMPTY.players, EMPTY.areas,
+					EMPTY.winners, 0, 0, 0);
+		}
+		if (previous == null) {
+			previous = EMPTY;
+		}
+
+		Map<Color, Player> playersMap = game.getPlayersMap();
+		List<AreaSnapshot> areas = new ArrayList<>(previous.areas.size());
+		boolean areasChanged = false;
+		int i = 0;
+		for (BoardArea a : game.getBoard()) {
+			AreaSnapshot old = i < previous.areas.size() ? previous.areas.get(i) : null;
+			if (old != null && old.matches(a)) {
+				areas.add(old);
+			} else {
+				areas.add(new AreaSnapshot(a, playersMap));
+				areasChanged = true;
+			}
+			i++;
+		}
+
+		List<PlayerSnapshot> players = new ArrayList<>(previous.players.size());
+		boolean playersChanged = false;
+		i = 0;
+		for (Player p : game.getPlayers()) {
+			PlayerSnapshot old = i < previous.players.size() ? previous.players.get(i) : null;
+			int points = game.getPlayerPoints(p);
+			if (old != null && old.matches(p, points)) {
+				players.add(old);
+			} else {
+				players.add(new PlayerSnapshot(p, points));
+				playersChanged = true;
+			}
+			i++;
+		}
+
+		List<Color> winners = game.getWinners().equals(previous.winners) ? previous.winners
+				: Collections.unmodifiableList(new ArrayList<>(game.getWinners()));
+		Player current = game.getPlayerOfCurrentTurn();
+		return new GameSnapshot(version, game.getStatus(), current == null ? null : current.getColor(),
+				playersChanged || players.size() != previous.players.size()
+						? Collections.unmodifiableList(players) : previous.players,
+				areasChanged || areas.size() != previous.areas.size()
+						? Collections.unmodifiableList(areas) : previous.areas,
+				winners,
+				game.getBank() == null ? 0 : game.getBank().getBalance(),
+				game.getPlayerDeck() == null ? 0 : game.getPlayerDeck().size(),
+				game.getRandomEventDeck() == null ? 0 : game.getRandomEventDeck().size());
+	}
+
+	/**
+	 * @return the number of snapshots the game has published up to this one.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	public GameStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return the color of the player whose turn it is, or null if the game
+	 * 	has not been set up.
+	 */
+	public Color getCurrentPlayer() {
+		return currentPlayer;
+	}
+
+	public List<PlayerSnapshot> getPlayers() {
+		return players;
+	}
+
+	/**
+	 * @return the player of the given color, or null if there is none.
+	 */
+	public PlayerSnapshot getPlayer(Color c) {
+		for (PlayerSnapshot p : players) {
+			if (p.getColor() == c) {
+				return p;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the areas of the board, in the order of {@link Game#getBoard()}.
+	 */
+	public List<AreaSnapshot> getAreas() {
+		return areas;
+	}
+
+	public List<Color> getWinners() {
+		return winners;
+	}
+
+	/**
+	 * @return the players who would win if the game ended now, decided the
+	 * way {@link Game#getWinnersByPoints()} does: the most points, then the
+	 * most money among the tied players.
+	 */
+	public List<Color> getLeaders() {
+		List<Color> leaders = new ArrayList<>();
+		int bestPoints = Integer.MIN_VALUE;
+		int bestMoney = Integer.MIN_VALUE;
+		for (PlayerSnapshot p : players) {
+			if (p.points > bestPoints || (p.points == bestPoints && p.money > bestMoney)) {
+				leaders.clear();
+				bestPoints = p.points;
+				bestMoney = p.money;
+			}
+			if (p.points == bestPoints && p.money == bestMoney) {
+				leaders.add(p.color);
+			}
+		}
+		return leaders;
+	}
+
+	public int getBankBalance() {
+		return bankBalance;
+	}
+
+	public int getPlayerDeckSize() {
+		return playerDeckSize;
+	}
+
+	public int getRandomEventDeckSize() {
+		return randomEventDeckSize;
+	}
+
+	/**
+	 * The state of a player.
+	 */
+	public static final class PlayerSnapshot {
+
+		private final Color color;
+		private final String name;
+		private final PersonalityCard personality;
+		private final int money;
+		private final int minions;
+		private final int buildings;
+		private final Set<GreenPlayerCard> playerCards;
+		private final int handSize;
+		private final int points;
+
+		private PlayerSnapshot(Player p, int points_) {
+			color = p.getColor();
+			name = p.getName();
+			personality = p.getPersonality();
+			money = p.getMoney();
+			minions = p.getMinionCount();
+			buildings = p.getBuildings();
+			playerCards = Collections.unmodifiableSet(p.getPlayerCards().isEmpty()
+					? EnumSet.noneOf(GreenPlayerCard.class) : EnumSet.copyOf(p.getPlayerCards()));
+			handSize = p.getHandSize();
+			points = points_;
+		}
+
+		private boolean matches(Player p, int points_) {
+			return color == p.getColor() && personality == p.getPersonality() && money == p.getMoney()
+					&& minions == p.getMinionCount() && buildings == p.getBuildings()
+					&& handSize == p.getHandSize() && points == points_ && playerCards.equals(p.getPlayerCards());
+		}
+
+		public Color getColor() {
+			return color;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public PersonalityCard getPersonality() {
+			return personality;
+		}
+
+		public int getMoney() {
+			return money;
+		}
+
+		/**
+		 * @return the number of minions the player has not placed yet.
+		 */
+		public int getMinions() {
+			return minions;
+		}
+
+		/**
+		 * @return the number of buildings the player has not placed yet.
+		 */
+		public int getBuildings() {
+			return buildings;
+		}
+
+		public Set<GreenPlayerCard> getPlayerCards() {
+			return playerCards;
+		}
+
+		/**
+		 * @return the number of cards in the player's hand, city area cards included.
+		 */
+		public int getHandSize() {
+			return handSize;
+		}
+
+		public int getPoints() {
+			return points;
+		}
+
+	}
+
+	/**
+	 * The state of an area of the board.
+	 */
+	public static final class AreaSnapshot {
+
+		private final AnkhMorporkArea area;
+		private final Color buildingOwner;
+		private final Map<Color, Integer> minions;
+		private final int trolls;
+		private final int demons;
+		private final boolean troubleMarker;
+		private final Color controlledBy;
+
+		private AreaSnapshot(BoardArea a, Map<Color, Player> players) {
+			area = a.getArea();
+			buildingOwner = a.getBuildingOwner();
+			Map<Color, Integer> m = new EnumMap<>(Color.class);
+			m.putAll(a.getMinions());
+			minions = Collections.unmodifiableMap(m);
+			trolls = a.getTrollCount();
+			demons = a.getDemonCount();
+			troubleMarker = a.hasTroubleMarker();
+			Player controller = a.isControlled(players);
+			controlledBy = controller == null ? null : controller.getColor();
+		}
+
+		/**
+		 * The control of an area only depends on its pieces, so it does not
+		 * need to be compared.
+		 */
+		private boolean matches(BoardArea a) {
+			return area == a.getArea() && buildingOwner == a.getBuildingOwner() && trolls == a.getTrollCount()
+					&& demons == a.getDemonCount() && troubleMarker == a.hasTroubleMarker()
+					&& minions.equals(a.getMinions());
+		}
+
+		public AnkhMorporkArea getArea() {
+			return area;
+		}
+
+		/**
+		 * @return the color of the building's owner, {@link Color#UNDEFINED} if
+		 * 	there is no building.
+		 */
+		public Color getBuildingOwner() {
+			return buildingOwner;
+		}
+
+		/**
+		 * @return the number of minions of each color in the area.
+		 */
+		public Map<Color, Integer> getMinions() {
+			return minions;
+		}
+
+		public int getTrolls() {
+			return trolls;
+		}
+
+		public int getDemons() {
+			return demons;
+		}
+
+		public boolean hasTroubleMarker() {
+			return troubleMarker;
+		}
+
+		/**
+		 * @return the color of the player who controls the area, or null.
+		 */
+		public Color getControlledBy() {
+			return controlledBy;
+		}
+
+	}
+
+}
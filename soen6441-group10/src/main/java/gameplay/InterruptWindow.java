@@ -0,0 +1,122 @@
+package gameplay;
+
+import io.UserInterface;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import util.Color;
+import util.Interrupt;
+import card.player.GreenPlayerCard;
+
+/**
+ * <b> The moment an effect is held back while the player it affects may
+ * play an interrupt card against it. </b>
+ * <p>
+ * The window is opened with the holders of the cards which answer the
+ * interrupt (see {@link Interrupt#getCards()}); only the affected player may
+ * play one. Each card he holds is offered in turn through
+ * {@link UserInterface#offerInterrupt(Player, GreenPlayerCard, long)}, and
+ * the window waits for the answers until its deadline, after which the offer
+ * is withdrawn and the effect goes on as if no card was played.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class InterruptWindow {
+
+	private final Interrupt interrupt;
+	private final Player affectedPlayer;
+	private final List<GreenPlayerCard> eligibleCards;
+
+	/**
+	 * @param interrupts the holder of each interrupt card in play
+	 */
+	public InterruptWindow(Interrupt interrupt_, Player affectedPlayer_, Map<GreenPlayerCard, Color> interrupts) {
+		interrupt = interrupt_;
+		affectedPlayer = affectedPlayer_;
+		List<GreenPlayerCard> eligible = new ArrayList<>(interrupt.getCards().size());
+		for (GreenPlayerCard card : interrupt.getCards()) {
+			if (interrupts.get(card) == affectedPlayer.getColor()) {
+				eligible.add(card);
+			}
+		}
+		eligibleCards = Collections.unmodifiableList(eligible);
+	}
+
+	public Interrupt getInterrupt() {
+		return interrupt;
+	}
+
+	public Player getAffectedPlayer() {
+		return affectedPlayer;
+	}
+
+	/**
+	 * @return the cards which will be offered, in order.
+	 */
+	public List<GreenPlayerCard> getEligibleCards() {
+		return eligibleCards;
+	}
+
+	/**
+	 * Offers the eligible cards in turn until one is played or the deadline
+	 * passes. The user interface is told how each offer was settled (see
+	 * {@link UserInterface#interruptAnswered(Player, GreenPlayerCard, boolean)}),
+	 * including the cards the deadline left no time to offer, so that the
+	 * answers can be recorded and given back in the same order.
+	 * @param millis the time the window stays open, or 0 if there is no limit
+	 * @return the card played, or null if none was.
+	 */
+	public GreenPlayerCard resolve(UserInterface ui, long millis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+		for (GreenPlayerCard card : eligibleCards) {
+			long left = 0;
+			if (millis > 0) {
+				left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+			}
+			boolean accepted = (millis <= 0 || left > 0)
+					&& await(ui.offerInterrupt(affectedPlayer, card, left), left);
+			ui.interruptAnswered(affectedPlayer, card, accepted);
+			if (accepted) {
+				return card;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return true if the offer was taken before the given time.
+	 */
+	private static boolean await(CompletableFuture<Boolean> offer, long millis) {
+		try {
+			return millis <= 0 ? offer.get() : offer.get(millis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			// The answer may have come in just before the offer is withdrawn
+			return !offer.cancel(false) && answer(offer);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			offer.cancel(false);
+			return false;
+		} catch (ExecutionException | CancellationException e) {
+			return false;
+		}
+	}
+
+	private static boolean answer(CompletableFuture<Boolean> offer) {
+		try {
+			return offer.join();
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+
+}
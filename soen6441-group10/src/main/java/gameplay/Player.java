@@ -1,6 +1,7 @@
 package gameplay;
 
-import java.util.HashSet;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -44,7 +45,7 @@ public class Player {
 	
 	private int buildings;
 
-	private Set<CityAreaCard> cityCards = new HashSet<>();
+	private Set<CityAreaCard> cityCards = new LinkedHashSet<>();
 	
 	
 	/**
@@ -52,8 +53,8 @@ public class Player {
 	 * invoke the cards' actions statically (since they are contained in the 
 	 * {@link GreenPlayerCard} enum).
 	 */
-	private Set<GreenPlayerCard> playerCards = new HashSet<>();
-	private Set<GreenPlayerCard> unplayableCards = new HashSet<>();
+	private Set<GreenPlayerCard> playerCards = EnumSet.noneOf(GreenPlayerCard.class);
+	private Set<GreenPlayerCard> unplayableCards = EnumSet.noneOf(GreenPlayerCard.class);
 
 	public Player() {
 		this.money = 0;
@@ -153,8 +154,6 @@ public class Player {
 	 */
 	public boolean decreaseMoney(int amount) {
 		if (this.money - amount < 0) {
-			System.out.println(name + " cannot afford to pay $" + amount + 
-					" (has $" + money + ")!");
 			return false;
 		} else {
 			this.money = this.money - amount;
@@ -334,7 +333,7 @@ public class Player {
 	 * Green Player cards or City Area cards).
 	 */
 	public Set<? extends Card> getPlayableCards() {
-		Set<Card> playableCards = new HashSet<>();
+		Set<Card> playableCards = new LinkedHashSet<>();
 		playableCards.addAll(playerCards);
 		for (CityAreaCard c : cityCards) {
 			if (!c.hasBeenPlayed() && !c.isSmallGods()) {
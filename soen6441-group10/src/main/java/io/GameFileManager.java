@@ -0,0 +1,88 @@
+package io;
+
+import gameplay.Game;
+import gameplay.Player;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import util.Color;
+import card.player.GreenPlayerCard;
+import metrics.EngineMetrics;
+import telemetry.GameFileEvent;
+import telemetry.Telemetry;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.InstanceCreator;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * <b> Loads and saves games in JSON format. </b>
+ * <p>
+ * The game's maps and sets keyed by color or card are read back into enum
+ * maps and sets, so that a loaded game iterates them in the same order as the
+ * game that was saved. Loads and saves are recorded as telemetry events, and
+ * saves in the engine's metrics.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class GameFileManager extends JSONFileManager<Game> {
+
+	public GameFileManager() {
+		super(Game.class, new GsonBuilder()
+				.registerTypeAdapter(new TypeToken<Set<GreenPlayerCard>>() {}.getType(),
+						(InstanceCreator<Set<GreenPlayerCard>>) t -> EnumSet.noneOf(GreenPlayerCard.class))
+				.registerTypeAdapter(new TypeToken<Map<GreenPlayerCard, Color>>() {}.getType(),
+						(InstanceCreator<Map<GreenPlayerCard, Color>>) t -> new EnumMap<>(GreenPlayerCard.class))
+				.registerTypeAdapter(new TypeToken<Map<Color, Integer>>() {}.getType(),
+						(InstanceCreator<Map<Color, Integer>>) t -> new EnumMap<>(Color.class))
+				.registerTypeAdapter(new TypeToken<Map<Color, Player>>() {}.getType(),
+						(InstanceCreator<Map<Color, Player>>) t -> new EnumMap<>(Color.class)));
+	}
+
+	@Override
+	public Optional<FileObject<Game>> open(String fileName) {
+		GameFileEvent event = null;
+		if (Telemetry.isRecording()) {
+			event = new GameFileEvent();
+			event.begin();
+		}
+		boolean loaded = false;
+		try {
+			Optional<FileObject<Game>> f = super.open(fileName);
+			loaded = f.isPresent();
+			return f;
+		} finally {
+			if (event != null) {
+				// A loaded game is not at a table yet
+				event.finish(0, GameFileEvent.LOAD, fileName, 0, loaded);
+			}
+		}
+	}
+
+	@Override
+	protected long write(Game game, Path path) {
+		GameFileEvent event = null;
+		if (Telemetry.isRecording()) {
+			event = new GameFileEvent();
+			event.begin();
+		}
+		long start = System.nanoTime();
+		long size = super.write(game, path);
+		if (size < 0) {
+			EngineMetrics.SAVE_FAILURES.increment();
+		}
+		EngineMetrics.SAVE_DURATION.record(System.nanoTime() - start);
+		if (event != null) {
+			event.finish(game.getTableId(), GameFileEvent.SAVE, path.toString(), Math.max(size, 0), size >= 0);
+		}
+		return size;
+	}
+
+}
@@ -1,17 +1,33 @@
 package io;
 
+import io.migration.MigratingReader;
+import io.migration.SaveSchema;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * <b> This is a utility class for loading and saving an object's state from and to 
  * files in JSON format. <b> 
+ * <p>
+ * Saves are stamped with the version of the object's {@link SaveSchema}; older
+ * saves are upgraded on the fly while they are read.
+ * </p>
  * 
  * @param <T>
  * @author Team 10 - SOEN6441
@@ -21,14 +37,22 @@ public class JSONFileManager<T> implements FileManager<T> {
 	
 	private final Gson gson;
 	private final Class<T> typeParameterClass;
+	private final SaveSchema schema;
 	
 	public JSONFileManager(Class<T> typeParameterClass_) {
-		typeParameterClass = typeParameterClass_;
-		gson = registerHandlers(new GsonBuilder());
+		this(typeParameterClass_, new GsonBuilder());
 	}
 	
-	private Gson registerHandlers(GsonBuilder builder) {
-		return builder.setPrettyPrinting().create();
+	/**
+	 * Map keys are written through their type adapters (e.g. the interrupt cards
+	 * by name) rather than their toString().
+	 * @param builder where the type adapters of the object's state are registered
+	 * 	(see {@link GameFileManager})
+	 */
+	public JSONFileManager(Class<T> typeParameterClass_, GsonBuilder builder) {
+		typeParameterClass = typeParameterClass_;
+		schema = SaveSchema.forType(typeParameterClass_);
+		gson = builder.enableComplexMapKeySerialization().create();
 	}
 	
 	/**
@@ -36,16 +60,63 @@ public class JSONFileManager<T> implements FileManager<T> {
 	 * @param fileName the name of the file containing the game's state
 	 * @return an option-type object containing a game file object if the
 	 * 	the file with the given file name is found, an empty one otherwise.
+	 * @throws UncheckedIOException if the file is found but the object's state
+	 * 	cannot be read from it
 	 */
 	@Override
 	public Optional<FileObject<T>> open(String fileName) {
 		try (FileReader jsonFile = new FileReader(FileObject.getFileRoot() + "/" + fileName)) {
-			T obj = gson.fromJson(jsonFile, typeParameterClass);
-			return Optional.of(new FileObject<T>(obj, fileName));
-		} catch (IOException e) {
+			return Optional.of(new FileObject<T>(read(jsonFile), fileName));
+		} catch (FileNotFoundException e) {
 			return Optional.empty();
+		} catch (IOException e) {
+			throw new UncheckedIOException(fileName + " could not be loaded: " + e.getMessage(), e);
+		} catch (JsonParseException e) {
+			throw new UncheckedIOException(fileName + " could not be loaded: " + e.getMessage(),
+					new IOException(e.getMessage(), e));
 		}
 	}
+	
+	/**
+	 * Reads an object's state, upgrading it to the current save schema if it was
+	 * saved in an older one. The upgrade is done in a single pass over the
+	 * document's tokens, as they are parsed (see {@link MigratingReader});
+	 * documents in the current schema are read directly.
+	 * @param reader the JSON document
+	 * @return the object
+	 * @throws IOException if the document cannot be read or upgraded
+	 * @throws JsonParseException if the document does not match the object's type
+	 */
+	public T read(Reader reader) throws IOException {
+		BufferedReader in = new BufferedReader(reader);
+		int version = SaveSchema.readVersion(in);
+		if (version == schema.getVersion()) {
+			return gson.fromJson(in, typeParameterClass);
+		}
+		return gson.fromJson(new MigratingReader(in, version, schema), typeParameterClass);
+	}
+	
+	/**
+	 * @return the object's state in JSON format, stamped with the save schema's version.
+	 */
+	public String toJson(T pojo) {
+		StringWriter out = new StringWriter();
+		JsonWriter writer = schema.newWriter(out);
+		writer.setIndent("  ");
+		gson.toJson(pojo, typeParameterClass, writer);
+		return out.toString();
+	}
+
+	/**
+	 * Writes the object's state in JSON format, without the indentation of
+	 * the saved files, stamped with the save schema's version.
+	 * @param out where the state is written; it is flushed, not closed
+	 */
+	public void toJson(T pojo, Writer out) throws IOException {
+		JsonWriter writer = schema.newWriter(out);
+		gson.toJson(pojo, typeParameterClass, writer);
+		writer.flush();
+	}
 
 	/**
 	 * Saves the game's state.
@@ -55,16 +126,7 @@ public class JSONFileManager<T> implements FileManager<T> {
 	 */
 	@Override
 	public boolean save(FileObject<T> obj) {
-		String gameJson = gson.toJson(obj.getPOJO());
-		try {
-			Files.write(obj.getFilePath(), gameJson.getBytes());
-		} catch (IOException e) {
-			// TODO Log exception
-			e.printStackTrace();
-			return false;
-		}
-
-		return true;
+		return write(obj.getPOJO(), obj.getFilePath()) >= 0;
 	}
 
 	/**
@@ -76,17 +138,24 @@ public class JSONFileManager<T> implements FileManager<T> {
 	 */
 	@Override
 	public boolean saveAs(FileObject<T> obj, String fileName) {
-		String objJson = gson.toJson(obj.getPOJO());
+		return write(obj.getPOJO(), Paths.get(FileObject.getFileRoot() + "/" + fileName)) >= 0;
+	}
+	
+	/**
+	 * Writes the object's state to the given file.
+	 * @return the size of the state written in bytes, or -1 if the file could
+	 * 	not be written.
+	 */
+	protected long write(T pojo, Path path) {
+		byte[] json = toJson(pojo).getBytes();
 		try {
-			Files.write(Paths.get(FileObject.getFileRoot() + "/" + fileName),
-					objJson.getBytes());
+			Files.write(path, json);
+			return json.length;
 		} catch (IOException e) {
 			// TODO Log exception
 			e.printStackTrace();
-			return false;
+			return -1;
 		}
-		
-		return true;
 	}
 	
 }
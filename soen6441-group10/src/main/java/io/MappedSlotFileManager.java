@@ -0,0 +1,469 @@
+package io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+import com.google.gson.JsonParseException;
+
+/**
+ * <b> A file manager that keeps the saved state of many objects (typically the
+ * games of all the tables hosted by one node) in a single, fixed-size store
+ * file which is memory-mapped. </b>
+ * <p>
+ * The store file is split into a number of fixed-size slots and each name
+ * (e.g. a table's save file name) owns one slot. A slot holds two copies of
+ * the object's state (A and B); a save always overwrites the copy that is not
+ * the latest one, so an interrupted save can never damage the last consistent
+ * state. Each copy carries a sequence number and a CRC32 checksum, which is
+ * how {@link #openAll()} finds the latest consistent state of every slot in
+ * a single scan after a restart.
+ * </p>
+ * <p>
+ * The payloads are written and read by a {@link JSONFileManager}, so they
+ * are stamped with the version of their save schema and upgraded when they
+ * are read, like the save files.
+ * </p>
+ *
+ * <pre>
+ * store  : [header][slot 0][slot 1]...[slot n-1]
+ * header : magic, layout version, slot count, slot size
+ * slot   : [copy A][copy B]
+ * copy   : sequence (8), payload length (4), crc32 (4), name length (2), name, payload
+ * </pre>
+ *
+ * @param <T>
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class MappedSlotFileManager<T> implements FileManager<T> {
+
+	/**
+	 * "AMSS" - Ankh-Morpork Slot Store.
+	 */
+	private static final int MAGIC = 0x414D5353;
+
+	private static final int LAYOUT_VERSION = 1;
+
+	private static final int HEADER_SIZE = 16;
+
+	/**
+	 * sequence (long) + payload length (int) + crc (int) + name length (short)
+	 */
+	private static final int COPY_HEADER_SIZE = 18;
+
+	public static final int MAX_NAME_LENGTH = 128;
+
+	/**
+	 * The saves of whole games played by bots (2 to 4 players, until the game
+	 * finished) were at most about 6KB, so each copy of a default slot (16KB)
+	 * leaves room for long names and for the game to grow.
+	 */
+	public static final int DEFAULT_SLOT_SIZE = 32 * 1024;
+
+	private final JSONFileManager<T> json;
+
+	private final int slotCount;
+	private final int slotSize;
+	private final int copySize;
+
+	private final MappedByteBuffer store;
+
+	/**
+	 * One view per slot so that concurrent saves to different slots never share
+	 * a buffer position.
+	 */
+	private final ByteBuffer[] slots;
+
+	/**
+	 * The sequence number of the latest consistent copy of every slot, 0 if the
+	 * slot is free.
+	 */
+	private final long[] latestSequence;
+
+	/**
+	 * Which copy (0 for A, 1 for B) holds the latest consistent state of every slot.
+	 */
+	private final int[] latestCopy;
+
+	/**
+	 * How many times every slot was released, guarded by both {@link #slotForName}
+	 * and the slot: a save which looked its slot up before the slot was released
+	 * must not write into it.
+	 */
+	private final long[] releases;
+
+	private final Map<String, Integer> slotForName = new HashMap<>();
+
+	/**
+	 * The slots owned by no name, guarded by {@link #slotForName}.
+	 */
+	private final BitSet freeSlots = new BitSet();
+
+	/**
+	 * Opens (or creates) a store file with the given number of slots of the
+	 * default size.
+	 */
+	public MappedSlotFileManager(JSONFileManager<T> json_, Path storeFile, int slotCount_)
+			throws IOException {
+		this(json_, storeFile, slotCount_, DEFAULT_SLOT_SIZE);
+	}
+
+	/**
+	 * Opens (or creates) a store file with the given layout. An existing store
+	 * must have been created with the same slot count and slot size.
+	 * @param json_ how the stored objects are written and read (e.g. a {@link GameFileManager})
+	 * @param storeFile the store file
+	 * @param slotCount_ the maximum number of live objects (tables)
+	 * @param slotSize_ the size of a slot in bytes (both copies)
+	 * @throws IOException if the file cannot be mapped or has a different layout
+	 */
+	public MappedSlotFileManager(JSONFileManager<T> json_, Path storeFile, int slotCount_,
+			int slotSize_) throws IOException {
+		if (slotCount_ <= 0 || slotSize_ < 2 * (COPY_HEADER_SIZE + MAX_NAME_LENGTH + 1)) {
+			throw new IllegalArgumentException("Invalid store layout: " + slotCount_ + " slots of "
+					+ slotSize_ + " bytes");
+		}
+		long fileSize = HEADER_SIZE + (long) slotCount_ * slotSize_;
+		if (fileSize > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("A store file cannot be larger than 2GB");
+		}
+
+		json = json_;
+		slotCount = slotCount_;
+		slotSize = slotSize_;
+		copySize = slotSize_ / 2;
+
+		try (RandomAccessFile file = new RandomAccessFile(storeFile.toFile(), "rw")) {
+			boolean isNew = file.length() == 0;
+			// Check the layout before mapping, since mapping grows the file
+			if (!isNew && (file.length() != fileSize || file.readInt() != MAGIC
+					|| file.readInt() != LAYOUT_VERSION || file.readInt() != slotCount
+					|| file.readInt() != slotSize)) {
+				throw new IOException(storeFile + " is not a slot store with " + slotCount
+						+ " slots of " + slotSize + " bytes");
+			}
+			// The mapping stays valid after the file is closed
+			store = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+			if (isNew) {
+				store.putInt(0, MAGIC);
+				store.putInt(4, LAYOUT_VERSION);
+				store.putInt(8, slotCount);
+				store.putInt(12, slotSize);
+			}
+		}
+
+		slots = new ByteBuffer[slotCount];
+		latestSequence = new long[slotCount];
+		latestCopy = new int[slotCount];
+		releases = new long[slotCount];
+		for (int i = 0; i < slotCount; i++) {
+			ByteBuffer view = store.duplicate();
+			view.position(HEADER_SIZE + i * slotSize);
+			view.limit(HEADER_SIZE + (i + 1) * slotSize);
+			slots[i] = view.slice();
+		}
+		scan();
+	}
+
+	/**
+	 * Finds the latest consistent copy of every slot and rebuilds the name to
+	 * slot index.
+	 */
+	private void scan() {
+		for (int i = 0; i < slotCount; i++) {
+			long best = 0;
+			for (int copy = 0; copy < 2; copy++) {
+				long seq = validSequence(slots[i], copy * copySize);
+				if (seq > best) {
+					best = seq;
+					latestCopy[i] = copy;
+				}
+			}
+			latestSequence[i] = best;
+			if (best > 0) {
+				slotForName.put(readName(slots[i], latestCopy[i] * copySize), i);
+			} else {
+				freeSlots.set(i);
+			}
+		}
+	}
+
+	/**
+	 * @return the sequence number of the copy at the given offset of the slot if its
+	 * checksum is correct, 0 otherwise.
+	 */
+	private long validSequence(ByteBuffer slot, int offset) {
+		long seq = slot.getLong(offset);
+		int length = slot.getInt(offset + 8);
+		int nameLength = slot.getShort(offset + 16);
+		if (seq <= 0 || length < 0 || nameLength <= 0 || nameLength > MAX_NAME_LENGTH
+				|| COPY_HEADER_SIZE + nameLength + length > copySize) {
+			return 0;
+		}
+		return checksum(slot, offset, nameLength + length) == slot.getInt(offset + 12) ? seq : 0;
+	}
+
+	/**
+	 * The checksum covers the sequence number, the payload length, the name and
+	 * the payload - everything but the checksum itself.
+	 */
+	private int checksum(ByteBuffer slot, int offset, int bodyLength) {
+		CRC32 crc = new CRC32();
+		ByteBuffer view = slot.duplicate();
+		view.position(offset).limit(offset + 12);
+		crc.update(view);
+		view.limit(offset + COPY_HEADER_SIZE + bodyLength).position(offset + 16);
+		crc.update(view);
+		return (int) crc.getValue();
+	}
+
+	private String readName(ByteBuffer slot, int offset) {
+		byte[] name = new byte[slot.getShort(offset + 16)];
+		ByteBuffer view = slot.duplicate();
+		view.position(offset + COPY_HEADER_SIZE);
+		view.get(name);
+		return new String(name, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @throws IOException if the payload is not a consistent state of the
+	 * 	object, although its checksum is correct
+	 */
+	private T readPayload(int slot, int offset) throws IOException {
+		int nameLength = slots[slot].getShort(offset + 16);
+		byte[] payload = new byte[slots[slot].getInt(offset + 8)];
+		ByteBuffer view = slots[slot].duplicate();
+		view.position(offset + COPY_HEADER_SIZE + nameLength);
+		view.get(payload);
+		try {
+			return json.read(new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8));
+		} catch (IOException | JsonParseException e) {
+			throw new IOException("Slot " + slot + " (" + readName(slots[slot], offset) + ") could not be read", e);
+		}
+	}
+
+	private byte[] writePayload(T pojo) {
+		ByteArrayOutputStream payload = new ByteArrayOutputStream();
+		try (Writer out = new OutputStreamWriter(payload, StandardCharsets.UTF_8)) {
+			json.toJson(pojo, out);
+		} catch (IOException e) {
+			// Not from writing to memory
+			throw new UncheckedIOException(e);
+		}
+		return payload.toByteArray();
+	}
+
+	/**
+	 * Opens the latest consistent state saved under the given name.
+	 * @param name the name the object was saved under (e.g. the table's file name)
+	 * @return an option-type object containing the file object if a consistent
+	 * 	state was found for the given name, an empty one otherwise.
+	 * @throws UncheckedIOException if the latest state of the name cannot be read
+	 */
+	@Override
+	public Optional<FileObject<T>> open(String name) {
+		int slot;
+		long released;
+		synchronized (slotForName) {
+			Integer index = slotForName.get(name);
+			if (index == null) {
+				return Optional.empty();
+			}
+			slot = index;
+			released = releases[slot];
+		}
+		synchronized (slots[slot]) {
+			// The slot may have been released, even claimed by another name, meanwhile
+			if (releases[slot] != released || latestSequence[slot] == 0) {
+				return Optional.empty();
+			}
+			try {
+				return Optional.of(new FileObject<T>(readPayload(slot, latestCopy[slot] * copySize), name));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Scans the store and loads the latest consistent state of every slot in use,
+	 * which is what a node needs after a restart to bring all of its tables back.
+	 * @return the objects mapped to the names they were saved under.
+	 * @throws IOException if the latest state of a slot cannot be read
+	 */
+	public Map<String, T> openAll() throws IOException {
+		Map<String, T> all = new LinkedHashMap<>();
+		for (int i = 0; i < slotCount; i++) {
+			synchronized (slots[i]) {
+				if (latestSequence[i] == 0) {
+					continue;
+				}
+				int offset = latestCopy[i] * copySize;
+				all.put(readName(slots[i], offset), readPayload(i, offset));
+			}
+		}
+		return all;
+	}
+
+	/**
+	 * Saves the object's state in place, into the slot owned by the file object's
+	 * file name.
+	 * @return true if the state was saved successfully, false otherwise
+	 */
+	@Override
+	public boolean save(FileObject<T> obj) {
+		return saveAs(obj, obj.getFilePath().getFileName().toString());
+	}
+
+	/**
+	 * Saves the object's state into the slot owned by the given name. If the name
+	 * doesn't own a slot yet, a free slot is claimed for it. A save running at
+	 * the same time as a {@link #delete(String)} of the name comes after it: the
+	 * name claims a slot again.
+	 * @return true if the state was saved successfully, false if the store is full
+	 * 	or the state doesn't fit in a slot: the name and the state written as JSON
+	 * 	must fit in half a slot, less an {@value #COPY_HEADER_SIZE} bytes header.
+	 * @throws IllegalArgumentException if the name is empty or longer than
+	 * 	{@value #MAX_NAME_LENGTH} bytes
+	 */
+	@Override
+	public boolean saveAs(FileObject<T> obj, String name) {
+		byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		if (nameBytes.length == 0 || nameBytes.length > MAX_NAME_LENGTH) {
+			throw new IllegalArgumentException("Invalid save name: " + name);
+		}
+		byte[] payload = writePayload(obj.getPOJO());
+		if (COPY_HEADER_SIZE + nameBytes.length + payload.length > copySize) {
+			return false;
+		}
+
+		while (true) {
+			int slot;
+			long released;
+			synchronized (slotForName) {
+				slot = slotFor(name);
+				if (slot < 0) {
+					return false;
+				}
+				released = releases[slot];
+			}
+			if (write(slot, released, nameBytes, payload)) {
+				return true;
+			}
+			// The name was deleted meanwhile: this save comes after the deletion
+		}
+	}
+
+	/**
+	 * Writes a state into the given slot, unless the slot was released since
+	 * it was looked up.
+	 * @param released the number of times the slot was released when it was looked up
+	 * @return true if the state was written, false if the slot was released.
+	 */
+	private boolean write(int slot, long released, byte[] nameBytes, byte[] payload) {
+		synchronized (slots[slot]) {
+			if (releases[slot] != released) {
+				return false;
+			}
+			ByteBuffer buffer = slots[slot];
+			// Always overwrite the copy which is NOT the latest consistent one
+			int copy = latestSequence[slot] == 0 ? 0 : 1 - latestCopy[slot];
+			int offset = copy * copySize;
+			long seq = latestSequence[slot] + 1;
+
+			// Invalidate the copy first, then write the body and seal it with the checksum
+			buffer.putLong(offset, 0);
+			buffer.putInt(offset + 8, payload.length);
+			buffer.putShort(offset + 16, (short) nameBytes.length);
+			ByteBuffer view = buffer.duplicate();
+			view.position(offset + COPY_HEADER_SIZE);
+			view.put(nameBytes);
+			view.put(payload);
+			buffer.putLong(offset, seq);
+			buffer.putInt(offset + 12, checksum(buffer, offset, nameBytes.length + payload.length));
+
+			latestSequence[slot] = seq;
+			latestCopy[slot] = copy;
+			return true;
+		}
+	}
+
+	/**
+	 * Releases the slot owned by the given name (e.g. when a table has finished),
+	 * so that it can be claimed by another name.
+	 * @return true if the name owned a slot, false otherwise.
+	 */
+	public boolean delete(String name) {
+		synchronized (slotForName) {
+			Integer slot = slotForName.remove(name);
+			if (slot == null) {
+				return false;
+			}
+			synchronized (slots[slot]) {
+				slots[slot].putLong(0, 0);
+				slots[slot].putLong(copySize, 0);
+				latestSequence[slot] = 0;
+				releases[slot]++;
+			}
+			freeSlots.set(slot);
+			return true;
+		}
+	}
+
+	/**
+	 * Flushes all the slots to the storage device.
+	 */
+	public void force() {
+		store.force();
+	}
+
+	/**
+	 * @return the number of slots currently owned by a name.
+	 */
+	public int getUsedSlots() {
+		synchronized (slotForName) {
+			return slotForName.size();
+		}
+	}
+
+	public int getSlotCount() {
+		return slotCount;
+	}
+
+	/**
+	 * @return the slot owned by the given name, claiming a free one if needed, or
+	 * -1 if the store is full.
+	 */
+	private int slotFor(String name) {
+		synchronized (slotForName) {
+			Integer slot = slotForName.get(name);
+			if (slot != null) {
+				return slot;
+			}
+			int free = freeSlots.nextSetBit(0);
+			if (free >= 0) {
+				freeSlots.clear(free);
+				slotForName.put(name, free);
+			}
+			return free;
+		}
+	}
+
+}
@@ -0,0 +1,184 @@
+package io;
+
+import gameplay.BoardArea;
+import gameplay.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import util.Color;
+import card.Card;
+import card.city.AnkhMorporkArea;
+import card.city.CityAreaCard;
+import card.player.GreenPlayerCard;
+
+/**
+ * <b> A user interface which takes every decision by picking one of a list of options. </b>
+ * <p>
+ * Each decision the game asks for is turned into a prompt and the list of
+ * the valid answers, each written as a short token:
+ * <ul>
+ * 	<li>a player card by its name (e.g. "GASPODE") and a city area card by
+ * 		{@value #CITY_CARD_PREFIX} followed by the name of its area;</li>
+ * 	<li>an area by its name (e.g. "NAP_HILL");</li>
+ * 	<li>a player or a minion by its color (e.g. "RED");</li>
+ * 	<li>a yes/no question by {@value #YES} or {@value #NO};</li>
+ * 	<li>the piece to assassinate by {@value #TROLL}, {@value #DEMON} or a color.</li>
+ * </ul>
+ * The tokens only depend on the state of the game, so a sequence of answers
+ * taken in a game can be written down and given back to reproduce it.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public abstract class PromptUserInterface implements UserInterface {
+
+	public static final String YES = "Y";
+	public static final String NO = "N";
+	public static final String TROLL = "t";
+	public static final String DEMON = "d";
+	public static final String CITY_CARD_PREFIX = "CITY:";
+
+	private long decisions;
+
+	/**
+	 * Takes a decision.
+	 * @param prompt what is being decided
+	 * @param options the valid answers, never empty
+	 * @return one of the options
+	 */
+	protected abstract String choose(String prompt, List<String> options);
+
+	/**
+	 * Takes a decision through {@link #choose(String, List)} and counts it.
+	 */
+	private String decide(String prompt, List<String> options) {
+		decisions++;
+		return choose(prompt, options);
+	}
+
+	@Override
+	public long getDecisionCount() {
+		return decisions;
+	}
+
+	/**
+	 * The messages of the game are dropped: no one reads them, the decisions
+	 * are taken from the options alone.
+	 */
+	@Override
+	public void println(String msg) {
+	}
+
+	/**
+	 * @return the token which designates the given card.
+	 */
+	public static String tokenFor(Card card) {
+		if (card instanceof CityAreaCard) {
+			return CITY_CARD_PREFIX + ((CityAreaCard) card).getArea().name();
+		}
+		return ((Enum<?>) card).name();
+	}
+
+	@Override
+	public <C extends Card> C getCardChoice(Collection<C> cards, String message) {
+		List<String> options = new ArrayList<>(cards.size());
+		for (C c : cards) {
+			options.add(tokenFor(c));
+		}
+		if (options.isEmpty()) {
+			return null;
+		}
+		String choice = decide(message, options);
+		for (C c : cards) {
+			if (tokenFor(c).equals(choice)) {
+				return c;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public AnkhMorporkArea getAreaChoice(Collection<AnkhMorporkArea> availableAreas,
+			String outputMsg, String inputMsg) {
+		List<String> options = new ArrayList<>(availableAreas.size());
+		for (AnkhMorporkArea a : availableAreas) {
+			options.add(a.name());
+		}
+		return options.isEmpty() ? null : AnkhMorporkArea.valueOf(decide(outputMsg, options));
+	}
+
+	@Override
+	public BoardArea getAreaChoice(Map<Integer, BoardArea> availableAreas,
+			String outputMsg, String inputMsg, boolean details,
+			ArrayList<Integer> excludeList) {
+		List<String> options = new ArrayList<>(availableAreas.size());
+		for (BoardArea a : availableAreas.values()) {
+			if (!excludeList.contains(a.getArea().getAreaCode())) {
+				options.add(a.getArea().name());
+			}
+		}
+		if (options.isEmpty()) {
+			return null;
+		}
+		String choice = decide(outputMsg, options);
+		return availableAreas.get(AnkhMorporkArea.valueOf(choice).getAreaCode());
+	}
+
+	@Override
+	public String getAssassinationChoice(BoardArea trouble, Player killer) {
+		List<String> options = new ArrayList<>();
+		if (trouble.getTrollCount() > 0) {
+			options.add(TROLL);
+		}
+		if (trouble.getDemonCount() > 0) {
+			options.add(DEMON);
+		}
+		for (Map.Entry<Color, Integer> e : trouble.getMinions().entrySet()) {
+			// Cannot kill yourself
+			if (e.getKey() != killer.getColor() && e.getValue() > 0) {
+				options.add(e.getKey().name());
+			}
+		}
+		return options.isEmpty() ? null
+				: decide("Choose a piece to assassinate in " + trouble.getArea(), options);
+	}
+
+	@Override
+	public Player getPlayer(Map<Color, Player> playerMap, ArrayList<Color> excludeList) {
+		List<String> options = new ArrayList<>(playerMap.size());
+		for (Color c : playerMap.keySet()) {
+			if (!excludeList.contains(c)) {
+				options.add(c.name());
+			}
+		}
+		return options.isEmpty() ? null
+				: playerMap.get(Color.valueOf(decide("Choose a player", options)));
+	}
+
+	@Override
+	public boolean getUserYesOrNoChoice(String msg) {
+		List<String> options = new ArrayList<>(2);
+		options.add(YES);
+		options.add(NO);
+		return YES.equals(decide(msg, options));
+	}
+
+	@Override
+	public Color getMinionChoice(Map<Color, Integer> minionsInArea, String inputMsg, String promptMsg) {
+		List<String> options = new ArrayList<>(minionsInArea.size());
+		for (Color c : minionsInArea.keySet()) {
+			options.add(c.name());
+		}
+		return options.isEmpty() ? null : Color.valueOf(decide(inputMsg, options));
+	}
+
+	@Override
+	public boolean playInterrupt(Player player, GreenPlayerCard card) {
+		return getUserYesOrNoChoice(player, player.getColor() + ", do you want to play " + card.name() + "?");
+	}
+
+}
@@ -1,33 +1,33 @@
 package io;
 
-import gameplay.Bank;
 import gameplay.BoardArea;
 import gameplay.Controller;
+import gameplay.Die;
 import gameplay.Game;
+import gameplay.GameSnapshot;
+import gameplay.GameSnapshot.AreaSnapshot;
+import gameplay.GameSnapshot.PlayerSnapshot;
 import gameplay.GameStatus;
 import gameplay.Player;
 
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.InputMismatchException;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Scanner;
-import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 
 import util.Color;
-import util.Interrupt;
 import card.Card;
 import card.city.AnkhMorporkArea;
 import card.city.CityAreaCard;
-import card.personality.PersonalityCard;
 import card.player.GreenPlayerCard;
-import card.player.Symbol;
+import replay.GameRecord;
+import replay.RecordingUserInterface;
 
 /**
  * <b> This class makes a command line interface to communicate with the players. <b> 
@@ -35,11 +35,16 @@ import card.player.Symbol;
  * @author Team 10 - SOEN6441
  * @version 2.0
  */
-public class TextUserInterface {
+public class TextUserInterface implements UserInterface {
 
 	Controller controller = new Controller();
-	FileManager<Game> fm = new JSONFileManager<>(Game.class);
+	FileManager<Game> fm = new GameFileManager();
 	FileObject<Game> currentGameFileObj;
+	FileManager<GameRecord> recordFm = new JSONFileManager<>(GameRecord.class);
+	/**
+	 * The recording of the current game, if it was started from scratch.
+	 */
+	GameRecord currentRecord;
 	Scanner scanner;
 
 	public static final String RESET = "\u001B[0m";
@@ -93,6 +98,7 @@ public class TextUserInterface {
 				Optional<FileObject<Game>> gameWrap = loadGame();
 				if (gameWrap.isPresent()) {
 					currentGameFileObj = gameWrap.get();
+					currentRecord = null;
 					controller = new Controller(currentGameFileObj.getPOJO());
 					controller.shuffleDecks();
 					continueGame();
@@ -125,6 +131,12 @@ public class TextUserInterface {
 			playerNames[i] = scanner.nextLine();
 		}
 
+		// Record the game so that it can be replayed
+		long seed = System.nanoTime();
+		Die.getDie().setSeed(seed);
+		currentRecord = new GameRecord(seed, playerNames);
+		controller.getGame().setUI(new RecordingUserInterface(this, currentRecord.getDecisions()));
+
 		if (controller.newGame(numberOfPlayers, playerNames)) {
 			continueGame();
 		} else {
@@ -146,14 +158,19 @@ public class TextUserInterface {
 							+ "2) l to load a previously saved game\n"
 							+ "3) o for the game's overview\n"
 							+ "4) s to save the current game\n"
-							+ "5) e to exit and go back to the main menu");
+							+ "5) r to save the recording of the current game\n"
+							+ "6) e to exit and go back to the main menu");
 			System.out.print("> ");
 			action = scanner.nextLine();
 
 			if (action.equals(UserOption.EXIT.getOptionString())) {
 				return;
 			} else if (action.equals(UserOption.NEXT_TURN.getOptionString())) {
-				if (playTurn(controller.advanceToNextTurn(), true)) {
+				boolean finished = controller.playTurn(controller.advanceToNextTurn());
+				if (currentRecord != null) {
+					currentRecord.turnPlayed(controller.getGame());
+				}
+				if (finished) {
 					System.out.println("The game has finished!");
 					printGameStatus();
 					break;
@@ -165,224 +182,38 @@ public class TextUserInterface {
 				Optional<FileObject<Game>> gameWrap = loadGame();
 				if (gameWrap.isPresent()) {
 					currentGameFileObj = gameWrap.get();
+					currentRecord = null;
 					controller = new Controller(currentGameFileObj.getPOJO());
 				}
 			} else if (action.equals(UserOption.SAVE.getOptionString())) {
 				saveGame();
+			} else if (action.equals(UserOption.RECORD.getOptionString())) {
+				saveRecord();
 			} 
 		}
 
 	}
 	
-	/**
-	 * Runs the given player's turn which consists of drawing a card (or more,
-	 * if applicable), performing selectively the symbols on the card 
-	 * (except for Random Events, which are mandatory) and restoring the hand
-	 * back to 5 cards (if applicable).
-	 * @param p the player whose turn it currently is.
-	 * @param firstTime should be true if this is the first time a player has to choose
-	 * a card to play, false otherwise.
-	 * @return true if the game has finished either at the beginning or the end
-	 * of this turn, false otherwise.
-	 */
-	private boolean playTurn(Player p, boolean firstTime) {
-		if (firstTime) {
-			p.resetCityAreaCards();
-		}
-
+	@Override
+	public void turnStarted(Player p, Game game) {
 		System.out.println(p.getColor().getAnsi());
 		printBriefGameStatus();
 		System.out.println(p.getName() + "("+p.getColor()+") " + "'s turn!");
 		System.out.println(p.getPersonality() + ": " + p.getPersonality().getDesc());
-
-		// For all the players except Commander Vimes, check the winning conditions
-		// in the beginning
-		if (firstTime && controller.hasPlayerWon(p)) {
-			System.out.println(p + " has won the game!");
-			return true;
-		}
-
-		// This is dirty but it would take a lot more time to rewrite everything
-		// with proper variance... if it's even possible. At least the casts are safe.
-		Card c = getCardChoice(p.getPlayableCards(), "Choose a card to play: ");
-		if (c instanceof GreenPlayerCard) {
-			playPlayerCard((GreenPlayerCard) c, p);
-		} else if (c instanceof CityAreaCard) {
-			playCityAreaCard((CityAreaCard) c, p);
-			playTurn(p, false);
-		}
-		
-		// The following must only be performed if the game hasn't finished
-		// If the game has finished after the player has finished playing
-		// (that can only happen if the cards run out) then the following block
-		// should be executed once and only once.
-		if (controller.getGameStatus() != GameStatus.FINISHED) {
-			controller.restorePlayerHand(p);
-			// For Commander Vimes we only check the winning condition at the end
-			if ((p.getPersonality() == PersonalityCard.COMMANDER_VIMES && controller.hasPlayerWon(p))) {
-				System.out.println(PersonalityCard.COMMANDER_VIMES + " has won the game.");
-				return true;
-			}
-			
-			// If the deck was empty and nobody had Commander Vimes, the game will
-			// finish on points
-			List<Player> winners = controller.finishGameOnPoints(true);
-			if (!winners.isEmpty()) {
-				System.out.println("Game winners: " + winners);
-			}
-			
-			System.out.println(RESET);
-			return false;
-		}
-		
-		return true;
 	}
 	
-	/**
-	 * Polls the player in turn to play a city area card (if he has any available).
-	 * If the player wishes so, a card will be played.
-	 */
-	public void playCityAreaCardBetweenSymbols(Player p) {
-		List<CityAreaCard> playableCityAreaCards = 
-				p.getCityAreaCards()
-					.stream().filter(c -> (!c.isDisabled() && !c.hasBeenPlayed() && !c.isSmallGods()))
-					.collect(Collectors.toList());
-		// So that (s)he can play multiple city area cards between symbols
-		while (!playableCityAreaCards.isEmpty() && getUserYesOrNoChoice("Do you want "
-				+ "to play a city area card in between another action?")) {
-			CityAreaCard cardToPlay = getCardChoice(playableCityAreaCards, "Choose a city area card to play: ");
-			playCityAreaCard(cardToPlay, p);
-			playableCityAreaCards.remove(cardToPlay);
-		}
-	}
-	
-	public void playCityAreaCard(CityAreaCard c, Player p) {
-		System.out.println("Playing: " + c);
-		c.getCardAction().accept(p, controller.getGame());
-		c.setHasBeenPlayed(true);
-	}
-
-	public void playPlayerCard(GreenPlayerCard c, Player p) {
-		controller.getGame().setCurrentCardInPlay(c);
-
-		// Determine which needs to be completed first (symbols or text)
-		System.out.println("Playing symbols");
-		if (c.isTextFirst()) {
-			// play text
-			// if text returns false, its because we gave away this card
-			boolean res = playText(c, p);
-			if (!res) {
-				controller.getGame().setCurrentCardInPlay(null);
-				return;
-			}
-			// Perform symbols
-			// If symbols return false
-			// Its because we've recursed into playing another card
-			res = playSymbols(c, p);
-			if (!res) {
-				return;
-			}
-		} else {
-			// Perform symbols
-			// If symbols return false
-			// Its because we've recursed into playig another card
-			boolean res = playSymbols(c, p);
-			if (!res) {
-				return;
-			}
-			res = playText(c, p);
-			if (!res) {
-				controller.getGame().setCurrentCardInPlay(null);
-				return;
-			}
-		}
-		System.out.println("Done playing symbols");
-
-		controller.getGame().discardCard(c, p);
-		controller.getGame().setCurrentCardInPlay(null);
+	@Override
+	public void turnFinished(Player p, Game game) {
+		System.out.println(RESET);
 	}
 	
-	
-	/**
-	 * 
-	 * @param c GreenPlayerCard being played
-	 * @param p Player who's turn it is
-	 * @return boolean:	if card was given away through course of symbol play
-	 */
-	private boolean playText(GreenPlayerCard c, Player p) {
-		if(!c.hasScroll()) return true;
-		BiConsumer<Player, Game> textAction = c.getText();
-		if (textAction != null) {
-			playCityAreaCardBetweenSymbols(p);
-			System.out.println("Do you want to perform the scroll (" + c.getDesc()
-					+ ") symbol? (yes/no)");
-			System.out.print("> ");
-			String choice = scanner.nextLine();
-			if (UserOption.YES.name().equalsIgnoreCase(choice)) {
-				textAction.accept(p, controller.getGame());
-
-				// Its possible, due to the evil ways of the text symbols
-				// that the card we are playing, is now given to another player
-				// ie the fools guild
-				// so we should check here to make sure the player still has
-				// this card
-				if (!p.getPlayerCards().contains(c)) {
-					// if player has given away this card, then we
-					// need to make sure that the card isnt discarded or symbols
-					// played
-					return false;
-				}
-
-			}
-		}
-
-		return true;
-	}
-	
-	/**
-	 * 
-	 * @param c GreenPlayerCard currently in use
-	 * @param p Player who turn it is
-	 */
-	private boolean playSymbols(GreenPlayerCard c, Player p) {
-		// Perform the symbols on the cards selectively
-		for (Symbol s : c.getSymbols()) {
-			playCityAreaCardBetweenSymbols(p);
-			// Only Random Events are mandatory
-			if (s != Symbol.RANDOM_EVENT) {
-				System.out
-						.println("Do you want to perform " + s + "? (yes/no)");
-				System.out.print("> ");
-				String choice = scanner.nextLine();
-				if (UserOption.YES.name().equalsIgnoreCase(choice)) {
-					if (s == Symbol.PLAY_ANOTHER_CARD) {
-						controller.getGame().discardCard(c, p);
-						playTurn(p, false);
-						return false;
-					}
-					controller.performSymbolAction(p, s);
-					if(s == Symbol.INTERRUPT) {
-						// Symbol is an interrupt -> return false so text doesnt play
-						return false;
-					}
-					
-				}
-			} else {
-				System.out.println("Random Event Symbol, must play...");
-				controller.performSymbolAction(p, s);
-			}
-		}
-		return true;
-		
-	}
-	
-	
 	/**
 	 * Get either a player card or city area card to play.
 	 * @param cards
 	 * @param message
 	 * @return the card selected by the player.
 	 */
+	@Override
 	public <C extends Card> C getCardChoice(Collection<C> cards, String message) {
 		Map<Integer, C> cardMap = new HashMap<>();
 		System.out.println(message);
@@ -460,6 +291,24 @@ public class TextUserInterface {
 		fm.saveAs(currentGameFileObj, fileName);
 	}
 
+	/**
+	 * Saves the recording of the current game, which can be replayed with
+	 * {@link replay.Replay}.
+	 */
+	private void saveRecord() {
+		if (currentRecord == null) {
+			System.out.println("Only the games started from scratch are recorded.");
+			return;
+		}
+		System.out.println("Provide a filename where the recording will be saved "
+				+ "(e.g. game1.record.json), or blank to go back:");
+		String fileName = scanner.nextLine();
+		if (UserOption.BACK.getOptionString().equals(fileName)) {
+			return;
+		}
+		recordFm.saveAs(new FileObject<GameRecord>(currentRecord, fileName), fileName);
+	}
+
 	/**
 	 * This method loads a game.
 	 * @return game as object
@@ -474,64 +323,55 @@ public class TextUserInterface {
 			return Optional.empty();
 		}
 
-		Optional<FileObject<Game>> f = fm.open(fileName);
+		Optional<FileObject<Game>> f = openGame(fileName);
 		while (!f.isPresent()) {
-			System.out.println(fileName
-					+ " doesn't exist! Try another one (or enter "
+			System.out.println(" Try another one (or enter "
 					+ "blank to go back to the main menu): ");
 			fileName = scanner.nextLine();
 			if (UserOption.BACK.getOptionString().equals(fileName)) {
 				return Optional.empty();
 			}
-			f = fm.open(fileName);
+			f = openGame(fileName);
 		}
 
 		return f;
 	}
 
 	/**
-	 * This method displays the status of the board and the game.
+	 * @return the game saved in the given file, or an empty option if there is
+	 * 	no such file or the game cannot be read from it (which the user is told).
+	 */
+	private Optional<FileObject<Game>> openGame(String fileName) {
+		try {
+			Optional<FileObject<Game>> f = fm.open(fileName);
+			if (!f.isPresent()) {
+				System.out.print(fileName + " doesn't exist!");
+			}
+			return f;
+		} catch (UncheckedIOException e) {
+			System.out.print(e.getMessage() + "!");
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * This method displays the status of the board and the game, as of the
+	 * game's last snapshot.
 	 */
 	private void printGameStatus() {
+		GameSnapshot snapshot = controller.getGame().getSnapshot();
 
-		if (controller.gameExists()) {
+		if (snapshot.getStatus() == GameStatus.PLAYING) {
 			System.out.println(String.format("%-20s%10s%30s%30s%30s%10s", "Area",
 					"Buildings", "Minions", "Trolls", "Demons", "Trouble"));
 
-			for (BoardArea a : controller.getBoard()) {
-				System.out.print(String.format("%-20s", a.getArea().name()));
-
-				Player p = controller.getPlayerForColor(a.getBuildingOwner());
-				if (p == null) {
-					System.out.print(String.format("%10s", "NONE"));
-				} else {
-					System.out.print(String.format("%10s", p.getName()));
-				}
-
-				Map<Color, Integer> minions = a.getMinions();
-				String minionsAll = UserOption.BACK.getOptionString();
-
-				for (Map.Entry<Color, Integer> entry : minions.entrySet()) {
-					Color color = entry.getKey();
-					Integer value = entry.getValue();
-					// TODO Change this once we put the players into a map
-					minionsAll += String.format("%5s%1s%1s%1s", controller
-							.getGame().getPlayerOfColor(color).getAbbr(), "(",
-							String.valueOf(value), ")");
-				}
-				System.out.format("%30s", minionsAll);
-
-				System.out.format("%30s", String.valueOf(a.getTrollCount()));
-				System.out.format("%30s", String.valueOf(a.getDemonCount()));
-
-				System.out.format("%10s", a.hasTroubleMarker());
-
+			for (AreaSnapshot a : snapshot.getAreas()) {
+				printArea(snapshot, a);
 				System.out.println();
 			}
 
 			// Print player details
-			Collection<Player> players = controller.getPlayers();
-			for (Player p : players) {
+			for (PlayerSnapshot p : snapshot.getPlayers()) {
 				System.out.println(System.getProperty("line.separator"));
 				System.out.print(p.getName());
 				System.out.print(" has personality ");
@@ -539,7 +379,7 @@ public class TextUserInterface {
 				System.out.println(p.getName() + " is color "
 						+ p.getColor());
 				System.out.println(" And has "
-						+ String.valueOf(p.getMinionCount())
+						+ String.valueOf(p.getMinions())
 						+ " minions left");
 				System.out.println(" And has "
 						+ String.valueOf(p.getBuildings())
@@ -555,12 +395,11 @@ public class TextUserInterface {
 			}
 
 			System.out.println(System.getProperty("line.separator"));
-			Bank bank = controller.getBank();
 			System.out.println(" Bank has balance of "
-					+ Integer.toString(bank.getBalance()));
+					+ Integer.toString(snapshot.getBankBalance()));
 			System.out.print(" Current turn is ");
-			System.out.println(controller.getPlayerOfCurrentTurn().getName());
-			System.out.print("There are " + controller.getGame().getPlayerDeck().size() + " cards left to be played!");
+			System.out.println(snapshot.getPlayer(snapshot.getCurrentPlayer()).getName());
+			System.out.print("There are " + snapshot.getPlayerDeckSize() + " cards left to be played!");
 			System.out.println(System.getProperty("line.separator"));
 
 		} else {
@@ -571,43 +410,47 @@ public class TextUserInterface {
 
 	}
 	
-	private void printBriefGameStatus() {
+	/**
+	 * Prints an area's row of the status table: its name, building owner,
+	 * minions, trolls, demons and trouble marker.
+	 */
+	private void printArea(GameSnapshot snapshot, AreaSnapshot a) {
+		System.out.print(String.format("%-20s", a.getArea().name()));
 
-		if (controller.gameExists()) {
-			System.out.println("~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~"
-					+ "~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~");
-			System.out.println(String.format("%-20s%10s%30s%30s%30s%10s%20s", "Area",
-					"Buildings", "Minions", "Trolls", "Demons", "Trouble", "Controlled By"));
+		PlayerSnapshot p = snapshot.getPlayer(a.getBuildingOwner());
+		if (p == null) {
+			System.out.print(String.format("%10s", "NONE"));
+		} else {
+			System.out.print(String.format("%10s", p.getName()));
+		}
 
-			for (BoardArea a : controller.getBoard()) {
-				System.out.print(String.format("%-20s", a.getArea().name()));
+		String minionsAll = UserOption.BACK.getOptionString();
 
-				Player p = controller.getPlayerForColor(a.getBuildingOwner());
-				if (p == null) {
-					System.out.print(String.format("%10s", "NONE"));
-				} else {
-					System.out.print(String.format("%10s", p.getName()));
-				}
+		for (Map.Entry<Color, Integer> entry : a.getMinions().entrySet()) {
+			minionsAll += String.format("%5s%1s%1s%1s", entry.getKey().getAbbr(), "(",
+					String.valueOf(entry.getValue()), ")");
+		}
+		System.out.format("%30s", minionsAll);
 
-				Map<Color, Integer> minions = a.getMinions();
-				String minionsAll = UserOption.BACK.getOptionString();
+		System.out.format("%30s", String.valueOf(a.getTrolls()));
+		System.out.format("%30s", String.valueOf(a.getDemons()));
 
-				for (Map.Entry<Color, Integer> entry : minions.entrySet()) {
-					Color color = entry.getKey();
-					Integer value = entry.getValue();
-					// TODO Change this once we put the players into a map
-					minionsAll += String.format("%5s%1s%1s%1s", controller
-							.getGame().getPlayerOfColor(color).getAbbr(), "(",
-							String.valueOf(value), ")");
-				}
-				System.out.format("%30s", minionsAll);
+		System.out.format("%10s", a.hasTroubleMarker());
+	}
+	
+	private void printBriefGameStatus() {
+		GameSnapshot snapshot = controller.getGame().getSnapshot();
 
-				System.out.format("%30s", String.valueOf(a.getTrollCount()));
-				System.out.format("%30s", String.valueOf(a.getDemonCount()));
+		if (snapshot.getStatus() == GameStatus.PLAYING) {
+			System.out.println("~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~"
+					+ "~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~");
+			System.out.println(String.format("%-20s%10s%30s%30s%30s%10s%20s", "Area",
+					"Buildings", "Minions", "Trolls", "Demons", "Trouble", "Controlled By"));
 
-				System.out.format("%10s", a.hasTroubleMarker());
+			for (AreaSnapshot a : snapshot.getAreas()) {
+				printArea(snapshot, a);
 				
-				Player control = a.isControlled(controller.getGame().getPlayersMap());
+				PlayerSnapshot control = snapshot.getPlayer(a.getControlledBy());
 				String controlStr = "";
 				if(control != null) {
 						controlStr = control.getName();
@@ -617,12 +460,12 @@ public class TextUserInterface {
 			}
 			System.out.println(System.getProperty("line.separator"));
 
-			System.out.println("Bank has " + controller.getGame().getBank().getBalance() + "$");
-			for(Player p : controller.getGame().getPlayersMap().values()) {
+			System.out.println("Bank has " + snapshot.getBankBalance() + "$");
+			for(PlayerSnapshot p : snapshot.getPlayers()) {
 				System.out.println(p.getName() + "(" + p.getColor() +") has " + p.getMoney() + "$");
 			}
 
-			System.out.println("There are " + controller.getGame().getPlayerDeck().size() + " cards left to be played!");
+			System.out.println("There are " + snapshot.getPlayerDeckSize() + " cards left to be played!");
 			
 
 			System.out.println("~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~"
@@ -636,6 +479,7 @@ public class TextUserInterface {
 		}
 	}
 	
+	@Override
 	public AnkhMorporkArea getAreaChoice(Collection<AnkhMorporkArea> availableAreas, 
 			String outputMsg, String inputMsg) {
 		System.out.println(outputMsg);
@@ -665,47 +509,6 @@ public class TextUserInterface {
 		}
 	}
 	
-	/**
-	 * Same as above but using boardAreas
-	 * @param availableAreas
-	 * @param outputMsg
-	 * @param inputMsg
-	 * @return
-	 */
-	public BoardArea getAreaChoice(Map<Integer, BoardArea> availableAreas, 
-		String outputMsg, String inputMsg, ArrayList<Integer> excludeList) {
-		return getAreaChoice(availableAreas, outputMsg, inputMsg, false, excludeList);
-	}
-	
-	
-	/**
-	 * Same as above but using boardAreas
-	 * @param availableAreas
-	 * @param outputMsg
-	 * @param inputMsg
-	 * @return
-	 */
-	public BoardArea getAreaChoice(Map<Integer, BoardArea> availableAreas, 
-		String outputMsg, String inputMsg) {
-		ArrayList<Integer> excludeList = new ArrayList<Integer>();
-		return getAreaChoice(availableAreas, outputMsg, inputMsg, false, excludeList);
-	}
-	
-	
-	/**
-	 * Same as above but displays extra information
-	 * @param availableAreas
-	 * @param outputMsg
-	 * @param inputMsg
-	 * @param details
-	 * @return
-	 */
-	public BoardArea getAreaChoice(Map<Integer, BoardArea> availableAreas,
-			String outputMsg, String inputMsg, boolean details) {
-		ArrayList<Integer> excludeList = new ArrayList<Integer>();
-		return getAreaChoice(availableAreas, outputMsg, inputMsg, details, excludeList);
-	}
-	
 	/**
 	 * Same as above but displays extra information
 	 * @param availableAreas
@@ -715,6 +518,7 @@ public class TextUserInterface {
 	 * @param excludeList
 	 * @return
 	 */
+	@Override
 	public BoardArea getAreaChoice(Map<Integer, BoardArea> availableAreas,
 			String outputMsg, String inputMsg, boolean details,
 			ArrayList<Integer> excludeList) {
@@ -743,7 +547,7 @@ public class TextUserInterface {
 			try {
 				int action = scanner.nextInt();
 				scanner.nextLine();
-				while (availableAreas.get(action) == null) {
+				while (availableAreas.get(action) == null || excludeList.contains(action)) {
 					System.out.print("Invalid selection: " + inputMsg);
 					action = scanner.nextInt();
 					scanner.nextLine();
@@ -759,11 +563,12 @@ public class TextUserInterface {
 	
 	
 	/**
-	 * Remove a troll, demon or minion from a boardArea
+	 * Choose a troll, demon or minion to remove from a boardArea
 	 * @param trouble
 	 * @param killer
 	 */
-	public Color assassinatePiece(BoardArea trouble, Player killer, Game game) {
+	@Override
+	public String getAssassinationChoice(BoardArea trouble, Player killer) {
 		scanner = new Scanner(System.in);
 
 		// Display all assassination options
@@ -785,40 +590,27 @@ public class TextUserInterface {
 					+ " for minion of player " + pair.getValue());
 		}
 
-		Color killedColor = null;
-		String actionKill = null;
-		boolean removed = false;
-		while (!removed) {
+		while (true) {
 			System.out.print("Choice: ");
-			actionKill = scanner.nextLine();
+			String actionKill = scanner.nextLine();
 
 			if (actionKill.equals("t") && trouble.getTrollCount() > 0) {
-				trouble.removeTroll();
-				removed = true;
+				return actionKill;
 			} else if (actionKill.equals("d") && trouble.getDemonCount() > 0) {
-				game.removeDemon(trouble.getArea().getAreaCode());
-				removed = true;
+				return actionKill;
 			} else {
 				try {
-					Color c = Color.valueOf(actionKill);
 					// Make sure minion being assinated is valid and isn't your
 					// own
-					Player losingMinion = game.getPlayerOfColor(c);
-					if (losingMinion != null
-							&& Color.valueOf(actionKill) != killer.getColor()
-							&& trouble.getMinionCountForPlayer(losingMinion) != 0) {
-
-						trouble.removeMinion(losingMinion);
-						removed = true;
-						killedColor = c;
+					Color c = Color.valueOf(actionKill);
+					if (c != killer.getColor() && troubleMinions.getOrDefault(c, 0) != 0) {
+						return actionKill;
 					}
 				} catch (IllegalArgumentException e) {
 					continue;
 				}
-
 			}
 		}
-		return killedColor;
 	}
 
 	/**
@@ -827,9 +619,10 @@ public class TextUserInterface {
 	 * @param excludePlayer do not let user return this player
 	 * @return chosen player
 	 */
-	public Player getPlayer(Map<Color, Player> playerMap, ArrayList<Color> excludeList,  Boolean checkWallace) {
+	@Override
+	public Player getPlayer(Map<Color, Player> playerMap, ArrayList<Color> excludeList) {
 		boolean noValidChoice = true;
-		for(Player p : controller.getGame().getPlayersMap().values()) {
+		for(Player p : playerMap.values()) {
 			if(!excludeList.contains(p.getColor())) {
 				noValidChoice = false;
 			}
@@ -856,24 +649,20 @@ public class TextUserInterface {
 			action = scanner.nextLine();
 		}
 		
-		boolean interrupted = false;
-		if(checkWallace) {
-			interrupted = controller.getGame().notifyInterrupt(Interrupt.SCROLL, playerMap.get(Color.valueOf(action)));
-			if(interrupted) {
-				return null;
-			}
-		}
-		
 		return playerMap.get(Color.valueOf(action));
 	}
 	
+	@Override
 	public boolean getUserYesOrNoChoice(String msg) {
 		scanner = new Scanner(System.in);
 		System.out.println(msg + "(Y for \"yes\")");
 		System.out.print("> ");
-		return UserOption.YES.getOptionString().equalsIgnoreCase(scanner.nextLine());
+		String choice = scanner.nextLine();
+		return UserOption.YES.getOptionString().equalsIgnoreCase(choice)
+				|| UserOption.YES.name().equalsIgnoreCase(choice);
 	}
 	
+	@Override
 	public Color getMinionChoice(Map<Color, Integer> minionsInArea, String inputMsg, String promptMsg) {
 		System.out.println(inputMsg);
 		int i = 1;
@@ -905,6 +694,7 @@ public class TextUserInterface {
 		}
 	}
 	
+	@Override
 	public boolean playInterrupt(Player player, GreenPlayerCard card) {
 		System.out.println("AN INTERRUPT CAN BE PLAYED");
 		return getUserYesOrNoChoice(player.getName() + " DO YOU WANT TO PLAY " + card + "?");
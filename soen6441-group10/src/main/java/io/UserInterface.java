@@ -0,0 +1,152 @@
+package io;
+
+import gameplay.BoardArea;
+import gameplay.Game;
+import gameplay.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import util.Color;
+import card.Card;
+import card.city.AnkhMorporkArea;
+import card.player.GreenPlayerCard;
+
+/**
+ * <b> The decisions the game asks its players to take. </b>
+ * <p>
+ * The game never reads from the console directly: the cards, the random events
+ * and the turn flow ask the user interface of the game being played (see
+ * {@link Game#getUI()}). The {@link TextUserInterface} asks the players on the
+ * command line; other implementations take the decisions from a recorded game
+ * or from a bot.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public interface UserInterface {
+
+	/**
+	 * Get either a player card or city area card to play.
+	 * @return the card selected by the player.
+	 */
+	<C extends Card> C getCardChoice(Collection<C> cards, String message);
+
+	AnkhMorporkArea getAreaChoice(Collection<AnkhMorporkArea> availableAreas,
+			String outputMsg, String inputMsg);
+
+	/**
+	 * @param details true to display the pieces in each area
+	 * @param excludeList the codes of the areas which cannot be chosen
+	 * @return the area selected by the player.
+	 */
+	BoardArea getAreaChoice(Map<Integer, BoardArea> availableAreas,
+			String outputMsg, String inputMsg, boolean details,
+			ArrayList<Integer> excludeList);
+
+	default BoardArea getAreaChoice(Map<Integer, BoardArea> availableAreas,
+			String outputMsg, String inputMsg, ArrayList<Integer> excludeList) {
+		return getAreaChoice(availableAreas, outputMsg, inputMsg, false, excludeList);
+	}
+
+	default BoardArea getAreaChoice(Map<Integer, BoardArea> availableAreas,
+			String outputMsg, String inputMsg) {
+		return getAreaChoice(availableAreas, outputMsg, inputMsg, false, new ArrayList<Integer>());
+	}
+
+	default BoardArea getAreaChoice(Map<Integer, BoardArea> availableAreas,
+			String outputMsg, String inputMsg, boolean details) {
+		return getAreaChoice(availableAreas, outputMsg, inputMsg, details, new ArrayList<Integer>());
+	}
+
+	/**
+	 * Chooses the piece to assassinate in an area.
+	 * @param trouble the area, which contains a trouble marker
+	 * @param killer the player assassinating (who cannot choose his own minions)
+	 * @return "t" for a troll, "d" for a demon, or the color of the player whose
+	 * 	minion is assassinated.
+	 */
+	String getAssassinationChoice(BoardArea trouble, Player killer);
+
+	/**
+	 * Get user to chose a player by typing a color.
+	 * @param excludeList the colors of the players which cannot be chosen
+	 * @return the chosen player, or null if no player can be chosen.
+	 */
+	Player getPlayer(Map<Color, Player> playerMap, ArrayList<Color> excludeList);
+
+	boolean getUserYesOrNoChoice(String msg);
+
+	/**
+	 * Same as above, for a decision taken by the given player (who is not
+	 * necessarily the player whose turn it is).
+	 */
+	default boolean getUserYesOrNoChoice(Player p, String msg) {
+		return getUserYesOrNoChoice(msg);
+	}
+
+	Color getMinionChoice(Map<Color, Integer> minionsInArea, String inputMsg, String promptMsg);
+
+	/**
+	 * @return true if the player wants to play the given interrupt card.
+	 */
+	boolean playInterrupt(Player player, GreenPlayerCard card);
+
+	/**
+	 * Offers the player the chance to play the given interrupt card, without
+	 * having to wait for the answer. The game waits for the answer at most
+	 * the given time, after which it cancels the offer and goes on as if the
+	 * card was not played.
+	 * <p>
+	 * By default the player is asked with {@link #playInterrupt(Player, GreenPlayerCard)}
+	 * and the answer is known when this returns.
+	 * </p>
+	 * @param millis the time the player has to answer, or 0 if there is no limit
+	 * @return the future answer: true if the player plays the card.
+	 */
+	default CompletableFuture<Boolean> offerInterrupt(Player player, GreenPlayerCard card, long millis) {
+		return CompletableFuture.completedFuture(playInterrupt(player, card));
+	}
+
+	/**
+	 * Invoked once the offer of an interrupt card is settled, in the order
+	 * the cards are offered: when the player answered, when the offer was
+	 * withdrawn, or when the window closed before the card could be offered.
+	 * @param played true if the card is played
+	 */
+	default void interruptAnswered(Player player, GreenPlayerCard card, boolean played) {
+	}
+
+	/**
+	 * @return the number of decisions taken through this user interface so
+	 * 	far, or -1 if they are not counted.
+	 */
+	default long getDecisionCount() {
+		return -1;
+	}
+
+	/**
+	 * Shows the players a message of the game (what was played, what it did).
+	 * By default the message is printed on the console.
+	 */
+	default void println(String msg) {
+		System.out.println(msg);
+	}
+
+	/**
+	 * Invoked at the beginning of each (part of a) turn, before the player
+	 * chooses a card to play.
+	 */
+	default void turnStarted(Player p, Game game) {
+	}
+
+	/**
+	 * Invoked at the end of each turn which did not finish the game.
+	 */
+	default void turnFinished(Player p, Game game) {
+	}
+
+}
@@ -9,6 +9,7 @@ public enum UserOption {
 	NEW_GAME("n"),
 	EXIT("e"),
 	NEXT_TURN("t"),
+	RECORD("r"),
 	BACK(""),
 	YES("y"),
 	NO("n");
@@ -0,0 +1,103 @@
+package io.export;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <b> Reads the turn facts written by a {@link ColumnarFactWriter}, one row
+ * group at a time. </b>
+ * <p>
+ * Columns are looked up by name, so files written with fewer or more columns
+ * than the current ones can still be read; the columns which were not
+ * written read as null.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class ColumnarFactReader implements Closeable {
+
+	private final DataInputStream in;
+	/**
+	 * For each column of the file, the index of the matching column, or -1.
+	 */
+	private final int[] fileColumns;
+	private boolean finished;
+
+	public ColumnarFactReader(InputStream in_) throws IOException {
+		in = new DataInputStream(new BufferedInputStream(in_));
+		byte[] magic = new byte[ColumnarFactWriter.MAGIC.length];
+		in.readFully(magic);
+		if (!Arrays.equals(magic, ColumnarFactWriter.MAGIC)) {
+			throw new IOException("Not a turn facts file");
+		}
+		int version = in.readUnsignedByte();
+		if (version > ColumnarFactWriter.VERSION) {
+			throw new IOException("Turn facts file version " + version + " is not supported");
+		}
+
+		Map<String, FactColumn> byName = new HashMap<>();
+		for (FactColumn c : FactColumn.values()) {
+			byName.put(c.name(), c);
+		}
+		fileColumns = new int[(int) readVarint(in)];
+		for (int i = 0; i < fileColumns.length; i++) {
+			FactColumn c = byName.get(in.readUTF());
+			fileColumns[i] = c == null ? -1 : c.ordinal();
+		}
+	}
+
+	/**
+	 * @return the values of the next row group, indexed by the ordinal of
+	 * 	their {@link FactColumn}, or null if there are no more rows.
+	 */
+	public long[][] nextRowGroup() throws IOException {
+		int rows = finished ? 0 : (int) readVarint(in);
+		if (rows == 0) {
+			finished = true;
+			return null;
+		}
+		long[][] columns = new long[FactColumn.COUNT][];
+		for (int column : fileColumns) {
+			int length = (int) readVarint(in);
+			if (column < 0) {
+				in.skipBytes(length);
+				continue;
+			}
+			long[] values = new long[rows];
+			long previous = 0;
+			for (int i = 0; i < rows; i++) {
+				long zigzag = readVarint(in);
+				previous += (zigzag >>> 1) ^ -(zigzag & 1);
+				values[i] = previous;
+			}
+			columns[column] = values;
+		}
+		return columns;
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	static long readVarint(DataInputStream in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new EOFException("Malformed varint");
+	}
+
+}
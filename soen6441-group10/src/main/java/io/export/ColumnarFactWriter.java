@@ -0,0 +1,102 @@
+package io.export;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * <b> Writes turn facts column by column, in row groups of a fixed size. </b>
+ * <p>
+ * Layout of the file:
+ * <pre>
+ * "AMCF" version(1) columnCount(varint) columnName(UTF)*
+ * rowGroup* 0(varint)
+ * rowGroup = rowCount(varint) (byteCount(varint) values)*columnCount
+ * </pre>
+ * The values of a column in a row group are each written as the zigzag
+ * varint of their difference with the previous value of the column (0 for
+ * the first one). Most columns barely change from one row to the next, so
+ * most values fit in one byte, and a row group can be decoded on its own.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class ColumnarFactWriter implements FactWriter {
+
+	static final byte[] MAGIC = { 'A', 'M', 'C', 'F' };
+	static final int VERSION = 1;
+
+	public static final int DEFAULT_ROW_GROUP_SIZE = 4096;
+
+	private final DataOutputStream out;
+	private final long[][] columns;
+	private int rows;
+	private final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+
+	public ColumnarFactWriter(OutputStream out_, int rowGroupSize) throws IOException {
+		out = new DataOutputStream(new BufferedOutputStream(out_));
+		columns = new long[FactColumn.COUNT][rowGroupSize];
+		out.write(MAGIC);
+		out.writeByte(VERSION);
+		writeVarint(out, FactColumn.COUNT);
+		for (FactColumn c : FactColumn.values()) {
+			out.writeUTF(c.name());
+		}
+	}
+
+	@Override
+	public void write(TurnFacts facts) throws IOException {
+		for (int row = 0; row < facts.getRowCount(); row++) {
+			for (FactColumn c : FactColumn.values()) {
+				columns[c.ordinal()][rows] = facts.get(row, c);
+			}
+			if (++rows == columns[0].length) {
+				flushRowGroup();
+			}
+		}
+	}
+
+	private void flushRowGroup() throws IOException {
+		if (rows == 0) {
+			return;
+		}
+		writeVarint(out, rows);
+		for (long[] column : columns) {
+			encoded.reset();
+			long previous = 0;
+			for (int i = 0; i < rows; i++) {
+				long delta = column[i] - previous;
+				writeVarint(encoded, (delta << 1) ^ (delta >> 63));
+				previous = column[i];
+			}
+			writeVarint(out, encoded.size());
+			encoded.writeTo(out);
+		}
+		rows = 0;
+	}
+
+	/**
+	 * Writes the remaining rows and the end of the file.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flushRowGroup();
+			writeVarint(out, 0);
+		} finally {
+			out.close();
+		}
+	}
+
+	static void writeVarint(OutputStream out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+}
@@ -0,0 +1,65 @@
+package io.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+import util.Color;
+import card.player.GreenPlayerCard;
+import card.random.RandomEventCard;
+
+/**
+ * Writes turn facts as CSV, with the colors and cards written by name.
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class CsvFactWriter implements FactWriter {
+
+	private final BufferedWriter out;
+
+	public CsvFactWriter(OutputStream out_) throws IOException {
+		out = new BufferedWriter(new OutputStreamWriter(out_, StandardCharsets.UTF_8));
+		for (FactColumn c : FactColumn.values()) {
+			if (c.ordinal() > 0) {
+				out.write(',');
+			}
+			out.write(c.name().toLowerCase());
+		}
+		out.newLine();
+	}
+
+	@Override
+	public void write(TurnFacts facts) throws IOException {
+		for (int row = 0; row < facts.getRowCount(); row++) {
+			for (FactColumn c : FactColumn.values()) {
+				if (c.ordinal() > 0) {
+					out.write(',');
+				}
+				out.write(format(c, facts.get(row, c)));
+			}
+			out.newLine();
+		}
+	}
+
+	private static String format(FactColumn column, long value) {
+		switch (column) {
+		case PLAYER:
+			return Color.forCode((int) value).name();
+		case CARD:
+			return value < 0 ? "" : GreenPlayerCard.values()[(int) value].name();
+		case RANDOM_EVENT:
+			return value < 0 ? "" : RandomEventCard.values()[(int) value].name();
+		default:
+			return Long.toString(value);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+
+}
@@ -0,0 +1,23 @@
+package io.export;
+
+/**
+ * The layouts in which turn facts can be exported.
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public enum ExportFormat {
+
+	/** Compact binary row groups, see {@link ColumnarFactWriter}. */
+	COLUMNAR,
+	/** One line of text per row, readable by any spreadsheet. */
+	CSV;
+
+	/**
+	 * @return the format of the given file, based on its extension.
+	 */
+	public static ExportFormat forFileName(String fileName) {
+		return fileName.toLowerCase().endsWith(".csv") ? CSV : COLUMNAR;
+	}
+
+}
@@ -0,0 +1,40 @@
+package io.export;
+
+/**
+ * The columns of the exported turn facts; each row is one player at the end
+ * of one turn of one game.
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public enum FactColumn {
+
+	/** The id given to the game by the simulation. */
+	GAME,
+	/** The number of the turn in the game, from 1. */
+	TURN,
+	/** The color code of the player. */
+	PLAYER,
+	MONEY,
+	/** The number of the player's minions on the board. */
+	MINIONS,
+	/** The number of areas controlled by the player. */
+	AREAS,
+	/** The number of trouble markers on the board. */
+	TROUBLE_MARKERS,
+	/**
+	 * The ordinal of the first player card played in the turn, on the row of
+	 * the player in turn; -1 otherwise.
+	 */
+	CARD,
+	/** The number of player cards played in the turn, on the row of the player in turn. */
+	CARDS_PLAYED,
+	/**
+	 * The ordinal of the first random event drawn in the turn, on the row of
+	 * the player in turn; -1 otherwise.
+	 */
+	RANDOM_EVENT;
+
+	public static final int COUNT = values().length;
+
+}
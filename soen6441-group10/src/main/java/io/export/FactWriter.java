@@ -0,0 +1,16 @@
+package io.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes turn facts to a file, in a given layout.
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+interface FactWriter extends Closeable {
+
+	void write(TurnFacts facts) throws IOException;
+
+}
@@ -0,0 +1,165 @@
+package io.export;
+
+import gameplay.Game;
+import gameplay.GameListener;
+import gameplay.Player;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import card.player.GreenPlayerCard;
+import card.random.RandomEventCard;
+
+/**
+ * <b> Exports the facts of each turn of the games being simulated. </b>
+ * <p>
+ * The games hand their facts over to a bounded queue, which a background
+ * thread drains to the file. The games never wait for the file: if the queue
+ * is full, the facts of the turn are dropped and counted (see
+ * {@link #getDroppedTurns()}).
+ * </p>
+ * Usage:
+ * <pre>
+ * try (TurnFactExporter exporter = new TurnFactExporter(file, ExportFormat.COLUMNAR)) {
+ *     game.addListener(exporter.listenerFor(gameId));
+ *     ... play the game ...
+ * }
+ * </pre>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class TurnFactExporter implements Closeable {
+
+	public static final int DEFAULT_QUEUE_CAPACITY = 16 * 1024;
+
+	/**
+	 * The turn facts, followed by the exporter itself once it is closed.
+	 */
+	private final BlockingQueue<Object> queue;
+	private final FactWriter writer;
+	private final Thread thread;
+	private final AtomicLong droppedTurns = new AtomicLong();
+	private volatile IOException failure;
+
+	public TurnFactExporter(Path file, ExportFormat format) throws IOException {
+		this(Files.newOutputStream(file), format, ColumnarFactWriter.DEFAULT_ROW_GROUP_SIZE,
+				DEFAULT_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * @param rowGroupSize the number of rows in each row group of the columnar format
+	 * @param queueCapacity the number of turns which can wait to be written
+	 */
+	public TurnFactExporter(OutputStream out, ExportFormat format, int rowGroupSize, int queueCapacity)
+			throws IOException {
+		writer = (format == ExportFormat.CSV) ? new CsvFactWriter(out) : new ColumnarFactWriter(out, rowGroupSize);
+		queue = new ArrayBlockingQueue<>(queueCapacity);
+		thread = new Thread(this::drain, "turn-fact-exporter");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * @param gameId the id of the game in the exported facts
+	 * @return a listener which exports the facts of each turn of the game it
+	 * 	is added to. A listener is only meant for one game.
+	 */
+	public GameListener listenerFor(long gameId) {
+		return new GameListener() {
+			private int turn;
+			private GreenPlayerCard card;
+			private int cardsPlayed;
+			private RandomEventCard event;
+
+			@Override
+			public void cardPlayed(Game game, Player player, GreenPlayerCard card_) {
+				if (cardsPlayed++ == 0) {
+					card = card_;
+				}
+			}
+
+			@Override
+			public void randomEventDrawn(Game game, RandomEventCard event_) {
+				if (event == null) {
+					event = event_;
+				}
+			}
+
+			@Override
+			public void turnFinished(Game game, Player player) {
+				submit(new TurnFacts(game, gameId, ++turn, player, card, cardsPlayed, event));
+				card = null;
+				cardsPlayed = 0;
+				event = null;
+			}
+		};
+	}
+
+	/**
+	 * Hands the facts of a turn over to the writing thread, unless it is
+	 * too far behind.
+	 * @return false if the facts were dropped.
+	 */
+	public boolean submit(TurnFacts facts) {
+		if (queue.offer(facts)) {
+			return true;
+		}
+		droppedTurns.incrementAndGet();
+		return false;
+	}
+
+	/**
+	 * @return the number of turns whose facts were dropped because the
+	 * writing thread could not keep up.
+	 */
+	public long getDroppedTurns() {
+		return droppedTurns.get();
+	}
+
+	private void drain() {
+		try {
+			Object facts;
+			while ((facts = queue.take()) != this) {
+				// Once writing failed, keep taking the facts so that the games
+				// and close() do not wait
+				if (failure == null) {
+					try {
+						writer.write((TurnFacts) facts);
+					} catch (IOException e) {
+						failure = e;
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Waits for the facts submitted so far to be written and closes the file.
+	 * @throws IOException if the facts could not be written
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			// The end marker is never dropped
+			queue.put(this);
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			writer.close();
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+}
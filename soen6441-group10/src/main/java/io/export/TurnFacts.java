@@ -0,0 +1,114 @@
+package io.export;
+
+import gameplay.BoardArea;
+import gameplay.Game;
+import gameplay.Player;
+
+import java.util.Collection;
+
+import card.player.GreenPlayerCard;
+import card.random.RandomEventCard;
+
+/**
+ * <b> What a game looked like at the end of a turn. </b>
+ * <p>
+ * The facts are taken on the thread playing the game and only hold primitive
+ * values, so they can be handed over to the exporting thread.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class TurnFacts {
+
+	private final long game;
+	private final int turn;
+	private final int playerInTurn;
+	private final int card;
+	private final int cardsPlayed;
+	private final int randomEvent;
+	private final int troubleMarkers;
+
+	// One entry per player
+	private final int[] colors;
+	private final int[] money;
+	private final int[] minions;
+	private final int[] areas;
+
+	/**
+	 * @param gameId the id given to the game by the simulation
+	 * @param turn_ the number of the turn, from 1
+	 * @param player the player whose turn it was
+	 * @param card_ the first card played in the turn, or null
+	 * @param cardsPlayed_ the number of cards played in the turn
+	 * @param event the first random event drawn in the turn, or null
+	 */
+	public TurnFacts(Game g, long gameId, int turn_, Player player,
+			GreenPlayerCard card_, int cardsPlayed_, RandomEventCard event) {
+		game = gameId;
+		turn = turn_;
+		card = card_ == null ? -1 : card_.ordinal();
+		cardsPlayed = cardsPlayed_;
+		randomEvent = event == null ? -1 : event.ordinal();
+		troubleMarkers = g.getTotalNumberOfTroubleMarkers();
+
+		Collection<Player> players = g.getPlayers();
+		colors = new int[players.size()];
+		money = new int[players.size()];
+		minions = new int[players.size()];
+		areas = new int[players.size()];
+		int i = 0;
+		int inTurn = -1;
+		for (Player p : players) {
+			colors[i] = p.getColor().getColorCode();
+			money[i] = p.getMoney();
+			for (BoardArea a : g.getBoard()) {
+				minions[i] += a.getMinionCountForPlayer(p);
+			}
+			areas[i] = g.getNumberOfAreasControlled(p);
+			if (p == player) {
+				inTurn = i;
+			}
+			i++;
+		}
+		playerInTurn = inTurn;
+	}
+
+	/**
+	 * @return the number of rows, i.e. of players.
+	 */
+	public int getRowCount() {
+		return colors.length;
+	}
+
+	/**
+	 * @return the value of the given column in the given row.
+	 */
+	public long get(int row, FactColumn column) {
+		switch (column) {
+		case GAME:
+			return game;
+		case TURN:
+			return turn;
+		case PLAYER:
+			return colors[row];
+		case MONEY:
+			return money[row];
+		case MINIONS:
+			return minions[row];
+		case AREAS:
+			return areas[row];
+		case TROUBLE_MARKERS:
+			return troubleMarkers;
+		case CARD:
+			return row == playerInTurn ? card : -1;
+		case CARDS_PLAYED:
+			return row == playerInTurn ? cardsPlayed : 0;
+		case RANDOM_EVENT:
+			return row == playerInTurn ? randomEvent : -1;
+		default:
+			throw new IllegalArgumentException(column.name());
+		}
+	}
+
+}
@@ -0,0 +1,56 @@
+package io.migration;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import card.player.GreenPlayerCard;
+import card.random.RandomEventCard;
+
+/**
+ * <b> Version 1 to 2: renames the cards whose names were misspelled in
+ * the first enum based saves (e.g. TEST.json). </b>
+ * <p>
+ * Only the values saved where the game saves player and random event cards are
+ * renamed, so that e.g. a player named "EXPLOSIONS" keeps their name.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class CardRenameMigrator extends StreamingMigrator {
+
+	private static final Map<String, String> RENAMED_CARDS = new HashMap<>();
+	static {
+		RENAMED_CARDS.put("DR_WHIEFACE", GreenPlayerCard.DR_WHITEFACE.name());
+		RENAMED_CARDS.put("COMT_DIBBLER", GreenPlayerCard.CMOT_DIBBLER.name());
+		RENAMED_CARDS.put("EXPLOSIONS", RandomEventCard.EXPLOSION.name());
+	}
+
+	/**
+	 * Where the game saves player and random event cards.
+	 */
+	private static final TokenPath[] CARDS = { TokenPath.of("players/*/playerCards/*"),
+			TokenPath.of("players/*/unplayableCards/*"), TokenPath.of("playerDeck/cards/*"),
+			TokenPath.of("discardPile/cards/*"), TokenPath.of("randomEventDeck/cards/*"),
+			TokenPath.of("interrupts/*"), TokenPath.of("currentCardInPlay") };
+
+	public CardRenameMigrator(TokenSink next_) {
+		super(next_);
+	}
+
+	@Override
+	protected void onValue(TokenPath path, String value) throws IOException {
+		next.value(isCard(path) ? RENAMED_CARDS.getOrDefault(value, value) : value);
+	}
+
+	private static boolean isCard(TokenPath path) {
+		for (TokenPath cards : CARDS) {
+			if (path.matches(cards)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
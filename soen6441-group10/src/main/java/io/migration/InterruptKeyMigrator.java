@@ -0,0 +1,32 @@
+package io.migration;
+
+import java.io.IOException;
+
+/**
+ * <b> Version 3 to 4: the interrupt cards used to be saved as map keys through
+ * their {@link card.player.GreenPlayerCard#toString()}, i.e. their name followed
+ * by their symbols (e.g. ROSS_TEST3.json), which could not be read back. The
+ * key is now the card's name only. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class InterruptKeyMigrator extends StreamingMigrator {
+
+	private static final TokenPath INTERRUPTS = TokenPath.of("interrupts");
+
+	public InterruptKeyMigrator(TokenSink next_) {
+		super(next_);
+	}
+
+	@Override
+	protected void onName(TokenPath path, String name) throws IOException {
+		if (path.parent().equals(INTERRUPTS)) {
+			int endOfName = name.indexOf('\n');
+			next.name(endOfName < 0 ? name.trim() : name.substring(0, endOfName).trim());
+		} else {
+			next.name(name);
+		}
+	}
+
+}
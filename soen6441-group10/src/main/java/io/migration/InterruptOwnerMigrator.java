@@ -0,0 +1,57 @@
+package io.migration;
+
+import java.io.IOException;
+
+import util.Color;
+
+/**
+ * <b> Version 2 to 3: the interrupts used to be keyed by the color of the player
+ * holding the interrupt card (e.g. DEMO_STARTING_GAME.json), which only allowed
+ * one interrupt card per player; they are now keyed by card. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class InterruptOwnerMigrator extends StreamingMigrator {
+
+	private static final TokenPath INTERRUPTS = TokenPath.of("interrupts");
+
+	/**
+	 * The color key of the interrupt being migrated, if any.
+	 */
+	private String owner;
+
+	public InterruptOwnerMigrator(TokenSink next_) {
+		super(next_);
+	}
+
+	private static boolean isColor(String name) {
+		for (Color c : Color.values()) {
+			if (c.name().equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	protected void onName(TokenPath path, String name) throws IOException {
+		if (path.parent().equals(INTERRUPTS) && isColor(name)) {
+			owner = name;
+		} else {
+			next.name(name);
+		}
+	}
+
+	@Override
+	protected void onValue(TokenPath path, String value) throws IOException {
+		if (owner != null && path.parent().equals(INTERRUPTS)) {
+			next.name(value);
+			next.value(owner);
+			owner = null;
+		} else {
+			next.value(value);
+		}
+	}
+
+}
@@ -0,0 +1,66 @@
+package io.migration;
+
+import java.io.IOException;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * <b> The end of a migration chain: writes the tokens it receives as JSON text. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class JsonWriterSink implements TokenSink {
+
+	private final JsonWriter writer;
+
+	public JsonWriterSink(JsonWriter writer_) {
+		writer = writer_;
+	}
+
+	@Override
+	public void beginObject() throws IOException {
+		writer.beginObject();
+	}
+
+	@Override
+	public void endObject() throws IOException {
+		writer.endObject();
+	}
+
+	@Override
+	public void beginArray() throws IOException {
+		writer.beginArray();
+	}
+
+	@Override
+	public void endArray() throws IOException {
+		writer.endArray();
+	}
+
+	@Override
+	public void name(String name) throws IOException {
+		writer.name(name);
+	}
+
+	@Override
+	public void value(String value) throws IOException {
+		writer.value(value);
+	}
+
+	@Override
+	public void value(Number value) throws IOException {
+		writer.value(value);
+	}
+
+	@Override
+	public void value(boolean value) throws IOException {
+		writer.value(value);
+	}
+
+	@Override
+	public void nullValue() throws IOException {
+		writer.nullValue();
+	}
+
+}
@@ -0,0 +1,124 @@
+package io.migration;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * <b> Reads an old document as the JSON text of its upgraded version. </b>
+ * <p>
+ * Each time the text read so far runs out, the next tokens of the old
+ * document are sent through the chain of migrators and the tokens coming
+ * out at the end are written as text, so a parser reading from this reader
+ * upgrades the document as it goes: neither the old document nor the
+ * upgraded one is ever held in memory whole, beyond what a migrator
+ * buffers itself.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class MigratingReader extends Reader {
+
+	private final JsonReader source;
+	private final TokenSink chain;
+	private final PendingText pending = new PendingText();
+	private final JsonWriter writer = new JsonWriter(pending);
+	private int depth;
+	private boolean done;
+
+	/**
+	 * @param source_ the old document
+	 * @param fromVersion the version the old document was saved in
+	 * @param schema the schema to upgrade the document to
+	 * @throws error.SchemaMigrationException if the document is newer than the schema
+	 */
+	public MigratingReader(Reader source_, int fromVersion, SaveSchema schema) throws IOException {
+		source = new JsonReader(source_);
+		chain = schema.upgrade(fromVersion, new JsonWriterSink(writer));
+	}
+
+	@Override
+	public int read(char[] buffer, int offset, int length) throws IOException {
+		if (length == 0) {
+			return 0;
+		}
+		int read = 0;
+		while (read < length) {
+			if (pending.available() > 0) {
+				read += pending.read(buffer, offset + read, length - read);
+			} else if (done) {
+				break;
+			} else {
+				upgradeNextToken();
+			}
+		}
+		return read == 0 ? -1 : read;
+	}
+
+	private void upgradeNextToken() throws IOException {
+		if (source.peek() == JsonToken.END_DOCUMENT) {
+			done = true;
+			return;
+		}
+		depth += SaveSchema.transferToken(source, chain);
+		if (depth == 0) {
+			writer.flush();
+			done = true;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		source.close();
+	}
+
+	/**
+	 * The upgraded text written but not read yet.
+	 */
+	private static final class PendingText extends Writer {
+		private final StringBuilder text = new StringBuilder();
+		private int position;
+
+		int available() {
+			return text.length() - position;
+		}
+
+		/**
+		 * @return the number of characters read.
+		 */
+		int read(char[] buffer, int offset, int length) {
+			int n = Math.min(length, available());
+			text.getChars(position, position + n, buffer, offset);
+			position += n;
+			if (position == text.length()) {
+				text.setLength(0);
+				position = 0;
+			}
+			return n;
+		}
+
+		@Override
+		public void write(char[] buffer, int offset, int length) {
+			text.append(buffer, offset, length);
+		}
+
+		@Override
+		public void write(String s, int offset, int length) {
+			text.append(s, offset, offset + length);
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+}
@@ -0,0 +1,262 @@
+package io.migration;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import util.Color;
+import card.city.AnkhMorporkArea;
+import card.personality.PersonalityCard;
+import card.player.GreenPlayerCard;
+import card.random.RandomEventCard;
+import error.SchemaMigrationException;
+
+/**
+ * <b> Version 0 to 1: upgrades saves of the prototype (e.g. initialGame.json) to
+ * the enum based layout. </b>
+ * <ul>
+ * <li>The players list becomes a map keyed by color, players being given their
+ * colors in order like {@link gameplay.Game#setUp(int, String[])} does, and the
+ * turn order (which the prototype did not save) follows the list.</li>
+ * <li>Cards saved as <code>{"title": ...}</code> objects become enum names;
+ * the brown player cards, which were dropped from the game, are discarded.</li>
+ * <li>"areas" becomes the "gameBoard" keyed by area code and "events" the
+ * "randomEventDeck".</li>
+ * </ul>
+ * Documents that are already in the enum based layout pass through unchanged.
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class PrototypeLayoutMigrator extends StreamingMigrator {
+
+	private static final String GREEN_CARD_TITLE = "Green card number ";
+	private static final String BROWN_CARD_TITLE = "Brown card number ";
+
+	/**
+	 * Titles which were misspelled in the prototype, normalized.
+	 */
+	private static final Map<String, String> TITLE_FIXES = new HashMap<>();
+	static {
+		TITLE_FIXES.put("LORD_VETINAARI", PersonalityCard.LORD_VETINARI.name());
+		TITLE_FIXES.put("ILS_OF_GODS", AnkhMorporkArea.ISLE_OF_GODS.name());
+		TITLE_FIXES.put("THE_SCOURES", AnkhMorporkArea.THE_SCOURS.name());
+		TITLE_FIXES.put("THE_DRAGON", RandomEventCard.DRAGON.name());
+	}
+
+	/**
+	 * Cards which were saved as objects and are now saved as enum names.
+	 */
+	private static final Set<TokenPath> TITLED_CARDS = paths("players/*/personality",
+			"players/*/playerCards/*", "personalityDeck/cards/*", "playerDeck/cards/*", "events/cards/*");
+
+	/**
+	 * Members which no longer exist.
+	 */
+	private static final Set<TokenPath> DROPPED = paths("personalityDeck/size",
+			"personalityDeck/names", "playerDeck/GREEN_CARD_AMOUNT", "playerDeck/BROWN_CARD_AMOUNT",
+			"areas/size", "areas/cards/*/buildingCost", "events/size", "events/names");
+
+	private static final Map<TokenPath, String> RENAMED = new HashMap<>();
+	static {
+		RENAMED.put(TokenPath.of("areas"), "gameBoard");
+		RENAMED.put(TokenPath.of("events"), "randomEventDeck");
+		RENAMED.put(TokenPath.of("areas/cards/*/troubleMaker"), "troubleMarker");
+		RENAMED.put(TokenPath.of("areas/cards/*/demons"), "demonCount");
+		RENAMED.put(TokenPath.of("areas/cards/*/trolls"), "trollCount");
+	}
+
+	private static final TokenPath PLAYERS = TokenPath.of("players");
+	private static final TokenPath PLAYER = TokenPath.of("players/*");
+	private static final TokenPath PERSONALITY = TokenPath.of("players/*/personality");
+	private static final TokenPath AREAS = TokenPath.of("areas/cards");
+	private static final TokenPath AREA = TokenPath.of("areas/cards/*");
+	private static final TokenPath AREA_TITLE = TokenPath.of("areas/cards/*/title");
+	private static final TokenPath BUILDING_OWNER = TokenPath.of("areas/cards/*/buildingOwner");
+	private static final TokenPath BUILDING_OWNER_COLOR = TokenPath.of("areas/cards/*/buildingOwner/color");
+
+	/**
+	 * The colors of the players, in the order they were listed.
+	 */
+	private final List<Color> turnOrder = new ArrayList<>();
+
+	private boolean isPrototype = false;
+
+	public PrototypeLayoutMigrator(TokenSink next_) {
+		super(next_);
+	}
+
+	private static Set<TokenPath> paths(String... paths) {
+		Set<TokenPath> set = new HashSet<>();
+		for (String path : paths) {
+			set.add(TokenPath.of(path));
+		}
+		return set;
+	}
+
+	private static boolean isDropped(TokenPath path) {
+		return path.isUnder(BUILDING_OWNER) || path.isUnderAny(DROPPED);
+	}
+
+	@Override
+	protected void onBeginObject(TokenPath path) throws IOException {
+		if (isDropped(path) || TITLED_CARDS.contains(path) || path.equals(AREA)) {
+			// An area's object is only opened once its key (the area code) is known
+			return;
+		}
+		if (path.equals(PLAYER)) {
+			Color c = Color.forCode(turnOrder.size());
+			turnOrder.add(c);
+			next.name(c.name());
+		}
+		next.beginObject();
+	}
+
+	@Override
+	protected void onEndObject(TokenPath path) throws IOException {
+		if (isDropped(path) || TITLED_CARDS.contains(path)) {
+			return;
+		}
+		if (path.isEmpty() && isPrototype) {
+			next.name("playerTurnOrder");
+			next.beginArray();
+			for (Color c : turnOrder) {
+				next.value(c.name());
+			}
+			next.endArray();
+			next.name("discardPile");
+			next.beginObject();
+			next.name("cards");
+			next.beginArray();
+			next.endArray();
+			next.endObject();
+		}
+		next.endObject();
+	}
+
+	@Override
+	protected void onBeginArray(TokenPath path) throws IOException {
+		if (isDropped(path) || path.equals(AREAS)) {
+			return;
+		}
+		if (path.equals(PLAYERS)) {
+			isPrototype = true;
+			next.beginObject();
+			return;
+		}
+		next.beginArray();
+	}
+
+	@Override
+	protected void onEndArray(TokenPath path) throws IOException {
+		if (isDropped(path) || path.equals(AREAS)) {
+			return;
+		}
+		if (path.equals(PLAYERS)) {
+			next.endObject();
+			return;
+		}
+		next.endArray();
+	}
+
+	@Override
+	protected void onName(TokenPath path, String name) throws IOException {
+		if (path.equals(BUILDING_OWNER)) {
+			// The owner was saved as a copy of the whole player, only the color is kept
+			next.name("buildingColor");
+			return;
+		}
+		if (isDropped(path) || TITLED_CARDS.contains(path.parent()) || path.equals(AREAS)
+				|| path.equals(AREA_TITLE)) {
+			return;
+		}
+		next.name(RENAMED.getOrDefault(path, name));
+	}
+
+	@Override
+	protected void onValue(TokenPath path, String value) throws IOException {
+		if (path.equals(AREA_TITLE)) {
+			AnkhMorporkArea area = AnkhMorporkArea.valueOf(enumName(value, AnkhMorporkArea.class));
+			next.name(String.valueOf(area.getAreaCode()));
+			next.beginObject();
+			next.name("area");
+			next.value(area.name());
+		} else if (path.equals(BUILDING_OWNER_COLOR)) {
+			next.value(value);
+		} else if (TITLED_CARDS.contains(path.parent())) {
+			if (path.last().equals("title")) {
+				String card = cardName(path, value);
+				if (card != null) {
+					next.value(card);
+				}
+			}
+		} else if (!isDropped(path)) {
+			next.value(value);
+		}
+	}
+
+	@Override
+	protected void onValue(TokenPath path, Number value) throws IOException {
+		if (!isDropped(path) && !TITLED_CARDS.contains(path.parent())) {
+			next.value(value);
+		}
+	}
+
+	@Override
+	protected void onValue(TokenPath path, boolean value) throws IOException {
+		if (!isDropped(path) && !TITLED_CARDS.contains(path.parent())) {
+			next.value(value);
+		}
+	}
+
+	@Override
+	protected void onNullValue(TokenPath path) throws IOException {
+		if (path.equals(BUILDING_OWNER)) {
+			next.value(Color.UNDEFINED.name());
+		} else if (!isDropped(path) && !TITLED_CARDS.contains(path.parent())) {
+			next.nullValue();
+		}
+	}
+
+	/**
+	 * @return the enum name of the card with the given title, or null if the card
+	 * no longer exists (brown player cards).
+	 */
+	private static String cardName(TokenPath path, String title) throws SchemaMigrationException {
+		if (path.isUnder(PERSONALITY) || path.get(0).equals("personalityDeck")) {
+			return enumName(title, PersonalityCard.class);
+		} else if (path.get(0).equals("events")) {
+			return enumName(title, RandomEventCard.class);
+		} else if (title.startsWith(BROWN_CARD_TITLE)) {
+			return null;
+		} else if (title.startsWith(GREEN_CARD_TITLE)) {
+			// The prototype numbered the green cards from 0, in no particular order
+			try {
+				return GreenPlayerCard.values()[Integer.parseInt(title.substring(GREEN_CARD_TITLE.length()))].name();
+			} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+				throw new SchemaMigrationException("Unknown player card: " + title, e);
+			}
+		}
+		throw new SchemaMigrationException("Unknown player card: " + title);
+	}
+
+	/**
+	 * @return the name of the constant of the given enum with the given title
+	 * (e.g. "Dragon's Landing" for {@link AnkhMorporkArea#DRAGONS_LANDING}).
+	 */
+	private static <E extends Enum<E>> String enumName(String title, Class<E> type)
+			throws SchemaMigrationException {
+		String name = title.toUpperCase().replace("'", "").replaceAll("[^A-Z0-9]+", "_");
+		name = TITLE_FIXES.getOrDefault(name, name);
+		try {
+			return Enum.valueOf(type, name).name();
+		} catch (IllegalArgumentException e) {
+			throw new SchemaMigrationException("Unknown " + type.getSimpleName() + ": " + title, e);
+		}
+	}
+
+}
@@ -0,0 +1,211 @@
+package io.migration;
+
+import gameplay.Game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import error.SchemaMigrationException;
+
+/**
+ * <b> The versions of the layout in which an object's state is saved, and the
+ * chain of migrators upgrading a document from any older version to the
+ * current one. </b>
+ * <p>
+ * Saves are stamped with their version in a "schemaVersion" member written
+ * first, so the version can be read without parsing the document. Documents
+ * which were saved before versioning (all the saves in src/resources) are
+ * version 0 and go through the whole chain; every migrator leaves the parts of
+ * a document that are already in a newer layout untouched.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public final class SaveSchema {
+
+	public static final String VERSION_FIELD = "schemaVersion";
+
+	/**
+	 * How far ahead the version is looked for; it is written first so it is always
+	 * found in the first few bytes.
+	 */
+	private static final int VERSION_READ_AHEAD = 8192;
+
+	/**
+	 * The game's save layout: version i + 1 is reached from version i through
+	 * the i-th migrator.
+	 */
+	public static final SaveSchema GAME = new SaveSchema(Arrays.asList(
+			PrototypeLayoutMigrator::new,
+			CardRenameMigrator::new,
+			InterruptOwnerMigrator::new,
+			InterruptKeyMigrator::new));
+
+	/**
+	 * For objects whose layout never changed; their saves are not stamped.
+	 */
+	public static final SaveSchema NONE = new SaveSchema(Collections.emptyList());
+
+	private static final Map<Class<?>, SaveSchema> schemas = new HashMap<>();
+	static {
+		schemas.put(Game.class, GAME);
+	}
+
+	private final List<Function<TokenSink, StreamingMigrator>> migrators;
+
+	private SaveSchema(List<Function<TokenSink, StreamingMigrator>> migrators_) {
+		migrators = migrators_;
+	}
+
+	/**
+	 * @return the schema of the saves of the given type.
+	 */
+	public static SaveSchema forType(Class<?> type) {
+		return schemas.getOrDefault(type, NONE);
+	}
+
+	/**
+	 * @return the version of the layout new saves are written in.
+	 */
+	public int getVersion() {
+		return migrators.size();
+	}
+
+	/**
+	 * Builds the chain of migrators upgrading a document of the given version to
+	 * the current one.
+	 * @param fromVersion the version of the document
+	 * @param sink where the upgraded document is sent
+	 * @return the head of the chain, i.e. where the document's tokens should be sent
+	 * @throws SchemaMigrationException if the document is newer than this schema
+	 */
+	public TokenSink upgrade(int fromVersion, TokenSink sink) throws SchemaMigrationException {
+		if (fromVersion < 0 || fromVersion > getVersion()) {
+			throw new SchemaMigrationException("Unsupported save version " + fromVersion
+					+ " (current version is " + getVersion() + ")");
+		}
+		TokenSink chain = sink;
+		for (int v = getVersion() - 1; v >= fromVersion; v--) {
+			chain = migrators.get(v).apply(chain);
+		}
+		return chain;
+	}
+
+	/**
+	 * Reads the version a document was saved in, leaving the reader where it was.
+	 * @return the document's version, 0 if it was saved before versioning.
+	 */
+	public static int readVersion(BufferedReader in) throws IOException {
+		in.mark(VERSION_READ_AHEAD);
+		try {
+			// Not closed: that would close the underlying reader
+			JsonReader reader = new JsonReader(in);
+			if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+				reader.beginObject();
+				if (reader.hasNext() && reader.nextName().equals(VERSION_FIELD)) {
+					return reader.nextInt();
+				}
+			}
+			return 0;
+		} catch (IllegalStateException | NumberFormatException e) {
+			throw new SchemaMigrationException("Malformed save version", e);
+		} finally {
+			in.reset();
+		}
+	}
+
+	/**
+	 * Sends every token of the document read to the given sink.
+	 */
+	public static void transfer(JsonReader in, TokenSink out) throws IOException {
+		int depth = 0;
+		do {
+			if (in.peek() == JsonToken.END_DOCUMENT) {
+				return;
+			}
+			depth += transferToken(in, out);
+		} while (depth > 0);
+	}
+
+	/**
+	 * Sends the next token of the document read to the given sink.
+	 * @return by how much the token changes the depth of the document: 1 if
+	 * 	it begins an object or an array, -1 if it ends one, 0 otherwise.
+	 */
+	static int transferToken(JsonReader in, TokenSink out) throws IOException {
+		switch (in.peek()) {
+		case BEGIN_OBJECT:
+			in.beginObject();
+			out.beginObject();
+			return 1;
+		case END_OBJECT:
+			in.endObject();
+			out.endObject();
+			return -1;
+		case BEGIN_ARRAY:
+			in.beginArray();
+			out.beginArray();
+			return 1;
+		case END_ARRAY:
+			in.endArray();
+			out.endArray();
+			return -1;
+		case NAME:
+			out.name(in.nextName());
+			return 0;
+		case STRING:
+			out.value(in.nextString());
+			return 0;
+		case NUMBER:
+			out.value(new BigDecimal(in.nextString()));
+			return 0;
+		case BOOLEAN:
+			out.value(in.nextBoolean());
+			return 0;
+		case NULL:
+			in.nextNull();
+			out.nullValue();
+			return 0;
+		default:
+			throw new IllegalStateException("The document has no more tokens");
+		}
+	}
+
+	/**
+	 * @return a JSON writer which stamps the document it writes with the current
+	 * version of this schema.
+	 */
+	public JsonWriter newWriter(Writer out) {
+		if (getVersion() == 0) {
+			return new JsonWriter(out);
+		}
+		return new JsonWriter(out) {
+
+			private boolean isStamped = false;
+
+			@Override
+			public JsonWriter beginObject() throws IOException {
+				super.beginObject();
+				if (!isStamped) {
+					isStamped = true;
+					name(VERSION_FIELD).value(getVersion());
+				}
+				return this;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,130 @@
+package io.migration;
+
+import java.io.IOException;
+
+/**
+ * <b> Upgrades a saved document from one schema version to the next, one token
+ * at a time. </b>
+ * <p>
+ * The migrator keeps track of where each token it receives sits in the
+ * document and hands it to a hook along with its {@link TokenPath}, e.g.
+ * <code>players/RED/playerCards/*</code> for a card in the red player's hand
+ * (<code>*</code> stands for any element of an array, the root object's path
+ * is empty). By default every hook passes the token on unchanged, so a
+ * migrator only overrides the hooks for the parts of the layout it changes;
+ * it can drop tokens, rename members or emit extra tokens on the next sink.
+ * </p>
+ * <p>
+ * The path is the same object for every token, updated as the document is
+ * read: a hook must not keep it (its {@link TokenPath#toString()} can be kept).
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public abstract class StreamingMigrator implements TokenSink {
+
+	protected final TokenSink next;
+
+	/**
+	 * The path of the token about to be received: the path of the innermost
+	 * container open, followed by the name of the current member for an object
+	 * or by {@value TokenPath#ANY} for an array.
+	 */
+	private final TokenPath path = new TokenPath();
+
+	protected StreamingMigrator(TokenSink next_) {
+		next = next_;
+	}
+
+	@Override
+	public final void beginObject() throws IOException {
+		onBeginObject(path);
+		// No member name yet
+		path.push("");
+	}
+
+	@Override
+	public final void endObject() throws IOException {
+		path.pop();
+		onEndObject(path);
+	}
+
+	@Override
+	public final void beginArray() throws IOException {
+		onBeginArray(path);
+		path.push(TokenPath.ANY);
+	}
+
+	@Override
+	public final void endArray() throws IOException {
+		path.pop();
+		onEndArray(path);
+	}
+
+	@Override
+	public final void name(String name) throws IOException {
+		path.setLast(name);
+		onName(path, name);
+	}
+
+	@Override
+	public final void value(String value) throws IOException {
+		onValue(path, value);
+	}
+
+	@Override
+	public final void value(Number value) throws IOException {
+		onValue(path, value);
+	}
+
+	@Override
+	public final void value(boolean value) throws IOException {
+		onValue(path, value);
+	}
+
+	@Override
+	public final void nullValue() throws IOException {
+		onNullValue(path);
+	}
+
+	protected void onBeginObject(TokenPath path) throws IOException {
+		next.beginObject();
+	}
+
+	protected void onEndObject(TokenPath path) throws IOException {
+		next.endObject();
+	}
+
+	protected void onBeginArray(TokenPath path) throws IOException {
+		next.beginArray();
+	}
+
+	protected void onEndArray(TokenPath path) throws IOException {
+		next.endArray();
+	}
+
+	/**
+	 * @param path the path of the member's value
+	 */
+	protected void onName(TokenPath path, String name) throws IOException {
+		next.name(name);
+	}
+
+	protected void onValue(TokenPath path, String value) throws IOException {
+		next.value(value);
+	}
+
+	protected void onValue(TokenPath path, Number value) throws IOException {
+		next.value(value);
+	}
+
+	protected void onValue(TokenPath path, boolean value) throws IOException {
+		next.value(value);
+	}
+
+	protected void onNullValue(TokenPath path) throws IOException {
+		next.nullValue();
+	}
+
+}
@@ -0,0 +1,184 @@
+package io.migration;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * <b> Where a token sits in a saved document, e.g.
+ * <code>players/RED/playerCards/*</code> for a card in the red player's hand. </b>
+ * <p>
+ * A path is the list of the member names leading to the token, <code>*</code>
+ * standing for the elements of an array (the root object's path is empty). A
+ * {@link StreamingMigrator} keeps a single path which it updates as the tokens
+ * come, so following a document builds no path for every token. The paths a
+ * migrator looks for are made once with {@link #of(String)}; paths with the
+ * same segments are equal, whichever way they were made, so they can be looked
+ * up in sets and maps.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public final class TokenPath extends AbstractList<String> implements RandomAccess {
+
+	public static final String ANY = "*";
+
+	private String[] segments;
+	private int size;
+
+	/**
+	 * The views returned by {@link #parent()} and used by {@link #isUnderAny(Set)},
+	 * made when first needed.
+	 */
+	private TokenPath parent;
+	private TokenPath prefix;
+
+	TokenPath() {
+		this(new String[8], 0);
+	}
+
+	private TokenPath(String[] segments_, int size_) {
+		segments = segments_;
+		size = size_;
+	}
+
+	/**
+	 * @param path the segments of the path, separated by "/" (e.g. "areas/cards/*")
+	 */
+	public static TokenPath of(String path) {
+		String[] segments = path.isEmpty() ? new String[0] : path.split("/");
+		return new TokenPath(segments, segments.length);
+	}
+
+	void push(String segment) {
+		if (size == segments.length) {
+			String[] grown = new String[size * 2];
+			System.arraycopy(segments, 0, grown, 0, size);
+			segments = grown;
+		}
+		segments[size++] = segment;
+	}
+
+	void pop() {
+		segments[--size] = null;
+	}
+
+	void setLast(String segment) {
+		segments[size - 1] = segment;
+	}
+
+	@Override
+	public String get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Segment " + index + " of " + this);
+		}
+		return segments[index];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the last segment, or an empty string for the root object's path.
+	 */
+	public String last() {
+		return size == 0 ? "" : segments[size - 1];
+	}
+
+	/**
+	 * @return the path of the container this path lies in (the root object's
+	 * 	path for itself). The returned path is only valid until this one changes.
+	 */
+	public TokenPath parent() {
+		if (parent == null) {
+			parent = new TokenPath(segments, 0);
+		}
+		parent.segments = segments;
+		parent.size = Math.max(size - 1, 0);
+		return parent;
+	}
+
+	/**
+	 * @return true if the path is the given one or lies under it.
+	 */
+	public boolean isUnder(TokenPath other) {
+		return size >= other.size && startsWith(other.segments, other.size);
+	}
+
+	/**
+	 * @return true if the path, or the path of one of the containers it lies in,
+	 * 	is in the given set.
+	 */
+	public boolean isUnderAny(Set<TokenPath> paths) {
+		if (prefix == null) {
+			prefix = new TokenPath(segments, 0);
+		}
+		prefix.segments = segments;
+		for (int i = 1; i <= size; i++) {
+			prefix.size = i;
+			if (paths.contains(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if the path has the segments of the given pattern, a
+	 * 	{@value #ANY} in the pattern standing for any segment (a member name as
+	 * 	well as an element of an array).
+	 */
+	public boolean matches(TokenPath pattern) {
+		if (size != pattern.size) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (!pattern.segments[i].equals(ANY) && !pattern.segments[i].equals(segments[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean startsWith(String[] other, int length) {
+		for (int i = 0; i < length; i++) {
+			if (!segments[i].equals(other[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o instanceof TokenPath) {
+			TokenPath other = (TokenPath) o;
+			return size == other.size && startsWith(other.segments, size);
+		}
+		return super.equals(o);
+	}
+
+	/**
+	 * Same as any list of the same segments.
+	 */
+	@Override
+	public int hashCode() {
+		int hash = 1;
+		for (int i = 0; i < size; i++) {
+			hash = 31 * hash + segments[i].hashCode();
+		}
+		return hash;
+	}
+
+	/**
+	 * @return the segments separated by "/", like in {@link #of(String)}.
+	 */
+	@Override
+	public String toString() {
+		return String.join("/", this);
+	}
+
+}
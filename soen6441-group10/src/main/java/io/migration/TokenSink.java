@@ -0,0 +1,36 @@
+package io.migration;
+
+import java.io.IOException;
+
+/**
+ * <b> Receives a JSON document one token at a time. </b>
+ * <p>
+ * Migrators are token sinks that rewrite the tokens they receive and pass them
+ * on to the next sink, so a chain of migrators upgrades a document in a single
+ * pass without ever building a tree of it.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public interface TokenSink {
+
+	void beginObject() throws IOException;
+
+	void endObject() throws IOException;
+
+	void beginArray() throws IOException;
+
+	void endArray() throws IOException;
+
+	void name(String name) throws IOException;
+
+	void value(String value) throws IOException;
+
+	void value(Number value) throws IOException;
+
+	void value(boolean value) throws IOException;
+
+	void nullValue() throws IOException;
+
+}
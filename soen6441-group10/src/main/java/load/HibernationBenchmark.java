@@ -0,0 +1,225 @@
+package load;
+
+import gameplay.Controller;
+import gameplay.Game;
+import gameplay.GameStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import metrics.Histogram;
+import replay.RandomUserInterface;
+import server.CompactTableStore;
+import server.TableActor;
+import server.TableStore;
+
+/**
+ * <b> Measures how much heap hibernating tables save and how long they take to wake. </b>
+ * <p>
+ * The benchmark starts many tables, plays a few turns at each, then
+ * hibernates them all to a {@link CompactTableStore} and wakes them one at a
+ * time with a command, the way a client coming back would. It reports the
+ * heap taken by the tables awake and asleep, and the latency of the waking
+ * command and of the loading of the stored game alone.
+ * </p>
+ * Usage:
+ * <pre>
+ * java load.HibernationBenchmark [tables] [turns]
+ * </pre>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class HibernationBenchmark {
+
+	private static final String[] NAMES = { "George", "Dimitri", "Ross", "Nick" };
+
+	private final int tables;
+	private final int turns;
+	private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+	private long awakeBytes;
+	private long asleepBytes;
+	private long storedBytes;
+	private int hibernated;
+	private final Histogram wakes = new Histogram();
+	private final Histogram loads = new Histogram();
+
+	/**
+	 * @param tables_ the number of tables
+	 * @param turns_ the number of turns played at each table before it hibernates
+	 */
+	public HibernationBenchmark(int tables_, int turns_) {
+		tables = tables_;
+		turns = turns_;
+	}
+
+	/**
+	 * Runs the benchmark, on as many threads as there are processors.
+	 */
+	public HibernationBenchmark run() {
+		ExecutorService workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			long before = usedHeap();
+			List<TableActor> actors = new ArrayList<>(tables);
+			List<CompletableFuture<?>> pending = new ArrayList<>(tables * (turns + 1));
+			for (int i = 0; i < tables; i++) {
+				Game game = new Game();
+				game.setUI(new RandomUserInterface(i));
+				TableActor actor = new TableActor(workers, game, new Random(i));
+				int players = 2 + i % 3;
+				pending.add(actor.submit(c -> c.newGame(players, names(players))));
+				for (int turn = 0; turn < turns; turn++) {
+					pending.add(actor.submit(HibernationBenchmark::playTurn));
+				}
+				actors.add(actor);
+			}
+			joinAll(pending);
+			awakeBytes = usedHeap() - before;
+
+			CompactTableStore store = new CompactTableStore();
+			TableStore timed = (tableId, game) -> {
+				TableStore.StoredGame stored = store.store(tableId, game);
+				return new TableStore.StoredGame() {
+					@Override
+					public Game load() throws IOException {
+						long start = System.nanoTime();
+						Game loaded = stored.load();
+						loads.record(System.nanoTime() - start);
+						return loaded;
+					}
+
+					@Override
+					public long getSize() {
+						return stored.getSize();
+					}
+				};
+			};
+			List<CompletableFuture<Boolean>> unloads = new ArrayList<>(tables);
+			for (int i = 0; i < tables; i++) {
+				long seed = i;
+				unloads.add(actors.get(i).unload(timed, i, game -> game.setUI(new RandomUserInterface(seed))));
+			}
+			for (CompletableFuture<Boolean> u : unloads) {
+				if (u.join()) {
+					hibernated++;
+				}
+			}
+			asleepBytes = usedHeap() - before;
+			storedBytes = store.getStoredBytes();
+
+			for (TableActor actor : actors) {
+				long start = System.nanoTime();
+				actor.submit(Controller::getGameStatus).join();
+				wakes.record(System.nanoTime() - start);
+			}
+		} finally {
+			workers.shutdownNow();
+		}
+		return this;
+	}
+
+	private static boolean playTurn(Controller c) {
+		if (c.getGameStatus() == GameStatus.FINISHED) {
+			return true;
+		}
+		return c.playTurn(c.advanceToNextTurn());
+	}
+
+	private static String[] names(int players) {
+		String[] names = new String[players];
+		System.arraycopy(NAMES, 0, names, 0, players);
+		return names;
+	}
+
+	private static void joinAll(List<CompletableFuture<?>> futures) {
+		for (CompletableFuture<?> f : futures) {
+			f.join();
+		}
+	}
+
+	private long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			memory.gc();
+		}
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+	public int getHibernated() {
+		return hibernated;
+	}
+
+	/**
+	 * @return the latency of waking each table, from the command's submission
+	 * 	to its result, in nanoseconds.
+	 */
+	public Histogram getWakes() {
+		return wakes;
+	}
+
+	/**
+	 * @return the time taken to load each stored game, in nanoseconds.
+	 */
+	public Histogram getLoads() {
+		return loads;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		s.append(String.format("%d tables, %d hibernated%n", tables, hibernated));
+		s.append(String.format("heap awake   %10d bytes per table%n", awakeBytes / tables));
+		s.append(String.format("heap asleep  %10d bytes per table%n", asleepBytes / tables));
+		s.append(String.format("stored       %10d bytes per table%n", storedBytes / Math.max(1, hibernated)));
+		append(s, "wake", wakes);
+		append(s, "load", loads);
+		return s.toString();
+	}
+
+	private static void append(StringBuilder s, String name, Histogram h) {
+		s.append(String.format("%-6s p50 %7.1f us  p99 %7.1f us  p99.9 %7.1f us  max %7.1f us%n", name,
+				micros(h.getPercentile(50)), micros(h.getPercentile(99)), micros(h.getPercentile(99.9)),
+				micros(h.getMax())));
+	}
+
+	private static double micros(long nanos) {
+		return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+	}
+
+	public static void main(String[] args) {
+		int tables = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		int turns = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		// The games print as they are played
+		PrintStream out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+		}));
+		HibernationBenchmark benchmark;
+		try {
+			// A first, smaller run warms up the code
+			new HibernationBenchmark(Math.min(tables, 2000), turns).run();
+			benchmark = new HibernationBenchmark(tables, turns).run();
+		} finally {
+			System.setOut(out);
+		}
+		System.out.print(benchmark);
+	}
+
+}
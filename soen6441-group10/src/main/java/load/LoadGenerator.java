@@ -0,0 +1,349 @@
+package load;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import metrics.Histogram;
+import server.FrameReader;
+import server.GameClient;
+import server.GameServer;
+import server.MessageType;
+import load.LoadReport.Action;
+
+/**
+ * <b> Simulates many clients playing on a {@link GameServer} at once. </b>
+ * <p>
+ * Each client starts a game at its own table and plays it turn after turn,
+ * answering every prompt with one of its options at random and asking for
+ * the status after each turn. Once its game is over, or after
+ * {@link #setTurnsPerGame(int)} turns, it leaves and starts over at a new
+ * table. A client may also drop its connection in the middle of a decision
+ * (see {@link #setDisconnectRate(double)}), in which case it comes back
+ * after a random delay (see {@link #setReconnectMillis(long)}).
+ * </p>
+ * <p>
+ * The latency of each action, the throughput and the time spent collecting
+ * garbage are reported (see {@link LoadReport}). When the server runs in the
+ * same process, the heap per table is reported as well, and the heap still
+ * used once every client has left, which should not grow from one run to
+ * the next: run long enough, this makes a soak test for games kept alive by
+ * mistake.
+ * </p>
+ * Usage, against a server started in the same process:
+ * <pre>
+ * java load.LoadGenerator clients seconds [disconnectRate]
+ * </pre>
+ * or against a running server:
+ * <pre>
+ * java load.LoadGenerator clients seconds disconnectRate port
+ * </pre>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class LoadGenerator {
+
+	private static final String[] NAMES = { "George", "Dimitri", "Ross", "Nick" };
+	/**
+	 * Clients block on their socket, so they need little stack.
+	 */
+	private static final long CLIENT_STACK_SIZE = 256 * 1024;
+	private static final long SAMPLE_MILLIS = 200;
+
+	private final InetSocketAddress address;
+	private final int clients;
+	private final GameServer server;
+	private long durationMillis = 10000;
+	private double disconnectRate;
+	private long reconnectMillis = 100;
+	private int turnsPerGame = 50;
+	private long seed = 1;
+
+	private final Map<Action, Histogram> latencies = new EnumMap<>(Action.class);
+	private final AtomicLong disconnects = new AtomicLong();
+	private final AtomicLong errors = new AtomicLong();
+	private volatile int peakTables;
+	private volatile long peakHeap;
+
+	/**
+	 * @param address_ the address of the server
+	 * @param clients_ the number of clients playing at the same time
+	 */
+	public LoadGenerator(InetSocketAddress address_, int clients_) {
+		this(address_, clients_, null);
+	}
+
+	/**
+	 * Loads a server running in the same process, whose tables and heap are
+	 * watched as well.
+	 */
+	public LoadGenerator(GameServer server_, int clients_) {
+		this(new InetSocketAddress(InetAddress.getLoopbackAddress(), server_.getPort()), clients_, server_);
+	}
+
+	private LoadGenerator(InetSocketAddress address_, int clients_, GameServer server_) {
+		address = address_;
+		clients = clients_;
+		server = server_;
+		for (Action a : Action.values()) {
+			latencies.put(a, new Histogram());
+		}
+	}
+
+	public LoadGenerator setDuration(long millis) {
+		durationMillis = millis;
+		return this;
+	}
+
+	/**
+	 * @param rate the probability that a client drops its connection at a
+	 * 	given decision, between 0 and 1
+	 */
+	public LoadGenerator setDisconnectRate(double rate) {
+		disconnectRate = rate;
+		return this;
+	}
+
+	/**
+	 * @param millis the average time a client waits before coming back after
+	 * 	dropping its connection
+	 */
+	public LoadGenerator setReconnectMillis(long millis) {
+		reconnectMillis = millis;
+		return this;
+	}
+
+	public LoadGenerator setTurnsPerGame(int turns) {
+		turnsPerGame = turns;
+		return this;
+	}
+
+	/**
+	 * @param seed_ where the clients' decisions come from
+	 */
+	public LoadGenerator setSeed(long seed_) {
+		seed = seed_;
+		return this;
+	}
+
+	/**
+	 * Runs the clients for the configured time and waits for them to leave.
+	 */
+	public LoadReport run() throws InterruptedException {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		long heapBefore = server == null ? 0 : heapAfterGc(memory);
+		long[] gcBefore = gcTotals();
+		long start = System.nanoTime();
+		long end = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+		List<Thread> threads = new ArrayList<>(clients);
+		for (int i = 0; i < clients; i++) {
+			Random random = new Random(seed * 31 + i);
+			Thread t = new Thread(null, () -> runClient(random, end), "load-client-" + i, CLIENT_STACK_SIZE);
+			t.setDaemon(true);
+			threads.add(t);
+			t.start();
+		}
+		while (System.nanoTime() < end) {
+			Thread.sleep(SAMPLE_MILLIS);
+			sample(memory);
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		long elapsed = System.nanoTime() - start;
+		long[] gcAfter = gcTotals();
+
+		long heapPerTable = 0;
+		long retained = 0;
+		if (server != null) {
+			awaitTablesClosed();
+			heapPerTable = peakTables == 0 ? 0 : Math.max(0, peakHeap - heapBefore) / peakTables;
+			retained = heapAfterGc(memory) - heapBefore;
+		}
+		return new LoadReport(latencies, elapsed, disconnects.get(), errors.get(), gcAfter[0] - gcBefore[0],
+				gcAfter[1] - gcBefore[1], peakTables, heapPerTable, retained);
+	}
+
+	private void sample(MemoryMXBean memory) {
+		if (server == null) {
+			return;
+		}
+		int tables = server.getTableCount();
+		if (tables > peakTables) {
+			peakTables = tables;
+			peakHeap = memory.getHeapMemoryUsage().getUsed();
+		}
+	}
+
+	/**
+	 * Waits a little for the server to close the tables of the clients
+	 * which just left.
+	 */
+	private void awaitTablesClosed() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (server.getTableCount() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static long heapAfterGc(MemoryMXBean memory) {
+		System.gc();
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+	/**
+	 * @return the number of collections and the time they took so far.
+	 */
+	private static long[] gcTotals() {
+		long[] totals = new long[2];
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			totals[0] += Math.max(0, gc.getCollectionCount());
+			totals[1] += Math.max(0, gc.getCollectionTime());
+		}
+		return totals;
+	}
+
+	private void runClient(Random random, long end) {
+		while (System.nanoTime() < end) {
+			boolean dropped;
+			try (GameClient client = new GameClient(address)) {
+				dropped = playGame(client, random, end);
+			} catch (IOException | RuntimeException e) {
+				errors.incrementAndGet();
+				dropped = true;
+			}
+			if (dropped) {
+				try {
+					long delay = (long) (-Math.log(1 - random.nextDouble()) * reconnectMillis);
+					Thread.sleep(Math.min(delay, Math.max(0, TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime()))));
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Plays a game until it is over, the time is up or the client drops its
+	 * connection.
+	 * @return true if the client dropped its connection.
+	 */
+	private boolean playGame(GameClient client, Random random, long end) throws IOException {
+		int players = 2 + random.nextInt(NAMES.length - 1);
+		String[] names = new String[players];
+		System.arraycopy(NAMES, 0, names, 0, players);
+		long start = System.nanoTime();
+		client.newGame(names);
+		expect(client.receive(), MessageType.GAME_STARTED);
+		latencies.get(Action.NEW_GAME).record(System.nanoTime() - start);
+
+		for (int turn = 0; turn < turnsPerGame && System.nanoTime() < end; turn++) {
+			start = System.nanoTime();
+			client.nextTurn();
+			FrameReader frame = client.receive();
+			while (frame.getType() != MessageType.TURN_FINISHED) {
+				if (frame.getType() == MessageType.PROMPT) {
+					if (random.nextDouble() < disconnectRate) {
+						disconnects.incrementAndGet();
+						return true;
+					}
+					frame.getString();
+					int count = frame.getShort();
+					String choice = null;
+					int pick = random.nextInt(count);
+					for (int i = 0; i < count; i++) {
+						String option = frame.getString();
+						if (i == pick) {
+							choice = option;
+						}
+					}
+					long decided = System.nanoTime();
+					client.decide(choice);
+					frame = client.receive();
+					latencies.get(Action.DECISION).record(System.nanoTime() - decided);
+					continue;
+				}
+				if (frame.getType() != MessageType.TURN_STARTED && frame.getType() != MessageType.DECISION_TIMED_OUT) {
+					unexpected(frame);
+				}
+				frame = client.receive();
+			}
+			boolean finished = frame.getBoolean();
+			latencies.get(Action.TURN).record(System.nanoTime() - start);
+
+			start = System.nanoTime();
+			client.status();
+			expect(client.receive(), MessageType.GAME_STATUS);
+			latencies.get(Action.STATUS).record(System.nanoTime() - start);
+			if (finished) {
+				break;
+			}
+		}
+		return false;
+	}
+
+	private static void expect(FrameReader frame, MessageType type) {
+		if (frame.getType() != type) {
+			unexpected(frame);
+		}
+	}
+
+	private static void unexpected(FrameReader frame) {
+		String message = frame.getType() == MessageType.ERROR ? ": " + frame.getString() : "";
+		throw new IllegalStateException("Unexpected " + frame.getType() + message);
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int clients = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		long seconds = args.length > 1 ? Long.parseLong(args[1]) : 10;
+		double disconnectRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.01;
+		GameServer embedded = null;
+		LoadGenerator generator;
+		if (args.length > 3) {
+			generator = new LoadGenerator(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+					Integer.parseInt(args[3])), clients);
+		} else {
+			// A waiting decision holds a worker, and every client may be deciding
+			embedded = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, clients);
+			generator = new LoadGenerator(embedded, clients);
+		}
+		generator.setDuration(TimeUnit.SECONDS.toMillis(seconds)).setDisconnectRate(disconnectRate);
+
+		// The games print as they are played
+		PrintStream out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+		}));
+		LoadReport report;
+		try {
+			report = generator.run();
+		} finally {
+			System.setOut(out);
+			if (embedded != null) {
+				embedded.close();
+			}
+		}
+		System.out.print(report);
+	}
+
+}
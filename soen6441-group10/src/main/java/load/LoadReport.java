@@ -0,0 +1,162 @@
+package load;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import metrics.Histogram;
+
+/**
+ * <b> What a run of the {@link LoadGenerator} measured. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class LoadReport {
+
+	/**
+	 * The actions whose latency is measured, from the request being sent to
+	 * the answer being received.
+	 */
+	public enum Action {
+		/** Up to the game being started. */
+		NEW_GAME,
+		/** Up to the end of the turn, decisions included. */
+		TURN,
+		/** Up to the next frame after the decision. */
+		DECISION,
+		/** Up to the status. */
+		STATUS
+	}
+
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+	private final Map<Action, Histogram> latencies;
+	private final long elapsedNanos;
+	private final long disconnects;
+	private final long errors;
+	private final long gcCount;
+	private final long gcMillis;
+	private final int peakTables;
+	private final long heapPerTable;
+	private final long retainedHeap;
+
+	LoadReport(Map<Action, Histogram> latencies_, long elapsedNanos_, long disconnects_, long errors_,
+			long gcCount_, long gcMillis_, int peakTables_, long heapPerTable_, long retainedHeap_) {
+		latencies = Collections.unmodifiableMap(new EnumMap<>(latencies_));
+		elapsedNanos = elapsedNanos_;
+		disconnects = disconnects_;
+		errors = errors_;
+		gcCount = gcCount_;
+		gcMillis = gcMillis_;
+		peakTables = peakTables_;
+		heapPerTable = heapPerTable_;
+		retainedHeap = retainedHeap_;
+	}
+
+	/**
+	 * @return the latencies of the action, in nanoseconds.
+	 */
+	public Histogram getLatencies(Action action) {
+		return latencies.get(action);
+	}
+
+	/**
+	 * @return the number of actions completed.
+	 */
+	public long getActionCount() {
+		long count = 0;
+		for (Histogram h : latencies.values()) {
+			count += h.getCount();
+		}
+		return count;
+	}
+
+	/**
+	 * @return the number of actions completed per second.
+	 */
+	public double getThroughput() {
+		return getActionCount() * 1e9 / Math.max(1, elapsedNanos);
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * @return the number of times a client dropped its connection on purpose.
+	 */
+	public long getDisconnects() {
+		return disconnects;
+	}
+
+	/**
+	 * @return the number of clients which failed unexpectedly.
+	 */
+	public long getErrors() {
+		return errors;
+	}
+
+	public long getGcCount() {
+		return gcCount;
+	}
+
+	/**
+	 * @return the time the collectors took during the run.
+	 */
+	public long getGcMillis() {
+		return gcMillis;
+	}
+
+	/**
+	 * @return the largest number of tables open at the same time, or 0 if
+	 * 	the server was not in the same process.
+	 */
+	public int getPeakTables() {
+		return peakTables;
+	}
+
+	/**
+	 * @return the heap used per open table at the peak, in bytes, or 0 if
+	 * 	the server was not in the same process.
+	 */
+	public long getHeapPerTable() {
+		return heapPerTable;
+	}
+
+	/**
+	 * @return the heap still used after a full collection once every client
+	 * 	has left, compared to before the run, in bytes. A growing value over
+	 * 	longer runs points to games being kept alive.
+	 */
+	public long getRetainedHeap() {
+		return retainedHeap;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder b = new StringBuilder();
+		b.append(String.format("%d actions in %.1f s (%.0f/s), %d disconnects, %d errors%n",
+				getActionCount(), elapsedNanos / 1e9, getThroughput(), disconnects, errors));
+		b.append(String.format("%-10s %10s", "action", "count"));
+		for (double p : PERCENTILES) {
+			b.append(String.format(" %9s", "p" + (p == Math.rint(p) ? Integer.toString((int) p) : Double.toString(p))));
+		}
+		b.append(String.format(" %9s%n", "max"));
+		for (Map.Entry<Action, Histogram> e : latencies.entrySet()) {
+			Histogram h = e.getValue();
+			b.append(String.format("%-10s %10d", e.getKey(), h.getCount()));
+			for (double p : PERCENTILES) {
+				b.append(String.format(" %7.2fms", h.getPercentile(p) / 1e6));
+			}
+			b.append(String.format(" %7.2fms%n", h.getMax() / 1e6));
+		}
+		b.append(String.format("GC: %d collections, %d ms%n", gcCount, gcMillis));
+		if (peakTables > 0) {
+			b.append(String.format("Heap: %d tables at the peak, %d KB per table, %d KB retained after the run%n",
+					peakTables, heapPerTable / 1024, retainedHeap / 1024));
+		}
+		return b.toString();
+	}
+
+}
@@ -0,0 +1,130 @@
+package load;
+
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import replay.RandomUserInterface;
+import card.random.RandomEventCard;
+
+/**
+ * <b> Measures how many random events of each kind the game resolves a second. </b>
+ * <p>
+ * The events rolling the die for their areas look up the areas and the
+ * board by their code at every roll. For each of them, the benchmark starts
+ * games of four and resolves the event over and over at each, starting a
+ * new game every {@link #EVENTS_PER_GAME} events so that the board keeps
+ * pieces to remove. Only the resolution of the events is timed; the game
+ * prints nothing while it is measured.
+ * </p>
+ * Usage:
+ * <pre>
+ * java load.RandomEventBenchmark [events per card]
+ * </pre>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class RandomEventBenchmark {
+
+	public static final int EVENTS_PER_GAME = 100;
+
+	/** The events which roll the die for the areas they affect and need no decision. */
+	public static final RandomEventCard[] CARDS = { RandomEventCard.DRAGON, RandomEventCard.FIRE,
+			RandomEventCard.EXPLOSION, RandomEventCard.EARTHQUAKE, RandomEventCard.TROLLS,
+			RandomEventCard.DEMONS_FROM_THE_DUNGEON_DIMENSIONS };
+
+	private static final String[] NAMES = { "George", "Dimitri", "Ross", "Nick" };
+
+	private final int events;
+	private final Map<RandomEventCard, Long> nanos = new EnumMap<>(RandomEventCard.class);
+
+	/**
+	 * @param events_ the number of times each event is resolved
+	 */
+	public RandomEventBenchmark(int events_) {
+		events = events_;
+	}
+
+	/**
+	 * Runs the benchmark on this thread, with the die seeded so that the
+	 * runs are comparable.
+	 */
+	public RandomEventBenchmark run() {
+		Die.getDie().setSeed(0);
+		for (RandomEventCard card : CARDS) {
+			long total = 0;
+			for (int resolved = 0; resolved < events; resolved += EVENTS_PER_GAME) {
+				Game game = newGame(resolved);
+				int n = Math.min(EVENTS_PER_GAME, events - resolved);
+				long start = System.nanoTime();
+				for (int i = 0; i < n; i++) {
+					card.getGameAction().accept(game, game.getPlayerOfCurrentTurn());
+				}
+				total += System.nanoTime() - start;
+			}
+			nanos.put(card, total);
+		}
+		return this;
+	}
+
+	private static Game newGame(long seed) {
+		Game game = new Game();
+		game.setUI(new RandomUserInterface(seed));
+		new Controller(game).newGame(NAMES.length, NAMES);
+		return game;
+	}
+
+	/**
+	 * @return the number of events of the given card resolved a second.
+	 */
+	public double getThroughput(RandomEventCard card) {
+		Long total = nanos.get(card);
+		if (total == null || total == 0) {
+			return 0;
+		}
+		return events / (total / (double) TimeUnit.SECONDS.toNanos(1));
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		s.append(String.format("%d events per card%n", events));
+		for (RandomEventCard card : CARDS) {
+			s.append(String.format("%-36s %12.0f events/s%n", card.name(), getThroughput(card)));
+		}
+		return s.toString();
+	}
+
+	public static void main(String[] args) {
+		int events = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+
+		// The events print as they are resolved
+		PrintStream out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+		}));
+		RandomEventBenchmark benchmark;
+		try {
+			// A first, smaller run warms up the code
+			new RandomEventBenchmark(Math.min(events, 100000)).run();
+			benchmark = new RandomEventBenchmark(events).run();
+		} finally {
+			System.setOut(out);
+		}
+		System.out.print(benchmark);
+	}
+
+}
@@ -0,0 +1,284 @@
+package lobby;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import server.MpscMailbox;
+
+/**
+ * <b> Queues the players who want to play and seats them at tables. </b>
+ * <p>
+ * Players join with their rating and the number of players they want to
+ * play with. Joining never blocks: each table size has a lock-free queue,
+ * which a single matchmaker drains on each round (see {@link #matchmake(long)}).
+ * The matchmaker seats players whose ratings are close together; the
+ * rating spread it accepts grows the longer players have waited, and the
+ * players left waiting for too long are seated with bots in the empty
+ * seats.
+ * </p>
+ * The tables' games are created when the tables are formed, and the tables
+ * closed once their game is over are reused.
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class Lobby implements AutoCloseable {
+
+	public static final int MIN_PLAYERS = 2;
+	public static final int MAX_PLAYERS = 4;
+
+	public static final int DEFAULT_RATING_SPREAD = 100;
+	public static final long DEFAULT_WIDEN_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+	public static final long DEFAULT_MAX_WAIT_NANOS = TimeUnit.SECONDS.toNanos(5);
+	private static final int MAX_RECYCLED = 256;
+	private static final String BOT_NAME = "Bot";
+
+	private static final Comparator<Ticket> BY_RATING = Comparator.comparingInt(Ticket::getRating);
+
+	private final int ratingSpread;
+	private final long widenNanos;
+	private final long maxWaitNanos;
+
+	/**
+	 * The players who just joined, by table size.
+	 */
+	private final List<MpscMailbox<Ticket>> joined = new ArrayList<>();
+	/**
+	 * The players the matchmaker could not seat yet, by table size; only used
+	 * by the matchmaker.
+	 */
+	private final List<List<Ticket>> waiting = new ArrayList<>();
+	private final Queue<LobbyTable> recycled = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger recycledCount = new AtomicInteger();
+	private final AtomicInteger waitingCount = new AtomicInteger();
+	private int nextTable;
+	private volatile int tablesFormed;
+	private volatile int botsSeated;
+	private Thread matchmaker;
+	private volatile boolean running;
+
+	public Lobby() {
+		this(DEFAULT_RATING_SPREAD, DEFAULT_WIDEN_NANOS, DEFAULT_MAX_WAIT_NANOS);
+	}
+
+	/**
+	 * @param ratingSpread_ the largest difference of ratings at a table for
+	 * 	players who just joined
+	 * @param widenNanos_ how long players wait before the accepted spread
+	 * 	grows by another ratingSpread_
+	 * @param maxWaitNanos_ how long players wait before being seated with bots
+	 */
+	public Lobby(int ratingSpread_, long widenNanos_, long maxWaitNanos_) {
+		ratingSpread = ratingSpread_;
+		widenNanos = widenNanos_;
+		maxWaitNanos = maxWaitNanos_;
+		for (int size = 0; size <= MAX_PLAYERS; size++) {
+			joined.add(new MpscMailbox<Ticket>());
+			waiting.add(new ArrayList<Ticket>());
+		}
+	}
+
+	/**
+	 * Queues a player; can be called from any thread.
+	 * @param preferredSize the number of players at the table, from
+	 * 	{@value #MIN_PLAYERS} to {@value #MAX_PLAYERS}
+	 * @return the player's ticket, whose future completes once the player is
+	 * 	seated.
+	 */
+	public Ticket join(String name, int rating, int preferredSize) {
+		if (preferredSize < MIN_PLAYERS || preferredSize > MAX_PLAYERS) {
+			throw new IllegalArgumentException("Tables have " + MIN_PLAYERS + " to " + MAX_PLAYERS + " players");
+		}
+		Ticket t = new Ticket(name, rating, preferredSize, System.nanoTime());
+		waitingCount.incrementAndGet();
+		joined.get(preferredSize).offer(t);
+		return t;
+	}
+
+	/**
+	 * @return the number of players who have joined and are not seated yet.
+	 */
+	public int getWaitingCount() {
+		return waitingCount.get();
+	}
+
+	public int getTablesFormed() {
+		return tablesFormed;
+	}
+
+	public int getBotsSeated() {
+		return botsSeated;
+	}
+
+	/**
+	 * Seats the players who can be; must only be called by one thread at a
+	 * time, e.g. the one started by {@link #start(long)}.
+	 * @param now the current {@link System#nanoTime()}
+	 * @return the number of tables formed.
+	 */
+	public int matchmake(long now) {
+		int formed = 0;
+		for (int size = MIN_PLAYERS; size <= MAX_PLAYERS; size++) {
+			List<Ticket> w = waiting.get(size);
+			Ticket t;
+			while ((t = joined.get(size).poll()) != null) {
+				w.add(t);
+			}
+			w.removeIf(this::hasLeft);
+			w.sort(BY_RATING);
+
+			List<Ticket> left = new ArrayList<>();
+			int i = 0;
+			while (i < w.size()) {
+				if (i + size <= w.size() && w.get(i + size - 1).getRating() - w.get(i).getRating()
+						<= spread(now, w.subList(i, i + size))) {
+					formed += form(w.subList(i, i + size), size) ? 1 : 0;
+					i += size;
+				} else {
+					left.add(w.get(i++));
+				}
+			}
+
+			// Those who waited too long play with bots, still next to the
+			// closest ratings
+			List<Ticket> remaining = new ArrayList<>();
+			List<Ticket> group = new ArrayList<>();
+			for (Ticket l : left) {
+				if (now - l.getJoinedAt() >= maxWaitNanos) {
+					group.add(l);
+					if (group.size() == size) {
+						formed += form(group, size) ? 1 : 0;
+						group.clear();
+					}
+				} else {
+					remaining.add(l);
+				}
+			}
+			if (!group.isEmpty()) {
+				formed += form(group, size) ? 1 : 0;
+			}
+			waiting.set(size, remaining);
+		}
+		return formed;
+	}
+
+	private boolean hasLeft(Ticket t) {
+		if (t.getTable().isCancelled()) {
+			waitingCount.decrementAndGet();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the rating spread accepted for the given players, which grows
+	 * 	with the time the longest waiting of them has waited.
+	 */
+	private long spread(long now, List<Ticket> players) {
+		long joinedAt = Long.MAX_VALUE;
+		for (Ticket t : players) {
+			joinedAt = Math.min(joinedAt, t.getJoinedAt());
+		}
+		return ratingSpread + ratingSpread * ((now - joinedAt) / widenNanos);
+	}
+
+	/**
+	 * Seats the players at a table, with bots in the seats left.
+	 * @return false if no table could be set up
+	 */
+	private boolean form(List<Ticket> players, int size) {
+		String[] names = new String[size];
+		int[] ratings = new int[size];
+		boolean[] bots = new boolean[size];
+		int total = 0;
+		for (int i = 0; i < players.size(); i++) {
+			names[i] = players.get(i).getName();
+			ratings[i] = players.get(i).getRating();
+			total += ratings[i];
+		}
+		for (int i = players.size(); i < size; i++) {
+			names[i] = BOT_NAME + (i + 1);
+			ratings[i] = total / players.size();
+			bots[i] = true;
+		}
+
+		LobbyTable table = recycled.poll();
+		if (table == null) {
+			table = new LobbyTable(this);
+		} else {
+			recycledCount.decrementAndGet();
+		}
+		if (!table.open(++nextTable, names, ratings, bots)) {
+			for (Ticket t : players) {
+				waitingCount.decrementAndGet();
+				t.getTable().completeExceptionally(new IllegalStateException("Could not set up the table"));
+			}
+			return false;
+		}
+		tablesFormed++;
+		botsSeated += size - players.size();
+		for (Ticket t : players) {
+			waitingCount.decrementAndGet();
+			// Has no effect for a player who has just left, whose seat stays empty
+			t.getTable().complete(table);
+		}
+		return true;
+	}
+
+	/**
+	 * Keeps a closed table for a later game.
+	 */
+	void recycle(LobbyTable table) {
+		if (recycledCount.incrementAndGet() <= MAX_RECYCLED) {
+			recycled.offer(table);
+		} else {
+			recycledCount.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Starts a thread which matchmakes periodically.
+	 */
+	public synchronized void start(long periodMillis) {
+		if (matchmaker != null) {
+			return;
+		}
+		running = true;
+		matchmaker = new Thread(() -> {
+			while (running) {
+				matchmake(System.nanoTime());
+				try {
+					Thread.sleep(periodMillis);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		}, "lobby-matchmaker");
+		matchmaker.setDaemon(true);
+		matchmaker.start();
+	}
+
+	/**
+	 * Stops the matchmaking thread, if any, and waits for it to end unless
+	 * the calling thread is interrupted, whose interrupt status is then kept.
+	 */
+	@Override
+	public synchronized void close() {
+		running = false;
+		if (matchmaker != null) {
+			matchmaker.interrupt();
+			try {
+				matchmaker.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			matchmaker = null;
+		}
+	}
+
+}
@@ -0,0 +1,123 @@
+package lobby;
+
+import gameplay.Controller;
+import gameplay.Game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import util.Color;
+
+/**
+ * <b> A game formed by the {@link Lobby}, with its seats. </b>
+ * <p>
+ * The seats which no player filled in time are taken by bots; whoever runs
+ * the table plays them, e.g. through a {@link replay.RandomUserInterface}.
+ * A table is closed once its game is over, and the lobby reuses it for a
+ * later game.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class LobbyTable {
+
+	/**
+	 * A seat at the table.
+	 */
+	public static final class Seat {
+		private final String name;
+		private final int rating;
+		private final Color color;
+		private final boolean bot;
+
+		Seat(String name_, int rating_, Color color_, boolean bot_) {
+			name = name_;
+			rating = rating_;
+			color = color_;
+			bot = bot_;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getRating() {
+			return rating;
+		}
+
+		public Color getColor() {
+			return color;
+		}
+
+		public boolean isBot() {
+			return bot;
+		}
+	}
+
+	private final Lobby lobby;
+	private final Game game = new Game();
+	private final Controller controller = new Controller(game);
+	private final List<Seat> seats = new ArrayList<>(Lobby.MAX_PLAYERS);
+	private int id;
+
+	LobbyTable(Lobby lobby_) {
+		lobby = lobby_;
+	}
+
+	/**
+	 * Sets the table up for a new game; called by the lobby.
+	 * @return false if the game could not be set up
+	 */
+	boolean open(int id_, String[] names, int[] ratings, boolean[] bots) {
+		id = id_;
+		seats.clear();
+		game.reset();
+		controller.setGame(game);
+		if (!controller.newGame(names.length, names)) {
+			return false;
+		}
+		for (int i = 0; i < names.length; i++) {
+			seats.add(new Seat(names[i], ratings[i], Color.forCode(i), bots[i]));
+		}
+		return true;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public Game getGame() {
+		return game;
+	}
+
+	public Controller getController() {
+		return controller;
+	}
+
+	public List<Seat> getSeats() {
+		return Collections.unmodifiableList(seats);
+	}
+
+	/**
+	 * @return true if the player of the given color is a bot.
+	 */
+	public boolean isBot(Color c) {
+		for (Seat s : seats) {
+			if (s.color == c) {
+				return s.bot;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gives the table back to the lobby once its game is over; it must not
+	 * be used afterwards.
+	 */
+	public void close() {
+		lobby.recycle(this);
+	}
+
+}
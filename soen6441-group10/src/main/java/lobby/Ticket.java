@@ -0,0 +1,65 @@
+package lobby;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <b> A player waiting in the {@link Lobby} for a table. </b>
+ * <p>
+ * The ticket's future completes with the player's table once one is formed,
+ * and can be cancelled to leave the lobby.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class Ticket {
+
+	private final String name;
+	private final int rating;
+	private final int preferredSize;
+	private final long joinedAt;
+	private final CompletableFuture<LobbyTable> table = new CompletableFuture<>();
+
+	Ticket(String name_, int rating_, int preferredSize_, long joinedAt_) {
+		name = name_;
+		rating = rating_;
+		preferredSize = preferredSize_;
+		joinedAt = joinedAt_;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getRating() {
+		return rating;
+	}
+
+	/**
+	 * @return the number of players the player wants to play with, including
+	 * 	themselves.
+	 */
+	public int getPreferredSize() {
+		return preferredSize;
+	}
+
+	/**
+	 * @return when the player joined the lobby, in {@link System#nanoTime()}.
+	 */
+	public long getJoinedAt() {
+		return joinedAt;
+	}
+
+	public CompletableFuture<LobbyTable> getTable() {
+		return table;
+	}
+
+	/**
+	 * Leaves the lobby, unless a table has already been formed.
+	 * @return true if the player has left.
+	 */
+	public boolean cancel() {
+		return table.cancel(false);
+	}
+
+}
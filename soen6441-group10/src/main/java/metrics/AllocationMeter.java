@@ -0,0 +1,81 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * <b> Counts the bytes of heap the current thread allocates. </b>
+ * <p>
+ * The count comes from the virtual machine's per-thread allocation counter,
+ * exposed by HotSpot's {@code com.sun.management.ThreadMXBean}; reading it
+ * allocates nothing. {@link #bytesPerOperation(Runnable, int, int)} runs an
+ * operation until it is compiled, then gives the bytes it allocates on
+ * average, which is how the engine's hot paths are kept from allocating.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public final class AllocationMeter {
+
+	/** The number of times the allocations of an operation are counted. */
+	private static final int ROUNDS = 3;
+
+	private static final com.sun.management.ThreadMXBean THREADS;
+	static {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+			THREADS = (com.sun.management.ThreadMXBean) threads;
+			THREADS.setThreadAllocatedMemoryEnabled(true);
+		} else {
+			THREADS = null;
+		}
+	}
+
+	private AllocationMeter() {
+	}
+
+	/**
+	 * @return true if the virtual machine counts the bytes each thread allocates.
+	 */
+	public static boolean isSupported() {
+		return THREADS != null;
+	}
+
+	/**
+	 * @return the bytes allocated by the current thread since it started, or
+	 * 	-1 if the virtual machine does not count them.
+	 */
+	public static long getAllocatedBytes() {
+		return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Runs the operation the given number of times to warm it up, then as many
+	 * times again, {@value #ROUNDS} times over, while counting what it
+	 * allocates. The round which allocated the least is kept: what the
+	 * virtual machine allocates once on the thread meanwhile, e.g. when it
+	 * recompiles the operation, is not the operation's.
+	 * @return the bytes the operation allocates on average, or -1 if the
+	 * 	virtual machine does not count them.
+	 */
+	public static double bytesPerOperation(Runnable operation, int warmUps, int iterations) {
+		if (THREADS == null) {
+			return -1;
+		}
+		for (int i = 0; i < warmUps; i++) {
+			operation.run();
+		}
+		long least = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = getAllocatedBytes();
+			for (int i = 0; i < iterations; i++) {
+				operation.run();
+			}
+			least = Math.min(least, getAllocatedBytes() - start);
+		}
+		return least / (double) iterations;
+	}
+
+}
@@ -0,0 +1,31 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <b> A count which only goes up. </b>
+ * <p>
+ * The count is striped over cells, so threads counting at the same time do
+ * not contend; counting allocates nothing once the cells exist.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class Counter {
+
+	private final LongAdder count = new LongAdder();
+
+	public void increment() {
+		count.increment();
+	}
+
+	public void add(long n) {
+		count.add(n);
+	}
+
+	public long get() {
+		return count.sum();
+	}
+
+}
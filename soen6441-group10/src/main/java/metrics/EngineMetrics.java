@@ -0,0 +1,49 @@
+package metrics;
+
+import card.random.RandomEventCard;
+
+/**
+ * <b> The metrics of the game engine. </b>
+ * <p>
+ * The metrics are recorded where the game does the work, e.g. the turns by
+ * the {@link gameplay.Controller} and the saves by the
+ * {@link io.GameFileManager}, and exported from {@link #REGISTRY}.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public final class EngineMetrics {
+
+	public static final String OBJECT_NAME = "ankhmorpork:type=Metrics";
+
+	public static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+	public static final Counter TURNS = REGISTRY.counter("ankhmorpork_turns_total",
+			"Turns played");
+
+	public static final Histogram TURN_DURATION = REGISTRY.histogram("ankhmorpork_turn_duration_seconds",
+			"Time taken to play a turn, the players' decisions included", MetricsRegistry.NANOS_TO_SECONDS);
+
+	public static final Histogram DECISIONS_PER_TURN = REGISTRY.histogram("ankhmorpork_decisions_per_turn",
+			"Decisions taken during a turn, for the games whose decisions are prompted", 1);
+
+	public static final EnumCounter<RandomEventCard> RANDOM_EVENTS = REGISTRY.enumCounter(
+			"ankhmorpork_random_events_total", "Random events resolved", "event", RandomEventCard.class);
+
+	public static final Histogram SAVE_DURATION = REGISTRY.histogram("ankhmorpork_save_duration_seconds",
+			"Time taken to save a game, whether it could be written or not", MetricsRegistry.NANOS_TO_SECONDS);
+
+	public static final Counter SAVE_FAILURES = REGISTRY.counter("ankhmorpork_save_failures_total",
+			"Saves which could not be written");
+
+	public static final Gauge LIVE_TABLES = REGISTRY.gauge("ankhmorpork_live_tables",
+			"Tables with a client connected");
+
+	public static final Histogram TABLE_LOAD_DURATION = REGISTRY.histogram("ankhmorpork_table_load_duration_seconds",
+			"Time taken to load back the game of an unloaded table", MetricsRegistry.NANOS_TO_SECONDS);
+
+	private EngineMetrics() {
+	}
+
+}
@@ -0,0 +1,41 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <b> A {@link Counter} for each constant of an enum. </b>
+ * <p>
+ * The counts are found by the constant's ordinal, so counting does not look
+ * anything up and allocates nothing.
+ * </p>
+ *
+ * @param <E> the enum
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class EnumCounter<E extends Enum<E>> {
+
+	private final Class<E> type;
+	private final LongAdder[] counts;
+
+	public EnumCounter(Class<E> type_) {
+		type = type_;
+		counts = new LongAdder[type.getEnumConstants().length];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = new LongAdder();
+		}
+	}
+
+	public Class<E> getType() {
+		return type;
+	}
+
+	public void increment(E constant) {
+		counts[constant.ordinal()].increment();
+	}
+
+	public long get(E constant) {
+		return counts[constant.ordinal()].sum();
+	}
+
+}
@@ -0,0 +1,55 @@
+package metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <b> The estimated heap taken by a game, by component (see {@link FootprintEstimator}). </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class Footprint {
+
+	private final Map<String, Long> components;
+	private final long total;
+
+	Footprint(Map<String, Long> components_) {
+		components = Collections.unmodifiableMap(new LinkedHashMap<>(components_));
+		long sum = 0;
+		for (long bytes : components.values()) {
+			sum += bytes;
+		}
+		total = sum;
+	}
+
+	/**
+	 * @return the bytes of each component, in the order they were walked.
+	 */
+	public Map<String, Long> getComponents() {
+		return components;
+	}
+
+	/**
+	 * @return the bytes of the given component, or 0 if there is no such component.
+	 */
+	public long getBytes(String component) {
+		Long bytes = components.get(component);
+		return bytes == null ? 0 : bytes;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		for (Map.Entry<String, Long> e : components.entrySet()) {
+			s.append(String.format("%-20s %10d%n", e.getKey(), e.getValue()));
+		}
+		return s.append(String.format("%-20s %10d%n", "total", total)).toString();
+	}
+
+}
@@ -0,0 +1,287 @@
+package metrics;
+
+import gameplay.Game;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.Vector;
+
+/**
+ * <b> Estimates the heap taken by a game, by component. </b>
+ * <p>
+ * The estimator walks the objects reachable from the game and adds up their
+ * sizes as laid out by a 64-bit virtual machine with compressed references:
+ * a {@value #OBJECT_HEADER} byte header, {@value #REFERENCE} byte references
+ * and sizes rounded up to {@value #ALIGNMENT} bytes. The objects of the game's
+ * own classes are walked field by field. The classes of the JDK cannot be
+ * looked into, so the collections are estimated from their size and
+ * capacity, the way they are implemented, and walked through their elements.
+ * </p>
+ * <p>
+ * Enum constants, cached boxes and classes are shared by every game and are
+ * not counted, nor is anything reachable only through a transient field
+ * (the user interface, the listeners), except the game's last snapshot. An
+ * object reachable from two components is counted in the first one.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class FootprintEstimator {
+
+	static final int OBJECT_HEADER = 12;
+	static final int ARRAY_HEADER = 16;
+	static final int REFERENCE = 4;
+	static final int ALIGNMENT = 8;
+
+	/**
+	 * The fields of a class walked by the estimator, and the size of its instances.
+	 */
+	private static final class Layout {
+		private final long size;
+		private final Field[] references;
+
+		private Layout(long size_, Field[] references_) {
+			size = size_;
+			references = references_;
+		}
+	}
+
+	private static final ClassValue<Layout> LAYOUTS = new ClassValue<Layout>() {
+		@Override
+		protected Layout computeValue(Class<?> type) {
+			long size = OBJECT_HEADER;
+			List<Field> references = new ArrayList<>();
+			for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+				for (Field f : c.getDeclaredFields()) {
+					if (Modifier.isStatic(f.getModifiers())) {
+						continue;
+					}
+					size += sizeOfField(f.getType());
+					if (!f.getType().isPrimitive() && !Modifier.isTransient(f.getModifiers())) {
+						f.setAccessible(true);
+						references.add(f);
+					}
+				}
+			}
+			return new Layout(align(size), references.toArray(new Field[references.size()]));
+		}
+	};
+
+	private final Map<Object, Boolean> visited = new IdentityHashMap<>();
+	private final Deque<Object> pending = new ArrayDeque<>();
+
+	/**
+	 * @return the heap taken by the game, with a component for the game
+	 * 	object itself ("game"), one for each of its fields, by name, and one
+	 * 	for its last snapshot ("snapshot").
+	 */
+	public static Footprint estimate(Game game) {
+		FootprintEstimator estimator = new FootprintEstimator();
+		Map<String, Long> components = new LinkedHashMap<>();
+		Layout layout = LAYOUTS.get(Game.class);
+		estimator.visited.put(game, Boolean.TRUE);
+		components.put("game", layout.size);
+		for (Field f : layout.references) {
+			components.put(f.getName(), estimator.sizeOf(read(f, game)));
+		}
+		components.put("snapshot", estimator.sizeOf(game.getSnapshot()));
+		return new Footprint(components);
+	}
+
+	/**
+	 * @return the heap taken by the objects reachable from the given one and
+	 * 	not counted yet by this estimator.
+	 */
+	public long sizeOf(Object root) {
+		long total = 0;
+		push(root);
+		Object o;
+		while ((o = pending.poll()) != null) {
+			total += shallowSizeOf(o);
+		}
+		return total;
+	}
+
+	private void push(Object o) {
+		if (o == null || isShared(o) || visited.put(o, Boolean.TRUE) != null) {
+			return;
+		}
+		pending.push(o);
+	}
+
+	private static boolean isShared(Object o) {
+		if (o instanceof Enum || o instanceof Class || o instanceof Boolean) {
+			return true;
+		}
+		if (o instanceof Integer || o instanceof Short || o instanceof Byte || o instanceof Long) {
+			long v = ((Number) o).longValue();
+			return v >= -128 && v <= 127;
+		}
+		return o instanceof Character && (Character) o <= 127;
+	}
+
+	/**
+	 * @return the size of the object alone, after queueing the objects it refers to.
+	 */
+	private long shallowSizeOf(Object o) {
+		Class<?> type = o.getClass();
+		if (type.isArray()) {
+			return arraySizeOf(o);
+		}
+		if (o instanceof String) {
+			// The value array of a compact string, one byte per character
+			return align(OBJECT_HEADER + 12) + align(ARRAY_HEADER + ((String) o).length());
+		}
+		// The game's own collections, such as the board, are walked as objects
+		boolean jdk = type.getName().startsWith("java.");
+		if (jdk && o instanceof Collection) {
+			return collectionSizeOf((Collection<?>) o);
+		}
+		if (jdk && o instanceof Map) {
+			return mapSizeOf((Map<?, ?>) o);
+		}
+		if (jdk) {
+			// Boxes, atomics and the like: a header and a field or two
+			return align(OBJECT_HEADER + 8);
+		}
+		Layout layout = LAYOUTS.get(type);
+		for (Field f : layout.references) {
+			push(read(f, o));
+		}
+		return layout.size;
+	}
+
+	private long arraySizeOf(Object array) {
+		Class<?> component = array.getClass().getComponentType();
+		int length = Array.getLength(array);
+		if (!component.isPrimitive()) {
+			for (Object e : (Object[]) array) {
+				push(e);
+			}
+		}
+		return align(ARRAY_HEADER + (long) length * sizeOfField(component));
+	}
+
+	private long collectionSizeOf(Collection<?> c) {
+		for (Object e : c) {
+			push(e);
+		}
+		int size = c.size();
+		if (c instanceof EnumSet) {
+			// The universe of the constants is shared
+			return align(OBJECT_HEADER + 16);
+		}
+		if (c instanceof LinkedHashSet) {
+			return align(OBJECT_HEADER + 4) + linkedHashMapSizeOf(size);
+		}
+		if (c instanceof HashSet) {
+			return align(OBJECT_HEADER + 4) + hashMapSizeOf(size);
+		}
+		if (c instanceof Vector) {
+			// Stacks, among them the decks' cards
+			return align(OBJECT_HEADER + 12) + referenceArraySizeOf(((Vector<?>) c).capacity());
+		}
+		// An array list, or a collection assumed to be as compact as one
+		return align(OBJECT_HEADER + 12) + referenceArraySizeOf(size);
+	}
+
+	private long mapSizeOf(Map<?, ?> m) {
+		for (Map.Entry<?, ?> e : m.entrySet()) {
+			push(e.getKey());
+			push(e.getValue());
+		}
+		int size = m.size();
+		if (m instanceof EnumMap) {
+			// The universe of the keys is shared, the values are one per key
+			int universe = 0;
+			for (Object key : m.keySet()) {
+				universe = ((Enum<?>) key).getDeclaringClass().getEnumConstants().length;
+				break;
+			}
+			return align(OBJECT_HEADER + 20) + referenceArraySizeOf(universe);
+		}
+		if (m instanceof LinkedHashMap) {
+			return linkedHashMapSizeOf(size);
+		}
+		if (m instanceof TreeMap) {
+			return align(OBJECT_HEADER + 28) + size * align(OBJECT_HEADER + 21);
+		}
+		// A hash map, or a map assumed to be as large as one
+		return hashMapSizeOf(size);
+	}
+
+	private static long hashMapSizeOf(int size) {
+		return align(OBJECT_HEADER + 36) + referenceArraySizeOf(tableSizeFor(size))
+				+ size * align(OBJECT_HEADER + 16);
+	}
+
+	private static long linkedHashMapSizeOf(int size) {
+		return align(OBJECT_HEADER + 45) + referenceArraySizeOf(tableSizeFor(size))
+				+ size * align(OBJECT_HEADER + 24);
+	}
+
+	/**
+	 * @return the length of the table of a hash map holding the given number
+	 * 	of entries, grown from the default capacity.
+	 */
+	private static int tableSizeFor(int size) {
+		if (size == 0) {
+			return 0;
+		}
+		int capacity = 16;
+		while (size > capacity * 3 / 4) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private static long referenceArraySizeOf(int length) {
+		return align(ARRAY_HEADER + (long) length * REFERENCE);
+	}
+
+	private static int sizeOfField(Class<?> type) {
+		if (type == long.class || type == double.class) {
+			return 8;
+		}
+		if (type == int.class || type == float.class) {
+			return 4;
+		}
+		if (type == short.class || type == char.class) {
+			return 2;
+		}
+		if (type == byte.class || type == boolean.class) {
+			return 1;
+		}
+		return REFERENCE;
+	}
+
+	static long align(long size) {
+		return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+	}
+
+	private static Object read(Field f, Object o) {
+		try {
+			return f.get(o);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
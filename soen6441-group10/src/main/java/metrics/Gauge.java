@@ -0,0 +1,38 @@
+package metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * <b> A value which goes up and down, read when it is exported. </b>
+ * <p>
+ * The value is the total of its sources, e.g. the number of tables of each
+ * server running in the process, so nothing is recorded while the game is
+ * played.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class Gauge {
+
+	private final List<LongSupplier> sources = new CopyOnWriteArrayList<>();
+
+	public void addSource(LongSupplier source) {
+		sources.add(source);
+	}
+
+	public void removeSource(LongSupplier source) {
+		sources.remove(source);
+	}
+
+	public long get() {
+		long total = 0;
+		for (LongSupplier s : sources) {
+			total += s.getAsLong();
+		}
+		return total;
+	}
+
+}
@@ -0,0 +1,108 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <b> Counts values in buckets of logarithmic width, without locking. </b>
+ * <p>
+ * Each power of two is split in {@value #SUB_BUCKETS} buckets, so a
+ * percentile is known to within about 6% whatever the scale, and the
+ * histogram takes the same few kilobytes whether it counts ten values or
+ * ten billion. Recording is a few atomic additions and allocates nothing, so
+ * it can be done from the game's own methods.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class Histogram {
+
+	private static final int SUB_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Counts a value; negative values count as 0.
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		counts.incrementAndGet(bucketOf(value));
+		count.increment();
+		sum.add(value);
+		long m;
+		while (value > (m = max.get()) && !max.compareAndSet(m, value)) {
+			// Another thread raised the maximum, try again
+		}
+	}
+
+	static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * @return the largest value counted in the given bucket.
+	 */
+	static long highestOf(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+		long sub = bucket % SUB_BUCKETS;
+		long lowest = (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+		return lowest + (1L << (exponent - SUB_BITS)) - 1;
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return the total of the values counted.
+	 */
+	public long getSum() {
+		return sum.sum();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @param percentile between 0 and 100
+	 * @return a value which at least the given percentage of the values
+	 * 	counted are not above, or 0 if none was counted.
+	 */
+	public long getPercentile(double percentile) {
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			total += counts.get(i);
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(highestOf(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+}
@@ -0,0 +1,223 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <b> The metrics of a process, by name, and their export. </b>
+ * <p>
+ * Metrics are registered once, typically in static fields, and recorded
+ * directly from then on: the registry is only read when the metrics are
+ * exported. They are exported in the Prometheus text format (see
+ * {@link #writePrometheus(StringBuilder)} and {@link PrometheusEndpoint}), and
+ * as the attributes of an MBean (see {@link #registerMBean(String)}).
+ * </p>
+ * <p>
+ * A {@link Histogram} is exported as a Prometheus summary: its quantiles,
+ * sum and count. Its values are multiplied by the scale it was registered
+ * with, so that e.g. durations recorded in nanoseconds are exported in
+ * seconds, as Prometheus expects.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class MetricsRegistry {
+
+	/**
+	 * The scale of a histogram of durations recorded in nanoseconds.
+	 */
+	public static final double NANOS_TO_SECONDS = 1e-9;
+
+	private static final String[] QUANTILES = { "0.5", "0.9", "0.99", "0.999" };
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+	private static final String[] PERCENTILE_SUFFIXES = { "_p50", "_p90", "_p99", "_p999" };
+
+	/**
+	 * A registered metric.
+	 */
+	private static abstract class Metric {
+		private final String name;
+		private final String help;
+		private final String type;
+
+		private Metric(String name_, String help_, String type_) {
+			name = name_;
+			help = help_;
+			type = type_;
+		}
+
+		/**
+		 * Writes the samples of the metric.
+		 */
+		abstract void writeSamples(StringBuilder out);
+
+		/**
+		 * Puts the current values of the metric, by attribute name.
+		 */
+		abstract void readValues(Map<String, Object> values);
+	}
+
+	private final List<Metric> metrics = new CopyOnWriteArrayList<>();
+
+	public Counter counter(String name, String help) {
+		Counter counter = new Counter();
+		register(new Metric(name, help, "counter") {
+			@Override
+			void writeSamples(StringBuilder out) {
+				sample(out, name, null, counter.get());
+			}
+
+			@Override
+			void readValues(Map<String, Object> values) {
+				values.put(name, counter.get());
+			}
+		});
+		return counter;
+	}
+
+	/**
+	 * @param label the name of the label which tells the constants apart
+	 */
+	public <E extends Enum<E>> EnumCounter<E> enumCounter(String name, String help, String label, Class<E> type) {
+		EnumCounter<E> counter = new EnumCounter<>(type);
+		register(new Metric(name, help, "counter") {
+			@Override
+			void writeSamples(StringBuilder out) {
+				for (E e : type.getEnumConstants()) {
+					sample(out, name, label + "=\"" + e.name() + "\"", counter.get(e));
+				}
+			}
+
+			@Override
+			void readValues(Map<String, Object> values) {
+				for (E e : type.getEnumConstants()) {
+					values.put(name + "_" + e.name(), counter.get(e));
+				}
+			}
+		});
+		return counter;
+	}
+
+	public Gauge gauge(String name, String help) {
+		Gauge gauge = new Gauge();
+		register(new Metric(name, help, "gauge") {
+			@Override
+			void writeSamples(StringBuilder out) {
+				sample(out, name, null, gauge.get());
+			}
+
+			@Override
+			void readValues(Map<String, Object> values) {
+				values.put(name, gauge.get());
+			}
+		});
+		return gauge;
+	}
+
+	/**
+	 * @param scale what the recorded values are multiplied by when exported,
+	 * 	e.g. {@link #NANOS_TO_SECONDS}
+	 */
+	public Histogram histogram(String name, String help, double scale) {
+		Histogram histogram = new Histogram();
+		register(new Metric(name, help, "summary") {
+			@Override
+			void writeSamples(StringBuilder out) {
+				for (int i = 0; i < QUANTILES.length; i++) {
+					sample(out, name, "quantile=\"" + QUANTILES[i] + "\"", histogram.getPercentile(PERCENTILES[i]) * scale);
+				}
+				sample(out, name + "_sum", null, histogram.getSum() * scale);
+				sample(out, name + "_count", null, histogram.getCount());
+			}
+
+			@Override
+			void readValues(Map<String, Object> values) {
+				values.put(name + "_count", histogram.getCount());
+				values.put(name + "_sum", histogram.getSum() * scale);
+				for (int i = 0; i < PERCENTILES.length; i++) {
+					values.put(name + PERCENTILE_SUFFIXES[i], histogram.getPercentile(PERCENTILES[i]) * scale);
+				}
+				values.put(name + "_max", histogram.getMax() * scale);
+			}
+		});
+		return histogram;
+	}
+
+	private synchronized void register(Metric metric) {
+		for (Metric m : metrics) {
+			if (m.name.equals(metric.name)) {
+				throw new IllegalArgumentException("A metric named " + metric.name + " already exists");
+			}
+		}
+		metrics.add(metric);
+	}
+
+	private static void sample(StringBuilder out, String name, String labels, long value) {
+		sampleName(out, name, labels).append(value).append('\n');
+	}
+
+	private static void sample(StringBuilder out, String name, String labels, double value) {
+		sampleName(out, name, labels).append(value).append('\n');
+	}
+
+	private static StringBuilder sampleName(StringBuilder out, String name, String labels) {
+		out.append(name);
+		if (labels != null) {
+			out.append('{').append(labels).append('}');
+		}
+		return out.append(' ');
+	}
+
+	/**
+	 * Writes every metric in the Prometheus text format.
+	 */
+	public void writePrometheus(StringBuilder out) {
+		for (Metric m : metrics) {
+			out.append("# HELP ").append(m.name).append(' ')
+					.append(m.help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+			out.append("# TYPE ").append(m.name).append(' ').append(m.type).append('\n');
+			m.writeSamples(out);
+		}
+	}
+
+	/**
+	 * @return the current value of every metric, by attribute name: a counter
+	 * 	or a gauge by its name, the count of each constant of an enum counter
+	 * 	by the counter's name and the constant's, and the count, sum, quantiles
+	 * 	(e.g. "_p99") and maximum of a histogram by its name and a suffix.
+	 */
+	public Map<String, Object> getValues() {
+		Map<String, Object> values = new LinkedHashMap<>();
+		for (Metric m : metrics) {
+			m.readValues(values);
+		}
+		return values;
+	}
+
+	/**
+	 * Exposes the metrics as the attributes of an MBean of the platform's
+	 * MBean server, which e.g. JConsole shows.
+	 * @param objectName e.g. "ankhmorpork:type=Metrics"
+	 * @return false if the MBean could not be registered, e.g. because one
+	 * 	already is under that name.
+	 */
+	public boolean registerMBean(String objectName) {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			server.registerMBean(new RegistryMBean(this), new ObjectName(objectName));
+			return true;
+		} catch (JMException e) {
+			System.out.println("The metrics could not be registered as " + objectName + ": " + e.getMessage());
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <b> Serves the metrics of a {@link MetricsRegistry} for Prometheus to scrape. </b>
+ * <p>
+ * GET /metrics answers with the metrics in the Prometheus text format. The
+ * scrapes are handled one at a time, on a thread of their own, so they
+ * never hold up the games. Other views of the server for its operators,
+ * e.g. the traces of its tables, can be served next to the metrics (see
+ * {@link #serve(String, HttpHandler)}).
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class PrometheusEndpoint implements AutoCloseable {
+
+	public static final int DEFAULT_PORT = 6490;
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final MetricsRegistry registry;
+
+	/**
+	 * Starts serving.
+	 * @param address the address to listen on; port 0 picks a free port
+	 */
+	public PrometheusEndpoint(InetSocketAddress address, MetricsRegistry registry_) throws IOException {
+		registry = registry_;
+		executor = Executors.newSingleThreadExecutor(r -> {
+			Thread t = new Thread(r, "prometheus-endpoint");
+			t.setDaemon(true);
+			return t;
+		});
+		server = HttpServer.create(address, 0);
+		server.setExecutor(executor);
+		server.createContext("/metrics", this::scrape);
+		server.start();
+	}
+
+	/**
+	 * Serves the given path with the handler, on the thread of the scrapes.
+	 */
+	public void serve(String path, HttpHandler handler) {
+		server.createContext(path, handler);
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	private void scrape(HttpExchange exchange) throws IOException {
+		try {
+			if (!exchange.getRequestMethod().equals("GET")) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			StringBuilder text = new StringBuilder();
+			registry.writePrometheus(text);
+			byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+}
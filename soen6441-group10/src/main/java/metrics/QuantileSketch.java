@@ -0,0 +1,121 @@
+package metrics;
+
+/**
+ * <b> Counts values in the buckets of a {@link Histogram}, for one thread. </b>
+ * <p>
+ * The sketch keeps the same buckets of logarithmic width as the histogram,
+ * so its quantiles are known to within about 6% and it takes a few
+ * kilobytes whatever the number of values, but it counts negative values as
+ * well and, since only one thread records into it, without any atomic
+ * operation. Sketches are merged by adding up their buckets, so each thread
+ * of a simulation keeps its own and they are merged when the results are
+ * wanted.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class QuantileSketch {
+
+	private final long[] positive = new long[Histogram.BUCKETS];
+	/** The buckets of the magnitudes of the negative values, once there are any. */
+	private long[] negative;
+	private long count;
+	private long min = Long.MAX_VALUE;
+	private long max = Long.MIN_VALUE;
+
+	public void record(long value) {
+		if (value >= 0) {
+			positive[Histogram.bucketOf(value)]++;
+		} else {
+			if (negative == null) {
+				negative = new long[Histogram.BUCKETS];
+			}
+			negative[Histogram.bucketOf(value == Long.MIN_VALUE ? Long.MAX_VALUE : -value)]++;
+		}
+		count++;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * Adds the values counted by the given sketch to this one.
+	 */
+	public void merge(QuantileSketch other) {
+		for (int i = 0; i < positive.length; i++) {
+			positive[i] += other.positive[i];
+		}
+		if (other.negative != null) {
+			if (negative == null) {
+				negative = new long[Histogram.BUCKETS];
+			}
+			for (int i = 0; i < negative.length; i++) {
+				negative[i] += other.negative[i];
+			}
+		}
+		count += other.count;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+	}
+
+	public QuantileSketch copy() {
+		QuantileSketch copy = new QuantileSketch();
+		copy.merge(this);
+		return copy;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the smallest value counted, or 0 if none was.
+	 */
+	public long getMin() {
+		return count == 0 ? 0 : min;
+	}
+
+	/**
+	 * @return the largest value counted, or 0 if none was.
+	 */
+	public long getMax() {
+		return count == 0 ? 0 : max;
+	}
+
+	/**
+	 * @param quantile between 0 and 1
+	 * @return a value which at least the given fraction of the values counted
+	 * 	are not above, or 0 if none was counted.
+	 */
+	public long getQuantile(double quantile) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(count * quantile));
+		long seen = 0;
+		if (negative != null) {
+			// From the most negative values up
+			for (int i = negative.length - 1; i >= 0; i--) {
+				seen += negative[i];
+				if (seen >= rank) {
+					long lowestMagnitude = i == 0 ? 0 : Histogram.highestOf(i - 1) + 1;
+					return Math.max(Math.min(-lowestMagnitude, max), min);
+				}
+			}
+		}
+		for (int i = 0; i < positive.length; i++) {
+			seen += positive[i];
+			if (seen >= rank) {
+				return Math.max(Math.min(Histogram.highestOf(i), max), min);
+			}
+		}
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("p5 %d  p25 %d  p50 %d  p75 %d  p95 %d  (min %d, max %d)", getQuantile(0.05),
+				getQuantile(0.25), getQuantile(0.5), getQuantile(0.75), getQuantile(0.95), getMin(), getMax());
+	}
+
+}
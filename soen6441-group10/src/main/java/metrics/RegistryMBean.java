@@ -0,0 +1,83 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.ReflectionException;
+
+/**
+ * <b> The metrics of a {@link MetricsRegistry} as read-only MBean attributes. </b>
+ * <p>
+ * The attributes are those of {@link MetricsRegistry#getValues()}, read
+ * when they are asked for.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+class RegistryMBean implements DynamicMBean {
+
+	private final MetricsRegistry registry;
+
+	RegistryMBean(MetricsRegistry registry_) {
+		registry = registry_;
+	}
+
+	@Override
+	public Object getAttribute(String attribute) throws AttributeNotFoundException {
+		Object value = registry.getValues().get(attribute);
+		if (value == null) {
+			throw new AttributeNotFoundException("No metric " + attribute);
+		}
+		return value;
+	}
+
+	@Override
+	public AttributeList getAttributes(String[] attributes) {
+		Map<String, Object> values = registry.getValues();
+		AttributeList list = new AttributeList();
+		for (String a : attributes) {
+			Object value = values.get(a);
+			if (value != null) {
+				list.add(new Attribute(a, value));
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException("The metrics are read-only");
+	}
+
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList();
+	}
+
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException,
+			ReflectionException {
+		throw new ReflectionException(new NoSuchMethodException(actionName));
+	}
+
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		List<MBeanAttributeInfo> attributes = new ArrayList<>();
+		for (Map.Entry<String, Object> e : registry.getValues().entrySet()) {
+			attributes.add(new MBeanAttributeInfo(e.getKey(), e.getValue().getClass().getName(), e.getKey(),
+					true, false, false));
+		}
+		return new MBeanInfo(getClass().getName(), "The metrics of the game engine",
+				attributes.toArray(new MBeanAttributeInfo[attributes.size()]), null, null, null);
+	}
+
+}
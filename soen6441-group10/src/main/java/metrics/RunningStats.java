@@ -0,0 +1,97 @@
+package metrics;
+
+/**
+ * <b> The count, mean and variance of a stream of values, for one thread. </b>
+ * <p>
+ * The mean and variance are updated with each value with Welford's method,
+ * which stays accurate over billions of values where summing the squares
+ * would not. Two streams are merged with the pairwise formula of Chan et
+ * al., so each thread of a simulation keeps its own and they are merged
+ * when the results are wanted.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class RunningStats {
+
+	private long count;
+	private double mean;
+	/** The sum of the squared differences from the mean. */
+	private double m2;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+
+	public void record(double value) {
+		count++;
+		double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * Adds the values of the given stream to this one.
+	 */
+	public void merge(RunningStats other) {
+		if (other.count == 0) {
+			return;
+		}
+		long total = count + other.count;
+		double delta = other.mean - mean;
+		mean += delta * other.count / total;
+		m2 += other.m2 + delta * delta * count * other.count / total;
+		count = total;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+	}
+
+	public RunningStats copy() {
+		RunningStats copy = new RunningStats();
+		copy.merge(this);
+		return copy;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the mean of the values, or 0 if there are none.
+	 */
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+	 * @return the sample variance of the values, or 0 if there are fewer than two.
+	 */
+	public double getVariance() {
+		return count < 2 ? 0 : m2 / (count - 1);
+	}
+
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	/**
+	 * @return the smallest value, or 0 if there are none.
+	 */
+	public double getMin() {
+		return count == 0 ? 0 : min;
+	}
+
+	/**
+	 * @return the largest value, or 0 if there are none.
+	 */
+	public double getMax() {
+		return count == 0 ? 0 : max;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("mean %.2f  sd %.2f  (n %d)", getMean(), getStandardDeviation(), count);
+	}
+
+}
@@ -0,0 +1,33 @@
+package profiling;
+
+/**
+ * <b> The rules whose effects a {@link RuleProfiler} times. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public enum EffectKind {
+
+	/** The text of a green player card, named after the card. */
+	PLAYER_CARD_TEXT("text"),
+	/** The action of a symbol, named after the symbol. */
+	SYMBOL("symbol"),
+	/** The action of a city area card, named after the area. */
+	CITY_AREA("city area"),
+	/** The effect of a random event, named after the event. */
+	RANDOM_EVENT("random event");
+
+	private final String label;
+
+	private EffectKind(String label_) {
+		label = label_;
+	}
+
+	/**
+	 * @return how the effects of this kind are labelled in a report.
+	 */
+	public String getLabel() {
+		return label;
+	}
+
+}
@@ -0,0 +1,179 @@
+package profiling;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import card.EffectTable;
+import card.city.AnkhMorporkArea;
+import card.player.GreenPlayerCard;
+import card.player.Symbol;
+import card.random.RandomEventCard;
+
+/**
+ * <b> Measures what looking the effects up in the {@link EffectTable} costs
+ * the games played without the profiler. </b>
+ * <p>
+ * While no profiler is installed, the cards give their original effects after
+ * reading the table and finding it empty. For each kind of effect, the
+ * benchmark gets the effect of every card from the card over and over, then
+ * reads the same effects from an array, as the cards did before there was a
+ * table; the difference is the cost of the lookup. The lookups only take a
+ * few nanoseconds, where playing an effect takes microseconds (see
+ * {@link load.RandomEventBenchmark} and {@link RuleProfiler#report()}).
+ * </p>
+ * Usage:
+ * <pre>
+ * java profiling.EffectLookupBenchmark [lookups per kind]
+ * </pre>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class EffectLookupBenchmark {
+
+	private final int lookups;
+	private final Map<EffectKind, long[]> nanos = new EnumMap<>(EffectKind.class);
+
+	/**
+	 * The number of effects which were not the original ones, so that the
+	 * lookups are not optimized away.
+	 */
+	private long different;
+
+	/**
+	 * @param lookups_ the number of effects got of each kind
+	 */
+	public EffectLookupBenchmark(int lookups_) {
+		lookups = lookups_;
+	}
+
+	/**
+	 * Runs the benchmark on this thread.
+	 * @throws IllegalStateException if the effects are wrapped
+	 */
+	public EffectLookupBenchmark run() {
+		if (EffectTable.isWrapped()) {
+			throw new IllegalStateException("The effects must not be wrapped while they are measured");
+		}
+		GreenPlayerCard[] cards = GreenPlayerCard.values();
+		BiConsumer<?, ?>[] texts = new BiConsumer<?, ?>[cards.length];
+		for (int i = 0; i < cards.length; i++) {
+			texts[i] = cards[i].getText();
+		}
+		BiConsumer<?, ?>[] copies = texts.clone();
+		long start = System.nanoTime();
+		for (int n = 0; n < lookups; n += cards.length) {
+			for (int i = 0; i < cards.length; i++) {
+				different += cards[i].getText() != texts[i] ? 1 : 0;
+			}
+		}
+		long looked = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int n = 0; n < lookups; n += cards.length) {
+			for (int i = 0; i < cards.length; i++) {
+				different += copies[i] != texts[i] ? 1 : 0;
+			}
+		}
+		nanos.put(EffectKind.PLAYER_CARD_TEXT, new long[] { looked, System.nanoTime() - start });
+
+		Symbol[] symbols = Symbol.values();
+		BiConsumer<?, ?>[] actions = new BiConsumer<?, ?>[symbols.length];
+		for (int i = 0; i < symbols.length; i++) {
+			actions[i] = symbols[i].getGameAction();
+		}
+		copies = actions.clone();
+		start = System.nanoTime();
+		for (int n = 0; n < lookups; n += symbols.length) {
+			for (int i = 0; i < symbols.length; i++) {
+				different += symbols[i].getGameAction() != actions[i] ? 1 : 0;
+			}
+		}
+		looked = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int n = 0; n < lookups; n += symbols.length) {
+			for (int i = 0; i < symbols.length; i++) {
+				different += copies[i] != actions[i] ? 1 : 0;
+			}
+		}
+		nanos.put(EffectKind.SYMBOL, new long[] { looked, System.nanoTime() - start });
+
+		AnkhMorporkArea[] areas = AnkhMorporkArea.values();
+		actions = new BiConsumer<?, ?>[areas.length];
+		for (int i = 0; i < areas.length; i++) {
+			actions[i] = AnkhMorporkArea.getAreaAction(areas[i]);
+		}
+		copies = actions.clone();
+		start = System.nanoTime();
+		for (int n = 0; n < lookups; n += areas.length) {
+			for (int i = 0; i < areas.length; i++) {
+				different += AnkhMorporkArea.getAreaAction(areas[i]) != actions[i] ? 1 : 0;
+			}
+		}
+		looked = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int n = 0; n < lookups; n += areas.length) {
+			for (int i = 0; i < areas.length; i++) {
+				different += copies[i] != actions[i] ? 1 : 0;
+			}
+		}
+		nanos.put(EffectKind.CITY_AREA, new long[] { looked, System.nanoTime() - start });
+
+		RandomEventCard[] events = RandomEventCard.values();
+		actions = new BiConsumer<?, ?>[events.length];
+		for (int i = 0; i < events.length; i++) {
+			actions[i] = events[i].getGameAction();
+		}
+		copies = actions.clone();
+		start = System.nanoTime();
+		for (int n = 0; n < lookups; n += events.length) {
+			for (int i = 0; i < events.length; i++) {
+				different += events[i].getGameAction() != actions[i] ? 1 : 0;
+			}
+		}
+		looked = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int n = 0; n < lookups; n += events.length) {
+			for (int i = 0; i < events.length; i++) {
+				different += copies[i] != actions[i] ? 1 : 0;
+			}
+		}
+		nanos.put(EffectKind.RANDOM_EVENT, new long[] { looked, System.nanoTime() - start });
+		return this;
+	}
+
+	/**
+	 * @return the nanoseconds the lookup of an effect of the given kind adds
+	 * 	to reading the effect from an array.
+	 */
+	public double getLookupNanos(EffectKind kind) {
+		long[] times = nanos.get(kind);
+		if (times == null) {
+			return 0;
+		}
+		return (times[0] - times[1]) / (double) lookups;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		s.append(String.format("%d lookups per kind%n", lookups));
+		for (Map.Entry<EffectKind, long[]> e : nanos.entrySet()) {
+			s.append(String.format("%-12s %8.2f ns/lookup %8.2f ns/array read %+8.2f ns%n", e.getKey().getLabel(),
+					e.getValue()[0] / (double) lookups, e.getValue()[1] / (double) lookups,
+					getLookupNanos(e.getKey())));
+		}
+		if (different != 0) {
+			s.append(String.format("%d effects were not the original ones%n", different));
+		}
+		return s.toString();
+	}
+
+	public static void main(String[] args) {
+		int lookups = args.length > 0 ? Integer.parseInt(args[0]) : 100000000;
+		// A first, smaller run warms up the code
+		new EffectLookupBenchmark(Math.min(lookups, 10000000)).run();
+		System.out.print(new EffectLookupBenchmark(lookups).run());
+	}
+
+}
@@ -0,0 +1,86 @@
+package profiling;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <b> The calls of one effect counted by a {@link RuleProfiler}. </b>
+ * <p>
+ * The total time and bytes of a call include those of the effects it plays
+ * in turn, e.g. a card text playing a random event, and its self time and
+ * bytes do not, so the self figures of all the effects add up to the time
+ * and bytes spent in effects. The counters are {@link LongAdder}s, which
+ * the threads of a simulation add to without waiting on each other.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class EffectProfile {
+
+	private final EffectKind kind;
+	private final String name;
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder nanos = new LongAdder();
+	private final LongAdder selfNanos = new LongAdder();
+	private final LongAdder bytes = new LongAdder();
+	private final LongAdder selfBytes = new LongAdder();
+
+	EffectProfile(EffectKind kind_, String name_) {
+		kind = kind_;
+		name = name_;
+	}
+
+	void record(long nanos_, long selfNanos_, long bytes_, long selfBytes_) {
+		calls.increment();
+		nanos.add(nanos_);
+		selfNanos.add(selfNanos_);
+		bytes.add(bytes_);
+		selfBytes.add(selfBytes_);
+	}
+
+	void reset() {
+		calls.reset();
+		nanos.reset();
+		selfNanos.reset();
+		bytes.reset();
+		selfBytes.reset();
+	}
+
+	public EffectKind getKind() {
+		return kind;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getCalls() {
+		return calls.sum();
+	}
+
+	public long getNanos() {
+		return nanos.sum();
+	}
+
+	public long getSelfNanos() {
+		return selfNanos.sum();
+	}
+
+	/**
+	 * @return the bytes allocated by the calls, or 0 if the virtual machine
+	 * 	does not count them (see {@link metrics.AllocationMeter#isSupported()}).
+	 */
+	public long getBytes() {
+		return bytes.sum();
+	}
+
+	public long getSelfBytes() {
+		return selfBytes.sum();
+	}
+
+	@Override
+	public String toString() {
+		return kind.getLabel() + " " + name;
+	}
+
+}
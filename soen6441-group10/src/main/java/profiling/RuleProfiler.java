@@ -0,0 +1,221 @@
+package profiling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+import metrics.AllocationMeter;
+import card.EffectTable;
+import card.city.AnkhMorporkArea;
+import card.player.GreenPlayerCard;
+import card.player.Symbol;
+
+/**
+ * <b> Attributes the time and the allocations of the rule engine to its effects. </b>
+ * <p>
+ * Once installed, the profiler wraps the text of every green player card,
+ * the action of every symbol and city area card and the effect of every
+ * random event in a lambda which counts its calls, the time they take and
+ * the bytes they allocate (see {@link EffectProfile}); {@link #report()}
+ * then ranks the effects by the time spent in them. The wrapped effects
+ * are published at once to the games of every thread (see
+ * {@link EffectTable}), and uninstalling the profiler puts the original
+ * lambdas back, so a game played without it runs the very same code as if
+ * there were none.
+ * </p>
+ * <p>
+ * The time is wall-clock time, from {@link System#nanoTime()}: reading the
+ * CPU time of a thread takes a system call, which would cost more than most
+ * effects, and in a simulation, whose decisions are instant, an effect runs
+ * on the CPU for as long as it takes.
+ * </p>
+ * <pre>
+ * try (RuleProfiler profiler = new RuleProfiler().install()) {
+ * 	new Simulation(10000, 4).run();
+ * 	System.out.print(profiler.report());
+ * }
+ * </pre>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class RuleProfiler implements AutoCloseable {
+
+	private static final AtomicReference<RuleProfiler> INSTALLED = new AtomicReference<>();
+	private static final boolean COUNT_BYTES = AllocationMeter.isSupported();
+
+	/** The effects in the order they were wrapped, by kind and name. */
+	private final Map<String, EffectProfile> profiles = new LinkedHashMap<>();
+	private final ThreadLocal<Frames> frames = ThreadLocal.withInitial(Frames::new);
+
+	/**
+	 * Wraps the effects of the rules, for the games being played as well.
+	 * @return this profiler
+	 * @throws IllegalStateException if a profiler is installed already, or
+	 * 	the effects are wrapped by something else
+	 */
+	public RuleProfiler install() {
+		if (!INSTALLED.compareAndSet(null, this)) {
+			throw new IllegalStateException("A rule profiler is installed already");
+		}
+		try {
+			EffectTable.wrap(new EffectTable.Wrapper() {
+				@Override
+				public <T, U> BiConsumer<T, U> wrap(Enum<?> effect, BiConsumer<T, U> action) {
+					return RuleProfiler.this.wrap(kindOf(effect), effect, action);
+				}
+			});
+		} catch (IllegalStateException e) {
+			INSTALLED.set(null);
+			throw e;
+		}
+		return this;
+	}
+
+	private static EffectKind kindOf(Enum<?> effect) {
+		if (effect instanceof GreenPlayerCard) {
+			return EffectKind.PLAYER_CARD_TEXT;
+		} else if (effect instanceof Symbol) {
+			return EffectKind.SYMBOL;
+		} else if (effect instanceof AnkhMorporkArea) {
+			return EffectKind.CITY_AREA;
+		}
+		return EffectKind.RANDOM_EVENT;
+	}
+
+	/**
+	 * Puts the original effects back, if this profiler is installed. Its
+	 * counts are kept.
+	 */
+	public void uninstall() {
+		if (INSTALLED.get() != this) {
+			return;
+		}
+		EffectTable.unwrap();
+		INSTALLED.set(null);
+	}
+
+	@Override
+	public void close() {
+		uninstall();
+	}
+
+	public boolean isInstalled() {
+		return INSTALLED.get() == this;
+	}
+
+	/**
+	 * Sets the counts of all the effects back to 0, e.g. after warming up.
+	 */
+	public void reset() {
+		for (EffectProfile p : profiles.values()) {
+			p.reset();
+		}
+	}
+
+	private <T, U> BiConsumer<T, U> wrap(EffectKind kind, Enum<?> effect, BiConsumer<T, U> action) {
+		if (action == null) {
+			return null;
+		}
+		EffectProfile profile = profiles.computeIfAbsent(kind.name() + " " + effect.name(),
+				key -> new EffectProfile(kind, effect.name()));
+		return (t, u) -> {
+			Frames f = frames.get();
+			f.push();
+			long bytes = COUNT_BYTES ? AllocationMeter.getAllocatedBytes() : 0;
+			long start = System.nanoTime();
+			try {
+				action.accept(t, u);
+			} finally {
+				long nanos = System.nanoTime() - start;
+				f.pop(profile, nanos, COUNT_BYTES ? AllocationMeter.getAllocatedBytes() - bytes : 0);
+			}
+		};
+	}
+
+	/**
+	 * @return the effects which were called, from the one which took the
+	 * 	most time of its own to the one which took the least.
+	 */
+	public List<EffectProfile> getProfiles() {
+		List<EffectProfile> called = new ArrayList<>();
+		for (EffectProfile p : profiles.values()) {
+			if (p.getCalls() > 0) {
+				called.add(p);
+			}
+		}
+		Collections.sort(called, Comparator.comparingLong(EffectProfile::getSelfNanos).reversed());
+		return called;
+	}
+
+	/**
+	 * @return the profile of the given effect, or null if it was never wrapped.
+	 */
+	public EffectProfile getProfile(EffectKind kind, Enum<?> effect) {
+		return profiles.get(kind.name() + " " + effect.name());
+	}
+
+	/**
+	 * @return a table of the effects called, ranked as by
+	 * 	{@link #getProfiles()}, with their calls, their own time in all and
+	 * 	per call, their total time per call and their own and total bytes
+	 * 	allocated per call.
+	 */
+	public String report() {
+		List<EffectProfile> ranked = getProfiles();
+		long selfTotal = 0;
+		long calls = 0;
+		for (EffectProfile p : ranked) {
+			selfTotal += p.getSelfNanos();
+			calls += p.getCalls();
+		}
+		StringBuilder s = new StringBuilder();
+		s.append(String.format("%-46s %10s %10s %6s %11s %11s %10s %10s%n", "effect", "calls", "self ms", "self",
+				"self us/op", "total us/op", "self B/op", "total B/op"));
+		for (EffectProfile p : ranked) {
+			double n = p.getCalls();
+			s.append(String.format("%-46s %10d %10.1f %5.1f%% %11.2f %11.2f %10.0f %10.0f%n", p, p.getCalls(),
+					p.getSelfNanos() / 1e6, selfTotal == 0 ? 0 : 100.0 * p.getSelfNanos() / selfTotal,
+					p.getSelfNanos() / n / 1e3, p.getNanos() / n / 1e3, p.getSelfBytes() / n, p.getBytes() / n));
+		}
+		s.append(String.format("%-46s %10d %10.1f%n", "all effects", calls, selfTotal / 1e6));
+		if (!COUNT_BYTES) {
+			s.append("The virtual machine does not count the bytes allocated.\n");
+		}
+		return s.toString();
+	}
+
+	/**
+	 * The time and bytes of the effects called by the effects being played
+	 * on a thread, by depth, to take them out of the time and bytes of the
+	 * effects calling them.
+	 */
+	private static final class Frames {
+		private long[] childNanos = new long[16];
+		private long[] childBytes = new long[16];
+		private int depth;
+
+		void push() {
+			if (++depth == childNanos.length) {
+				childNanos = Arrays.copyOf(childNanos, depth * 2);
+				childBytes = Arrays.copyOf(childBytes, depth * 2);
+			}
+			childNanos[depth] = 0;
+			childBytes[depth] = 0;
+		}
+
+		void pop(EffectProfile profile, long nanos, long bytes) {
+			profile.record(nanos, nanos - childNanos[depth], bytes, bytes - childBytes[depth]);
+			depth--;
+			childNanos[depth] += nanos;
+			childBytes[depth] += bytes;
+		}
+	}
+
+}
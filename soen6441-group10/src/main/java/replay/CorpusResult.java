@@ -0,0 +1,73 @@
+package replay;
+
+/**
+ * What happened to one game of the golden corpus.
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class CorpusResult {
+
+	public enum Status {
+		/** The game ended up as expected. */
+		PASSED,
+		/** The game could not be played or did not end up as expected. */
+		FAILED,
+		/** There is no expectation for the game yet. */
+		UNVERIFIED,
+		/** The file is not a game. */
+		SKIPPED
+	}
+
+	private final String name;
+	private final Status status;
+	private final Outcome outcome;
+	private final String message;
+	private final long nanos;
+
+	public CorpusResult(String name_, Status status_, Outcome outcome_, String message_, long nanos_) {
+		name = name_;
+		status = status_;
+		outcome = outcome_;
+		message = message_;
+		nanos = nanos_;
+	}
+
+	/**
+	 * @return the path of the game, relative to the corpus directory.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return the outcome of the game, or null if it could not be played.
+	 */
+	public Outcome getOutcome() {
+		return outcome;
+	}
+
+	/**
+	 * @return why the game failed or was skipped, null otherwise.
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * @return how long it took to load and play the game, in nanoseconds.
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+
+	@Override
+	public String toString() {
+		return name + ": " + status + (message == null ? "" : " (" + message + ")");
+	}
+
+}
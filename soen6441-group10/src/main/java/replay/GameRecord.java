@@ -0,0 +1,108 @@
+package replay;
+
+import gameplay.Game;
+import gameplay.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import util.Color;
+
+/**
+ * <b> A game as it was played: enough to play it again, decision by decision. </b>
+ * <p>
+ * A game is entirely determined by the seed of the die (which also shuffles
+ * the decks), the names of the players and the decisions they took, in order.
+ * The points of each player and the winners when the recording stopped are
+ * kept as well, to check that the game replays the same way.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class GameRecord {
+
+	private long seed;
+
+	private String[] playerNames;
+
+	private List<String> decisions = new ArrayList<>();
+
+	/**
+	 * The number of turns played.
+	 */
+	private int turns;
+
+	private Map<Color, Integer> points = new EnumMap<>(Color.class);
+
+	private List<Color> winners = new ArrayList<>();
+
+	public GameRecord() {
+	}
+
+	public GameRecord(long seed_, String[] playerNames_) {
+		seed = seed_;
+		playerNames = playerNames_.clone();
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public String[] getPlayerNames() {
+		return playerNames.clone();
+	}
+
+	/**
+	 * @return the decisions taken in the game, which are appended to while
+	 * the game is being recorded.
+	 */
+	public List<String> getDecisions() {
+		return decisions;
+	}
+
+	public int getTurns() {
+		return turns;
+	}
+
+	/**
+	 * @return the points of each player when the recording stopped.
+	 */
+	public Map<Color, Integer> getPoints() {
+		return Collections.unmodifiableMap(points);
+	}
+
+	/**
+	 * @return the winners, or an empty list if the game had not finished when
+	 * the recording stopped.
+	 */
+	public List<Color> getWinners() {
+		return Collections.unmodifiableList(winners);
+	}
+
+	/**
+	 * Records the end of a turn of the given game, along with the points and
+	 * winners at that point.
+	 */
+	public void turnPlayed(Game game) {
+		turns++;
+		points.clear();
+		points.putAll(pointsOf(game));
+		winners = new ArrayList<>(game.getWinners());
+	}
+
+	/**
+	 * @return the points of each player of the given game.
+	 */
+	public static Map<Color, Integer> pointsOf(Game game) {
+		Map<Color, Integer> points = new EnumMap<>(Color.class);
+		for (Player p : game.getPlayers()) {
+			points.put(p.getColor(), game.getPlayerPoints(p));
+		}
+		return points;
+	}
+
+}
@@ -0,0 +1,319 @@
+package replay;
+
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+import gameplay.GameStatus;
+import io.GameFileManager;
+import io.JSONFileManager;
+import io.export.ExportFormat;
+import io.export.TurnFactExporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.gson.JsonParseException;
+
+import replay.CorpusResult.Status;
+
+/**
+ * <b> Regression harness which plays every game of a corpus and compares how
+ * they end up with the stored expectations. </b>
+ * <p>
+ * The corpus is a directory (e.g. src/resources) with, at any depth:
+ * <ul>
+ * 	<li>game saves, which are played forward from where they were saved, with
+ * 		the die and the decisions seeded from the save's name;</li>
+ * 	<li>recorded games (named *{@value #RECORD_SUFFIX}), which are replayed;</li>
+ * 	<li>the expected outcome of each game, in {@value #EXPECTATIONS_FILE}.</li>
+ * </ul>
+ * The files written by the unit tests ({@value #TEST_FILE_PREFIX}*) change
+ * from one run to the next, so they are not part of the corpus.<br>
+ * The games are played on all the available processors and the slowest ones
+ * are reported, as they are the likeliest to hide a performance problem.<br>
+ * When the game's behavior is changed on purpose, the expectations are
+ * rewritten by running the harness with --update.<br>
+ * The facts of every turn played can be exported for analysis with
+ * --export (to a CSV file if its name ends with .csv).
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class GoldenCorpus {
+
+	public static final String EXPECTATIONS_FILE = "expectations.golden";
+	public static final String RECORD_SUFFIX = ".record.json";
+	public static final String TEST_FILE_PREFIX = "test_";
+
+	/**
+	 * The number of turns after which a save played forward is stopped if the
+	 * game has not finished.
+	 */
+	public static final int MAX_TURNS = 500;
+
+	private static final int SLOWEST_REPORTED = 10;
+
+	/**
+	 * The content of the expectations file.
+	 */
+	private static class Expectations {
+		private Map<String, Outcome> outcomes = new TreeMap<>();
+	}
+
+	private static final GameFileManager gameFileManager = new GameFileManager();
+	private static final JSONFileManager<GameRecord> recordFileManager = new JSONFileManager<>(GameRecord.class);
+	private static final JSONFileManager<Expectations> expectationsFileManager =
+			new JSONFileManager<>(Expectations.class);
+
+	private final Path directory;
+	private final Map<String, Outcome> expectations = new TreeMap<>();
+	private TurnFactExporter exporter;
+
+	/**
+	 * @param directory_ the corpus directory
+	 * @throws IOException if the expectations cannot be read
+	 */
+	public GoldenCorpus(Path directory_) throws IOException {
+		directory = directory_;
+		Path expectationsFile = directory.resolve(EXPECTATIONS_FILE);
+		if (Files.exists(expectationsFile)) {
+			try (Reader in = Files.newBufferedReader(expectationsFile, StandardCharsets.UTF_8)) {
+				expectations.putAll(expectationsFileManager.read(in).outcomes);
+			}
+		}
+	}
+
+	/**
+	 * @return the expected outcome of each game, by path relative to the corpus directory.
+	 */
+	public Map<String, Outcome> getExpectations() {
+		return expectations;
+	}
+
+	/**
+	 * @param exporter_ where the facts of the turns played are exported, or null
+	 */
+	public void setExporter(TurnFactExporter exporter_) {
+		exporter = exporter_;
+	}
+
+	/**
+	 * @return the files of the corpus, in a stable order.
+	 */
+	public List<Path> getFiles() throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			return files.filter(f -> f.toString().endsWith(".json")
+							&& !f.getFileName().toString().startsWith(TEST_FILE_PREFIX))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Plays every game of the corpus on the given number of threads. The games
+	 * show nothing: their bots drop the messages of the game.
+	 * @return the result of each game, in the order of {@link #getFiles()}.
+	 */
+	public List<CorpusResult> run(int threads) throws IOException {
+		List<Path> files = getFiles();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<CorpusResult>> futures = new ArrayList<>(files.size());
+			for (int i = 0; i < files.size(); i++) {
+				Path f = files.get(i);
+				long gameId = i;
+				futures.add(executor.submit(() -> play(f, gameId)));
+			}
+			List<CorpusResult> results = new ArrayList<>(futures.size());
+			for (Future<CorpusResult> f : futures) {
+				results.add(f.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while playing the corpus", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Loads and plays one game of the corpus.
+	 */
+	public CorpusResult play(Path file) {
+		return play(file, -1);
+	}
+
+	/**
+	 * @param gameId the id of the game in the exported facts
+	 */
+	private CorpusResult play(Path file, long gameId) {
+		String name = directory.relativize(file).toString().replace(File.separatorChar, '/');
+		long start = System.nanoTime();
+		Outcome outcome;
+		try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			if (name.endsWith(RECORD_SUFFIX)) {
+				Replay replay = new Replay(recordFileManager.read(in), Integer.MAX_VALUE);
+				if (exporter != null) {
+					replay.getGame().addListener(exporter.listenerFor(gameId));
+				}
+				replay.verify();
+				outcome = Outcome.of(replay.getGame(), replay.getTurn());
+			} else {
+				Game game = gameFileManager.read(in);
+				if (game.getPlayersMap() == null || game.getPlayersMap().isEmpty()) {
+					return new CorpusResult(name, Status.SKIPPED, null, "not a game", System.nanoTime() - start);
+				}
+				if (exporter != null) {
+					game.addListener(exporter.listenerFor(gameId));
+				}
+				outcome = playForward(game, name.hashCode());
+			}
+		} catch (JsonParseException e) {
+			return new CorpusResult(name, Status.SKIPPED, null, "not a game", System.nanoTime() - start);
+		} catch (IOException | RuntimeException e) {
+			return new CorpusResult(name, Status.FAILED, null, e.toString(), System.nanoTime() - start);
+		}
+		long nanos = System.nanoTime() - start;
+
+		Outcome expected = expectations.get(name);
+		if (expected == null) {
+			return new CorpusResult(name, Status.UNVERIFIED, outcome, null, nanos);
+		} else if (!expected.equals(outcome)) {
+			return new CorpusResult(name, Status.FAILED, outcome,
+					"expected " + expected + " but got " + outcome, nanos);
+		}
+		return new CorpusResult(name, Status.PASSED, outcome, null, nanos);
+	}
+
+	/**
+	 * Plays the given game forward until it finishes (or for {@value #MAX_TURNS}
+	 * turns), with the die and the decisions seeded from the given seed.
+	 */
+	public static Outcome playForward(Game game, long seed) {
+		game.setUI(new RandomUserInterface(seed));
+		Controller controller = new Controller(game);
+
+		Die die = Die.getDie();
+		Random previous = die.getRandom();
+		die.setSeed(seed);
+		try {
+			// As when a save is loaded to be played
+			controller.shuffleDecks();
+			int turns = 0;
+			boolean finished = game.getStatus() == GameStatus.FINISHED;
+			while (!finished && turns < MAX_TURNS) {
+				finished = controller.playTurn(controller.advanceToNextTurn());
+				turns++;
+			}
+			return Outcome.of(game, turns);
+		} finally {
+			die.setRandom(previous);
+		}
+	}
+
+	/**
+	 * Stores the outcomes of the given results as the new expectations.
+	 */
+	public void update(List<CorpusResult> results) throws IOException {
+		for (CorpusResult r : results) {
+			if (r.getOutcome() != null) {
+				expectations.put(r.getName(), r.getOutcome());
+			}
+		}
+		Expectations content = new Expectations();
+		content.outcomes.putAll(expectations);
+		Files.write(directory.resolve(EXPECTATIONS_FILE),
+				expectationsFileManager.toJson(content).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Prints a summary of the given results, the failures and the slowest games.
+	 */
+	public static void printReport(List<CorpusResult> results, long elapsedNanos, PrintStream out) {
+		Map<Status, Long> counts = results.stream()
+				.collect(Collectors.groupingBy(CorpusResult::getStatus, Collectors.counting()));
+		out.println(String.format("Golden corpus: %d files in %d ms - %d passed, %d failed, %d unverified, %d skipped",
+				results.size(), elapsedNanos / 1_000_000,
+				counts.getOrDefault(Status.PASSED, 0L), counts.getOrDefault(Status.FAILED, 0L),
+				counts.getOrDefault(Status.UNVERIFIED, 0L), counts.getOrDefault(Status.SKIPPED, 0L)));
+
+		for (CorpusResult r : results) {
+			if (r.getStatus() == Status.FAILED) {
+				out.println("FAILED " + r.getName() + ": " + r.getMessage());
+			}
+		}
+
+		out.println("Slowest games:");
+		results.stream()
+				.filter(r -> r.getStatus() != Status.SKIPPED)
+				.sorted(Comparator.comparingLong(CorpusResult::getNanos).reversed())
+				.limit(SLOWEST_REPORTED)
+				.forEach(r -> out.println(String.format("%10.2f ms  %s", r.getNanos() / 1e6, r.getName())));
+	}
+
+	/**
+	 * Plays the corpus and reports the results.<br>
+	 * Usage: GoldenCorpus [directory] [--update] [--export file]
+	 */
+	public static void main(String[] args) throws IOException {
+		Path directory = Paths.get("src/resources");
+		boolean update = false;
+		Path exportFile = null;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("--update")) {
+				update = true;
+			} else if (args[i].equals("--export") && i + 1 < args.length) {
+				exportFile = Paths.get(args[++i]);
+			} else {
+				directory = Paths.get(args[i]);
+			}
+		}
+
+		GoldenCorpus corpus = new GoldenCorpus(directory);
+		long start = System.nanoTime();
+		List<CorpusResult> results;
+		if (exportFile == null) {
+			results = corpus.run(Runtime.getRuntime().availableProcessors());
+		} else {
+			try (TurnFactExporter exporter = new TurnFactExporter(exportFile,
+					ExportFormat.forFileName(exportFile.toString()))) {
+				corpus.setExporter(exporter);
+				results = corpus.run(Runtime.getRuntime().availableProcessors());
+				if (exporter.getDroppedTurns() > 0) {
+					System.out.println(exporter.getDroppedTurns() + " turns could not be exported");
+				}
+			}
+		}
+		printReport(results, System.nanoTime() - start, System.out);
+
+		if (update) {
+			corpus.update(results);
+			System.out.println("Expectations updated in " + directory.resolve(EXPECTATIONS_FILE));
+		} else if (results.stream().anyMatch(r -> r.getStatus() == Status.FAILED)) {
+			System.exit(1);
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package replay;
+
+import gameplay.Game;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import util.Color;
+
+/**
+ * <b> Where a game stood after it was played forward: the number of turns
+ * played, the points of each player and the winners. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class Outcome {
+
+	private int turns;
+
+	private Map<Color, Integer> points = new EnumMap<>(Color.class);
+
+	private List<Color> winners = new ArrayList<>();
+
+	public Outcome() {
+	}
+
+	public Outcome(int turns_, Map<Color, Integer> points_, List<Color> winners_) {
+		turns = turns_;
+		points.putAll(points_);
+		winners.addAll(winners_);
+	}
+
+	/**
+	 * @param turns_ the number of turns the game was played for
+	 * @return the outcome of the given game, as of now.
+	 */
+	public static Outcome of(Game game, int turns_) {
+		return new Outcome(turns_, GameRecord.pointsOf(game), game.getWinners());
+	}
+
+	public int getTurns() {
+		return turns;
+	}
+
+	public Map<Color, Integer> getPoints() {
+		return points;
+	}
+
+	public List<Color> getWinners() {
+		return winners;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * turns + points.hashCode()) + winners.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Outcome)) {
+			return false;
+		}
+		Outcome other = (Outcome) obj;
+		return turns == other.turns && points.equals(other.points) && winners.equals(other.winners);
+	}
+
+	@Override
+	public String toString() {
+		return turns + " turns, points " + points + ", winners " + winners;
+	}
+
+}
@@ -0,0 +1,32 @@
+package replay;
+
+import io.PromptUserInterface;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <b> Takes every decision at random. </b>
+ * <p>
+ * The decisions come from the user interface's own random generator rather
+ * than the die's, so a game played with the same seeds always takes the
+ * same decisions.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class RandomUserInterface extends PromptUserInterface {
+
+	private final Random random;
+
+	public RandomUserInterface(long seed) {
+		random = new Random(seed);
+	}
+
+	@Override
+	protected String choose(String prompt, List<String> options) {
+		return options.get(random.nextInt(options.size()));
+	}
+
+}
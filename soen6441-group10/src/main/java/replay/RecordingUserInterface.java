@@ -0,0 +1,161 @@
+package replay;
+
+import gameplay.BoardArea;
+import gameplay.Game;
+import gameplay.Player;
+import io.PromptUserInterface;
+import io.UserInterface;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import util.Color;
+import card.Card;
+import card.city.AnkhMorporkArea;
+import card.player.GreenPlayerCard;
+
+/**
+ * <b> Writes down the decisions taken through another user interface. </b>
+ * <p>
+ * Each decision is written as the token a {@link PromptUserInterface} would
+ * answer, so that the recorded decisions can be given back to a
+ * {@link ScriptedUserInterface}. Decisions for which there was nothing to
+ * choose from are not recorded.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class RecordingUserInterface implements UserInterface {
+
+	private final UserInterface delegate;
+	private final List<String> decisions;
+
+	/**
+	 * @param delegate_ where the decisions are actually taken
+	 * @param decisions_ the list to which the decisions are appended
+	 */
+	public RecordingUserInterface(UserInterface delegate_, List<String> decisions_) {
+		delegate = delegate_;
+		decisions = decisions_;
+	}
+
+	public UserInterface getDelegate() {
+		return delegate;
+	}
+
+	private void record(String token) {
+		if (token != null) {
+			decisions.add(token);
+		}
+	}
+
+	private static String yesOrNo(boolean choice) {
+		return choice ? PromptUserInterface.YES : PromptUserInterface.NO;
+	}
+
+	@Override
+	public <C extends Card> C getCardChoice(Collection<C> cards, String message) {
+		C card = delegate.getCardChoice(cards, message);
+		record(card == null ? null : PromptUserInterface.tokenFor(card));
+		return card;
+	}
+
+	@Override
+	public AnkhMorporkArea getAreaChoice(Collection<AnkhMorporkArea> availableAreas,
+			String outputMsg, String inputMsg) {
+		AnkhMorporkArea area = delegate.getAreaChoice(availableAreas, outputMsg, inputMsg);
+		record(area == null ? null : area.name());
+		return area;
+	}
+
+	@Override
+	public BoardArea getAreaChoice(Map<Integer, BoardArea> availableAreas,
+			String outputMsg, String inputMsg, boolean details,
+			ArrayList<Integer> excludeList) {
+		BoardArea area = delegate.getAreaChoice(availableAreas, outputMsg, inputMsg, details, excludeList);
+		record(area == null ? null : area.getArea().name());
+		return area;
+	}
+
+	@Override
+	public String getAssassinationChoice(BoardArea trouble, Player killer) {
+		String choice = delegate.getAssassinationChoice(trouble, killer);
+		record(choice);
+		return choice;
+	}
+
+	@Override
+	public Player getPlayer(Map<Color, Player> playerMap, ArrayList<Color> excludeList) {
+		Player player = delegate.getPlayer(playerMap, excludeList);
+		record(player == null ? null : player.getColor().name());
+		return player;
+	}
+
+	@Override
+	public boolean getUserYesOrNoChoice(String msg) {
+		boolean choice = delegate.getUserYesOrNoChoice(msg);
+		record(yesOrNo(choice));
+		return choice;
+	}
+
+	@Override
+	public boolean getUserYesOrNoChoice(Player p, String msg) {
+		boolean choice = delegate.getUserYesOrNoChoice(p, msg);
+		record(yesOrNo(choice));
+		return choice;
+	}
+
+	@Override
+	public Color getMinionChoice(Map<Color, Integer> minionsInArea, String inputMsg, String promptMsg) {
+		Color color = delegate.getMinionChoice(minionsInArea, inputMsg, promptMsg);
+		record(color == null ? null : color.name());
+		return color;
+	}
+
+	@Override
+	public boolean playInterrupt(Player player, GreenPlayerCard card) {
+		boolean choice = delegate.playInterrupt(player, card);
+		record(yesOrNo(choice));
+		return choice;
+	}
+
+	/**
+	 * Offers the card through the delegate without recording anything: the
+	 * answer is recorded once the game tells how the offer was settled.
+	 */
+	@Override
+	public CompletableFuture<Boolean> offerInterrupt(Player player, GreenPlayerCard card, long millis) {
+		return delegate.offerInterrupt(player, card, millis);
+	}
+
+	@Override
+	public void interruptAnswered(Player player, GreenPlayerCard card, boolean played) {
+		delegate.interruptAnswered(player, card, played);
+		record(yesOrNo(played));
+	}
+
+	@Override
+	public long getDecisionCount() {
+		return delegate.getDecisionCount();
+	}
+
+	@Override
+	public void println(String msg) {
+		delegate.println(msg);
+	}
+
+	@Override
+	public void turnStarted(Player p, Game game) {
+		delegate.turnStarted(p, game);
+	}
+
+	@Override
+	public void turnFinished(Player p, Game game) {
+		delegate.turnFinished(p, game);
+	}
+
+}
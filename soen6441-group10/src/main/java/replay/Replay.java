@@ -0,0 +1,243 @@
+package replay;
+
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+import io.GameFileManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import error.ReplayDivergenceException;
+
+/**
+ * <b> Plays a recorded game again, turn by turn. </b>
+ * <p>
+ * The game goes through the same code paths as when it was played (the
+ * turn flow, the symbols, the random events and the city area cards); only
+ * the decisions are taken from the record instead of the players.<br>
+ * Every few turns the state of the game is kept as a checkpoint, so that
+ * seeking back to an earlier turn only replays the turns since the closest
+ * checkpoint.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class Replay {
+
+	public static final int DEFAULT_CHECKPOINT_INTERVAL = 10;
+
+	private static final GameFileManager gameFileManager = new GameFileManager();
+
+	/**
+	 * The state of the replay after a given turn.
+	 */
+	private static class Checkpoint {
+		private final int decisionIndex;
+		private final boolean finished;
+		private final String game;
+		private final byte[] random;
+
+		private Checkpoint(int decisionIndex_, boolean finished_, String game_, byte[] random_) {
+			decisionIndex = decisionIndex_;
+			finished = finished_;
+			game = game_;
+			random = random_;
+		}
+	}
+
+	private final GameRecord record;
+	private final int checkpointInterval;
+	private final ScriptedUserInterface script;
+	private final TreeMap<Integer, Checkpoint> checkpoints = new TreeMap<>();
+
+	private Game game;
+	private Controller controller;
+	/**
+	 * The random generator of the replayed game's die; it is only set on the
+	 * die while a turn is being replayed.
+	 */
+	private Random random;
+	private int turn;
+	private boolean finished;
+
+	public Replay(GameRecord record_) {
+		this(record_, DEFAULT_CHECKPOINT_INTERVAL);
+	}
+
+	/**
+	 * @param checkpointInterval_ the number of turns between two checkpoints
+	 */
+	public Replay(GameRecord record_, int checkpointInterval_) {
+		if (checkpointInterval_ < 1) {
+			throw new IllegalArgumentException("The checkpoint interval must be positive");
+		}
+		record = record_;
+		checkpointInterval = checkpointInterval_;
+		script = new ScriptedUserInterface(record.getDecisions());
+		start();
+	}
+
+	private void start() {
+		random = new Random(record.getSeed());
+		game = new Game();
+		game.setUI(script);
+		controller = new Controller(game);
+		script.setDecisionIndex(0);
+		turn = 0;
+		finished = false;
+
+		String[] playerNames = record.getPlayerNames();
+		Die die = Die.getDie();
+		Random previous = die.getRandom();
+		die.setRandom(random);
+		try {
+			if (!controller.newGame(playerNames.length, playerNames)) {
+				throw new ReplayDivergenceException("The game cannot be set up for " + playerNames.length + " players");
+			}
+		} finally {
+			die.setRandom(previous);
+		}
+		checkpoint();
+	}
+
+	public GameRecord getRecord() {
+		return record;
+	}
+
+	/**
+	 * @return the replayed game, as of the current turn.
+	 */
+	public Game getGame() {
+		return game;
+	}
+
+	/**
+	 * @return the number of turns replayed so far.
+	 */
+	public int getTurn() {
+		return turn;
+	}
+
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * Replays the next turn.
+	 * @return false if there was no turn left to replay.
+	 */
+	public boolean playTurn() {
+		if (finished || turn >= record.getTurns()) {
+			return false;
+		}
+
+		Die die = Die.getDie();
+		Random previous = die.getRandom();
+		die.setRandom(random);
+		try {
+			finished = controller.playTurn(controller.advanceToNextTurn());
+		} finally {
+			die.setRandom(previous);
+		}
+		turn++;
+
+		if (turn % checkpointInterval == 0) {
+			checkpoint();
+		}
+		return true;
+	}
+
+	/**
+	 * Brings the game to its state after the given number of turns, going back
+	 * to the closest checkpoint if necessary.
+	 * @param target the number of turns, at most the number of recorded turns
+	 * @return the replayed game.
+	 */
+	public Game seek(int target) {
+		if (target < 0 || target > record.getTurns()) {
+			throw new IllegalArgumentException("Turn " + target + " is not between 0 and " + record.getTurns());
+		}
+		// There is always a checkpoint of the set up game (turn 0)
+		Map.Entry<Integer, Checkpoint> closest = checkpoints.floorEntry(target);
+		if (target < turn || closest.getKey() > turn) {
+			restore(closest.getKey(), closest.getValue());
+		}
+		while (turn < target && playTurn()) {
+		}
+		return game;
+	}
+
+	/**
+	 * Replays all the recorded turns.
+	 * @return the replayed game.
+	 */
+	public Game run() {
+		return seek(record.getTurns());
+	}
+
+	/**
+	 * Replays all the recorded turns and checks that the game ended up as
+	 * recorded: same number of turns, all the decisions taken, same points
+	 * and same winners.
+	 * @throws ReplayDivergenceException if the game did not replay the same way.
+	 */
+	public void verify() {
+		run();
+		if (turn != record.getTurns()) {
+			throw new ReplayDivergenceException("The game finished after " + turn
+					+ " turns instead of " + record.getTurns());
+		}
+		if (script.hasDecisionsLeft()) {
+			throw new ReplayDivergenceException((record.getDecisions().size() - script.getDecisionIndex())
+					+ " recorded decisions were not taken");
+		}
+		Map<?, Integer> points = GameRecord.pointsOf(game);
+		if (!points.equals(record.getPoints())) {
+			throw new ReplayDivergenceException("The points are " + points + " instead of " + record.getPoints());
+		}
+		if (!game.getWinners().equals(record.getWinners())) {
+			throw new ReplayDivergenceException("The winners are " + game.getWinners()
+					+ " instead of " + record.getWinners());
+		}
+	}
+
+	private void checkpoint() {
+		if (checkpoints.containsKey(turn)) {
+			return;
+		}
+		try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(random);
+			out.flush();
+			checkpoints.put(turn, new Checkpoint(script.getDecisionIndex(), finished,
+					gameFileManager.toJson(game), bytes.toByteArray()));
+		} catch (IOException e) {
+			// Nothing is written outside of memory
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void restore(int turn_, Checkpoint checkpoint) {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(checkpoint.random))) {
+			random = (Random) in.readObject();
+			game = gameFileManager.read(new StringReader(checkpoint.game));
+		} catch (IOException | ClassNotFoundException e) {
+			throw new IllegalStateException("Checkpoint of turn " + turn_ + " cannot be restored", e);
+		}
+		game.setUI(script);
+		controller = new Controller(game);
+		script.setDecisionIndex(checkpoint.decisionIndex);
+		turn = turn_;
+		finished = checkpoint.finished;
+	}
+
+}
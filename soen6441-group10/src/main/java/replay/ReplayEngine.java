@@ -0,0 +1,113 @@
+package replay;
+
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+import io.UserInterface;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <b> Records games and replays them, one at a time or in batch. </b>
+ * <p>
+ * Replaying a batch of recorded games is a quick way to check that the game
+ * still behaves the same between two builds: every game must take exactly
+ * the recorded decisions and end up with the recorded points and winners.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public final class ReplayEngine {
+
+	private ReplayEngine() {
+	}
+
+	/**
+	 * Plays and records a new game.
+	 * @param seed the seed of the die
+	 * @param playerNames the names of the players, in the order they join the game
+	 * @param decider where the players' decisions are taken
+	 * @param maxTurns the number of turns after which the recording stops if
+	 * 	the game has not finished
+	 * @return the record of the game.
+	 */
+	public static GameRecord record(long seed, String[] playerNames, UserInterface decider, int maxTurns) {
+		GameRecord record = new GameRecord(seed, playerNames);
+		Game game = new Game();
+		game.setUI(new RecordingUserInterface(decider, record.getDecisions()));
+		Controller controller = new Controller(game);
+
+		Die die = Die.getDie();
+		Random previous = die.getRandom();
+		die.setSeed(seed);
+		try {
+			if (!controller.newGame(playerNames.length, playerNames)) {
+				throw new IllegalArgumentException("A game cannot be set up for " + playerNames.length + " players");
+			}
+			boolean finished = false;
+			while (!finished && record.getTurns() < maxTurns) {
+				finished = controller.playTurn(controller.advanceToNextTurn());
+				record.turnPlayed(game);
+			}
+		} finally {
+			die.setRandom(previous);
+		}
+		return record;
+	}
+
+	/**
+	 * Replays the given games on all the available processors and checks that
+	 * each of them replays as recorded. The replayed games show nothing: their
+	 * messages go to the replay's user interface, which drops them.
+	 * @return the outcome of each replay, in the order of the records.
+	 */
+	public static List<ReplayResult> replayAll(Collection<GameRecord> records) {
+		return replayAll(records, Runtime.getRuntime().availableProcessors());
+	}
+
+	public static List<ReplayResult> replayAll(Collection<GameRecord> records, int threads) {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<ReplayResult>> futures = new ArrayList<>(records.size());
+			for (GameRecord record : records) {
+				futures.add(executor.submit(() -> replay(record)));
+			}
+			List<ReplayResult> results = new ArrayList<>(futures.size());
+			for (Future<ReplayResult> f : futures) {
+				results.add(f.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while replaying games", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Replays the given game and checks that it replays as recorded.
+	 */
+	public static ReplayResult replay(GameRecord record) {
+		long start = System.nanoTime();
+		RuntimeException failure = null;
+		try {
+			// No checkpoints are needed to replay a game from start to end
+			new Replay(record, Integer.MAX_VALUE).verify();
+		} catch (RuntimeException e) {
+			failure = e;
+		}
+		return new ReplayResult(record, System.nanoTime() - start, failure);
+	}
+
+}
@@ -0,0 +1,43 @@
+package replay;
+
+/**
+ * The outcome of replaying a recorded game in batch.
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class ReplayResult {
+
+	private final GameRecord record;
+	private final long nanos;
+	private final RuntimeException failure;
+
+	public ReplayResult(GameRecord record_, long nanos_, RuntimeException failure_) {
+		record = record_;
+		nanos = nanos_;
+		failure = failure_;
+	}
+
+	public GameRecord getRecord() {
+		return record;
+	}
+
+	/**
+	 * @return how long the replay took, in nanoseconds.
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+
+	/**
+	 * @return why the game did not replay as recorded, or null if it did.
+	 */
+	public RuntimeException getFailure() {
+		return failure;
+	}
+
+	public boolean isSuccessful() {
+		return failure == null;
+	}
+
+}
@@ -0,0 +1,58 @@
+package replay;
+
+import io.PromptUserInterface;
+
+import java.util.List;
+
+import error.ReplayDivergenceException;
+
+/**
+ * <b> Takes the decisions of a game from a list of recorded decisions. </b>
+ * <p>
+ * Every recorded decision must be one of the valid answers at the point it
+ * is given back; otherwise the game is not being replayed the way it was
+ * played and a {@link ReplayDivergenceException} is thrown.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class ScriptedUserInterface extends PromptUserInterface {
+
+	private final List<String> decisions;
+	private int next;
+
+	public ScriptedUserInterface(List<String> decisions_) {
+		decisions = decisions_;
+	}
+
+	@Override
+	protected String choose(String prompt, List<String> options) {
+		if (next >= decisions.size()) {
+			throw new ReplayDivergenceException("No decision left for \"" + prompt + "\"");
+		}
+		String decision = decisions.get(next);
+		if (!options.contains(decision)) {
+			throw new ReplayDivergenceException("Decision #" + next + " (" + decision
+					+ ") is not one of " + options + " for \"" + prompt + "\"");
+		}
+		next++;
+		return decision;
+	}
+
+	/**
+	 * @return the index of the next decision to be given back.
+	 */
+	public int getDecisionIndex() {
+		return next;
+	}
+
+	public void setDecisionIndex(int index) {
+		next = index;
+	}
+
+	public boolean hasDecisionsLeft() {
+		return next < decisions.size();
+	}
+
+}
@@ -0,0 +1,67 @@
+package server;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <b> Recycles the direct buffers used to read and write frames. </b>
+ * <p>
+ * Direct buffers are expensive to allocate but let the channels read and
+ * write without copying through the heap, so they are kept and reused.
+ * At most a given number of idle buffers are kept.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class BufferPool {
+
+	private final int bufferSize;
+	private final int maxIdle;
+	private final Queue<ByteBuffer> idle = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger idleCount = new AtomicInteger();
+
+	public BufferPool(int bufferSize_, int maxIdle_) {
+		bufferSize = bufferSize_;
+		maxIdle = maxIdle_;
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * @return a cleared buffer of the pool's size.
+	 */
+	public ByteBuffer acquire() {
+		ByteBuffer b = idle.poll();
+		if (b == null) {
+			return ByteBuffer.allocateDirect(bufferSize);
+		}
+		idleCount.decrementAndGet();
+		b.clear();
+		return b;
+	}
+
+	/**
+	 * Gives a buffer back to the pool; it must not be used afterwards.
+	 * Buffers which were not acquired from the pool are ignored.
+	 */
+	public void release(ByteBuffer b) {
+		if (b.isDirect() && b.capacity() == bufferSize && idleCount.incrementAndGet() <= maxIdle) {
+			idle.offer(b);
+		} else if (b.isDirect() && b.capacity() == bufferSize) {
+			idleCount.decrementAndGet();
+		}
+	}
+
+	/**
+	 * @return the number of buffers waiting to be reused.
+	 */
+	public int getIdleCount() {
+		return idleCount.get();
+	}
+
+}
@@ -0,0 +1,114 @@
+package server;
+
+import gameplay.Game;
+import io.GameFileManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * <b> Keeps the games of unloaded tables in memory, as compressed saves. </b>
+ * <p>
+ * Each game is written as it is saved, without indentation, and deflated
+ * into an array of a few kilobytes, instead of the tens of kilobytes of its
+ * objects. The array is released once the game is loaded back.
+ * </p>
+ * <p>
+ * The compressors are kept by the threads which store and load the games,
+ * since each holds a few hundred kilobytes outside the heap and takes longer
+ * to set up than a game takes to compress.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class CompactTableStore implements TableStore {
+
+	private static final int BUFFER_SIZE = 4096;
+
+	private static final ThreadLocal<Deflater> DEFLATERS = ThreadLocal.withInitial(
+			() -> new Deflater(Deflater.BEST_SPEED));
+	private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(Inflater::new);
+
+	private final GameFileManager fileManager = new GameFileManager();
+	private final AtomicLong storedBytes = new AtomicLong();
+	private final AtomicLong storedGames = new AtomicLong();
+
+	@Override
+	public StoredGame store(int tableId, Game game) throws IOException {
+		Deflater deflater = DEFLATERS.get();
+		deflater.reset();
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(BUFFER_SIZE);
+		try (Writer out = new OutputStreamWriter(new DeflaterOutputStream(buffer, deflater, BUFFER_SIZE),
+				StandardCharsets.UTF_8)) {
+			fileManager.toJson(game, out);
+		}
+		byte[] compressed = buffer.toByteArray();
+		storedBytes.addAndGet(compressed.length);
+		storedGames.incrementAndGet();
+		return new CompressedGame(compressed);
+	}
+
+	/**
+	 * A compressed game, whose array is released once it is loaded.
+	 */
+	private final class CompressedGame implements StoredGame {
+		private byte[] bytes;
+		private final long size;
+
+		private CompressedGame(byte[] bytes_) {
+			bytes = bytes_;
+			size = bytes_.length;
+		}
+
+		@Override
+		public Game load() throws IOException {
+			if (bytes == null) {
+				throw new IllegalStateException("The game was already loaded");
+			}
+			Inflater inflater = INFLATERS.get();
+			inflater.reset();
+			Game loaded;
+			try (Reader in = new InputStreamReader(
+					new InflaterInputStream(new ByteArrayInputStream(bytes), inflater, BUFFER_SIZE),
+					StandardCharsets.UTF_8)) {
+				loaded = fileManager.read(in);
+			}
+			bytes = null;
+			storedBytes.addAndGet(-size);
+			storedGames.decrementAndGet();
+			return loaded;
+		}
+
+		@Override
+		public long getSize() {
+			return size;
+		}
+	}
+
+	/**
+	 * @return the bytes taken by the games stored and not loaded back yet.
+	 */
+	public long getStoredBytes() {
+		return storedBytes.get();
+	}
+
+	/**
+	 * @return the number of games stored and not loaded back yet.
+	 */
+	public long getStoredGames() {
+		return storedGames.get();
+	}
+
+}
@@ -0,0 +1,236 @@
+package server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <b> A client connected to the {@link GameServer}. </b>
+ * <p>
+ * The connection is owned by one {@link IoLoop}, which reads its frames
+ * and writes the frames sent to it. Frames can be sent from any thread:
+ * they are queued and the I/O thread is woken up to write them, as many
+ * at a time as the socket takes.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class Connection implements FrameSink {
+
+	/**
+	 * The largest number of frames written to the socket at once.
+	 */
+	private static final int MAX_GATHER = 16;
+
+	private final SocketChannel channel;
+	private final IoLoop loop;
+	private final BufferPool pool;
+	private final ConnectionHandler handler;
+	private SelectionKey key;
+
+	private ByteBuffer readBuffer;
+	/**
+	 * The frames sent from any thread, waiting for the I/O thread.
+	 */
+	private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+	/**
+	 * The frames being written by the I/O thread.
+	 */
+	private final Deque<ByteBuffer> writing = new ArrayDeque<>();
+	private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+	private final AtomicInteger backlog = new AtomicInteger();
+	private final AtomicBoolean writeRequested = new AtomicBoolean();
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	Connection(SocketChannel channel_, IoLoop loop_, BufferPool pool_, ConnectionHandler handler_) {
+		channel = channel_;
+		loop = loop_;
+		pool = pool_;
+		handler = handler_;
+		readBuffer = pool.acquire();
+	}
+
+	/**
+	 * Registers the connection with its loop's selector; called on the I/O thread.
+	 */
+	void register() throws IOException {
+		key = channel.register(loop.getSelector(), SelectionKey.OP_READ, this);
+	}
+
+	public BufferPool getBufferPool() {
+		return pool;
+	}
+
+	public boolean isOpen() {
+		return !closed.get();
+	}
+
+	/**
+	 * Queues a frame to be written. A buffer from the pool goes back to it
+	 * once written, so it must not be used afterwards; a frame shared
+	 * between connections must be sent as a heap buffer, each connection
+	 * with its own duplicate.
+	 */
+	@Override
+	public void send(ByteBuffer frame) {
+		if (closed.get()) {
+			pool.release(frame);
+			return;
+		}
+		backlog.incrementAndGet();
+		outbound.offer(frame);
+		if (writeRequested.compareAndSet(false, true)) {
+			loop.execute(this::flush);
+		}
+	}
+
+	/**
+	 * Builds and queues a frame with a single string, e.g. an OK or an ERROR.
+	 */
+	public void send(MessageType type, String message) {
+		send(new FrameBuilder(pool.acquire(), type).putString(message).finish());
+	}
+
+	@Override
+	public int getBacklog() {
+		return backlog.get();
+	}
+
+	/**
+	 * Reads what is available and hands over each complete frame; called on
+	 * the I/O thread when the socket is readable.
+	 */
+	void read() {
+		try {
+			if (channel.read(readBuffer) < 0) {
+				close();
+				return;
+			}
+		} catch (IOException e) {
+			close();
+			return;
+		}
+		readBuffer.flip();
+		int available = readBuffer.limit();
+		while (available - readBuffer.position() >= FrameBuilder.LENGTH_SIZE) {
+			int start = readBuffer.position();
+			int length = readBuffer.getInt(start);
+			if (length < 1 || length > readBuffer.capacity() - FrameBuilder.LENGTH_SIZE) {
+				System.out.println("Closing connection: invalid frame length " + length);
+				close();
+				return;
+			}
+			int end = start + FrameBuilder.LENGTH_SIZE + length;
+			if (end > available) {
+				break;
+			}
+			MessageType type = MessageType.forCode(readBuffer.get(start + FrameBuilder.LENGTH_SIZE));
+			// The payload is handed over as a view of the read buffer, without copying it
+			readBuffer.limit(end).position(start + FrameBuilder.LENGTH_SIZE + 1);
+			ByteBuffer payload = readBuffer.slice();
+			readBuffer.limit(available).position(end);
+			if (type == null) {
+				send(MessageType.ERROR, "Unknown message type");
+				continue;
+			}
+			try {
+				handler.frameReceived(this, new FrameReader(type, payload));
+			} catch (RuntimeException e) {
+				send(MessageType.ERROR, "Malformed " + type + " message");
+			}
+			if (closed.get()) {
+				return;
+			}
+		}
+		readBuffer.compact();
+	}
+
+	/**
+	 * Writes the queued frames; called on the I/O thread.
+	 */
+	void flush() {
+		if (closed.get()) {
+			return;
+		}
+		try {
+			while (true) {
+				ByteBuffer frame;
+				while ((frame = outbound.poll()) != null) {
+					writing.add(frame);
+				}
+				while (!writing.isEmpty()) {
+					int count = 0;
+					for (ByteBuffer b : writing) {
+						gather[count++] = b;
+						if (count == MAX_GATHER) {
+							break;
+						}
+					}
+					channel.write(gather, 0, count);
+					while (!writing.isEmpty() && !writing.peek().hasRemaining()) {
+						pool.release(writing.poll());
+						backlog.decrementAndGet();
+					}
+					if (gather[count - 1].hasRemaining()) {
+						break;
+					}
+				}
+				Arrays.fill(gather, null);
+				if (!writing.isEmpty()) {
+					// The socket is full: carry on once it is writable
+					key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+					return;
+				}
+				key.interestOps(SelectionKey.OP_READ);
+				writeRequested.set(false);
+				// A frame may have been queued after the last poll
+				if (outbound.isEmpty() || !writeRequested.compareAndSet(false, true)) {
+					return;
+				}
+			}
+		} catch (IOException e) {
+			close();
+		}
+	}
+
+	/**
+	 * Closes the connection and gives its buffers back to the pool. Can be
+	 * called from any thread; the handler is told on the I/O thread.
+	 */
+	public void close() {
+		if (!closed.compareAndSet(false, true)) {
+			return;
+		}
+		loop.execute(() -> {
+			if (key != null) {
+				key.cancel();
+			}
+			try {
+				channel.close();
+			} catch (IOException e) {
+				// Closing anyway
+			}
+			pool.release(readBuffer);
+			readBuffer = null;
+			for (ByteBuffer b : writing) {
+				pool.release(b);
+			}
+			writing.clear();
+			ByteBuffer b;
+			while ((b = outbound.poll()) != null) {
+				pool.release(b);
+			}
+			handler.connectionClosed(this);
+		});
+	}
+
+}
@@ -0,0 +1,23 @@
+package server;
+
+/**
+ * Handles the frames received on a {@link Connection}. Both methods are
+ * called on the connection's I/O thread, so they must not block.
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public interface ConnectionHandler {
+
+	/**
+	 * Called for each frame received, in order.
+	 * @param frame the frame's payload, only valid until this method returns
+	 */
+	void frameReceived(Connection connection, FrameReader frame);
+
+	/**
+	 * Called once, when the connection is closed by either side.
+	 */
+	void connectionClosed(Connection connection);
+
+}
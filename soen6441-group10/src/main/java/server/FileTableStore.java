@@ -0,0 +1,55 @@
+package server;
+
+import gameplay.Game;
+import io.GameFileManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <b> Keeps the games of unloaded tables in files, as they are saved. </b>
+ * <p>
+ * Each game is written to a file of its own in the given directory, which
+ * is deleted once the game is loaded back.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class FileTableStore implements TableStore {
+
+	private final GameFileManager fileManager = new GameFileManager();
+	private final Path directory;
+
+	public FileTableStore(Path directory_) throws IOException {
+		directory = Files.createDirectories(directory_);
+	}
+
+	@Override
+	public StoredGame store(int tableId, Game game) throws IOException {
+		byte[] json = fileManager.toJson(game).getBytes(StandardCharsets.UTF_8);
+		Path file = Files.createTempFile(directory, "table-" + tableId + "-", ".json");
+		Files.write(file, json);
+		long size = json.length;
+		return new StoredGame() {
+			@Override
+			public Game load() throws IOException {
+				Game loaded;
+				try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+					loaded = fileManager.read(in);
+				}
+				Files.delete(file);
+				return loaded;
+			}
+
+			@Override
+			public long getSize() {
+				return size;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,97 @@
+package server;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <b> Writes a frame straight into the buffer it will be sent from. </b>
+ * <p>
+ * The length of the frame is only known once its payload is written, so
+ * room is left for it at the start of the buffer and filled in by
+ * {@link #finish()}.
+ * </p>
+ * Usage:
+ * <pre>
+ * ByteBuffer frame = new FrameBuilder(pool.acquire(), MessageType.OK).putString("Done").finish();
+ * </pre>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class FrameBuilder {
+
+	/**
+	 * The size of the length at the start of every frame.
+	 */
+	public static final int LENGTH_SIZE = 4;
+	public static final int MAX_STRING_LENGTH = 0xFFFF;
+
+	private final ByteBuffer buffer;
+
+	/**
+	 * @param buffer_ a cleared buffer, large enough for the whole frame
+	 */
+	public FrameBuilder(ByteBuffer buffer_, MessageType type) {
+		buffer = buffer_;
+		buffer.position(LENGTH_SIZE);
+		buffer.put(type.getCode());
+	}
+
+	public FrameBuilder putByte(int b) {
+		check(1);
+		buffer.put((byte) b);
+		return this;
+	}
+
+	public FrameBuilder putBoolean(boolean b) {
+		return putByte(b ? 1 : 0);
+	}
+
+	public FrameBuilder putShort(int s) {
+		check(2);
+		buffer.putShort((short) s);
+		return this;
+	}
+
+	public FrameBuilder putInt(int i) {
+		check(4);
+		buffer.putInt(i);
+		return this;
+	}
+
+	public FrameBuilder putLong(long l) {
+		check(8);
+		buffer.putLong(l);
+		return this;
+	}
+
+	public FrameBuilder putString(String s) {
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > MAX_STRING_LENGTH) {
+			throw new IllegalArgumentException("String too long for a frame: " + bytes.length + " bytes");
+		}
+		check(2 + bytes.length);
+		buffer.putShort((short) bytes.length);
+		buffer.put(bytes);
+		return this;
+	}
+
+	/**
+	 * Fills in the length of the frame.
+	 * @return the buffer, ready to be written to a channel.
+	 */
+	public ByteBuffer finish() {
+		buffer.putInt(0, buffer.position() - LENGTH_SIZE);
+		buffer.flip();
+		return buffer;
+	}
+
+	private void check(int bytes) {
+		if (buffer.remaining() < bytes) {
+			throw new IllegalArgumentException("Frame too large for a " + buffer.capacity() + " bytes buffer",
+					new BufferOverflowException());
+		}
+	}
+
+}
@@ -0,0 +1,72 @@
+package server;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <b> Reads the payload of a frame. </b>
+ * <p>
+ * The payload is read where it was received: on the server, the reader is a
+ * view over the connection's read buffer, so it is only valid until the
+ * handler it was given to returns.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class FrameReader {
+
+	private final MessageType type;
+	private final ByteBuffer payload;
+
+	/**
+	 * @param payload_ the payload of the frame, from its position to its limit
+	 */
+	public FrameReader(MessageType type_, ByteBuffer payload_) {
+		type = type_;
+		payload = payload_;
+	}
+
+	public MessageType getType() {
+		return type;
+	}
+
+	public int getByte() {
+		return payload.get() & 0xFF;
+	}
+
+	public boolean getBoolean() {
+		return payload.get() != 0;
+	}
+
+	public int getShort() {
+		return payload.getShort() & 0xFFFF;
+	}
+
+	public int getInt() {
+		return payload.getInt();
+	}
+
+	public long getLong() {
+		return payload.getLong();
+	}
+
+	public String getString() {
+		int length = getShort();
+		if (payload.remaining() < length) {
+			throw new BufferUnderflowException();
+		}
+		byte[] bytes = new byte[length];
+		payload.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return true if the whole payload has been read.
+	 */
+	public boolean isFinished() {
+		return !payload.hasRemaining();
+	}
+
+}
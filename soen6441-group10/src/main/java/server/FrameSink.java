@@ -0,0 +1,23 @@
+package server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Something frames can be sent to, e.g. a {@link Connection}.
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public interface FrameSink {
+
+	/**
+	 * Queues a frame to be sent.
+	 */
+	void send(ByteBuffer frame);
+
+	/**
+	 * @return the number of frames queued but not sent yet.
+	 */
+	int getBacklog();
+
+}
@@ -0,0 +1,131 @@
+package server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import card.player.Symbol;
+
+/**
+ * <b> A blocking client of the {@link GameServer}. </b>
+ * <p>
+ * The commands only send their frame; the answers, prompts and
+ * notifications of the server are read with {@link #receive()}.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class GameClient implements AutoCloseable {
+
+	private final SocketChannel channel;
+	private final ByteBuffer out = ByteBuffer.allocate(GameServer.BUFFER_SIZE);
+	private final ByteBuffer in = ByteBuffer.allocate(GameServer.BUFFER_SIZE);
+
+	public GameClient(InetSocketAddress address) throws IOException {
+		channel = SocketChannel.open(address);
+		channel.socket().setTcpNoDelay(true);
+		in.flip();
+	}
+
+	public void newGame(String... names) throws IOException {
+		FrameBuilder frame = start(MessageType.NEW_GAME).putByte(names.length);
+		for (String n : names) {
+			frame.putString(n);
+		}
+		send(frame);
+	}
+
+	public void nextTurn() throws IOException {
+		send(start(MessageType.NEXT_TURN));
+	}
+
+	public void decide(String option) throws IOException {
+		send(start(MessageType.DECISION).putString(option));
+	}
+
+	public void performSymbol(Symbol symbol) throws IOException {
+		send(start(MessageType.PERFORM_SYMBOL).putString(symbol.name()));
+	}
+
+	public void restoreHand() throws IOException {
+		send(start(MessageType.RESTORE_HAND));
+	}
+
+	public void status() throws IOException {
+		send(start(MessageType.STATUS));
+	}
+
+	public void spectate(int tableId) throws IOException {
+		send(start(MessageType.SPECTATE).putInt(tableId));
+	}
+
+	/**
+	 * Takes back the table of a session started on a server which has
+	 * failed over to this one.
+	 * @param token the token sent with {@link MessageType#GAME_STARTED}
+	 */
+	public void resume(int tableId, long token) throws IOException {
+		send(start(MessageType.RESUME).putInt(tableId).putLong(token));
+	}
+
+	private FrameBuilder start(MessageType type) {
+		out.clear();
+		return new FrameBuilder(out, type);
+	}
+
+	private void send(FrameBuilder frame) throws IOException {
+		ByteBuffer b = frame.finish();
+		while (b.hasRemaining()) {
+			channel.write(b);
+		}
+	}
+
+	/**
+	 * Waits for the next frame from the server.
+	 * @return the frame, valid until the next call.
+	 */
+	public FrameReader receive() throws IOException {
+		fill(FrameBuilder.LENGTH_SIZE);
+		int length = in.getInt(in.position());
+		if (length < 1 || length > in.capacity() - FrameBuilder.LENGTH_SIZE) {
+			throw new IOException("Invalid frame length " + length);
+		}
+		fill(FrameBuilder.LENGTH_SIZE + length);
+		in.position(in.position() + FrameBuilder.LENGTH_SIZE);
+		MessageType type = MessageType.forCode(in.get());
+		if (type == null) {
+			throw new IOException("Unknown message type");
+		}
+		int end = in.position() + length - 1;
+		int limit = in.limit();
+		in.limit(end);
+		ByteBuffer payload = in.slice();
+		in.limit(limit).position(end);
+		return new FrameReader(type, payload);
+	}
+
+	/**
+	 * Reads until at least the given number of bytes are available.
+	 */
+	private void fill(int bytes) throws IOException {
+		if (in.remaining() >= bytes) {
+			return;
+		}
+		in.compact();
+		while (in.position() < bytes) {
+			if (channel.read(in) < 0) {
+				throw new EOFException("The server closed the connection");
+			}
+		}
+		in.flip();
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+}
@@ -0,0 +1,452 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import metrics.EngineMetrics;
+import metrics.PrometheusEndpoint;
+import tracing.TraceHandler;
+import gameplay.Game;
+
+/**
+ * <b> Lets remote clients play games over a compact binary protocol. </b>
+ * <p>
+ * A handful of I/O threads each multiplex many connections with a selector;
+ * the connections are handed out to them in turn as they are accepted.
+ * Each connection plays its own game (see {@link RemoteTable}), whose turns
+ * run on a pool of worker threads so that the I/O threads never wait for
+ * the game. The frames are described in {@link MessageType}.
+ * </p>
+ * <p>
+ * The deadlines of the decisions of all the tables are kept on one
+ * {@link TimingWheel}, so the number of tables does not cost any timer thread.
+ * </p>
+ * <p>
+ * The server can stream the journal of its tables to a {@link HotStandby}
+ * (see {@link #replicateTo(InetSocketAddress)}), which takes over with the
+ * same tables if the server fails.
+ * </p>
+ * <p>
+ * A {@link MemoryBudget} bounds the heap the games take: beyond it, the idle
+ * tables are unloaded and new games are refused. A {@link Hibernation}
+ * unloads the tables idle for long enough, whatever the heap they take.
+ * </p>
+ * <p>
+ * Run on its own, the server also serves its metrics (see
+ * {@link EngineMetrics}) for Prometheus and through JMX, and the traces of
+ * its tables' turns next to them (see {@link tracing.TraceDump}).
+ * </p>
+ * Usage:
+ * <pre>
+ * try (GameServer server = new GameServer(new InetSocketAddress(GameServer.DEFAULT_PORT), 2, 8)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class GameServer implements AutoCloseable {
+
+	public static final int DEFAULT_PORT = 6441;
+	/**
+	 * The size of the read buffer of each connection and of each frame sent,
+	 * which bounds the size of a frame.
+	 */
+	public static final int BUFFER_SIZE = 16 * 1024;
+	private static final int MAX_IDLE_BUFFERS = 1024;
+	/**
+	 * The time a player has to take a decision before it is taken for him.
+	 */
+	public static final long DEFAULT_DECISION_MILLIS = 60 * 1000;
+	/**
+	 * The time a table run on its own may be idle before it hibernates.
+	 */
+	public static final long DEFAULT_HIBERNATION_MILLIS = 5 * 60 * 1000;
+
+	private final ServerSocketChannel serverChannel;
+	private final IoLoop[] loops;
+	private final ExecutorService workers;
+	private final BufferPool pool = new BufferPool(BUFFER_SIZE, MAX_IDLE_BUFFERS);
+	private final Map<Integer, RemoteTable> tables = new ConcurrentHashMap<>();
+	private final TimingWheel timers = new TimingWheel("game-timers");
+	private final long decisionMillis;
+	/**
+	 * The tables taken over from a failed server, until their clients resume them.
+	 */
+	private final Map<Integer, Session> sessions = new ConcurrentHashMap<>();
+	private final AtomicInteger nextTable = new AtomicInteger();
+	private volatile JournalShipper journal;
+	private volatile MemoryBudget budget;
+	/**
+	 * The heap taken by the loaded tables' games as of the last sweep.
+	 */
+	private volatile long usedBytes;
+	private final AtomicLong unloaded = new AtomicLong();
+	private volatile Hibernation hibernation;
+	private final AtomicLong hibernated = new AtomicLong();
+	private final LongSupplier tableCount = this::getTableCount;
+	private int nextLoop;
+
+	/**
+	 * A table whose client can take it back with {@link MessageType#RESUME}.
+	 */
+	static final class Session {
+		final long token;
+		final Game game;
+		final Random random;
+
+		private Session(long token_, Game game_, Random random_) {
+			token = token_;
+			game = game_;
+			random = random_;
+		}
+	}
+
+	/**
+	 * Starts listening.
+	 * @param address the address to listen on; port 0 picks a free port
+	 * @param ioThreads the number of threads reading and writing the sockets
+	 * @param workerThreads the number of threads playing the games. A turn
+	 * 	waiting for a decision holds its thread, so there should be as many as
+	 * 	the number of players expected to be thinking at the same time.
+	 */
+	public GameServer(InetSocketAddress address, int ioThreads, int workerThreads) throws IOException {
+		this(address, ioThreads, workerThreads, DEFAULT_DECISION_MILLIS);
+	}
+
+	/**
+	 * Starts listening.
+	 * @param decisionMillis_ the time a player has to take each decision
+	 * @see #GameServer(InetSocketAddress, int, int)
+	 */
+	public GameServer(InetSocketAddress address, int ioThreads, int workerThreads, long decisionMillis_)
+			throws IOException {
+		decisionMillis = decisionMillis_;
+		AtomicInteger workerCount = new AtomicInteger();
+		ThreadFactory factory = r -> {
+			Thread t = new Thread(r, "game-worker-" + workerCount.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		};
+		workers = Executors.newFixedThreadPool(workerThreads, factory);
+
+		loops = new IoLoop[ioThreads];
+		for (int i = 0; i < loops.length; i++) {
+			loops[i] = new IoLoop("game-io-" + i);
+		}
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(address);
+		serverChannel.configureBlocking(false);
+		Runnable acceptor = this::accept;
+		loops[0].execute(() -> {
+			try {
+				serverChannel.register(loops[0].getSelector(), SelectionKey.OP_ACCEPT, acceptor);
+			} catch (IOException e) {
+				System.out.println("Could not accept connections: " + e.getMessage());
+			}
+		});
+		for (IoLoop l : loops) {
+			l.start();
+		}
+		EngineMetrics.LIVE_TABLES.addSource(tableCount);
+	}
+
+	/**
+	 * Accepts the pending connections; called on the first I/O thread.
+	 */
+	private void accept() {
+		try {
+			SocketChannel channel;
+			while ((channel = serverChannel.accept()) != null) {
+				channel.configureBlocking(false);
+				channel.socket().setTcpNoDelay(true);
+				IoLoop loop = loops[nextLoop++ % loops.length];
+				Connection c = new Connection(channel, loop, pool, new RemoteTable(this, nextTable.incrementAndGet()));
+				loop.execute(() -> {
+					try {
+						c.register();
+					} catch (IOException e) {
+						c.close();
+					}
+				});
+			}
+		} catch (IOException e) {
+			System.out.println("Could not accept a connection: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * @return the port the server listens on.
+	 */
+	public int getPort() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	public BufferPool getBufferPool() {
+		return pool;
+	}
+
+	ExecutorService getWorkers() {
+		return workers;
+	}
+
+	Map<Integer, RemoteTable> getTables() {
+		return tables;
+	}
+
+	TimingWheel getTimers() {
+		return timers;
+	}
+
+	long getDecisionMillis() {
+		return decisionMillis;
+	}
+
+	/**
+	 * @return where the tables journal their commands, or null if the
+	 * 	server has no standby.
+	 */
+	JournalShipper getJournal() {
+		return journal;
+	}
+
+	/**
+	 * Keeps the heap taken by the tables' games within the given budget from
+	 * now on (see {@link MemoryBudget}).
+	 */
+	public void setMemoryBudget(MemoryBudget budget_) {
+		boolean sweeping = budget != null;
+		budget = budget_;
+		if (!sweeping) {
+			scheduleSweep(budget_);
+		}
+	}
+
+	private void scheduleSweep(MemoryBudget b) {
+		timers.schedule(() -> workers.execute(this::sweep), b.getSweepMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Estimates the heap taken by the loaded tables and unloads the idle
+	 * ones if it is over the budget.
+	 */
+	private void sweep() {
+		MemoryBudget b = budget;
+		if (b == null || !serverChannel.isOpen()) {
+			return;
+		}
+		long now = System.nanoTime();
+		long used = 0;
+		List<RemoteTable> idle = new ArrayList<>();
+		for (RemoteTable t : tables.values()) {
+			TableActor actor = t.getActor();
+			if (!actor.isLoaded()) {
+				continue;
+			}
+			// Measured for the next sweep, after the commands queued
+			actor.measure();
+			used += actor.getFootprint();
+			if (now - actor.getLastActive() >= b.getIdleNanos()) {
+				idle.add(t);
+			}
+		}
+		if (used > b.getBudgetBytes()) {
+			idle.sort((t1, t2) -> Long.compare(t1.getActor().getLastActive(), t2.getActor().getLastActive()));
+			for (RemoteTable t : idle) {
+				if (used <= b.getBudgetBytes()) {
+					break;
+				}
+				used -= t.getActor().getFootprint();
+				t.unload(b.getStore()).thenAccept(done -> {
+					if (done) {
+						unloaded.incrementAndGet();
+					}
+				});
+			}
+		}
+		usedBytes = used;
+		scheduleSweep(b);
+	}
+
+	/**
+	 * @return false if the tables' games take more heap than the memory
+	 * 	budget allows, even after unloading the idle ones.
+	 */
+	boolean acceptsNewGames() {
+		MemoryBudget b = budget;
+		return b == null || usedBytes <= b.getBudgetBytes();
+	}
+
+	/**
+	 * @return the heap taken by the loaded tables' games, as of the last
+	 * 	sweep of the memory budget.
+	 */
+	public long getUsedBytes() {
+		return usedBytes;
+	}
+
+	/**
+	 * @return the number of tables unloaded to keep within the memory budget so far.
+	 */
+	public long getUnloadedCount() {
+		return unloaded.get();
+	}
+
+	/**
+	 * Unloads the tables idle for long enough from now on (see {@link Hibernation}).
+	 */
+	public void setHibernation(Hibernation hibernation_) {
+		boolean sweeping = hibernation != null;
+		hibernation = hibernation_;
+		if (!sweeping) {
+			scheduleHibernation(hibernation_);
+		}
+	}
+
+	private void scheduleHibernation(Hibernation h) {
+		timers.schedule(() -> workers.execute(this::hibernate), h.getSweepMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Unloads the loaded tables which have been idle for long enough.
+	 */
+	private void hibernate() {
+		Hibernation h = hibernation;
+		if (h == null || !serverChannel.isOpen()) {
+			return;
+		}
+		long now = System.nanoTime();
+		for (RemoteTable t : tables.values()) {
+			TableActor actor = t.getActor();
+			if (actor.isLoaded() && now - actor.getLastActive() >= h.getIdleNanos()) {
+				t.unload(h.getStore()).thenAccept(done -> {
+					if (done) {
+						hibernated.incrementAndGet();
+					}
+				});
+			}
+		}
+		scheduleHibernation(h);
+	}
+
+	/**
+	 * @return the number of tables unloaded for being idle so far.
+	 */
+	public long getHibernatedCount() {
+		return hibernated.get();
+	}
+
+	/**
+	 * Streams the journal of the tables to a standby from now on. The games
+	 * started before are not replicated.
+	 */
+	public void replicateTo(InetSocketAddress standby) throws IOException {
+		JournalShipper previous = journal;
+		journal = new JournalShipper(standby, pool);
+		if (previous != null) {
+			previous.close();
+		}
+	}
+
+	/**
+	 * Takes over a table of a failed server, to be resumed by its client.
+	 * @param token the token the client resumes the table with
+	 * @param random the random sequence of the table's die
+	 */
+	public void adopt(int tableId, long token, Game game, Random random) {
+		sessions.put(tableId, new Session(token, game, random));
+		nextTable.accumulateAndGet(tableId, Math::max);
+	}
+
+	/**
+	 * Hands an adopted table over to the client resuming it.
+	 * @return the table, or null if there is none with that id and token.
+	 */
+	Session takeSession(int tableId, long token) {
+		Session s = sessions.get(tableId);
+		return s != null && s.token == token && sessions.remove(tableId, s) ? s : null;
+	}
+
+	/**
+	 * @return the number of adopted tables not resumed yet.
+	 */
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * @return the number of clients connected, each at its table.
+	 */
+	public int getTableCount() {
+		return tables.size();
+	}
+
+	/**
+	 * @return the table of the given id, or null if its client has left.
+	 */
+	public RemoteTable getTable(int id) {
+		return tables.get(id);
+	}
+
+	/**
+	 * Stops accepting connections, closes the open ones and stops the threads.
+	 */
+	@Override
+	public void close() throws IOException {
+		EngineMetrics.LIVE_TABLES.removeSource(tableCount);
+		serverChannel.close();
+		// The standby keeps the tables whose clients are being disconnected
+		JournalShipper j = journal;
+		if (j != null) {
+			j.close();
+		}
+		for (IoLoop l : loops) {
+			l.shutdown();
+		}
+		try {
+			for (IoLoop l : loops) {
+				l.join();
+			}
+			workers.shutdownNow();
+			workers.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			timers.close();
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		int cores = Runtime.getRuntime().availableProcessors();
+		GameServer server = new GameServer(new InetSocketAddress(port), Math.max(1, cores / 2), cores * 4);
+		if (args.length > 1) {
+			server.replicateTo(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[1])));
+		}
+		server.setHibernation(new Hibernation(DEFAULT_HIBERNATION_MILLIS, new CompactTableStore()));
+		int metricsPort = args.length > 2 ? Integer.parseInt(args[2]) : PrometheusEndpoint.DEFAULT_PORT;
+		EngineMetrics.REGISTRY.registerMBean(EngineMetrics.OBJECT_NAME);
+		PrometheusEndpoint metrics = new PrometheusEndpoint(new InetSocketAddress(metricsPort), EngineMetrics.REGISTRY);
+		metrics.serve(TraceHandler.PATH, new TraceHandler());
+		System.out.println("Listening on port " + server.getPort() + ", metrics on port " + metrics.getPort());
+		Thread.currentThread().join();
+	}
+
+}
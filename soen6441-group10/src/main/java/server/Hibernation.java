@@ -0,0 +1,64 @@
+package server;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <b> When a {@link GameServer}'s idle tables are unloaded, whatever the heap they take. </b>
+ * <p>
+ * Every {@link #getSweepMillis()}, the tables which have been idle for at
+ * least {@link #getIdleMillis()} are unloaded to the store: their game, its
+ * players and its controller are released, and only the stored game and the
+ * last snapshot are kept. The game is loaded back as soon as its client
+ * plays again. A {@link CompactTableStore} keeps a hibernating table in a few
+ * kilobytes and loads it back in well under a millisecond.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class Hibernation {
+
+	public static final long DEFAULT_SWEEP_MILLIS = 1000;
+
+	private final long idleMillis;
+	private final long sweepMillis;
+	private final TableStore store;
+
+	/**
+	 * @param idleMillis_ the time a table must have been idle to be unloaded
+	 * @param store_ where the unloaded games are kept
+	 */
+	public Hibernation(long idleMillis_, TableStore store_) {
+		this(idleMillis_, DEFAULT_SWEEP_MILLIS, store_);
+	}
+
+	/**
+	 * @param sweepMillis_ the time between two looks for idle tables
+	 * @see #Hibernation(long, TableStore)
+	 */
+	public Hibernation(long idleMillis_, long sweepMillis_, TableStore store_) {
+		if (idleMillis_ < 0 || sweepMillis_ <= 0) {
+			throw new IllegalArgumentException("The idle time cannot be negative and the sweep interval must be positive");
+		}
+		idleMillis = idleMillis_;
+		sweepMillis = sweepMillis_;
+		store = store_;
+	}
+
+	public long getIdleMillis() {
+		return idleMillis;
+	}
+
+	long getIdleNanos() {
+		return TimeUnit.MILLISECONDS.toNanos(idleMillis);
+	}
+
+	public long getSweepMillis() {
+		return sweepMillis;
+	}
+
+	public TableStore getStore() {
+		return store;
+	}
+
+}
@@ -0,0 +1,279 @@
+package server;
+
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import replay.ScriptedUserInterface;
+import card.player.Symbol;
+
+/**
+ * <b> Keeps warm replicas of the tables of a {@link GameServer}, ready to
+ * take over if it fails. </b>
+ * <p>
+ * The standby listens for the journal of one primary server (see
+ * {@link GameServer#replicateTo(InetSocketAddress)}) and plays each command
+ * it receives on its replica of the table, with the die seeded the same way
+ * and the decisions taken from the journal, so the replica goes through the
+ * same states as the live table. Only the commands still in flight when the
+ * primary fails are lost.
+ * </p>
+ * <p>
+ * Once the primary is gone (see {@link #awaitPrimaryLoss(long, TimeUnit)}),
+ * the standby is promoted to a server of its own, on which the clients
+ * resume their tables with {@link MessageType#RESUME}.
+ * </p>
+ * Usage:
+ * <pre>
+ * HotStandby standby = new HotStandby(new InetSocketAddress(HotStandby.DEFAULT_JOURNAL_PORT));
+ * standby.awaitPrimaryLoss(Long.MAX_VALUE, TimeUnit.DAYS);
+ * GameServer server = standby.promote(new InetSocketAddress(GameServer.DEFAULT_PORT), 2, 8,
+ *         GameServer.DEFAULT_DECISION_MILLIS);
+ * </pre>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class HotStandby implements AutoCloseable {
+
+	public static final int DEFAULT_JOURNAL_PORT = 6442;
+
+	/**
+	 * The replica of a live table; only used by the standby's thread until
+	 * the standby is promoted.
+	 */
+	private static final class Replica {
+		private final long token;
+		private final Random random;
+		private final Game game = new Game();
+		private final Controller controller = new Controller(game);
+
+		private Replica(long token_, long seed) {
+			token = token_;
+			random = new Random(seed);
+		}
+	}
+
+	private final ServerSocketChannel serverChannel;
+	private final Thread thread;
+	private final Map<Integer, Replica> replicas = new HashMap<>();
+	private final CountDownLatch primaryLost = new CountDownLatch(1);
+	private volatile SocketChannel primary;
+	private volatile long applied;
+	private volatile int diverged;
+
+	/**
+	 * Starts listening for the primary.
+	 * @param address the address to listen on; port 0 picks a free port
+	 */
+	public HotStandby(InetSocketAddress address) throws IOException {
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(address);
+		thread = new Thread(this::run, "hot-standby");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * @return the port the standby listens on for the journal.
+	 */
+	public int getPort() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	/**
+	 * @return the number of journal entries applied so far.
+	 */
+	public long getAppliedCount() {
+		return applied;
+	}
+
+	/**
+	 * @return the number of replicas dropped because they could not play a
+	 * 	command the way the primary did.
+	 */
+	public int getDivergedCount() {
+		return diverged;
+	}
+
+	/**
+	 * Waits for the primary to connect and then to go away.
+	 * @return true if the primary is gone, false if the time ran out.
+	 */
+	public boolean awaitPrimaryLoss(long timeout, TimeUnit unit) throws InterruptedException {
+		return primaryLost.await(timeout, unit);
+	}
+
+	private void run() {
+		try (SocketChannel channel = serverChannel.accept()) {
+			primary = channel;
+			DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+			while (true) {
+				int length = in.readInt();
+				if (length < 1 || length > GameServer.BUFFER_SIZE) {
+					throw new IOException("Invalid journal entry length " + length);
+				}
+				MessageType type = MessageType.forCode(in.readByte());
+				byte[] payload = new byte[length - 1];
+				in.readFully(payload);
+				apply(new FrameReader(type, ByteBuffer.wrap(payload)));
+				applied++;
+			}
+		} catch (EOFException e) {
+			System.out.println("The primary has gone, " + replicas.size() + " tables can be resumed");
+		} catch (IOException e) {
+			System.out.println("Lost the primary: " + e.getMessage());
+		} finally {
+			primaryLost.countDown();
+		}
+	}
+
+	private void apply(FrameReader entry) {
+		int tableId = entry.getInt();
+		if (entry.getType() == MessageType.JOURNAL_CLOSE) {
+			replicas.remove(tableId);
+			return;
+		}
+		MessageType command = MessageType.forCode((byte) entry.getByte());
+		Replica replica;
+		String symbol = null;
+		if (command == MessageType.NEW_GAME) {
+			replica = new Replica(entry.getLong(), entry.getLong());
+			replica.game.setTableId(tableId);
+			String[] names = new String[entry.getByte()];
+			for (int i = 0; i < names.length; i++) {
+				names[i] = entry.getString();
+			}
+			replicas.put(tableId, replica);
+			play(tableId, replica, readDecisions(entry), c -> c.newGame(names.length, names));
+			return;
+		}
+		replica = replicas.get(tableId);
+		if (command == MessageType.PERFORM_SYMBOL) {
+			symbol = entry.getString();
+		}
+		List<String> decisions = readDecisions(entry);
+		if (replica == null) {
+			return;
+		}
+		switch (command) {
+		case NEXT_TURN:
+			play(tableId, replica, decisions, c -> c.playTurn(c.advanceToNextTurn()));
+			break;
+		case PERFORM_SYMBOL:
+			Symbol s = Symbol.valueOf(symbol);
+			play(tableId, replica, decisions, c -> {
+				c.performSymbolAction(c.getPlayerOfCurrentTurn(), s);
+				return true;
+			});
+			break;
+		case RESTORE_HAND:
+			play(tableId, replica, decisions, c -> {
+				c.restorePlayerHand(c.getPlayerOfCurrentTurn());
+				return true;
+			});
+			break;
+		default:
+			System.out.println("Unexpected journal command " + command);
+		}
+	}
+
+	private static List<String> readDecisions(FrameReader entry) {
+		int count = entry.getShort();
+		List<String> decisions = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			decisions.add(entry.getString());
+		}
+		return decisions;
+	}
+
+	/**
+	 * Plays a command on the replica with the decisions the primary took,
+	 * and drops the replica if it does not play the same way.
+	 */
+	private void play(int tableId, Replica replica, List<String> decisions,
+			Function<Controller, Boolean> command) {
+		ScriptedUserInterface script = new ScriptedUserInterface(decisions);
+		replica.game.setUI(script);
+		Random previous = Die.getDie().getRandom();
+		Die.getDie().setRandom(replica.random);
+		try {
+			command.apply(replica.controller);
+			if (script.hasDecisionsLeft()) {
+				throw new IllegalStateException("Not every decision was taken");
+			}
+		} catch (RuntimeException e) {
+			replicas.remove(tableId);
+			diverged++;
+			System.out.println("Dropped the replica of table " + tableId + ": " + e.getMessage());
+		} finally {
+			Die.getDie().setRandom(previous);
+		}
+	}
+
+	/**
+	 * Stops following the primary and starts serving the replicas: their
+	 * clients can resume them on the returned server.
+	 * @see GameServer#GameServer(InetSocketAddress, int, int, long)
+	 */
+	public GameServer promote(InetSocketAddress address, int ioThreads, int workerThreads, long decisionMillis)
+			throws IOException {
+		close();
+		GameServer server = new GameServer(address, ioThreads, workerThreads, decisionMillis);
+		for (Map.Entry<Integer, Replica> e : replicas.entrySet()) {
+			Replica r = e.getValue();
+			r.game.setUI(null);
+			server.adopt(e.getKey(), r.token, r.game, r.random);
+		}
+		return server;
+	}
+
+	/**
+	 * Stops listening and following the primary.
+	 */
+	@Override
+	public void close() throws IOException {
+		serverChannel.close();
+		SocketChannel channel = primary;
+		if (channel != null) {
+			channel.close();
+		}
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int journalPort = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_JOURNAL_PORT;
+		int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+		HotStandby standby = new HotStandby(new InetSocketAddress(journalPort));
+		System.out.println("Waiting for the journal on port " + standby.getPort());
+		standby.awaitPrimaryLoss(Long.MAX_VALUE, TimeUnit.DAYS);
+		int cores = Runtime.getRuntime().availableProcessors();
+		GameServer server = standby.promote(new InetSocketAddress(port), Math.max(1, cores / 2), cores * 4,
+				GameServer.DEFAULT_DECISION_MILLIS);
+		System.out.println("Took over, listening on port " + server.getPort());
+		Thread.currentThread().join();
+	}
+
+}
@@ -0,0 +1,123 @@
+package server;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * <b> A thread which reads and writes the frames of its connections. </b>
+ * <p>
+ * Everything that touches the loop's selector or its connections' sockets
+ * runs on the loop's thread; other threads hand their work over through
+ * {@link #execute(Runnable)}.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+class IoLoop implements Runnable {
+
+	private final Selector selector;
+	private final Thread thread;
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+	private volatile boolean running = true;
+
+	IoLoop(String name) throws IOException {
+		selector = Selector.open();
+		thread = new Thread(this, name);
+		thread.setDaemon(true);
+	}
+
+	void start() {
+		thread.start();
+	}
+
+	Selector getSelector() {
+		return selector;
+	}
+
+	/**
+	 * Runs the task on the loop's thread.
+	 */
+	void execute(Runnable task) {
+		tasks.offer(task);
+		if (Thread.currentThread() != thread) {
+			selector.wakeup();
+		}
+	}
+
+	@Override
+	public void run() {
+		while (running) {
+			// Includes the tasks queued by the loop itself while handling the
+			// last keys; the others wake the selector up
+			Runnable task;
+			while ((task = tasks.poll()) != null) {
+				task.run();
+			}
+			try {
+				selector.select();
+			} catch (IOException e) {
+				System.out.println("Selector failed: " + e.getMessage());
+				break;
+			}
+			Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+			while (keys.hasNext()) {
+				SelectionKey key = keys.next();
+				keys.remove();
+				try {
+					handle(key);
+				} catch (CancelledKeyException e) {
+					// The connection was closed while it was selected
+				}
+			}
+		}
+		for (SelectionKey key : selector.keys()) {
+			if (key.attachment() instanceof Connection) {
+				((Connection) key.attachment()).close();
+			}
+		}
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			task.run();
+		}
+		try {
+			selector.close();
+		} catch (IOException e) {
+			// Closing anyway
+		}
+	}
+
+	private void handle(SelectionKey key) {
+		Object attachment = key.attachment();
+		if (attachment instanceof Runnable) {
+			// E.g. the server's acceptor
+			((Runnable) attachment).run();
+			return;
+		}
+		Connection c = (Connection) attachment;
+		if (key.isReadable()) {
+			c.read();
+		}
+		if (key.isValid() && key.isWritable()) {
+			c.flush();
+		}
+	}
+
+	/**
+	 * Stops the loop and closes its connections.
+	 */
+	void shutdown() {
+		running = false;
+		selector.wakeup();
+	}
+
+	void join() throws InterruptedException {
+		thread.join();
+	}
+
+}
@@ -0,0 +1,210 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <b> Streams the journal of the live tables to a {@link HotStandby}. </b>
+ * <p>
+ * The journal is made of the commands applied to each table, along with the
+ * decisions taken while they were applied, which is all the standby needs
+ * to play them again (see {@link MessageType#JOURNAL_COMMAND}). The tables
+ * append their entries from their own threads without waiting; a
+ * background thread writes whatever has been appended in one gathering
+ * write, so an entry reaches the standby within a few milliseconds of the
+ * command completing.
+ * </p>
+ * <p>
+ * If the standby goes away, the journal is dropped from then on and the
+ * tables carry on.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class JournalShipper implements AutoCloseable {
+
+	/**
+	 * The longest the shipping thread sleeps when it has nothing to write.
+	 */
+	private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+	private static final int MAX_BATCH = 64;
+
+	private final SocketChannel channel;
+	private final BufferPool pool;
+	private final MpscMailbox<ByteBuffer> pending = new MpscMailbox<>();
+	private final Thread thread;
+	private final AtomicLong appended = new AtomicLong();
+	private volatile long shipped;
+	private volatile boolean running = true;
+	private volatile boolean failed;
+
+	/**
+	 * Connects to the standby and starts shipping.
+	 * @param pool_ where the entries are written
+	 */
+	public JournalShipper(InetSocketAddress standby, BufferPool pool_) throws IOException {
+		channel = SocketChannel.open(standby);
+		channel.socket().setTcpNoDelay(true);
+		pool = pool_;
+		thread = new Thread(this::run, "journal-shipper");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Journals the start of a game.
+	 * @param token the token which resumes the table's session
+	 * @param seed the seed the table's die was given
+	 * @param decisions the decisions taken while the game was set up
+	 */
+	public void gameStarted(int tableId, long token, long seed, String[] names, List<String> decisions) {
+		if (failed) {
+			return;
+		}
+		FrameBuilder frame = start(tableId, MessageType.NEW_GAME)
+				.putLong(token)
+				.putLong(seed)
+				.putByte(names.length);
+		for (String n : names) {
+			frame.putString(n);
+		}
+		append(frame, decisions);
+	}
+
+	/**
+	 * Journals a command applied to a table's game.
+	 * @param type {@link MessageType#NEXT_TURN}, {@link MessageType#PERFORM_SYMBOL}
+	 * 	or {@link MessageType#RESTORE_HAND}
+	 * @param argument the symbol performed, or null
+	 * @param decisions the decisions taken while the command was applied
+	 */
+	public void commandApplied(int tableId, MessageType type, String argument, List<String> decisions) {
+		if (failed) {
+			return;
+		}
+		FrameBuilder frame = start(tableId, type);
+		if (argument != null) {
+			frame.putString(argument);
+		}
+		append(frame, decisions);
+	}
+
+	/**
+	 * Journals the departure of a table's client: the standby forgets the table.
+	 */
+	public void tableClosed(int tableId) {
+		if (failed) {
+			return;
+		}
+		enqueue(new FrameBuilder(pool.acquire(), MessageType.JOURNAL_CLOSE).putInt(tableId).finish());
+	}
+
+	private FrameBuilder start(int tableId, MessageType type) {
+		return new FrameBuilder(pool.acquire(), MessageType.JOURNAL_COMMAND)
+				.putInt(tableId)
+				.putByte(type.getCode());
+	}
+
+	private void append(FrameBuilder frame, List<String> decisions) {
+		frame.putShort(decisions.size());
+		for (String d : decisions) {
+			frame.putString(d);
+		}
+		enqueue(frame.finish());
+	}
+
+	private void enqueue(ByteBuffer entry) {
+		appended.incrementAndGet();
+		pending.offer(entry);
+		LockSupport.unpark(thread);
+	}
+
+	/**
+	 * @return the number of entries appended so far.
+	 */
+	public long getAppendedCount() {
+		return appended.get();
+	}
+
+	/**
+	 * @return the number of entries written to the standby so far.
+	 */
+	public long getShippedCount() {
+		return shipped;
+	}
+
+	/**
+	 * @return true if the standby can no longer be written to.
+	 */
+	public boolean hasFailed() {
+		return failed;
+	}
+
+	private void run() {
+		ByteBuffer[] batch = new ByteBuffer[MAX_BATCH];
+		while (true) {
+			int n = 0;
+			ByteBuffer entry;
+			while (n < batch.length && (entry = pending.poll()) != null) {
+				batch[n++] = entry;
+			}
+			if (n == 0) {
+				if (!running) {
+					break;
+				}
+				LockSupport.parkNanos(this, IDLE_NANOS);
+				continue;
+			}
+			ship(batch, n);
+		}
+	}
+
+	private void ship(ByteBuffer[] batch, int n) {
+		try {
+			if (!failed) {
+				long left = 0;
+				for (int i = 0; i < n; i++) {
+					left += batch[i].remaining();
+				}
+				while (left > 0) {
+					left -= channel.write(batch, 0, n);
+				}
+				shipped += n;
+			}
+		} catch (IOException e) {
+			failed = true;
+			System.out.println("The standby can no longer be reached, the journal is dropped: " + e.getMessage());
+		} finally {
+			for (int i = 0; i < n; i++) {
+				pool.release(batch[i]);
+				batch[i] = null;
+			}
+		}
+	}
+
+	/**
+	 * Ships the entries appended so far and disconnects from the standby.
+	 */
+	@Override
+	public void close() throws IOException {
+		running = false;
+		LockSupport.unpark(thread);
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			// What the tables append from now on is dropped
+			failed = true;
+			channel.close();
+		}
+	}
+
+}
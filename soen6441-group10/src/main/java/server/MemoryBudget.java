@@ -0,0 +1,72 @@
+package server;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <b> The heap a {@link GameServer}'s tables may take, and what happens beyond it. </b>
+ * <p>
+ * The server estimates the heap taken by the game of each table (see
+ * {@link TableActor#measure()}) every {@link #getSweepMillis()}. When the
+ * total goes over the budget, the tables which have been idle for at least
+ * {@link #getIdleMillis()} are unloaded to the store, the least recently
+ * active first, until the total is back under the budget; their games are
+ * loaded back when their clients next play. As long as the total stays over
+ * the budget, new games are refused.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class MemoryBudget {
+
+	public static final long DEFAULT_SWEEP_MILLIS = 1000;
+
+	private final long budgetBytes;
+	private final long idleMillis;
+	private final long sweepMillis;
+	private final TableStore store;
+
+	/**
+	 * @param budgetBytes_ the heap all the tables' games may take
+	 * @param idleMillis_ the time a table must have been idle to be unloaded
+	 * @param store_ where the unloaded games are kept
+	 */
+	public MemoryBudget(long budgetBytes_, long idleMillis_, TableStore store_) {
+		this(budgetBytes_, idleMillis_, DEFAULT_SWEEP_MILLIS, store_);
+	}
+
+	/**
+	 * @param sweepMillis_ the time between two estimates of the heap taken
+	 * @see #MemoryBudget(long, long, TableStore)
+	 */
+	public MemoryBudget(long budgetBytes_, long idleMillis_, long sweepMillis_, TableStore store_) {
+		if (budgetBytes_ <= 0 || idleMillis_ < 0 || sweepMillis_ <= 0) {
+			throw new IllegalArgumentException("The budget and the sweep interval must be positive");
+		}
+		budgetBytes = budgetBytes_;
+		idleMillis = idleMillis_;
+		sweepMillis = sweepMillis_;
+		store = store_;
+	}
+
+	public long getBudgetBytes() {
+		return budgetBytes;
+	}
+
+	public long getIdleMillis() {
+		return idleMillis;
+	}
+
+	long getIdleNanos() {
+		return TimeUnit.MILLISECONDS.toNanos(idleMillis);
+	}
+
+	public long getSweepMillis() {
+		return sweepMillis;
+	}
+
+	public TableStore getStore() {
+		return store;
+	}
+
+}
@@ -0,0 +1,119 @@
+package server;
+
+
+/**
+ * <b> The types of the frames exchanged with remote players. </b>
+ * <p>
+ * Every frame is made of the length of the rest of the frame (4 bytes),
+ * the code of its type (1 byte) and its payload. Strings are written as
+ * their UTF-8 length (2 bytes) followed by their UTF-8 bytes.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public enum MessageType {
+
+	// Client to server
+	/** Starts a new game at the client's table. Payload: player count (1 byte), names. */
+	NEW_GAME(1),
+	/** Advances to the next player and plays the turn. No payload. */
+	NEXT_TURN(2),
+	/** Answers the last prompt. Payload: one of the prompt's options. */
+	DECISION(3),
+	/** Performs a symbol for the player in turn. Payload: the symbol's name. */
+	PERFORM_SYMBOL(4),
+	/** Restores the hand of the player in turn. No payload. */
+	RESTORE_HAND(5),
+	/** Asks for the status of the game. No payload. */
+	STATUS(6),
+	/**
+	 * Watches the game played at a table. Payload: the table's id (4 bytes).
+	 * The spectator gets a {@link #KEYFRAME}, then the {@link #DELTA}s.
+	 */
+	SPECTATE(7),
+	/**
+	 * Takes back the table of a session after the server failed over to its
+	 * standby (see {@link HotStandby}). Payload: the table's id (4 bytes),
+	 * the session's token (8 bytes).
+	 */
+	RESUME(8),
+
+	// Server to client
+	/** A command other than {@link #NEW_GAME} succeeded. Payload: a message. */
+	OK(64),
+	/** A command failed. Payload: the reason. */
+	ERROR(65),
+	/**
+	 * A decision is needed. Payload: the prompt, option count (2 bytes),
+	 * options, milliseconds left to answer (4 bytes, 0 if there is no deadline).
+	 */
+	PROMPT(66),
+	/** A player's turn has started. Payload: the player's color. */
+	TURN_STARTED(67),
+	/**
+	 * A turn has been played. Payload: whether the game has finished (1 byte),
+	 * winner count (1 byte), winners' colors.
+	 */
+	TURN_FINISHED(68),
+	/**
+	 * The status of the game. Payload: player count (1 byte), then for each
+	 * player: color, money (4 bytes), points (4 bytes).
+	 */
+	GAME_STATUS(69),
+	/**
+	 * A game has started, or has been resumed, at the client's table. Payload:
+	 * the table's id (4 bytes), the token which resumes the session (8 bytes).
+	 */
+	GAME_STARTED(70),
+	/** The whole state of a watched game (see {@link SnapshotCodec}). */
+	KEYFRAME(71),
+	/** What changed in a watched game since the last frame (see {@link SnapshotCodec}). */
+	DELTA(72),
+	/**
+	 * The client did not answer in time and the decision was taken for it.
+	 * Payload: the option chosen.
+	 */
+	DECISION_TIMED_OUT(73),
+
+	// Primary to standby (see JournalShipper)
+	/**
+	 * A command applied to a table. Payload: the table's id (4 bytes), the
+	 * code of the command's type (1 byte), its arguments, decision count
+	 * (2 bytes), the decisions taken while it was applied. The arguments of
+	 * {@link #NEW_GAME} are the session's token (8 bytes), the seed of the
+	 * table's die (8 bytes), player count (1 byte) and names; those of
+	 * {@link #PERFORM_SYMBOL} are the symbol's name; the others have none.
+	 */
+	JOURNAL_COMMAND(96),
+	/** A table's client has left. Payload: the table's id (4 bytes). */
+	JOURNAL_CLOSE(97);
+
+	/**
+	 * The types indexed by their code, read off every frame received.
+	 */
+	private static final MessageType[] typesByCode = new MessageType[1 << Byte.SIZE];
+	static {
+		for (MessageType t : values()) {
+			typesByCode[t.code & 0xFF] = t;
+		}
+	}
+
+	private final byte code;
+
+	private MessageType(int code_) {
+		code = (byte) code_;
+	}
+
+	public byte getCode() {
+		return code;
+	}
+
+	/**
+	 * @return the type with the given code, or null if there is none.
+	 */
+	public static MessageType forCode(byte code) {
+		return typesByCode[code & 0xFF];
+	}
+
+}
@@ -0,0 +1,70 @@
+package server;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <b> A lock-free queue with many producers and a single consumer. </b>
+ * <p>
+ * Producers only swap the tail of a linked list of nodes, so offering never
+ * blocks and never retries; the consumer follows the links from the head
+ * without any atomic operation. A node being linked may briefly be missed by
+ * {@link #poll()}, which is why a producer must check whether the consumer
+ * has to be scheduled after its {@link #offer(Object)} returns.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class MpscMailbox<T> {
+
+	private static final class Node<T> {
+		private T value;
+		private volatile Node<T> next;
+
+		private Node(T value_) {
+			value = value_;
+		}
+	}
+
+	private final AtomicReference<Node<T>> tail;
+	/**
+	 * The last node consumed; only used by the consumer.
+	 */
+	private Node<T> head;
+
+	public MpscMailbox() {
+		head = new Node<T>(null);
+		tail = new AtomicReference<>(head);
+	}
+
+	/**
+	 * Adds a message; can be called from any thread.
+	 */
+	public void offer(T value) {
+		Node<T> node = new Node<>(value);
+		tail.getAndSet(node).next = node;
+	}
+
+	/**
+	 * Takes the oldest message; must only be called by the consumer.
+	 * @return the message, or null if there is none.
+	 */
+	public T poll() {
+		Node<T> next = head.next;
+		if (next == null) {
+			return null;
+		}
+		T value = next.value;
+		next.value = null;
+		head = next;
+		return value;
+	}
+
+	/**
+	 * @return true if no message has been fully offered since the last poll.
+	 */
+	public boolean isEmpty() {
+		return head.next == null;
+	}
+
+}
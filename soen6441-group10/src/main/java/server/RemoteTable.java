@@ -0,0 +1,335 @@
+package server;
+
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+import gameplay.GameSnapshot;
+import gameplay.GameSnapshot.PlayerSnapshot;
+import gameplay.GameStatus;
+import gameplay.Player;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import replay.RecordingUserInterface;
+import util.Color;
+import card.player.Symbol;
+import error.PlayerDisconnectedException;
+
+/**
+ * <b> The game played by one remote client. </b>
+ * <p>
+ * The frames are decoded on the I/O thread. The commands they carry are
+ * submitted to the table's {@link TableActor}, and the frame each command
+ * answers with is sent once the game's new snapshot is published; decisions
+ * are handed straight to the turn waiting for them, and the status is read
+ * from the last snapshot without waiting for the game.
+ * </p>
+ * <p>
+ * The table is registered under its id while its client is connected, so
+ * that other clients can watch its game (see {@link SpectatorBroadcaster}).
+ * </p>
+ * <p>
+ * When the server has a standby, each command applied is journaled along
+ * with the decisions taken while it was applied (see {@link JournalShipper}).
+ * A client whose server failed over to its standby takes its table back with
+ * {@link MessageType#RESUME}, giving the token it received when the game
+ * started.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class RemoteTable implements ConnectionHandler {
+
+	/**
+	 * Where the session tokens and the seeds of the dice come from.
+	 */
+	private static final SecureRandom SEEDS = new SecureRandom();
+
+	private final GameServer server;
+	private final Map<Integer, RemoteTable> tables;
+	private final SpectatorBroadcaster spectators = new SpectatorBroadcaster(SpectatorBroadcaster.DEFAULT_MAX_BACKLOG);
+	/**
+	 * The actor and id change when the client resumes another table.
+	 */
+	private volatile TableActor actor;
+	private volatile int id;
+	private long token;
+	/**
+	 * The decisions taken during the command being applied; only used by the
+	 * table's actor.
+	 */
+	private final List<String> decisions = new ArrayList<>();
+	private RemoteUserInterface ui;
+	/**
+	 * The table the client watches, if any.
+	 */
+	private RemoteTable watched;
+
+	/**
+	 * @param server_ the server whose threads, deadlines and journal the table uses
+	 * @param id_ the id the table is registered under
+	 */
+	public RemoteTable(GameServer server_, int id_) {
+		server = server_;
+		actor = new TableActor(server.getWorkers());
+		id = id_;
+		tables = server.getTables();
+		tables.put(id, this);
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public TableActor getActor() {
+		return actor;
+	}
+
+	public SpectatorBroadcaster getSpectators() {
+		return spectators;
+	}
+
+	@Override
+	public void frameReceived(Connection connection, FrameReader frame) {
+		if (ui == null) {
+			ui = new RemoteUserInterface(connection, server.getTimers(), server.getDecisionMillis());
+		}
+		switch (frame.getType()) {
+		case NEW_GAME:
+			String[] names = new String[frame.getByte()];
+			for (int i = 0; i < names.length; i++) {
+				names[i] = frame.getString();
+			}
+			run(connection, c -> newGame(c, connection, names));
+			break;
+		case NEXT_TURN:
+			run(connection, c -> nextTurn(c, connection));
+			break;
+		case DECISION:
+			if (!ui.answer(frame.getString())) {
+				connection.send(MessageType.ERROR, "No decision is pending");
+			}
+			break;
+		case PERFORM_SYMBOL:
+			Symbol symbol = Symbol.valueOf(frame.getString());
+			run(connection, c -> performSymbol(c, connection, symbol));
+			break;
+		case RESTORE_HAND:
+			run(connection, c -> restoreHand(c, connection));
+			break;
+		case STATUS:
+			connection.send(status(connection, actor.getSnapshot()));
+			break;
+		case SPECTATE:
+			spectate(connection, frame.getInt());
+			break;
+		case RESUME:
+			resume(connection, frame.getInt(), frame.getLong());
+			break;
+		default:
+			connection.send(MessageType.ERROR, "Unexpected message " + frame.getType());
+		}
+	}
+
+	@Override
+	public void connectionClosed(Connection connection) {
+		tables.remove(id);
+		JournalShipper journal = server.getJournal();
+		if (journal != null) {
+			journal.tableClosed(id);
+		}
+		if (watched != null) {
+			watched.spectators.unsubscribe(connection);
+		}
+		if (ui != null) {
+			ui.disconnected();
+		}
+	}
+
+	private void spectate(Connection connection, int tableId) {
+		RemoteTable table = tables.get(tableId);
+		if (table == null || table == this) {
+			connection.send(MessageType.ERROR, "No table " + tableId + " to watch");
+			return;
+		}
+		if (watched != null) {
+			watched.spectators.unsubscribe(connection);
+		}
+		watched = table;
+		table.spectators.subscribe(connection);
+		// The keyframe goes out with the next snapshot, so publish one now
+		table.actor.submit(c -> null);
+	}
+
+	private void resume(Connection connection, int tableId, long token_) {
+		GameServer.Session session = server.takeSession(tableId, token_);
+		if (session == null) {
+			connection.send(MessageType.ERROR, "No table " + tableId + " to resume with that token");
+			return;
+		}
+		tables.remove(id);
+		id = tableId;
+		actor = new TableActor(server.getWorkers(), session.game, session.random);
+		tables.put(id, this);
+		run(connection, c -> {
+			token = token_;
+			attach(c.getGame());
+			return started(connection);
+		});
+	}
+
+	/**
+	 * Submits a command to the table and sends the frame it answers with.
+	 */
+	private void run(Connection connection, Function<Controller, ByteBuffer> command) {
+		actor.submit(c -> {
+			decisions.clear();
+			return connection.isOpen() ? command.apply(c) : null;
+		}).whenComplete((reply, e) -> {
+			Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+			if (reply != null) {
+				connection.send(reply);
+			} else if (cause != null && !(cause instanceof PlayerDisconnectedException)) {
+				connection.send(MessageType.ERROR, "Command failed: " + cause);
+			}
+		});
+	}
+
+	private ByteBuffer message(Connection connection, MessageType type, String message) {
+		return new FrameBuilder(connection.getBufferPool().acquire(), type).putString(message).finish();
+	}
+
+	/**
+	 * Unloads the table's game until the client next plays (see
+	 * {@link TableActor#unload}).
+	 * @return true if the game was unloaded.
+	 */
+	CompletableFuture<Boolean> unload(TableStore store) {
+		return actor.unload(store, id, this::attach);
+	}
+
+	/**
+	 * Makes the client play the given game.
+	 */
+	private void attach(Game game) {
+		game.setTableId(id);
+		ui.setTableId(id);
+		game.setUI(new RecordingUserInterface(ui, decisions));
+		game.setInterruptWindowMillis(server.getDecisionMillis());
+		game.addListener(spectators);
+	}
+
+	/**
+	 * Journals the command just applied, if the server has a standby.
+	 */
+	private void journal(MessageType type, String argument) {
+		JournalShipper journal = server.getJournal();
+		if (journal != null) {
+			journal.commandApplied(id, type, argument, decisions);
+		}
+	}
+
+	private ByteBuffer started(Connection connection) {
+		return new FrameBuilder(connection.getBufferPool().acquire(), MessageType.GAME_STARTED)
+				.putInt(id)
+				.putLong(token)
+				.finish();
+	}
+
+	private ByteBuffer newGame(Controller controller, Connection connection, String[] names) {
+		if (!server.acceptsNewGames()) {
+			return message(connection, MessageType.ERROR, "The server is full, try again later");
+		}
+		Game game = new Game();
+		attach(game);
+		controller.setGame(game);
+		// The seed is journaled, for the standby's die to roll the same way
+		long seed = SEEDS.nextLong();
+		Die.getDie().getRandom().setSeed(seed);
+		if (controller.newGame(names.length, names)) {
+			token = SEEDS.nextLong();
+			JournalShipper journal = server.getJournal();
+			if (journal != null) {
+				journal.gameStarted(id, token, seed, names, decisions);
+			}
+			return started(connection);
+		}
+		return message(connection, MessageType.ERROR, "Could not start a game with " + names.length + " players");
+	}
+
+	/**
+	 * @return an ERROR frame if the game cannot be played, null otherwise.
+	 */
+	private ByteBuffer checkPlaying(Controller controller, Connection connection) {
+		GameStatus status = controller.getGameStatus();
+		if (status == GameStatus.UNINITIATED) {
+			return message(connection, MessageType.ERROR, "No game has been started");
+		}
+		if (status == GameStatus.FINISHED) {
+			return message(connection, MessageType.ERROR, "The game has finished");
+		}
+		return null;
+	}
+
+	private ByteBuffer nextTurn(Controller controller, Connection connection) {
+		ByteBuffer error = checkPlaying(controller, connection);
+		if (error != null) {
+			return error;
+		}
+		Player p = controller.advanceToNextTurn();
+		connection.send(MessageType.TURN_STARTED, p.getColor().name());
+		boolean finished = controller.playTurn(p);
+		journal(MessageType.NEXT_TURN, null);
+		List<Color> winners = controller.getGame().getWinners();
+		FrameBuilder frame = new FrameBuilder(connection.getBufferPool().acquire(), MessageType.TURN_FINISHED)
+				.putBoolean(finished)
+				.putByte(winners.size());
+		for (Color c : winners) {
+			frame.putString(c.name());
+		}
+		return frame.finish();
+	}
+
+	private ByteBuffer performSymbol(Controller controller, Connection connection, Symbol symbol) {
+		ByteBuffer error = checkPlaying(controller, connection);
+		if (error != null) {
+			return error;
+		}
+		controller.performSymbolAction(controller.getPlayerOfCurrentTurn(), symbol);
+		journal(MessageType.PERFORM_SYMBOL, symbol.name());
+		return message(connection, MessageType.OK, symbol.name() + " performed");
+	}
+
+	private ByteBuffer restoreHand(Controller controller, Connection connection) {
+		ByteBuffer error = checkPlaying(controller, connection);
+		if (error != null) {
+			return error;
+		}
+		controller.restorePlayerHand(controller.getPlayerOfCurrentTurn());
+		journal(MessageType.RESTORE_HAND, null);
+		return message(connection, MessageType.OK, "Hand restored");
+	}
+
+	private ByteBuffer status(Connection connection, GameSnapshot snapshot) {
+		if (snapshot.getStatus() == GameStatus.UNINITIATED) {
+			return message(connection, MessageType.ERROR, "No game has been started");
+		}
+		FrameBuilder frame = new FrameBuilder(connection.getBufferPool().acquire(), MessageType.GAME_STATUS)
+				.putByte(snapshot.getPlayers().size());
+		for (PlayerSnapshot p : snapshot.getPlayers()) {
+			frame.putString(p.getColor().name())
+					.putInt(p.getMoney())
+					.putInt(p.getPoints());
+		}
+		return frame.finish();
+	}
+
+}
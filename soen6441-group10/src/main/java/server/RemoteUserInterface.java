@@ -0,0 +1,224 @@
+package server;
+
+import gameplay.Player;
+import io.PromptUserInterface;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import card.player.GreenPlayerCard;
+import error.PlayerDisconnectedException;
+import telemetry.DecisionWaitEvent;
+import telemetry.Telemetry;
+
+/**
+ * <b> Takes the decisions of a game from a remote client. </b>
+ * <p>
+ * Each decision is sent as a {@link MessageType#PROMPT} and the turn waits
+ * for the matching {@link MessageType#DECISION}. An answer which is not
+ * one of the options is refused with an {@link MessageType#ERROR} and the
+ * prompt is sent again.
+ * </p>
+ * <p>
+ * When the interface is given a {@link TimingWheel}, each decision has a
+ * deadline, sent with the prompt. A client which has not answered by then is
+ * sent a {@link MessageType#DECISION_TIMED_OUT} and the decision is taken for
+ * it (see {@link #defaultDecision(List)}), so that a slow player does not
+ * hold up the table.
+ * </p>
+ * <p>
+ * Interrupt cards are offered without waiting (see
+ * {@link #offerInterrupt(Player, GreenPlayerCard, long)}): the offer is a
+ * yes/no prompt whose answer completes the offer, and an offer the game
+ * withdraws is reported as a {@link MessageType#DECISION_TIMED_OUT}.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class RemoteUserInterface extends PromptUserInterface {
+
+	/**
+	 * Given to the waiting turn instead of an answer once the client has gone.
+	 */
+	private static final String DISCONNECTED = new String("disconnected");
+	private static final List<String> YES_OR_NO = Arrays.asList(YES, NO);
+
+	private final Connection connection;
+	/**
+	 * The answers of the client, and the timeouts of the decisions which
+	 * expired.
+	 */
+	private final BlockingQueue<Object> answers = new LinkedBlockingQueue<>();
+	private final TimingWheel timers;
+	private final long decisionMillis;
+	private volatile boolean waiting;
+	/**
+	 * The table the decisions are taken at, which tags their recorded waits.
+	 */
+	private volatile int tableId;
+	/**
+	 * The interrupt card offer waiting for its answer, if any.
+	 */
+	private final AtomicReference<CompletableFuture<Boolean>> offer = new AtomicReference<>();
+
+	/**
+	 * Waits for each decision as long as it takes.
+	 */
+	public RemoteUserInterface(Connection connection_) {
+		this(connection_, null, 0);
+	}
+
+	/**
+	 * @param timers_ the wheel the deadlines are scheduled on, or null for no deadline
+	 * @param decisionMillis_ the time the client has to take each decision
+	 */
+	public RemoteUserInterface(Connection connection_, TimingWheel timers_, long decisionMillis_) {
+		connection = connection_;
+		timers = timers_;
+		decisionMillis = decisionMillis_;
+	}
+
+	public void setTableId(int tableId_) {
+		tableId = tableId_;
+	}
+
+	@Override
+	protected String choose(String prompt, List<String> options) {
+		DecisionWaitEvent event = null;
+		if (Telemetry.isRecording()) {
+			event = new DecisionWaitEvent();
+			event.begin();
+		}
+		String decision = null;
+		boolean timedOut = false;
+		TimingWheel.Timeout deadline = null;
+		long start = System.nanoTime();
+		if (timers != null) {
+			TimingWheel.Timeout[] self = new TimingWheel.Timeout[1];
+			deadline = self[0] = timers.schedule(() -> answers.offer(self[0]), decisionMillis,
+					TimeUnit.MILLISECONDS);
+		}
+		waiting = true;
+		try {
+			while (true) {
+				long left = decisionMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+				sendPrompt(prompt, options, deadline == null ? 0 : (int) Math.max(1, left));
+				Object answer = answers.take();
+				if (answer == DISCONNECTED) {
+					throw new PlayerDisconnectedException("The player disconnected during a decision");
+				}
+				if (answer instanceof TimingWheel.Timeout) {
+					if (answer != deadline) {
+						// The deadline of a decision answered just in time
+						continue;
+					}
+					decision = defaultDecision(options);
+					timedOut = true;
+					connection.send(MessageType.DECISION_TIMED_OUT, decision);
+					return decision;
+				}
+				if (options.contains(answer)) {
+					decision = (String) answer;
+					return decision;
+				}
+				connection.send(MessageType.ERROR, "Invalid decision: " + answer);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PlayerDisconnectedException("Interrupted while waiting for a decision");
+		} finally {
+			waiting = false;
+			if (deadline != null) {
+				deadline.cancel();
+			}
+			if (event != null) {
+				event.finish(tableId, prompt, options.size(), decision, timedOut);
+			}
+		}
+	}
+
+	/**
+	 * The decision taken for a client which did not answer in time: a
+	 * question is answered {@value #NO}, so that no interrupt card or optional
+	 * action is played on the client's behalf, and any other decision is
+	 * taken at random, as a bot would. The table's die is left alone, so that
+	 * a standby replaying the decision rolls the same way.
+	 * @param options the valid answers
+	 * @return one of the options
+	 */
+	public static String defaultDecision(List<String> options) {
+		if (options.contains(NO)) {
+			return NO;
+		}
+		return options.get(ThreadLocalRandom.current().nextInt(options.size()));
+	}
+
+	/**
+	 * @param millis the time left to answer, or 0 if there is no deadline
+	 */
+	private void sendPrompt(String prompt, List<String> options, int millis) {
+		FrameBuilder frame = new FrameBuilder(connection.getBufferPool().acquire(), MessageType.PROMPT)
+				.putString(prompt)
+				.putShort(options.size());
+		for (String o : options) {
+			frame.putString(o);
+		}
+		connection.send(frame.putInt(millis).finish());
+	}
+
+	@Override
+	public CompletableFuture<Boolean> offerInterrupt(Player player, GreenPlayerCard card, long millis) {
+		CompletableFuture<Boolean> o = new CompletableFuture<>();
+		offer.set(o);
+		o.whenComplete((played, e) -> {
+			offer.compareAndSet(o, null);
+			if (e instanceof CancellationException) {
+				connection.send(MessageType.DECISION_TIMED_OUT, NO);
+			}
+		});
+		sendPrompt(player.getColor() + ", do you want to play " + card.name() + "?", YES_OR_NO, (int) millis);
+		return o;
+	}
+
+	/**
+	 * Hands a decision received from the client over to the waiting turn, or
+	 * to the pending interrupt card offer.
+	 * @return false if no decision is being waited for.
+	 */
+	boolean answer(String decision) {
+		CompletableFuture<Boolean> o = offer.get();
+		if (o != null) {
+			if (YES_OR_NO.contains(decision)) {
+				o.complete(YES.equals(decision));
+			} else {
+				connection.send(MessageType.ERROR, "Invalid decision: " + decision);
+			}
+			return true;
+		}
+		if (!waiting) {
+			return false;
+		}
+		answers.offer(decision);
+		return true;
+	}
+
+	/**
+	 * Makes the waiting turn, if any, give up.
+	 */
+	void disconnected() {
+		CompletableFuture<Boolean> o = offer.get();
+		if (o != null) {
+			o.complete(false);
+		}
+		answers.offer(DISCONNECTED);
+	}
+
+}
@@ -0,0 +1,191 @@
+package server;
+
+import gameplay.GameSnapshot;
+import gameplay.GameSnapshot.AreaSnapshot;
+import gameplay.GameSnapshot.PlayerSnapshot;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import util.Color;
+
+/**
+ * <b> Encodes game snapshots for spectators, whole or as the changes from
+ * the previous one. </b>
+ * <p>
+ * Layout of the payloads:
+ * <pre>
+ * KEYFRAME = sequence(8) entryCount(2) entry*
+ * DELTA    = sequence(8) entryCount(2) entry*
+ * entry    = NAME   color(1) name
+ *          | TABLE  status(1) currentPlayer(1) bank(4) playerDeck(2) randomEventDeck(2) winnerCount(1) color(1)*
+ *          | PLAYER color(1) money(4) minions(1) buildings(1) handSize(1) points(4)
+ *          | AREA   areaCode(1) buildingOwner(1) trolls(1) demons(1) trouble(1) controlledBy(1)
+ *                   minionCount(1) (color(1) minions(1))*
+ * </pre>
+ * The sequence numbers the states a spectator can be in: a delta takes a
+ * spectator from the previous sequence number to its own, and a keyframe
+ * puts it at its sequence number whatever state it was in.
+ * A color is written as its code plus one, so that 0 stands for no color.
+ * A keyframe has every entry; a delta only has the players and areas which
+ * changed, which snapshots make cheap to find since they share what did not
+ * change (see {@link GameSnapshot}).
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public final class SnapshotCodec {
+
+	public static final int NAME = 1;
+	public static final int TABLE = 2;
+	public static final int PLAYER = 3;
+	public static final int AREA = 4;
+
+	private SnapshotCodec() {
+	}
+
+	/**
+	 * @return the keyframe of the snapshot.
+	 */
+	static ByteBuffer keyframe(GameSnapshot s, long sequence, ByteBuffer scratch) {
+		scratch.clear();
+		FrameBuilder f = new FrameBuilder(scratch, MessageType.KEYFRAME)
+				.putLong(sequence)
+				.putShort(1 + 2 * s.getPlayers().size() + s.getAreas().size());
+		for (PlayerSnapshot p : s.getPlayers()) {
+			f.putByte(NAME).putByte(code(p.getColor())).putString(p.getName());
+		}
+		putTable(f, s);
+		for (PlayerSnapshot p : s.getPlayers()) {
+			putPlayer(f, p);
+		}
+		for (AreaSnapshot a : s.getAreas()) {
+			putArea(f, a);
+		}
+		return copy(f.finish());
+	}
+
+	/**
+	 * @return the delta from one snapshot to the next, or null if nothing a
+	 * 	spectator sees has changed.
+	 * @throws IllegalArgumentException if the snapshots are not of the same game
+	 */
+	static ByteBuffer delta(GameSnapshot from, GameSnapshot to, long sequence, ByteBuffer scratch) {
+		if (from.getPlayers().size() != to.getPlayers().size() || from.getAreas().size() != to.getAreas().size()) {
+			throw new IllegalArgumentException("Not the same game");
+		}
+		boolean table = from.getStatus() != to.getStatus() || from.getCurrentPlayer() != to.getCurrentPlayer()
+				|| from.getBankBalance() != to.getBankBalance() || from.getPlayerDeckSize() != to.getPlayerDeckSize()
+				|| from.getRandomEventDeckSize() != to.getRandomEventDeckSize()
+				|| !from.getWinners().equals(to.getWinners());
+		int entries = (table ? 1 : 0) + changed(from.getPlayers(), to.getPlayers())
+				+ changed(from.getAreas(), to.getAreas());
+		if (entries == 0) {
+			return null;
+		}
+		scratch.clear();
+		FrameBuilder f = new FrameBuilder(scratch, MessageType.DELTA)
+				.putLong(sequence)
+				.putShort(entries);
+		if (table) {
+			putTable(f, to);
+		}
+		if (from.getPlayers() != to.getPlayers()) {
+			for (int i = 0; i < to.getPlayers().size(); i++) {
+				if (from.getPlayers().get(i) != to.getPlayers().get(i)) {
+					putPlayer(f, to.getPlayers().get(i));
+				}
+			}
+		}
+		if (from.getAreas() != to.getAreas()) {
+			for (int i = 0; i < to.getAreas().size(); i++) {
+				if (from.getAreas().get(i) != to.getAreas().get(i)) {
+					putArea(f, to.getAreas().get(i));
+				}
+			}
+		}
+		return copy(f.finish());
+	}
+
+	/**
+	 * Counts the elements which are not shared between two snapshots.
+	 */
+	private static int changed(List<?> from, List<?> to) {
+		if (from == to) {
+			return 0;
+		}
+		int count = 0;
+		for (int i = 0; i < to.size(); i++) {
+			if (from.get(i) != to.get(i)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static void putTable(FrameBuilder f, GameSnapshot s) {
+		f.putByte(TABLE)
+				.putByte(s.getStatus().ordinal())
+				.putByte(code(s.getCurrentPlayer()))
+				.putInt(s.getBankBalance())
+				.putShort(s.getPlayerDeckSize())
+				.putShort(s.getRandomEventDeckSize())
+				.putByte(s.getWinners().size());
+		for (Color c : s.getWinners()) {
+			f.putByte(code(c));
+		}
+	}
+
+	private static void putPlayer(FrameBuilder f, PlayerSnapshot p) {
+		f.putByte(PLAYER)
+				.putByte(code(p.getColor()))
+				.putInt(p.getMoney())
+				.putByte(p.getMinions())
+				.putByte(p.getBuildings())
+				.putByte(p.getHandSize())
+				.putInt(p.getPoints());
+	}
+
+	private static void putArea(FrameBuilder f, AreaSnapshot a) {
+		f.putByte(AREA)
+				.putByte(a.getArea().getAreaCode())
+				.putByte(code(a.getBuildingOwner()))
+				.putByte(a.getTrolls())
+				.putByte(a.getDemons())
+				.putBoolean(a.hasTroubleMarker())
+				.putByte(code(a.getControlledBy()));
+		int count = 0;
+		for (Integer m : a.getMinions().values()) {
+			if (m != null && m > 0) {
+				count++;
+			}
+		}
+		f.putByte(count);
+		for (Map.Entry<Color, Integer> e : a.getMinions().entrySet()) {
+			if (e.getValue() != null && e.getValue() > 0) {
+				f.putByte(code(e.getKey())).putByte(e.getValue());
+			}
+		}
+	}
+
+	static int code(Color c) {
+		return c == null ? 0 : c.getColorCode() + 1;
+	}
+
+	static Color color(int code) {
+		return code == 0 ? null : Color.forCode(code - 1);
+	}
+
+	/**
+	 * @return a read-only heap copy of the frame, which can be shared by
+	 * 	all the spectators.
+	 */
+	private static ByteBuffer copy(ByteBuffer frame) {
+		ByteBuffer shared = ByteBuffer.allocate(frame.remaining());
+		shared.put(frame).flip();
+		return shared.asReadOnlyBuffer();
+	}
+
+}
@@ -0,0 +1,122 @@
+package server;
+
+import gameplay.Game;
+import gameplay.GameListener;
+import gameplay.GameSnapshot;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <b> Sends the game played at a table to its spectators. </b>
+ * <p>
+ * A spectator first gets a {@link MessageType#KEYFRAME}, then a
+ * {@link MessageType#DELTA} after each action. Each frame is encoded once,
+ * on the thread playing the game, and shared by all the spectators.
+ * </p>
+ * <p>
+ * A spectator whose backlog reaches the given limit stops getting deltas,
+ * rather than having them queued without limit; once it has caught up with
+ * half of its backlog, it skips to a keyframe of the game as it then is.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class SpectatorBroadcaster implements GameListener {
+
+	public static final int DEFAULT_MAX_BACKLOG = 64;
+
+	private static final class Spectator {
+		private final FrameSink sink;
+		/**
+		 * Whether the spectator got every frame since its last keyframe;
+		 * only used by the thread playing the game.
+		 */
+		private boolean synced;
+
+		private Spectator(FrameSink sink_) {
+			sink = sink_;
+		}
+	}
+
+	private final int maxBacklog;
+	private final List<Spectator> spectators = new CopyOnWriteArrayList<>();
+	private final ByteBuffer scratch = ByteBuffer.allocate(GameServer.BUFFER_SIZE);
+	private Game game;
+	private GameSnapshot last;
+	/**
+	 * The sequence number of the last frame encoded (see {@link SnapshotCodec}).
+	 */
+	private long sequence;
+	private volatile long deltasSkipped;
+
+	public SpectatorBroadcaster(int maxBacklog_) {
+		maxBacklog = maxBacklog_;
+	}
+
+	/**
+	 * Adds a spectator, which gets its keyframe with the next snapshot the
+	 * game publishes.
+	 */
+	public void subscribe(FrameSink sink) {
+		spectators.add(new Spectator(sink));
+	}
+
+	public void unsubscribe(FrameSink sink) {
+		spectators.removeIf(s -> s.sink == sink);
+	}
+
+	public int getSpectatorCount() {
+		return spectators.size();
+	}
+
+	/**
+	 * @return the number of deltas not sent to spectators which were too far
+	 * 	behind.
+	 */
+	public long getDeltasSkipped() {
+		return deltasSkipped;
+	}
+
+	@Override
+	public void snapshotPublished(Game game_, GameSnapshot snapshot) {
+		boolean sameGame = game_ == game && last != null
+				&& last.getPlayers().size() == snapshot.getPlayers().size()
+				&& last.getAreas().size() == snapshot.getAreas().size();
+		ByteBuffer delta = sameGame ? SnapshotCodec.delta(last, snapshot, sequence + 1, scratch) : null;
+		if (delta != null || !sameGame) {
+			sequence++;
+		}
+		ByteBuffer keyframe = null;
+		for (Spectator s : spectators) {
+			int backlog = s.sink.getBacklog();
+			if (s.synced && sameGame) {
+				if (delta == null) {
+					continue;
+				}
+				if (backlog < maxBacklog) {
+					s.sink.send(delta.duplicate());
+					continue;
+				}
+				s.synced = false;
+				deltasSkipped++;
+			} else if (backlog <= maxBacklog / 2) {
+				if (keyframe == null) {
+					keyframe = SnapshotCodec.keyframe(snapshot, sequence, scratch);
+				}
+				s.sink.send(keyframe.duplicate());
+				s.synced = true;
+			} else {
+				s.synced = false;
+				if (delta != null) {
+					deltasSkipped++;
+				}
+			}
+		}
+		game = game_;
+		last = snapshot;
+	}
+
+}
@@ -0,0 +1,238 @@
+package server;
+
+import gameplay.GameStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import util.Color;
+import card.city.AnkhMorporkArea;
+
+/**
+ * <b> A spectator's copy of a watched game, kept up to date from the
+ * keyframes and deltas it receives. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class SpectatorView {
+
+	/**
+	 * The state of a player as seen by a spectator.
+	 */
+	public static final class PlayerView {
+		private String name;
+		private int money;
+		private int minions;
+		private int buildings;
+		private int handSize;
+		private int points;
+
+		public String getName() {
+			return name;
+		}
+
+		public int getMoney() {
+			return money;
+		}
+
+		public int getMinions() {
+			return minions;
+		}
+
+		public int getBuildings() {
+			return buildings;
+		}
+
+		public int getHandSize() {
+			return handSize;
+		}
+
+		public int getPoints() {
+			return points;
+		}
+	}
+
+	/**
+	 * The state of an area as seen by a spectator.
+	 */
+	public static final class AreaView {
+		private Color buildingOwner;
+		private int trolls;
+		private int demons;
+		private boolean troubleMarker;
+		private Color controlledBy;
+		private final Map<Color, Integer> minions = new EnumMap<>(Color.class);
+
+		/**
+		 * @return the color of the building's owner, or null if there is no building.
+		 */
+		public Color getBuildingOwner() {
+			return buildingOwner;
+		}
+
+		public int getTrolls() {
+			return trolls;
+		}
+
+		public int getDemons() {
+			return demons;
+		}
+
+		public boolean hasTroubleMarker() {
+			return troubleMarker;
+		}
+
+		public Color getControlledBy() {
+			return controlledBy;
+		}
+
+		public int getMinions(Color c) {
+			Integer m = minions.get(c);
+			return m == null ? 0 : m;
+		}
+	}
+
+	private long sequence = -1;
+	private GameStatus status = GameStatus.UNINITIATED;
+	private Color currentPlayer;
+	private int bankBalance;
+	private int playerDeckSize;
+	private int randomEventDeckSize;
+	private List<Color> winners = Collections.emptyList();
+	private final Map<Color, PlayerView> players = new EnumMap<>(Color.class);
+	private final Map<AnkhMorporkArea, AreaView> areas = new EnumMap<>(AnkhMorporkArea.class);
+	private int keyframes;
+	private int deltas;
+
+	/**
+	 * Applies a {@link MessageType#KEYFRAME} or a {@link MessageType#DELTA}.
+	 * @return false if the frame is neither, or is a delta which does not
+	 * 	follow the last frame applied.
+	 */
+	public boolean apply(FrameReader frame) {
+		if (frame.getType() == MessageType.KEYFRAME) {
+			players.clear();
+			areas.clear();
+			sequence = frame.getLong();
+			keyframes++;
+		} else if (frame.getType() == MessageType.DELTA) {
+			long next = frame.getLong();
+			if (next != sequence + 1) {
+				return false;
+			}
+			sequence = next;
+			deltas++;
+		} else {
+			return false;
+		}
+		for (int entries = frame.getShort(); entries > 0; entries--) {
+			switch (frame.getByte()) {
+			case SnapshotCodec.NAME:
+				player(SnapshotCodec.color(frame.getByte())).name = frame.getString();
+				break;
+			case SnapshotCodec.TABLE:
+				status = GameStatus.values()[frame.getByte()];
+				currentPlayer = SnapshotCodec.color(frame.getByte());
+				bankBalance = frame.getInt();
+				playerDeckSize = frame.getShort();
+				randomEventDeckSize = frame.getShort();
+				List<Color> w = new ArrayList<>();
+				for (int i = frame.getByte(); i > 0; i--) {
+					w.add(SnapshotCodec.color(frame.getByte()));
+				}
+				winners = w;
+				break;
+			case SnapshotCodec.PLAYER:
+				PlayerView p = player(SnapshotCodec.color(frame.getByte()));
+				p.money = frame.getInt();
+				p.minions = frame.getByte();
+				p.buildings = frame.getByte();
+				p.handSize = frame.getByte();
+				p.points = frame.getInt();
+				break;
+			case SnapshotCodec.AREA:
+				AreaView a = area(AnkhMorporkArea.forCode(frame.getByte()));
+				a.buildingOwner = SnapshotCodec.color(frame.getByte());
+				a.trolls = frame.getByte();
+				a.demons = frame.getByte();
+				a.troubleMarker = frame.getBoolean();
+				a.controlledBy = SnapshotCodec.color(frame.getByte());
+				a.minions.clear();
+				for (int i = frame.getByte(); i > 0; i--) {
+					a.minions.put(SnapshotCodec.color(frame.getByte()), frame.getByte());
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown entry");
+			}
+		}
+		return true;
+	}
+
+	private PlayerView player(Color c) {
+		return players.computeIfAbsent(c, k -> new PlayerView());
+	}
+
+	private AreaView area(AnkhMorporkArea a) {
+		return areas.computeIfAbsent(a, k -> new AreaView());
+	}
+
+	/**
+	 * @return the sequence number of the last frame applied (see
+	 * 	{@link SnapshotCodec}), -1 before the first keyframe.
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	public GameStatus getStatus() {
+		return status;
+	}
+
+	public Color getCurrentPlayer() {
+		return currentPlayer;
+	}
+
+	public int getBankBalance() {
+		return bankBalance;
+	}
+
+	public int getPlayerDeckSize() {
+		return playerDeckSize;
+	}
+
+	public int getRandomEventDeckSize() {
+		return randomEventDeckSize;
+	}
+
+	public List<Color> getWinners() {
+		return winners;
+	}
+
+	/**
+	 * @return the player of the given color, or null if there is none.
+	 */
+	public PlayerView getPlayer(Color c) {
+		return players.get(c);
+	}
+
+	/**
+	 * @return the area, or null if it has not been received yet.
+	 */
+	public AreaView getArea(AnkhMorporkArea a) {
+		return areas.get(a);
+	}
+
+	public int getKeyframeCount() {
+		return keyframes;
+	}
+
+	public int getDeltaCount() {
+		return deltas;
+	}
+
+}
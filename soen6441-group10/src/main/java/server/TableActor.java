@@ -0,0 +1,251 @@
+package server;
+
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+import gameplay.GameSnapshot;
+import gameplay.GameStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import metrics.EngineMetrics;
+import metrics.FootprintEstimator;
+
+/**
+ * <b> Owns a game and applies the commands submitted to it, one at a time. </b>
+ * <p>
+ * Any thread can submit a command: it is queued in the table's mailbox and
+ * its result is given back through a future. The commands run on a shared
+ * pool of threads, but never two at a time for the same table, so the game
+ * itself needs no locking. After each command the table publishes an
+ * immutable {@link GameSnapshot}, which other threads read instead of the
+ * game (see {@link #getSnapshot()}).
+ * </p>
+ * <p>
+ * The table also has its own random sequence, which it swaps into the
+ * running thread's {@link Die} while it applies a command.
+ * </p>
+ * <p>
+ * A table waiting for its next command can be unloaded: its game is handed
+ * over to a {@link TableStore} and released (see {@link #unload}). The last
+ * snapshot stays readable, and the game is loaded back before the next
+ * command is applied.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class TableActor {
+
+	/**
+	 * The largest number of commands applied before giving the thread back
+	 * to the other tables.
+	 */
+	private static final int MAX_BATCH = 64;
+
+	private final Executor executor;
+	private final MpscMailbox<Runnable> mailbox = new MpscMailbox<>();
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	private final Random random;
+	private volatile GameSnapshot snapshot;
+	/**
+	 * The table's game, or null while it is unloaded; only used by the thread
+	 * running the commands.
+	 */
+	private Controller controller;
+	private TableStore.StoredGame stored;
+	private Consumer<Game> reattach;
+	private volatile boolean loaded = true;
+	private volatile long lastActive = System.nanoTime();
+	private volatile long footprint;
+	private volatile long measuredAt;
+
+	/**
+	 * @param executor_ the threads the commands run on
+	 */
+	public TableActor(Executor executor_) {
+		this(executor_, new Game(), new Random());
+	}
+
+	public TableActor(Executor executor_, Game game, Random random_) {
+		executor = executor_;
+		controller = new Controller(game);
+		random = random_;
+		snapshot = game.getSnapshot();
+	}
+
+	/**
+	 * Queues a command for the table's game. The command may replace the
+	 * game through {@link Controller#setGame(Game)}.
+	 * @return the result of the command, or the exception it threw.
+	 */
+	public <T> CompletableFuture<T> submit(Function<Controller, T> command) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		mailbox.offer(() -> {
+			try {
+				load();
+				T value = command.apply(controller);
+				publish();
+				result.complete(value);
+			} catch (RuntimeException | Error e) {
+				try {
+					if (controller != null) {
+						publish();
+					}
+				} finally {
+					result.completeExceptionally(e);
+				}
+			} finally {
+				lastActive = System.nanoTime();
+			}
+		});
+		schedule();
+		return result;
+	}
+
+	/**
+	 * Queues a task which looks after the table rather than playing its game:
+	 * no snapshot is published and the table does not count as active.
+	 */
+	private <T> CompletableFuture<T> submitHousekeeping(Supplier<T> task) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		mailbox.offer(() -> {
+			try {
+				result.complete(task.get());
+			} catch (RuntimeException | Error e) {
+				result.completeExceptionally(e);
+			}
+		});
+		schedule();
+		return result;
+	}
+
+	/**
+	 * Unloads the game, unless more commands are queued or applied by then.
+	 * @param store where the game is kept while unloaded
+	 * @param reattach_ what the game is given back, e.g. its user interface,
+	 * 	once it is loaded
+	 * @return true if the game was unloaded.
+	 */
+	public CompletableFuture<Boolean> unload(TableStore store, int tableId, Consumer<Game> reattach_) {
+		// A command running now, e.g. a turn waiting for a decision, makes the table active
+		long active = lastActive;
+		return submitHousekeeping(() -> {
+			if (controller == null || !mailbox.isEmpty() || lastActive != active
+					|| controller.getGameStatus() == GameStatus.UNINITIATED) {
+				return false;
+			}
+			try {
+				stored = store.store(tableId, controller.getGame());
+			} catch (IOException e) {
+				System.out.println("Table " + tableId + " could not be unloaded: " + e.getMessage());
+				return false;
+			}
+			reattach = reattach_;
+			controller = null;
+			loaded = false;
+			return true;
+		});
+	}
+
+	private void load() {
+		if (controller != null) {
+			return;
+		}
+		long start = System.nanoTime();
+		Game game;
+		try {
+			game = stored.load();
+		} catch (IOException e) {
+			throw new UncheckedIOException("The table's game could not be loaded", e);
+		}
+		game.restoreSnapshot(snapshot);
+		reattach.accept(game);
+		controller = new Controller(game);
+		stored = null;
+		reattach = null;
+		loaded = true;
+		EngineMetrics.TABLE_LOAD_DURATION.record(System.nanoTime() - start);
+	}
+
+	/**
+	 * @return false while the game is unloaded.
+	 */
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * @return when the last command was applied, in {@link System#nanoTime()}.
+	 */
+	public long getLastActive() {
+		return lastActive;
+	}
+
+	/**
+	 * Estimates the heap taken by the game (see {@link FootprintEstimator}),
+	 * unless it has not changed since it was last estimated.
+	 */
+	public void measure() {
+		long active = lastActive;
+		if (active == measuredAt) {
+			return;
+		}
+		submitHousekeeping(() -> {
+			if (controller != null) {
+				footprint = FootprintEstimator.estimate(controller.getGame()).getTotal();
+				measuredAt = active;
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * @return the heap taken by the game when it was last measured, in bytes.
+	 */
+	public long getFootprint() {
+		return footprint;
+	}
+
+	/**
+	 * @return the state of the game after the last command applied.
+	 */
+	public GameSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	private void publish() {
+		snapshot = controller.getGame().publishSnapshot();
+	}
+
+	private void schedule() {
+		if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+			executor.execute(this::drain);
+		}
+	}
+
+	private void drain() {
+		Random previous = Die.getDie().getRandom();
+		Die.getDie().setRandom(random);
+		try {
+			Runnable command;
+			for (int i = 0; i < MAX_BATCH && (command = mailbox.poll()) != null; i++) {
+				command.run();
+			}
+		} finally {
+			Die.getDie().setRandom(previous);
+			scheduled.set(false);
+			// Commands may be left, or have been submitted after the last poll
+			schedule();
+		}
+	}
+
+}
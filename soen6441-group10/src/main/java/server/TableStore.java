@@ -0,0 +1,38 @@
+package server;
+
+import gameplay.Game;
+
+import java.io.IOException;
+
+/**
+ * <b> Where the games of unloaded tables are kept (see {@link TableActor#unload}). </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public interface TableStore {
+
+	/**
+	 * A game kept by a store, which can be given back once.
+	 */
+	interface StoredGame {
+
+		/**
+		 * @return the game as it was stored; its transient state (the user
+		 * 	interface, the listeners...) is not.
+		 */
+		Game load() throws IOException;
+
+		/**
+		 * @return the bytes the stored game takes.
+		 */
+		long getSize();
+	}
+
+	/**
+	 * Keeps the state of the game; the game itself is not kept.
+	 * @param tableId the id of the table the game is played at
+	 */
+	StoredGame store(int tableId, Game game) throws IOException;
+
+}
@@ -0,0 +1,213 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <b> Runs tasks after a delay, for any number of tables, on one thread. </b>
+ * <p>
+ * The timeouts are hashed into a ring of slots, one slot per tick. The
+ * wheel's thread wakes up once per tick and only looks at the timeouts of the
+ * slot under its hand, so scheduling, cancelling and expiring a timeout all
+ * take constant time however many are pending. A timeout further away than
+ * one turn of the wheel waits in its slot for the number of turns it still
+ * has to go.
+ * </p>
+ * <p>
+ * Timeouts are handed over to the wheel's thread through a
+ * {@link MpscMailbox}, and cancelled ones are only marked, so scheduling and
+ * cancelling never block. The tasks run on the wheel's thread and must be
+ * short: they should only hand their work over to another thread.
+ * A timeout fires no earlier than its delay and at most about one tick later.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class TimingWheel implements AutoCloseable {
+
+	public static final long DEFAULT_TICK_MILLIS = 10;
+	public static final int DEFAULT_WHEEL_SIZE = 512;
+
+	private static final int PENDING = 0;
+	private static final int CANCELLED = 1;
+	private static final int EXPIRED = 2;
+
+	/**
+	 * A task waiting on the wheel.
+	 */
+	public static final class Timeout {
+		private final Runnable task;
+		private final long deadline;
+		private final AtomicInteger state = new AtomicInteger(PENDING);
+		/**
+		 * The turns of the wheel left before expiring; only used by the wheel's thread.
+		 */
+		private long rounds;
+
+		private Timeout(Runnable task_, long deadline_) {
+			task = task_;
+			deadline = deadline_;
+		}
+
+		/**
+		 * Stops the task from running, if it has not run yet.
+		 * @return true if the task will not run.
+		 */
+		public boolean cancel() {
+			return state.compareAndSet(PENDING, CANCELLED) || state.get() == CANCELLED;
+		}
+
+		public boolean isCancelled() {
+			return state.get() == CANCELLED;
+		}
+
+		public boolean isExpired() {
+			return state.get() == EXPIRED;
+		}
+	}
+
+	private final long tickNanos;
+	private final List<List<Timeout>> slots;
+	private final int mask;
+	private final MpscMailbox<Timeout> scheduled = new MpscMailbox<>();
+	private final AtomicInteger pending = new AtomicInteger();
+	private final Thread thread;
+	private final long start;
+	private volatile boolean running = true;
+	/**
+	 * The number of ticks processed so far; only used by the wheel's thread.
+	 */
+	private long tick;
+
+	public TimingWheel(String name) {
+		this(DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE, name);
+	}
+
+	/**
+	 * Starts the wheel's thread.
+	 * @param tickMillis the time between two ticks, which bounds how late a
+	 * 	timeout may fire
+	 * @param wheelSize the number of slots, rounded up to a power of two
+	 * @param name the name of the wheel's thread
+	 */
+	public TimingWheel(long tickMillis, int wheelSize, String name) {
+		if (tickMillis <= 0 || wheelSize <= 0) {
+			throw new IllegalArgumentException("The tick and the wheel size must be positive");
+		}
+		tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+		int size = Integer.highestOneBit(wheelSize);
+		if (size < wheelSize) {
+			size <<= 1;
+		}
+		slots = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			slots.add(new ArrayList<>());
+		}
+		mask = size - 1;
+		start = System.nanoTime();
+		thread = new Thread(this::run, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Runs the task on the wheel's thread once the delay has passed.
+	 * @return the timeout, which can be cancelled.
+	 */
+	public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+		Timeout t = new Timeout(task, System.nanoTime() + Math.max(0, unit.toNanos(delay)));
+		pending.incrementAndGet();
+		scheduled.offer(t);
+		return t;
+	}
+
+	/**
+	 * @return the number of timeouts which have neither run nor been dropped
+	 * 	from the wheel since they were cancelled.
+	 */
+	public int getPendingCount() {
+		return pending.get();
+	}
+
+	private void run() {
+		while (running) {
+			long deadline = start + (tick + 1) * tickNanos;
+			long wait;
+			while ((wait = deadline - System.nanoTime()) > 0 && running) {
+				LockSupport.parkNanos(this, wait);
+			}
+			if (!running) {
+				break;
+			}
+			transferScheduled();
+			expire(slots.get((int) (tick & mask)));
+			tick++;
+		}
+	}
+
+	/**
+	 * Puts the timeouts scheduled since the last tick in their slots.
+	 */
+	private void transferScheduled() {
+		Timeout t;
+		while ((t = scheduled.poll()) != null) {
+			if (t.isCancelled()) {
+				pending.decrementAndGet();
+				continue;
+			}
+			// The tick at the end of which the deadline has passed, but never
+			// one already processed
+			long ticks = Math.max(tick, (t.deadline - start + tickNanos - 1) / tickNanos - 1);
+			t.rounds = (ticks - tick) / slots.size();
+			slots.get((int) (ticks & mask)).add(t);
+		}
+	}
+
+	private void expire(List<Timeout> slot) {
+		for (int i = 0; i < slot.size(); i++) {
+			Timeout t = slot.get(i);
+			boolean remove;
+			if (t.isCancelled()) {
+				remove = true;
+			} else if (t.rounds > 0) {
+				t.rounds--;
+				remove = false;
+			} else {
+				remove = true;
+				if (t.state.compareAndSet(PENDING, EXPIRED)) {
+					try {
+						t.task.run();
+					} catch (RuntimeException e) {
+						System.out.println("A timeout failed: " + e);
+					}
+				}
+			}
+			if (remove) {
+				// Order within a slot does not matter
+				slot.set(i, slot.get(slot.size() - 1));
+				slot.remove(slot.size() - 1);
+				i--;
+				pending.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Stops the wheel's thread; the pending timeouts never fire.
+	 */
+	@Override
+	public void close() {
+		running = false;
+		LockSupport.unpark(thread);
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,239 @@
+package simulation;
+
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import profiling.RuleProfiler;
+import replay.RandomUserInterface;
+
+/**
+ * <b> Plays many games at random, on many threads, and gathers their statistics. </b>
+ * <p>
+ * Each thread plays the games it takes from a shared counter and counts
+ * them in its own {@link SimulationStats}, so the threads never wait on each
+ * other. Every {@link #getPublishEvery()} games, a thread publishes a copy
+ * of its statistics, which {@link #getProgress()} merges from any thread
+ * while the simulation runs; at the end, the statistics of all the threads
+ * are merged. The game of number i is played with the die and the decisions
+ * seeded with i, so a simulation is reproducible.
+ * </p>
+ * Usage:
+ * <pre>
+ * java simulation.Simulation [games] [threads] [players] [profile]
+ * </pre>
+ * With {@code profile}, the games are played with a {@link RuleProfiler}
+ * installed, whose ranking of the effects of the rules is printed after the
+ * statistics.
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class Simulation {
+
+	public static final int DEFAULT_MAX_TURNS = 500;
+	public static final int DEFAULT_PUBLISH_EVERY = 100;
+
+	private static final String[] NAMES = { "George", "Dimitri", "Ross", "Nick" };
+
+	private final long games;
+	private final int threads;
+	private int players = NAMES.length;
+	private int maxTurns = DEFAULT_MAX_TURNS;
+	private int publishEvery = DEFAULT_PUBLISH_EVERY;
+
+	private final AtomicLong next = new AtomicLong();
+	private final List<Worker> workers = new CopyOnWriteArrayList<>();
+
+	/**
+	 * @param games_ the number of games to play
+	 * @param threads_ the number of threads to play them on
+	 */
+	public Simulation(long games_, int threads_) {
+		games = games_;
+		threads = threads_;
+	}
+
+	/**
+	 * @param players_ the number of players of each game, 2 to 4
+	 */
+	public Simulation setPlayers(int players_) {
+		players = players_;
+		return this;
+	}
+
+	/**
+	 * @param maxTurns_ the number of turns after which a game is stopped
+	 */
+	public Simulation setMaxTurns(int maxTurns_) {
+		maxTurns = maxTurns_;
+		return this;
+	}
+
+	public int getPublishEvery() {
+		return publishEvery;
+	}
+
+	/**
+	 * @param publishEvery_ the number of games after which each thread
+	 * 	publishes its statistics for {@link #getProgress()}
+	 */
+	public Simulation setPublishEvery(int publishEvery_) {
+		publishEvery = publishEvery_;
+		return this;
+	}
+
+	/**
+	 * Plays the games. Nothing the games print is shown meanwhile.
+	 * @return the statistics of all the games.
+	 */
+	public SimulationStats run() {
+		next.set(0);
+		workers.clear();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		PrintStream out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+		}));
+		try {
+			List<Future<?>> futures = new ArrayList<>(threads);
+			for (int i = 0; i < threads; i++) {
+				Worker w = new Worker();
+				workers.add(w);
+				futures.add(executor.submit(w));
+			}
+			for (Future<?> f : futures) {
+				f.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while simulating games", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			System.setOut(out);
+			executor.shutdownNow();
+		}
+		// The workers are done: their own statistics can be read
+		SimulationStats total = new SimulationStats();
+		for (Worker w : workers) {
+			total.merge(w.stats);
+		}
+		return total;
+	}
+
+	/**
+	 * @return the statistics of the games published so far by the threads
+	 * 	playing them.
+	 */
+	public SimulationStats getProgress() {
+		SimulationStats progress = new SimulationStats();
+		for (Worker w : workers) {
+			SimulationStats published = w.published;
+			if (published != null) {
+				progress.merge(published);
+			}
+		}
+		return progress;
+	}
+
+	private void play(long seed, SimulationStats stats) {
+		Die.getDie().setSeed(seed);
+		Game game = new Game();
+		game.setUI(new RandomUserInterface(seed));
+		Controller controller = new Controller(game);
+		String[] names = new String[players];
+		System.arraycopy(NAMES, 0, names, 0, players);
+		if (!controller.newGame(players, names)) {
+			throw new IllegalArgumentException("A game cannot be set up for " + players + " players");
+		}
+		int turn = 0;
+		boolean finished = false;
+		while (!finished && turn < maxTurns) {
+			finished = controller.playTurn(controller.advanceToNextTurn());
+			stats.turnPlayed(game, turn++);
+		}
+		stats.gameFinished(game, turn);
+	}
+
+	/**
+	 * Plays games until there are none left, in statistics of its own.
+	 */
+	private final class Worker implements Runnable {
+		final SimulationStats stats = new SimulationStats();
+		volatile SimulationStats published;
+
+		@Override
+		public void run() {
+			long played = 0;
+			long seed;
+			while ((seed = next.getAndIncrement()) < games) {
+				play(seed, stats);
+				if (++played % publishEvery == 0) {
+					published = stats.copy();
+				}
+			}
+			published = stats.copy();
+		}
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		long games = args.length > 0 ? Long.parseLong(args[0]) : 10000;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		int players = args.length > 2 ? Integer.parseInt(args[2]) : NAMES.length;
+		boolean profile = args.length > 3 && "profile".equals(args[3]);
+
+		Simulation simulation = new Simulation(games, threads).setPlayers(players);
+		PrintStream out = System.out;
+		Thread progress = new Thread(() -> {
+			try {
+				while (true) {
+					TimeUnit.SECONDS.sleep(1);
+					out.println(simulation.getProgress().getGames() + " games played");
+				}
+			} catch (InterruptedException e) {
+				// The simulation is over
+			}
+		}, "simulation-progress");
+		progress.setDaemon(true);
+		progress.start();
+		RuleProfiler profiler = profile ? new RuleProfiler().install() : null;
+		long start = System.nanoTime();
+		SimulationStats stats;
+		try {
+			stats = simulation.run();
+		} finally {
+			if (profiler != null) {
+				profiler.uninstall();
+			}
+		}
+		progress.interrupt();
+		progress.join();
+		out.println(String.format("%d games on %d threads in %.1f s%n", games, threads,
+				(System.nanoTime() - start) / 1e9));
+		out.print(stats);
+		if (profiler != null) {
+			out.println();
+			out.print(profiler.report());
+		}
+	}
+
+}
@@ -0,0 +1,246 @@
+package simulation;
+
+import gameplay.Game;
+import gameplay.Player;
+
+import java.util.List;
+
+import metrics.QuantileSketch;
+import metrics.RunningStats;
+import util.Color;
+import card.personality.PersonalityCard;
+
+/**
+ * <b> The statistics of the games simulated on one thread, or of many merged. </b>
+ * <p>
+ * Each thread of a {@link Simulation} keeps its own, without locking, and
+ * they are merged for the results (see {@link #merge(SimulationStats)}).
+ * Whatever the number of games, the statistics take the same memory: the
+ * distributions are {@link QuantileSketch}es and {@link RunningStats}, and
+ * the money curve stops at {@value #CURVE_TURNS} turns.
+ * </p>
+ * <ul>
+ * <li>the points of each player at the end of a game (see
+ * {@link Game#getPlayerPoints(Player)}), and of the winners;</li>
+ * <li>the number of turns of the games;</li>
+ * <li>the money of each player at the end of a game, and after each turn
+ * (the money curve);</li>
+ * <li>the number of areas each player controls at the end of a game;</li>
+ * <li>the games played and won with each personality card.</li>
+ * </ul>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class SimulationStats {
+
+	/** The number of turns the money curve follows. */
+	public static final int CURVE_TURNS = 200;
+	/** The normal quantile of the 95% confidence intervals. */
+	private static final double Z_95 = 1.96;
+	private static final PersonalityCard[] PERSONALITIES = PersonalityCard.values();
+
+	private long games;
+	private long finishedGames;
+	private final Distribution points = new Distribution();
+	private final Distribution winnerPoints = new Distribution();
+	private final Distribution turns = new Distribution();
+	private final Distribution money = new Distribution();
+	private final Distribution areasControlled = new Distribution();
+	private final RunningStats[] moneyCurve = new RunningStats[CURVE_TURNS];
+	private final long[] personalityGames = new long[PERSONALITIES.length];
+	private final long[] personalityWins = new long[PERSONALITIES.length];
+
+	public SimulationStats() {
+		for (int i = 0; i < CURVE_TURNS; i++) {
+			moneyCurve[i] = new RunningStats();
+		}
+	}
+
+	/**
+	 * Counts the money of the players after the given turn of a game.
+	 * @param turn the number of the turn, from 0
+	 */
+	public void turnPlayed(Game game, int turn) {
+		if (turn >= CURVE_TURNS) {
+			return;
+		}
+		for (Player p : game.getPlayers()) {
+			moneyCurve[turn].record(p.getMoney());
+		}
+	}
+
+	/**
+	 * Counts a game which is over, or stopped after the given number of turns.
+	 */
+	public void gameFinished(Game game, int turnsPlayed) {
+		games++;
+		turns.record(turnsPlayed);
+		List<Color> winners = game.getWinners();
+		if (!winners.isEmpty()) {
+			finishedGames++;
+		}
+		for (Player p : game.getPlayers()) {
+			int playerPoints = game.getPlayerPoints(p);
+			boolean won = winners.contains(p.getColor());
+			points.record(playerPoints);
+			money.record(p.getMoney());
+			areasControlled.record(game.getNumberOfAreasControlled(p));
+			if (won) {
+				winnerPoints.record(playerPoints);
+			}
+			if (p.getPersonality() != null && !winners.isEmpty()) {
+				personalityGames[p.getPersonality().ordinal()]++;
+				if (won) {
+					personalityWins[p.getPersonality().ordinal()]++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the games counted by the given statistics to these.
+	 */
+	public void merge(SimulationStats other) {
+		games += other.games;
+		finishedGames += other.finishedGames;
+		points.merge(other.points);
+		winnerPoints.merge(other.winnerPoints);
+		turns.merge(other.turns);
+		money.merge(other.money);
+		areasControlled.merge(other.areasControlled);
+		for (int i = 0; i < CURVE_TURNS; i++) {
+			moneyCurve[i].merge(other.moneyCurve[i]);
+		}
+		for (int i = 0; i < PERSONALITIES.length; i++) {
+			personalityGames[i] += other.personalityGames[i];
+			personalityWins[i] += other.personalityWins[i];
+		}
+	}
+
+	public SimulationStats copy() {
+		SimulationStats copy = new SimulationStats();
+		copy.merge(this);
+		return copy;
+	}
+
+	public long getGames() {
+		return games;
+	}
+
+	/**
+	 * @return the number of games which had a winner, rather than being
+	 * 	stopped.
+	 */
+	public long getFinishedGames() {
+		return finishedGames;
+	}
+
+	public QuantileSketch getPoints() {
+		return points.sketch;
+	}
+
+	public QuantileSketch getWinnerPoints() {
+		return winnerPoints.sketch;
+	}
+
+	public QuantileSketch getTurns() {
+		return turns.sketch;
+	}
+
+	public RunningStats getTurnStats() {
+		return turns.stats;
+	}
+
+	public QuantileSketch getAreasControlled() {
+		return areasControlled.sketch;
+	}
+
+	/**
+	 * @return the money of the players after the given turn, from 0.
+	 */
+	public RunningStats getMoneyAfterTurn(int turn) {
+		return moneyCurve[turn];
+	}
+
+	/**
+	 * @return the number of games with a winner in which a player had the
+	 * 	given personality.
+	 */
+	public long getGames(PersonalityCard personality) {
+		return personalityGames[personality.ordinal()];
+	}
+
+	public long getWins(PersonalityCard personality) {
+		return personalityWins[personality.ordinal()];
+	}
+
+	/**
+	 * @return the fraction of the games with a winner won by the players with
+	 * 	the given personality, or 0 if there were none.
+	 */
+	public double getWinRate(PersonalityCard personality) {
+		long n = getGames(personality);
+		return n == 0 ? 0 : getWins(personality) / (double) n;
+	}
+
+	/**
+	 * @return the lower and upper bounds of the Wilson score interval of the
+	 * 	win rate of the given personality at 95% confidence, which holds for
+	 * 	few games and for rates close to 0 or 1.
+	 */
+	public double[] getWinRateInterval(PersonalityCard personality) {
+		long n = getGames(personality);
+		if (n == 0) {
+			return new double[] { 0, 1 };
+		}
+		double p = getWinRate(personality);
+		double z2 = Z_95 * Z_95;
+		double center = (p + z2 / (2 * n)) / (1 + z2 / n);
+		double margin = Z_95 * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / (1 + z2 / n);
+		return new double[] { Math.max(0, center - margin), Math.min(1, center + margin) };
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		s.append(String.format("%d games, %d with a winner%n", games, finishedGames));
+		s.append(String.format("turns             %s%n                  %s%n", turns.sketch, turns.stats));
+		s.append(String.format("points            %s%n                  %s%n", points.sketch, points.stats));
+		s.append(String.format("winner points     %s%n", winnerPoints.sketch));
+		s.append(String.format("final money       %s%n                  %s%n", money.sketch, money.stats));
+		s.append(String.format("areas controlled  %s%n                  %s%n", areasControlled.sketch,
+				areasControlled.stats));
+		s.append("money after turn ");
+		for (int turn = 0; turn < CURVE_TURNS && moneyCurve[turn].getCount() > 0; turn += 10) {
+			s.append(String.format(" %d: %.1f", turn + 1, moneyCurve[turn].getMean()));
+		}
+		s.append(String.format("%n%n%-22s %8s %8s %8s %17s%n", "personality", "games", "wins", "win rate",
+				"95% interval"));
+		for (PersonalityCard c : PERSONALITIES) {
+			double[] interval = getWinRateInterval(c);
+			s.append(String.format("%-22s %8d %8d %7.1f%%   [%5.1f%%, %5.1f%%]%n", c.name(), getGames(c), getWins(c),
+					100 * getWinRate(c), 100 * interval[0], 100 * interval[1]));
+		}
+		return s.toString();
+	}
+
+	/**
+	 * The quantiles, mean and variance of a quantity.
+	 */
+	private static final class Distribution {
+		final QuantileSketch sketch = new QuantileSketch();
+		final RunningStats stats = new RunningStats();
+
+		void record(long value) {
+			sketch.record(value);
+			stats.record(value);
+		}
+
+		void merge(Distribution other) {
+			sketch.merge(other.sketch);
+			stats.merge(other.stats);
+		}
+	}
+
+}
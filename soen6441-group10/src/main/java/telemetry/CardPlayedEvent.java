@@ -0,0 +1,39 @@
+package telemetry;
+
+import gameplay.Player;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import card.player.GreenPlayerCard;
+
+/**
+ * <b> A player card played, from the moment it is chosen until it is discarded. </b>
+ * <p>
+ * A card which lets its player play another nests that card's event.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+@Name("ankhmorpork.CardPlayed")
+@Label("Card Played")
+@Description("A player card played, with its symbols and its scroll")
+public class CardPlayedEvent extends TableEvent {
+
+	@Label("Card")
+	private String card;
+
+	@Label("Player")
+	private String player;
+
+	public void finish(int tableId_, GreenPlayerCard card_, Player player_) {
+		end();
+		if (shouldCommit()) {
+			tableId = tableId_;
+			card = card_.name();
+			player = player_.getColor().name();
+			commit();
+		}
+	}
+
+}
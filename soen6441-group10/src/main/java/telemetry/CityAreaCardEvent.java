@@ -0,0 +1,36 @@
+package telemetry;
+
+import gameplay.Player;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import card.city.CityAreaCard;
+
+/**
+ * <b> A city area card played. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+@Name("ankhmorpork.CityAreaCard")
+@Label("City Area Card")
+@Description("The ability of a city area card used")
+public class CityAreaCardEvent extends TableEvent {
+
+	@Label("Area")
+	private String area;
+
+	@Label("Player")
+	private String player;
+
+	public void finish(int tableId_, CityAreaCard card, Player player_) {
+		end();
+		if (shouldCommit()) {
+			tableId = tableId_;
+			area = card.getArea().name();
+			player = player_.getColor().name();
+			commit();
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package telemetry;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * <b> The wait for a player to take a decision. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+@Name("ankhmorpork.DecisionWait")
+@Label("Decision Wait")
+@Description("A game waiting for a remote player to answer a prompt")
+public class DecisionWaitEvent extends TableEvent {
+
+	@Label("Prompt")
+	private String prompt;
+
+	@Label("Options")
+	private int options;
+
+	@Label("Decision")
+	@Description("The answer taken, or null if the player went away")
+	private String decision;
+
+	@Label("Timed Out")
+	@Description("Whether the decision was taken for the player at the deadline")
+	private boolean timedOut;
+
+	/**
+	 * @param decision_ the answer, or null
+	 */
+	public void finish(int tableId_, String prompt_, int options_, String decision_, boolean timedOut_) {
+		end();
+		if (shouldCommit()) {
+			tableId = tableId_;
+			prompt = prompt_;
+			options = options_;
+			decision = decision_;
+			timedOut = timedOut_;
+			commit();
+		}
+	}
+
+}
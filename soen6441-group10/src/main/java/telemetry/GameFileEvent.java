@@ -0,0 +1,51 @@
+package telemetry;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * <b> A save file read or written. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+@Name("ankhmorpork.GameFile")
+@Label("Game File")
+@Description("A saved object loaded from or saved to a JSON file")
+public class GameFileEvent extends TableEvent {
+
+	public static final String LOAD = "load";
+	public static final String SAVE = "save";
+
+	@Label("Operation")
+	private String operation;
+
+	@Label("File")
+	private String file;
+
+	@Label("Size")
+	@DataAmount
+	@Description("The size of the document written, or 0 for a load")
+	private long size;
+
+	@Label("Succeeded")
+	private boolean succeeded;
+
+	/**
+	 * @param operation_ {@link #LOAD} or {@link #SAVE}
+	 */
+	public void finish(int tableId_, String operation_, String file_, long size_, boolean succeeded_) {
+		end();
+		if (shouldCommit()) {
+			tableId = tableId_;
+			operation = operation_;
+			file = file_;
+			size = size_;
+			succeeded = succeeded_;
+			commit();
+		}
+	}
+
+}
@@ -0,0 +1,49 @@
+package telemetry;
+
+import gameplay.InterruptWindow;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import card.player.GreenPlayerCard;
+
+/**
+ * <b> An interrupt window, from the moment it opens until it is resolved. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+@Name("ankhmorpork.InterruptWindow")
+@Label("Interrupt Window")
+@Description("An effect held back while its target may play an interrupt card")
+public class InterruptWindowEvent extends TableEvent {
+
+	@Label("Interrupt")
+	private String interrupt;
+
+	@Label("Player")
+	@Description("The player the effect is aimed at")
+	private String player;
+
+	@Label("Cards Offered")
+	private int offered;
+
+	@Label("Card Played")
+	@Description("The interrupt card played, if any")
+	private String played;
+
+	/**
+	 * @param played_ the card played, or null
+	 */
+	public void finish(int tableId_, InterruptWindow window, GreenPlayerCard played_) {
+		end();
+		if (shouldCommit()) {
+			tableId = tableId_;
+			interrupt = window.getInterrupt().name();
+			player = window.getAffectedPlayer().getColor().name();
+			offered = window.getEligibleCards().size();
+			played = played_ == null ? null : played_.name();
+			commit();
+		}
+	}
+
+}
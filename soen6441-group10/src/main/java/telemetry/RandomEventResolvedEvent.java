@@ -0,0 +1,37 @@
+package telemetry;
+
+import gameplay.Player;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import card.random.RandomEventCard;
+
+/**
+ * <b> A random event drawn and resolved. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+@Name("ankhmorpork.RandomEvent")
+@Label("Random Event")
+@Description("A random event drawn and resolved")
+public class RandomEventResolvedEvent extends TableEvent {
+
+	@Label("Event")
+	private String event;
+
+	@Label("Player")
+	@Description("The player who drew the event")
+	private String player;
+
+	public void finish(int tableId_, RandomEventCard event_, Player player_) {
+		end();
+		if (shouldCommit()) {
+			tableId = tableId_;
+			event = event_.name();
+			player = player_.getColor().name();
+			commit();
+		}
+	}
+
+}
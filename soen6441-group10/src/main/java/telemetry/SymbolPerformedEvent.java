@@ -0,0 +1,45 @@
+package telemetry;
+
+import gameplay.Player;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import card.player.GreenPlayerCard;
+import card.player.Symbol;
+
+/**
+ * <b> A symbol of a player card performed. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+@Name("ankhmorpork.SymbolPerformed")
+@Label("Symbol Performed")
+@Description("A symbol of a player card performed, including the decisions it needed")
+public class SymbolPerformedEvent extends TableEvent {
+
+	@Label("Symbol")
+	private String symbol;
+
+	@Label("Card")
+	@Description("The card the symbol is on, if any")
+	private String card;
+
+	@Label("Player")
+	private String player;
+
+	/**
+	 * @param card_ the card in play, or null
+	 */
+	public void finish(int tableId_, Symbol symbol_, GreenPlayerCard card_, Player player_) {
+		end();
+		if (shouldCommit()) {
+			tableId = tableId_;
+			symbol = symbol_.name();
+			card = card_ == null ? null : card_.name();
+			player = player_.getColor().name();
+			commit();
+		}
+	}
+
+}
@@ -0,0 +1,33 @@
+package telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * <b> A Flight Recorder event which happens at a table. </b>
+ * <p>
+ * The events of the game are timed from {@link #begin()} and committed by
+ * the subclasses' finish methods, which only fill in the fields when the
+ * event is being recorded. Until the Flight Recorder is initialized, no
+ * event is even created (see {@link Telemetry}), and after that an event not
+ * recorded costs a check of a flag, so they are left in for good: a
+ * recording taken on a live server (e.g. with
+ * <code>-XX:StartFlightRecording</code>) shows how the time of each table
+ * splits between the game itself, the players and the disk.
+ * </p>
+ * No stack trace is taken, since where each event comes from is known.
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+@Category({ "Ankh-Morpork", "Game" })
+@StackTrace(false)
+public abstract class TableEvent extends jdk.jfr.Event {
+
+	@Label("Table Id")
+	@Description("The table the game is played at, or 0 if it is not played on a server")
+	protected int tableId;
+
+}
@@ -0,0 +1,31 @@
+package telemetry;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * <b> Tells the game whether to create its Flight Recorder events at all. </b>
+ * <p>
+ * Loading the first event class sets up the whole of the Flight Recorder,
+ * which takes a good part of the startup of the game even when nothing is
+ * recorded. The events are therefore only created once the recorder is
+ * initialized, by a recording started with the virtual machine, from JMC or
+ * jcmd, or in the process; before that, no event class is even loaded.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public final class Telemetry {
+
+	private Telemetry() {
+	}
+
+	/**
+	 * @return true once the Flight Recorder is initialized, from when the
+	 * 	game's events should be created.
+	 */
+	public static boolean isRecording() {
+		return FlightRecorder.isInitialized();
+	}
+
+}
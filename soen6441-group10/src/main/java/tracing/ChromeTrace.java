@@ -0,0 +1,51 @@
+package tracing;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * <b> Writes spans in the Chrome trace event format. </b>
+ * <p>
+ * Each span is a complete ("X") event, timed in microseconds. The tables are
+ * the processes of the trace and the threads which played them its threads,
+ * so chrome://tracing, Perfetto or speedscope show the turns of each table
+ * as flame charts, nested by time.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public final class ChromeTrace {
+
+	private ChromeTrace() {
+	}
+
+	public static void write(List<Span> spans, Writer out) throws IOException {
+		JsonWriter json = new JsonWriter(out);
+		json.beginObject();
+		json.name("displayTimeUnit").value("ms");
+		json.name("traceEvents").beginArray();
+		for (Span s : spans) {
+			json.beginObject();
+			json.name("name").value(s.getName() == null ? s.getKind().name() : s.getKind() + " " + s.getName());
+			json.name("cat").value(s.getKind().getCategory());
+			json.name("ph").value("X");
+			json.name("ts").value(s.getStartNanos() / 1000.0);
+			json.name("dur").value(s.getDurationNanos() / 1000.0);
+			json.name("pid").value(s.getTableId());
+			json.name("tid").value(s.getThreadId());
+			json.name("args").beginObject();
+			json.name("turn").value(s.getTurn());
+			json.name("depth").value(s.getDepth());
+			json.endObject();
+			json.endObject();
+		}
+		json.endArray();
+		json.endObject();
+		json.flush();
+	}
+
+}
@@ -0,0 +1,86 @@
+package tracing;
+
+/**
+ * <b> A timed part of a traced turn, as read back from the {@link Tracer}. </b>
+ * <p>
+ * The spans of a turn nest: each begins and ends within the span of the
+ * given depth above it, on the same thread.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class Span {
+
+	private final int tableId;
+	private final long turn;
+	private final long threadId;
+	private final SpanKind kind;
+	private final String name;
+	private final long startNanos;
+	private final long durationNanos;
+	private final int depth;
+
+	Span(int tableId_, long turn_, long threadId_, SpanKind kind_, String name_, long startNanos_,
+			long durationNanos_, int depth_) {
+		tableId = tableId_;
+		turn = turn_;
+		threadId = threadId_;
+		kind = kind_;
+		name = name_;
+		startNanos = startNanos_;
+		durationNanos = durationNanos_;
+		depth = depth_;
+	}
+
+	public int getTableId() {
+		return tableId;
+	}
+
+	/**
+	 * @return the number of the traced turn the span is part of, unique in
+	 * 	the process.
+	 */
+	public long getTurn() {
+		return turn;
+	}
+
+	public long getThreadId() {
+		return threadId;
+	}
+
+	public SpanKind getKind() {
+		return kind;
+	}
+
+	/**
+	 * @return the name of what the span times, e.g. the symbol, or null.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the start of the span, on the scale of {@link System#nanoTime()}.
+	 */
+	public long getStartNanos() {
+		return startNanos;
+	}
+
+	public long getDurationNanos() {
+		return durationNanos;
+	}
+
+	/**
+	 * @return the number of spans the span is nested in, 0 for a turn.
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	@Override
+	public String toString() {
+		return kind + (name == null ? "" : " " + name) + " " + durationNanos + " ns";
+	}
+
+}
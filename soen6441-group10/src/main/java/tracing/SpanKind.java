@@ -0,0 +1,45 @@
+package tracing;
+
+/**
+ * <b> What a {@link Span} of a turn times. </b>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public enum SpanKind {
+
+	/** A player's turn, named after the player. */
+	TURN("turn"),
+	/** The drawing of player cards, into a hand or from an effect. */
+	DRAW("draw"),
+	/** The player's choice of the card to play. */
+	CARD_CHOICE("decision"),
+	/** The play of a green player card, named after the card. */
+	CARD("card"),
+	/** The action of a symbol of the card played, named after the symbol. */
+	SYMBOL("symbol"),
+	/** The action of a city area card, named after the area. */
+	CITY_AREA("city area"),
+	/** The effect of a random event, named after the event. */
+	RANDOM_EVENT("random event"),
+	/** An interrupt window, named after the interrupt. */
+	INTERRUPT("interrupt"),
+	/** The restoring of the player's hand at the end of the turn. */
+	RESTORE_HAND("draw"),
+	/** A check of the winning conditions. */
+	WIN_CHECK("win check");
+
+	private final String category;
+
+	private SpanKind(String category_) {
+		category = category_;
+	}
+
+	/**
+	 * @return the category the spans of this kind are grouped under in a trace.
+	 */
+	public String getCategory() {
+		return category;
+	}
+
+}
@@ -0,0 +1,146 @@
+package tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <b> The most recent spans recorded by one thread, in a ring. </b>
+ * <p>
+ * Only the thread owning the buffer writes to it, without locking or
+ * allocating: each span takes the next slot, over the oldest one once the
+ * ring is full. Any thread may read the buffer back; the spans overwritten
+ * while they were being read are left out.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+final class TraceBuffer {
+
+	private final long threadId;
+	private final int capacity;
+
+	private final int[] tables;
+	private final long[] turns;
+	private final SpanKind[] kinds;
+	private final String[] names;
+	private final long[] starts;
+	private final long[] durations;
+	private final int[] depths;
+
+	/** The number of spans ever written, published after each span. */
+	private volatile long written;
+
+	// Read and written by the owning thread only
+	private long untilSampled;
+	private int tableId;
+	private long turn;
+	private long turnStart;
+	private int depth = -1;
+
+	TraceBuffer(long threadId_, int capacity_) {
+		threadId = threadId_;
+		capacity = capacity_;
+		tables = new int[capacity];
+		turns = new long[capacity];
+		kinds = new SpanKind[capacity];
+		names = new String[capacity];
+		starts = new long[capacity];
+		durations = new long[capacity];
+		depths = new int[capacity];
+	}
+
+	/**
+	 * Counts a turn starting on the thread.
+	 * @return true if it is the one in every given number of turns to trace.
+	 */
+	boolean isSampled(int sampling) {
+		if (untilSampled > 0) {
+			untilSampled--;
+			return false;
+		}
+		untilSampled = sampling - 1;
+		return true;
+	}
+
+	/**
+	 * Starts tracing a turn, whose spans are recorded until it ends.
+	 */
+	void beginTurn(int tableId_, long turn_, long start) {
+		tableId = tableId_;
+		turn = turn_;
+		turnStart = start;
+		depth = 0;
+	}
+
+	/**
+	 * Records the turn started at the given time, and stops tracing; the
+	 * spans left open by an exception are dropped with it. A turn within the
+	 * traced turn is recorded as a span of it.
+	 */
+	void endTurn(String name, long start, long end) {
+		if (start != turnStart) {
+			end(SpanKind.TURN, name, start, end);
+			return;
+		}
+		depth = 0;
+		end(SpanKind.TURN, name, start, end);
+		depth = -1;
+	}
+
+	/**
+	 * @return true if the thread is in a traced turn.
+	 */
+	boolean isTracing() {
+		return depth >= 0;
+	}
+
+	void begin() {
+		depth++;
+	}
+
+	/**
+	 * Records a span which ends now, and leaves it.
+	 */
+	void end(SpanKind kind, String name, long start, long end) {
+		long index = written;
+		int slot = (int) (index % capacity);
+		tables[slot] = tableId;
+		turns[slot] = turn;
+		kinds[slot] = kind;
+		names[slot] = name;
+		starts[slot] = start;
+		durations[slot] = end - start;
+		depths[slot] = depth;
+		written = index + 1;
+		depth--;
+	}
+
+	/**
+	 * Adds the spans of the given table still in the buffer to the list, or
+	 * those of all the tables for a negative id, oldest first.
+	 */
+	void read(int table, List<Span> spans) {
+		long end = written;
+		long from = Math.max(0, end - capacity);
+		List<Span> read = new ArrayList<>();
+		List<Long> indices = new ArrayList<>();
+		for (long i = from; i < end; i++) {
+			int slot = (int) (i % capacity);
+			if (table < 0 || tables[slot] == table) {
+				read.add(new Span(tables[slot], turns[slot], threadId, kinds[slot], names[slot], starts[slot],
+						durations[slot], depths[slot]));
+				indices.add(i);
+			}
+		}
+		// The writer may have gone round the ring in the meantime, and may be
+		// writing over the oldest slot
+		long valid = written + 1 - capacity;
+		for (int i = 0; i < read.size(); i++) {
+			if (indices.get(i) >= valid) {
+				spans.add(read.get(i));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+package tracing;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import metrics.PrometheusEndpoint;
+
+/**
+ * <b> Dumps the recent traces of a table of a local game server to a file. </b>
+ * <p>
+ * The server serves its traces next to its metrics (see
+ * {@link TraceHandler}); the file opens in chrome://tracing or
+ * ui.perfetto.dev. Turns are only traced once sampling is on, either from
+ * the start of the server with <code>-Dtracing.sampling=N</code> or with
+ * this tool.
+ * </p>
+ * Usage:
+ * <pre>
+ * java tracing.TraceDump sampling &lt;one turn in N, 0 for none&gt; [metrics port]
+ * java tracing.TraceDump &lt;table&gt; [file] [metrics port]
+ * </pre>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class TraceDump {
+
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.out.println("Usage: TraceDump sampling <N> [port] | TraceDump <table> [file] [port]");
+			return;
+		}
+		if (args[0].equals("sampling")) {
+			int port = args.length > 2 ? Integer.parseInt(args[2]) : PrometheusEndpoint.DEFAULT_PORT;
+			HttpURLConnection c = connect(port, "sampling=" + Integer.parseInt(args[1]));
+			c.setRequestMethod("POST");
+			System.out.println(c.getResponseCode() == HttpURLConnection.HTTP_NO_CONTENT
+					? "Tracing one turn in " + args[1] : "The server answered " + c.getResponseCode());
+			return;
+		}
+		int table = Integer.parseInt(args[0]);
+		String file = args.length > 1 ? args[1] : "table-" + table + ".trace.json";
+		int port = args.length > 2 ? Integer.parseInt(args[2]) : PrometheusEndpoint.DEFAULT_PORT;
+		HttpURLConnection c = connect(port, "table=" + table);
+		if (c.getResponseCode() != HttpURLConnection.HTTP_OK) {
+			System.out.println("The server answered " + c.getResponseCode());
+			return;
+		}
+		try (InputStream in = c.getInputStream(); OutputStream out = new FileOutputStream(file)) {
+			byte[] buffer = new byte[8192];
+			int n;
+			while ((n = in.read(buffer)) > 0) {
+				out.write(buffer, 0, n);
+			}
+		}
+		System.out.println("Wrote the traces of table " + table + " to " + file);
+	}
+
+	private static HttpURLConnection connect(int port, String query) throws IOException {
+		URL url = new URL("http", "localhost", port, TraceHandler.PATH + "?" + query);
+		return (HttpURLConnection) url.openConnection();
+	}
+
+}
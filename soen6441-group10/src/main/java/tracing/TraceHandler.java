@@ -0,0 +1,64 @@
+package tracing;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+/**
+ * <b> Serves the traces of a server's tables over HTTP, for {@link TraceDump}. </b>
+ * <p>
+ * GET /trace?table=N answers with the spans of table N still kept, in the
+ * Chrome trace format (see {@link ChromeTrace}), or those of all the tables
+ * without a table. POST /trace?sampling=N sets the sampling of the turns
+ * (see {@link Tracer#setSampling(int)}).
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public class TraceHandler implements HttpHandler {
+
+	public static final String PATH = "/trace";
+
+	@Override
+	public void handle(HttpExchange exchange) throws IOException {
+		try {
+			String table = parameter(exchange, "table");
+			String sampling = parameter(exchange, "sampling");
+			if (exchange.getRequestMethod().equals("GET")) {
+				exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+				exchange.sendResponseHeaders(200, 0);
+				try (Writer out = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)) {
+					ChromeTrace.write(Tracer.getSpans(table == null ? -1 : Integer.parseInt(table)), out);
+				}
+			} else if (exchange.getRequestMethod().equals("POST") && sampling != null) {
+				Tracer.setSampling(Integer.parseInt(sampling));
+				exchange.sendResponseHeaders(204, -1);
+			} else {
+				exchange.sendResponseHeaders(405, -1);
+			}
+		} catch (IllegalArgumentException e) {
+			exchange.sendResponseHeaders(400, -1);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private static String parameter(HttpExchange exchange, String name) {
+		String query = exchange.getRequestURI().getQuery();
+		if (query == null) {
+			return null;
+		}
+		for (String p : query.split("&")) {
+			if (p.startsWith(name + "=")) {
+				return p.substring(name.length() + 1);
+			}
+		}
+		return null;
+	}
+
+}
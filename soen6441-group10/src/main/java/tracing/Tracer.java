@@ -0,0 +1,147 @@
+package tracing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <b> Traces sampled turns as trees of nested {@link Span}s. </b>
+ * <p>
+ * When sampling is on, one turn in every {@link #getSampling()} played on
+ * each thread is traced: the turn and what it is made of (drawing, the
+ * choice of the card, each symbol, city area card, random event, interrupt,
+ * the restoring of the hand and the win checks) are timed and kept in a
+ * ring of the thread's most recent spans, with no locking and no
+ * allocation. {@link #getSpans(int)} reads them back for a table, and
+ * {@link ChromeTrace} writes them for chrome://tracing or Perfetto.
+ * </p>
+ * <p>
+ * The game's methods time themselves with:
+ * </p>
+ * <pre>
+ * long start = Tracer.begin();
+ * ...
+ * Tracer.end(start, SpanKind.SYMBOL, symbol.name());
+ * </pre>
+ * With sampling off, which is the default, each costs a check of a
+ * volatile field; in a turn which is not sampled, a look up of the thread's
+ * ring as well.
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
+public final class Tracer {
+
+	/** What {@link #begin()} returns when the span is not traced. */
+	public static final long OFF = 0;
+	/** The number of spans kept for each thread. */
+	public static final int SPANS_PER_THREAD = 8192;
+
+	private static final List<TraceBuffer> BUFFERS = new CopyOnWriteArrayList<>();
+	private static final ThreadLocal<TraceBuffer> BUFFER = ThreadLocal.withInitial(() -> {
+		TraceBuffer buffer = new TraceBuffer(Thread.currentThread().getId(), SPANS_PER_THREAD);
+		BUFFERS.add(buffer);
+		return buffer;
+	});
+	private static final AtomicLong TURNS = new AtomicLong();
+
+	private static volatile int sampling = Integer.getInteger("tracing.sampling", 0);
+
+	private Tracer() {
+	}
+
+	/**
+	 * @param everyNthTurn trace one turn in every that many on each thread,
+	 * 	e.g. 1 for all of them, or 0 to stop tracing
+	 */
+	public static void setSampling(int everyNthTurn) {
+		if (everyNthTurn < 0) {
+			throw new IllegalArgumentException("The sampling cannot be negative");
+		}
+		sampling = everyNthTurn;
+	}
+
+	/**
+	 * @return the number of turns of a thread of which one is traced, or 0
+	 * 	if none is. It can be set with the "tracing.sampling" system property.
+	 */
+	public static int getSampling() {
+		return sampling;
+	}
+
+	/**
+	 * Starts a turn at the given table, which is traced if it is sampled.
+	 * @return the start of the turn, or {@link #OFF} if it is not traced.
+	 */
+	public static long beginTurn(int tableId) {
+		int every = sampling;
+		if (every == 0) {
+			return OFF;
+		}
+		TraceBuffer buffer = BUFFER.get();
+		if (buffer.isTracing()) {
+			buffer.begin();
+			return System.nanoTime();
+		}
+		if (!buffer.isSampled(every)) {
+			return OFF;
+		}
+		long start = System.nanoTime();
+		buffer.beginTurn(tableId, TURNS.incrementAndGet(), start);
+		return start;
+	}
+
+	/**
+	 * Ends a turn started with {@link #beginTurn(int)}, which should be done
+	 * in a finally block.
+	 * @param name the player, or null
+	 */
+	public static void endTurn(long start, String name) {
+		if (start != OFF) {
+			BUFFER.get().endTurn(name, start, System.nanoTime());
+		}
+	}
+
+	/**
+	 * Starts a span, which is traced if the thread is in a traced turn.
+	 * @return the start of the span, or {@link #OFF} if it is not traced.
+	 */
+	public static long begin() {
+		if (sampling == 0) {
+			return OFF;
+		}
+		TraceBuffer buffer = BUFFER.get();
+		if (!buffer.isTracing()) {
+			return OFF;
+		}
+		buffer.begin();
+		return System.nanoTime();
+	}
+
+	/**
+	 * Ends the span started with {@link #begin()}.
+	 * @param name what the span times, e.g. the symbol, or null
+	 */
+	public static void end(long start, SpanKind kind, String name) {
+		if (start != OFF) {
+			BUFFER.get().end(kind, name, start, System.nanoTime());
+		}
+	}
+
+	/**
+	 * @return the spans of the given table still kept, or those of all the
+	 * 	tables for a negative id, by start.
+	 */
+	public static List<Span> getSpans(int tableId) {
+		List<Span> spans = new ArrayList<>();
+		for (TraceBuffer buffer : BUFFERS) {
+			buffer.read(tableId, spans);
+		}
+		Collections.sort(spans, Comparator.comparingLong(Span::getStartNanos));
+		return spans;
+	}
+
+}
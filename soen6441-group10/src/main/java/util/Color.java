@@ -1,8 +1,5 @@
 package util;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public enum Color {
 
 	RED(0, "\u001B[31m", "R"), YELLOW(1,"\u001B[33m", "Y"), GREEN(2,"\u001B[32m", "G"), BLUE(3,"\u001B[34m", "Bl"), BROWN(4, "\u001B[33m", "Br"), UNDEFINED(-1, "","");
@@ -13,10 +10,18 @@ public enum Color {
 	private String ansiCode;
 	private String abbr;
 	
-	private static Map<Integer, Color> colorMap = new HashMap<>();
+	/**
+	 * The colors indexed by their code plus one, since UNDEFINED is -1.
+	 */
+	private static final Color[] colorsByCode;
 	static {
+		int maxCode = 0;
+		for (Color value : values()) {
+			maxCode = Math.max(maxCode, value.getColorCode());
+		}
+		colorsByCode = new Color[maxCode + 2];
 		for (Color value : values()) {
-			colorMap.put(value.getColorCode(), value);
+			colorsByCode[value.getColorCode() + 1] = value;
 		}
 	}
 	
@@ -34,8 +39,11 @@ public enum Color {
 		return ansiCode;
 	}
 	
+	/**
+	 * @return the color of the given code, or null if there is none.
+	 */
 	public static Color forCode(int code) {
-		return colorMap.get(code);
+		return code >= -1 && code < colorsByCode.length - 1 ? colorsByCode[code + 1] : null;
 	}
 	
 	public int getColorCode() {
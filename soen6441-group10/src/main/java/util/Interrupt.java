@@ -1,31 +1,63 @@
 package util;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import card.player.GreenPlayerCard;
+
+/**
+ * <b> The effects which a player can stop with an interrupt card. </b>
+ * <p>
+ * Each interrupt knows the cards which answer it, in the order they are
+ * offered to the affected player, so that the game looks up the holders of
+ * those cards directly instead of checking every card it knows of.
+ * </p>
+ *
+ * @author Team 10 - SOEN6441
+ * @version 2.0
+ */
 public enum Interrupt {
-	ASSASINATION(0),//TAKE_MONEY(1), CARD_FOR_MONEY(2), REMOVE_CARD(3)
-	SCROLL(1)
+	ASSASINATION(0, GreenPlayerCard.GASPODE, GreenPlayerCard.THE_FRESH_START_CLUB),//TAKE_MONEY(1), CARD_FOR_MONEY(2), REMOVE_CARD(3)
+	SCROLL(1, GreenPlayerCard.WALLACE_SONKY)
 	;
 	
 	private int interruptCode;
+	private List<GreenPlayerCard> cards;
 	
-	private static Map<Integer, Interrupt> interruptMap = new HashMap<>();
+	private static final Interrupt[] interruptsByCode;
 	static {
+		int maxCode = 0;
+		for (Interrupt value : values()) {
+			maxCode = Math.max(maxCode, value.getInterruptCode());
+		}
+		interruptsByCode = new Interrupt[maxCode + 1];
 		for (Interrupt value : values()) {
-			interruptMap.put(value.getInterruptCode(), value);
+			interruptsByCode[value.getInterruptCode()] = value;
 		}
 	}
 	
-	private Interrupt(int interrupt) {
+	private Interrupt(int interrupt, GreenPlayerCard... cards_) {
 		interruptCode = interrupt;
+		cards = Collections.unmodifiableList(Arrays.asList(cards_));
 	}
 	
+	/**
+	 * @return the interrupt of the given code, or null if there is none.
+	 */
 	public static Interrupt forCode(int interrupt) {
-		return interruptMap.get(interrupt);
+		return interrupt >= 0 && interrupt < interruptsByCode.length ? interruptsByCode[interrupt] : null;
 	}
 	
 	public int getInterruptCode() {
 		return interruptCode;
 	}
+	
+	/**
+	 * @return the cards which can be played against this interrupt, in the
+	 * order they are offered.
+	 */
+	public List<GreenPlayerCard> getCards() {
+		return cards;
+	}
 }
@@ -0,0 +1,142 @@
+package api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import gameplay.GameSnapshot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class HttpApiTest {
+
+	private PrintStream out;
+	private ExecutorService tables;
+	private HttpApi api;
+
+	@Before
+	public void setUp() throws IOException {
+		// The games print as they are played
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+		tables = Executors.newFixedThreadPool(2);
+		api = new HttpApi(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4, 16, tables);
+	}
+
+	@After
+	public void tearDown() {
+		api.close();
+		tables.shutdownNow();
+		System.setOut(out);
+	}
+
+	private HttpURLConnection open(String method, String path, String body) throws IOException {
+		URL url = new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), api.getPort(), path);
+		HttpURLConnection c = (HttpURLConnection) url.openConnection();
+		c.setRequestMethod(method);
+		if (body != null) {
+			c.setDoOutput(true);
+			try (OutputStream o = c.getOutputStream()) {
+				o.write(body.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		return c;
+	}
+
+	private static String read(InputStream in) throws IOException {
+		try (BufferedReader r = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			StringBuilder b = new StringBuilder();
+			String line;
+			while ((line = r.readLine()) != null) {
+				b.append(line);
+			}
+			return b.toString();
+		}
+	}
+
+	private JsonObject request(String method, String path, String body, int expectedStatus) throws IOException {
+		HttpURLConnection c = open(method, path, body);
+		assertEquals(expectedStatus, c.getResponseCode());
+		InputStream in = expectedStatus < 400 ? c.getInputStream() : c.getErrorStream();
+		return new JsonParser().parse(read(in)).getAsJsonObject();
+	}
+
+	@Test
+	public void testTablesAndActions() throws IOException {
+		JsonObject table = request("POST", "/tables", "{\"players\": [\"George\", \"Dimitri\"], \"seed\": 3}", 201);
+		int id = table.get("id").getAsInt();
+		assertEquals("PLAYING", table.get("status").getAsString());
+		assertEquals(2, table.getAsJsonArray("players").size());
+		assertEquals(12, table.getAsJsonArray("board").size());
+		assertTrue(table.getAsJsonArray("leaders").size() > 0);
+
+		HttpURLConnection list = open("GET", "/tables", null);
+		assertEquals(200, list.getResponseCode());
+		JsonArray tables = new JsonParser().parse(read(list.getInputStream())).getAsJsonArray();
+		assertEquals(1, tables.size());
+		assertEquals(id, tables.get(0).getAsJsonObject().get("id").getAsInt());
+
+		long version = table.get("version").getAsLong();
+		for (int i = 0; i < 3; i++) {
+			JsonObject after = request("POST", "/tables/" + id + "/actions", "{\"action\": \"NEXT_TURN\"}", 200);
+			assertTrue(after.get("version").getAsLong() > version);
+			version = after.get("version").getAsLong();
+		}
+		assertEquals(version, request("GET", "/tables/" + id, null, 200).get("version").getAsLong());
+
+		request("POST", "/tables/" + id + "/actions", "{\"action\": \"FLIP_TABLE\"}", 400);
+		request("GET", "/tables/99", null, 404);
+	}
+
+	@Test
+	public void testEventStream() throws Exception {
+		int id = request("POST", "/tables", "{\"players\": [\"George\", \"Dimitri\", \"Ross\"], \"seed\": 8}", 201)
+				.get("id").getAsInt();
+		HttpURLConnection events = open("GET", "/tables/" + id + "/events", null);
+		assertEquals(200, events.getResponseCode());
+		BufferedReader reader = new BufferedReader(new InputStreamReader(events.getInputStream(),
+				StandardCharsets.UTF_8));
+		List<Long> versions = new ArrayList<>();
+		versions.add(new JsonParser().parse(reader.readLine()).getAsJsonObject().get("version").getAsLong());
+		for (int i = 0; i < 3; i++) {
+			request("POST", "/tables/" + id + "/actions", "{\"action\": \"NEXT_TURN\"}", 200);
+			versions.add(new JsonParser().parse(reader.readLine()).getAsJsonObject().get("version").getAsLong());
+		}
+		for (int i = 1; i < versions.size(); i++) {
+			assertTrue(versions.get(i) > versions.get(i - 1));
+		}
+		events.disconnect();
+	}
+
+	@Test
+	public void testEncodingIsCachedPerSnapshot() {
+		SnapshotJson json = new SnapshotJson(1);
+		assertSame(json.get(GameSnapshot.EMPTY), json.get(GameSnapshot.EMPTY));
+	}
+
+}
@@ -0,0 +1,23 @@
+package bootstrap;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class StartupBenchmarkTest {
+
+	/**
+	 * A new virtual machine gets to its first game and reports its times.
+	 */
+	@Test
+	public void testProbe() throws Exception {
+		long[] run = StartupBenchmark.run(Collections.<String>emptyList());
+		assertTrue(run[1] > 0);
+		assertTrue(run[2] > 0);
+		// The process takes longer than what it measures of itself
+		assertTrue(run[0] > run[1] + run[2]);
+	}
+
+}
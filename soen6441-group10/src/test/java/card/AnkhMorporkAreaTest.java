@@ -10,6 +10,7 @@ import io.TextUserInterface;
 
 import java.util.Map;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -115,6 +116,12 @@ public class AnkhMorporkAreaTest {
 
 		RandomEventCard.DRAGON.getGameAction().accept(game, player);
 	}
+	
+	@After
+	public void tearDown() throws Exception {
+		// Code executed after each test
+		Die.getDie().clearCheat();
+	}
 
 }
 	
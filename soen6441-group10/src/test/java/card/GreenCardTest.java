@@ -4,10 +4,14 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import io.PromptUserInterface;
 import io.TextUserInterface;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -509,6 +513,30 @@ public class GreenCardTest {
 		
 	}
 	
+	@Test(timeout = 5000)
+	public void drumkottOtherCardsTest() {
+		System.out.println("~~~DRUMKNOTT OTHER CARDS TEST~~~");
+		
+		// The player would choose DRUMKNOTT whenever it is offered
+		game.setUI(new PromptUserInterface() {
+			@Override
+			protected String choose(String prompt, List<String> options) {
+				if (options.contains(GreenPlayerCard.DRUMKNOTT.name())) {
+					return GreenPlayerCard.DRUMKNOTT.name();
+				}
+				return options.contains(NO) ? NO : options.get(0);
+			}
+		});
+		player.addPlayerCard(GreenPlayerCard.DRUMKNOTT);
+		player.addPlayerCard(GreenPlayerCard.MR_BOGGIS);
+		player.addPlayerCard(GreenPlayerCard.HARGAS_HOUSE_OF_RIBS);
+		GreenPlayerCard.DRUMKNOTT.getText().accept(player, game);
+		
+		// The two other cards were played
+		assertEquals(player.getPlayerCards().size(), 1);
+		assertTrue(player.getPlayerCards().contains(GreenPlayerCard.DRUMKNOTT));
+	}
+	
 	@Test
 	public void theFoolsGuildTest() {
 		System.out.println("~~~THE FOOLS GUILD TEST~~~");
@@ -569,12 +597,19 @@ public class GreenCardTest {
 		Die.getDie().setCheat(1);
 		// give player a minion to remove
 		gameBoard.get(1).addMinion(player);
-		GreenPlayerCard.CMOT_DIBBLER.getText().accept(player, game);
+		// the player chooses to pay
+		InputStream in = System.in;
+		System.setIn(new ByteArrayInputStream("Y\n".getBytes()));
+		try {
+			GreenPlayerCard.CMOT_DIBBLER.getText().accept(player, game);
+		} finally {
+			System.setIn(in);
+		}
 		
 		boolean payedBank = player.getMoney() == 10;
 		boolean gaveMinion = gameBoard.get(1).getMinionCount() == 0;
-		if(payedBank) assertFalse(gaveMinion);
-		if(gaveMinion) assertFalse(payedBank);
+		assertTrue(payedBank);
+		assertFalse(gaveMinion);
 	
 	}
 	
@@ -625,6 +660,9 @@ public class GreenCardTest {
 		assertEquals(player.getMoney(),14);
 		assertEquals(player2.getMoney(),8);
 		assertEquals(player3.getMoney(),8);
+		// The player is still in the game
+		assertEquals(game.getPlayers().size(), 3);
+		assertEquals(game.getPlayerOfColor(Color.RED), player);
 	}
 	
 	@Test
@@ -811,6 +849,7 @@ public class GreenCardTest {
 	@After
 	public void tearDown() throws Exception {
 		// Code executed after each test
+		Die.getDie().clearCheat();
 		System.out.println();
 	}
 
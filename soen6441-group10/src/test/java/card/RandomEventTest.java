@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -195,5 +196,11 @@ public class RandomEventTest {
 		assertTrue(player3.getMoney() == 1);
 		assertTrue(gameBoard.get(2).getBuildingOwner() == Color.UNDEFINED);
 	}
+	
+	@After
+	public void tearDown() throws Exception {
+		// Code executed after each test
+		Die.getDie().clearCheat();
+	}
 
 }
@@ -271,6 +271,17 @@ public class SymbolTest {
 		assertNotEquals(hasTroubleBefore, area.hasTroubleMarker());
 	}
 	
+	/**
+	 * Test Symbole.REMOVE_TROUBLE_MARKER when there is no trouble marker to remove
+	 */
+	@Test(timeout = 5000)
+	public void noTroubleMarkerTest() {
+		System.out.println("~~NO TROUBLE MARKER TEST~~");
+		assertTrue(game.getTroubleAreas().isEmpty());
+		Symbol.REMOVE_TROUBLE_MARKER.getGameAction().accept(player, game);
+		assertTrue(game.getTroubleAreas().isEmpty());
+	}
+	
 	
 	/**
 	 * Test TAKE_MONEY symbol
@@ -420,6 +431,7 @@ public class SymbolTest {
 	@After
 	public void tearDown() throws Exception {
 		// Code executed after each test
+		Die.getDie().clearCheat();
 		System.out.println();
 	}
 
@@ -0,0 +1,132 @@
+package gameplay;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Optional;
+
+import metrics.AllocationMeter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import replay.RandomUserInterface;
+import card.Deck;
+import card.city.AnkhMorporkArea;
+import card.personality.PersonalityCard;
+import card.player.GreenPlayerCard;
+
+/**
+ * Keeps the engine's hot paths from allocating: each operation is warmed up
+ * until it is compiled, then may allocate no more than its budget of bytes
+ * per call.
+ */
+public class AllocationRegressionTest {
+
+	private static final String[] NAMES = { "George", "Dimitri", "Ross", "Nick" };
+	private static final int WARM_UPS = 50000;
+	private static final int ITERATIONS = 50000;
+	private static final PersonalityCard[] PERSONALITIES = PersonalityCard.values();
+
+	private PrintStream out;
+	private Game game;
+	private Player player;
+	private long sink;
+
+	@Before
+	public void setUp() {
+		assumeTrue(AllocationMeter.isSupported());
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+
+		Die.getDie().setSeed(7);
+		game = new Game();
+		game.setUI(new RandomUserInterface(7));
+		new Controller(game).newGame(NAMES.length, NAMES);
+		player = game.getPlayerOfCurrentTurn();
+		// Some pieces and trouble on the board, without anyone winning
+		int dollySisters = AnkhMorporkArea.DOLLY_SISTERS.getAreaCode();
+		game.addMinion(dollySisters, player);
+		game.addBuilding(player, game.getBoardArea(dollySisters));
+		game.placeTroll(dollySisters);
+		game.placeDemon(AnkhMorporkArea.UNREAL_ESTATE.getAreaCode());
+	}
+
+	@After
+	public void tearDown() {
+		if (out != null) {
+			System.setOut(out);
+		}
+	}
+
+	private void assertAllocatesAtMost(String operation, double budget, Runnable r) {
+		double bytes = AllocationMeter.bytesPerOperation(r, WARM_UPS, ITERATIONS);
+		assertTrue(operation + " allocates " + bytes + " bytes per call, more than " + budget, bytes <= budget);
+	}
+
+	@Test
+	public void testMinions() {
+		BoardArea area = game.getBoardArea(AnkhMorporkArea.DRAGONS_LANDING.getAreaCode());
+		assertAllocatesAtMost("BoardArea.addMinion/removeMinion", 0, () -> {
+			area.addMinion(player);
+			area.removeMinion(player);
+		});
+		assertAllocatesAtMost("BoardArea.getMinionCount", 0, () -> sink += area.getMinionCount());
+	}
+
+	@Test
+	public void testPoints() {
+		assertAllocatesAtMost("Game.getPlayerPoints", 0, () -> sink += game.getPlayerPoints(player));
+		assertAllocatesAtMost("Game.getPlayerNetWorth", 0, () -> sink += game.getPlayerNetWorth(player));
+	}
+
+	@Test
+	public void testWinConditions() {
+		// Not through the iterator of the players, which is only not allocated
+		// when the compiler can prove it does not escape
+		Player[] players = game.getPlayers().toArray(new Player[0]);
+		assertAllocatesAtMost("Game.hasPlayerWon", 0, () -> {
+			for (Player p : players) {
+				if (game.hasPlayerWon(p)) {
+					sink++;
+				}
+			}
+		});
+		assertAllocatesAtMost("PersonalityCard winning conditions", 0, () -> {
+			for (PersonalityCard c : PERSONALITIES) {
+				if (c.getWinningConditionChecker().apply(NAMES.length, player, game)) {
+					sink++;
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testDrawCard() {
+		Deck<GreenPlayerCard> deck = game.getPlayerDeck();
+		// At most the Optional of the card drawn
+		assertAllocatesAtMost("Deck.drawCard", 16, () -> {
+			Optional<GreenPlayerCard> card = deck.drawCard();
+			deck.putCardOnTop(card.get());
+		});
+	}
+
+	@Test
+	public void testLegalMoves() {
+		// The maps of the areas returned, and no more
+		assertAllocatesAtMost("Game.getMinionPlacementAreas", 1024, () ->
+				sink += game.getMinionPlacementAreas(player).size());
+		assertAllocatesAtMost("Game.getBuildingFreeAreas", 512, () ->
+				sink += game.getBuildingFreeAreas(player).size());
+		assertAllocatesAtMost("Game.getNeighbours", 1024, () ->
+				sink += game.getNeighbours(game.getBoardArea(AnkhMorporkArea.THE_SCOURS.getAreaCode())).size());
+	}
+
+}
@@ -0,0 +1,96 @@
+package gameplay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import util.Color;
+import util.Interrupt;
+import card.city.AnkhMorporkArea;
+
+public class GameBoardTest {
+
+	private GameBoard board;
+
+	@Before
+	public void setUp() {
+		board = new GameBoard();
+		for (AnkhMorporkArea a : AnkhMorporkArea.values()) {
+			board.put(a.getAreaCode(), new BoardArea(a));
+		}
+	}
+
+	@Test
+	public void testLookup() {
+		assertEquals(12, board.size());
+		assertSame(AnkhMorporkArea.DOLLY_SISTERS, board.get(1).getArea());
+		assertSame(board.get(1), board.get(Integer.valueOf(1)));
+		assertNull(board.get(0));
+		assertNull(board.get(13));
+		assertNull(board.get(-1));
+		assertNull(board.get("1"));
+		assertTrue(board.containsKey(12));
+		assertFalse(board.containsKey(13));
+	}
+
+	@Test
+	public void testSameAsHashMap() {
+		Map<Integer, BoardArea> expected = new HashMap<>(board);
+		assertEquals(expected, board);
+		assertEquals(board, expected);
+		assertEquals(expected.hashCode(), board.hashCode());
+
+		List<Integer> codes = new ArrayList<>(board.keySet());
+		assertEquals(new ArrayList<>(expected.keySet()), codes);
+		for (int i = 1; i < codes.size(); i++) {
+			assertTrue(codes.get(i - 1) < codes.get(i));
+		}
+	}
+
+	@Test
+	public void testRemove() {
+		assertSame(AnkhMorporkArea.ISLE_OF_GODS, board.remove(10).getArea());
+		assertNull(board.remove(10));
+		assertEquals(11, board.size());
+
+		Iterator<BoardArea> it = board.values().iterator();
+		it.next();
+		it.remove();
+		assertEquals(10, board.size());
+		assertNull(board.get(1));
+
+		board.clear();
+		assertTrue(board.isEmpty());
+		assertFalse(board.values().iterator().hasNext());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPutUnknownArea() {
+		board.put(13, new BoardArea(AnkhMorporkArea.DOLLY_SISTERS));
+	}
+
+	@Test
+	public void testForCode() {
+		for (AnkhMorporkArea a : AnkhMorporkArea.values()) {
+			assertSame(a, AnkhMorporkArea.forCode(a.getAreaCode()));
+		}
+		for (Color c : Color.values()) {
+			assertSame(c, Color.forCode(c.getColorCode()));
+		}
+		for (Interrupt i : Interrupt.values()) {
+			assertSame(i, Interrupt.forCode(i.getInterruptCode()));
+		}
+	}
+
+}
@@ -0,0 +1,128 @@
+package gameplay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import replay.RandomUserInterface;
+import util.Color;
+import gameplay.GameSnapshot.AreaSnapshot;
+import gameplay.GameSnapshot.PlayerSnapshot;
+
+public class GameSnapshotTest {
+
+	private static final int TURNS = 40;
+
+	private PrintStream out;
+	private Game game;
+	private Controller controller;
+
+	@Before
+	public void setUp() {
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+		Die.getDie().setSeed(5);
+		game = new Game();
+		game.setUI(new RandomUserInterface(5));
+		controller = new Controller(game);
+	}
+
+	@After
+	public void tearDown() {
+		System.setOut(out);
+	}
+
+	/**
+	 * @return the number of minions of the player, placed or not.
+	 */
+	private static int minionsOf(GameSnapshot snapshot, PlayerSnapshot p) {
+		int minions = p.getMinions();
+		for (AreaSnapshot a : snapshot.getAreas()) {
+			Integer m = a.getMinions().get(p.getColor());
+			minions += m == null ? 0 : m;
+		}
+		return minions;
+	}
+
+	@Test
+	public void testSnapshotOfNewGame() {
+		assertEquals(GameStatus.UNINITIATED, game.getSnapshot().getStatus());
+		controller.newGame(3, new String[] { "George", "Dimitri", "Ross" });
+		GameSnapshot s = game.getSnapshot();
+		assertEquals(GameStatus.PLAYING, s.getStatus());
+		assertEquals(3, s.getPlayers().size());
+		assertEquals(game.getBoard().size(), s.getAreas().size());
+		assertEquals(game.getPlayerDeck().size(), s.getPlayerDeckSize());
+		for (PlayerSnapshot p : s.getPlayers()) {
+			assertEquals(Player.TOTAL_MINIONS, minionsOf(s, p));
+		}
+	}
+
+	@Test
+	public void testUnchangedPartsAreShared() {
+		controller.newGame(3, new String[] { "George", "Dimitri", "Ross" });
+		GameSnapshot before = game.getSnapshot();
+		GameSnapshot same = game.publishSnapshot();
+		assertTrue(same.getVersion() > before.getVersion());
+		assertSame(before.getAreas(), same.getAreas());
+		assertSame(before.getPlayers(), same.getPlayers());
+
+		Player p = controller.getPlayerOfColor(Color.RED);
+		p.increaseMoney(1);
+		GameSnapshot changed = game.publishSnapshot();
+		assertSame(before.getAreas(), changed.getAreas());
+		assertNotSame(before.getPlayers(), changed.getPlayers());
+		assertEquals(before.getPlayer(Color.RED).getMoney() + 1, changed.getPlayer(Color.RED).getMoney());
+		assertSame(before.getPlayer(Color.GREEN), changed.getPlayer(Color.GREEN));
+	}
+
+	/**
+	 * A reader polling the snapshots while the game is played never sees a
+	 * half-applied action.
+	 */
+	@Test
+	public void testConcurrentReader() throws InterruptedException {
+		controller.newGame(4, new String[] { "George", "Dimitri", "Ross", "Nick" });
+		AtomicBoolean playing = new AtomicBoolean(true);
+		AtomicReference<String> failure = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			long version = 0;
+			while (playing.get()) {
+				GameSnapshot s = game.getSnapshot();
+				if (s.getVersion() < version) {
+					failure.set("Version went back from " + version + " to " + s.getVersion());
+				}
+				version = s.getVersion();
+				for (PlayerSnapshot p : s.getPlayers()) {
+					if (minionsOf(s, p) != Player.TOTAL_MINIONS) {
+						failure.set(p.getColor() + " has " + minionsOf(s, p) + " minions in version " + version);
+					}
+				}
+			}
+		});
+		reader.start();
+		for (int i = 0; i < TURNS; i++) {
+			if (controller.playTurn(controller.advanceToNextTurn())) {
+				break;
+			}
+		}
+		playing.set(false);
+		reader.join();
+		assertEquals(null, failure.get());
+	}
+
+}
@@ -1,5 +1,7 @@
 package gameplay;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -153,6 +155,28 @@ public class GameTest {
 		}
 	}
 
+	@Test
+	/**
+	 * Test that every piece is removed from an area, not only some of them
+	 */
+	public void testRemoveAllPiecesFromArea() {
+		Player player = this.game.getPlayers().iterator().next();
+		BoardArea area = this.game.getGameBoard().get(1);
+		player.increaseMoney(area.getBuildingCost());
+		assertTrue(this.game.addBuilding(player, area));
+		for (int i = 0; i < 4; i++) {
+			this.game.addMinion(1, player);
+			this.game.placeDemon(1);
+			this.game.placeTroll(1);
+		}
+		
+		this.game.removeAllPiecesFromArea(1);
+		assertEquals(0, area.getMinionCount());
+		assertEquals(0, area.getDemonCount());
+		assertEquals(0, area.getTrollCount());
+		assertFalse(area.hasBuilding());
+	}
+
 	@After
 	public void tearDown() throws Exception {
 		// Code executed after each test
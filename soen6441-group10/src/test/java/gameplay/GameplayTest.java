@@ -171,6 +171,7 @@ public class GameplayTest {
 	@After
 	public void tearDown() throws Exception {
 		// Code executed after each test
+		Die.getDie().clearCheat();
 		System.out.println();
 	}
 
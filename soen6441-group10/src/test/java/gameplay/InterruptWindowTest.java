@@ -0,0 +1,119 @@
+package gameplay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import replay.RandomUserInterface;
+import util.Interrupt;
+import card.player.GreenPlayerCard;
+
+public class InterruptWindowTest {
+
+	/**
+	 * Answers the interrupt offers with the given futures, in order.
+	 */
+	private static class OfferingUserInterface extends RandomUserInterface {
+		private final Iterator<CompletableFuture<Boolean>> answers;
+		private int offers;
+
+		OfferingUserInterface(List<CompletableFuture<Boolean>> answers_) {
+			super(1);
+			answers = answers_.iterator();
+		}
+
+		@Override
+		public CompletableFuture<Boolean> offerInterrupt(Player player, GreenPlayerCard card, long millis) {
+			offers++;
+			return answers.next();
+		}
+	}
+
+	private PrintStream out;
+	private Game game;
+	private Player attacker;
+	private Player victim;
+	private BoardArea area;
+
+	@Before
+	public void setUp() {
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+		Die.getDie().setSeed(2);
+		game = new Game();
+		game.setUI(new RandomUserInterface(2));
+		new Controller(game).newGame(2, new String[] { "George", "Dimitri" });
+		Iterator<Player> players = game.getPlayers().iterator();
+		attacker = players.next();
+		victim = players.next();
+		area = game.getBoard().iterator().next();
+	}
+
+	@After
+	public void tearDown() {
+		System.setOut(out);
+	}
+
+	@Test
+	public void testOnlyTheAffectedPlayersCardsAreEligible() {
+		game.addPlayerCard(attacker, GreenPlayerCard.GASPODE);
+		game.addPlayerCard(victim, GreenPlayerCard.THE_FRESH_START_CLUB);
+		game.addPlayerCard(victim, GreenPlayerCard.WALLACE_SONKY);
+		InterruptWindow window = new InterruptWindow(Interrupt.ASSASINATION, victim, game.getInterrupts());
+		assertEquals(Arrays.asList(GreenPlayerCard.THE_FRESH_START_CLUB), window.getEligibleCards());
+		assertTrue(new InterruptWindow(Interrupt.SCROLL, attacker, game.getInterrupts()).getEligibleCards().isEmpty());
+	}
+
+	@Test
+	public void testInterruptPlayedResumesTheEffect() {
+		game.addPlayerCard(victim, GreenPlayerCard.GASPODE);
+		int minions = area.getMinionCountForPlayer(victim);
+		game.setUI(new OfferingUserInterface(Arrays.asList(CompletableFuture.completedFuture(true))));
+		assertTrue(game.notifyInterrupt(Interrupt.ASSASINATION, victim, area));
+		assertEquals(minions + 1, area.getMinionCountForPlayer(victim));
+		assertFalse(victim.getPlayerCards().contains(GreenPlayerCard.GASPODE));
+		assertNull(game.getInterrupts().get(GreenPlayerCard.GASPODE));
+	}
+
+	@Test
+	public void testDeclinedOfferGoesToTheNextCard() {
+		game.addPlayerCard(victim, GreenPlayerCard.GASPODE);
+		game.addPlayerCard(victim, GreenPlayerCard.THE_FRESH_START_CLUB);
+		OfferingUserInterface ui = new OfferingUserInterface(Arrays.asList(
+				CompletableFuture.completedFuture(false), CompletableFuture.completedFuture(false)));
+		game.setUI(ui);
+		assertNull(game.openInterruptWindow(Interrupt.ASSASINATION, victim));
+		assertEquals(2, ui.offers);
+		assertTrue(victim.getPlayerCards().contains(GreenPlayerCard.GASPODE));
+	}
+
+	@Test
+	public void testUnansweredOfferIsWithdrawnAtTheDeadline() {
+		game.addPlayerCard(victim, GreenPlayerCard.WALLACE_SONKY);
+		CompletableFuture<Boolean> never = new CompletableFuture<>();
+		game.setUI(new OfferingUserInterface(Arrays.asList(never)));
+		game.setInterruptWindowMillis(50);
+		long start = System.nanoTime();
+		assertFalse(game.notifyInterrupt(Interrupt.SCROLL, victim));
+		assertTrue(System.nanoTime() - start >= 50 * 1000 * 1000L);
+		assertTrue(never.isCancelled());
+		assertTrue(victim.getPlayerCards().contains(GreenPlayerCard.WALLACE_SONKY));
+	}
+
+}
@@ -61,7 +61,7 @@ public class FileManagerTest {
 
 		deckFileManager = new JSONFileManager<>(PersonalityDeck.class);
 		playerDeckFM = new JSONFileManager<>(PlayerDeck.class);
-		gameFileManager = new JSONFileManager<>(Game.class);
+		gameFileManager = new GameFileManager();
 	}
 
 	@Test
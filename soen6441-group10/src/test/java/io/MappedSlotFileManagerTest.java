@@ -0,0 +1,209 @@
+package io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import gameplay.Game;
+import io.migration.SaveSchema;
+import replay.GameRecord;
+import replay.RandomUserInterface;
+import replay.Replay;
+import replay.ReplayEngine;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import util.Color;
+import card.player.GreenPlayerCard;
+
+public class MappedSlotFileManagerTest {
+
+	private static final int SLOTS = 4;
+	private static final int SLOT_SIZE = MappedSlotFileManager.DEFAULT_SLOT_SIZE;
+
+	private Path storeFile;
+	private MappedSlotFileManager<Game> manager;
+	private Game game;
+
+	@Before
+	public void setUp() throws Exception {
+		storeFile = Files.createTempFile("slots", ".store");
+		Files.delete(storeFile);
+		manager = new MappedSlotFileManager<>(new GameFileManager(), storeFile, SLOTS, SLOT_SIZE);
+		game = new Game();
+		game.setUp(3, new String[] { "test1", "test2", "test3" });
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(storeFile);
+	}
+
+	@Test
+	public void testSaveAndOpen() {
+		assertTrue(manager.saveAs(new FileObject<Game>(game, "table1"), "table1"));
+		Optional<FileObject<Game>> f = manager.open("table1");
+		assertTrue(f.isPresent());
+		assertEquals(3, f.get().getPOJO().getPlayers().size());
+		assertEquals(game.getPlayerOfCurrentTurn().getName(), f.get().getPOJO().getPlayerOfCurrentTurn().getName());
+		assertFalse(manager.open("table2").isPresent());
+	}
+
+	@Test
+	public void testSavesAreVersioned() throws IOException {
+		game.getInterrupts().put(GreenPlayerCard.GASPODE, Color.GREEN);
+		manager.saveAs(new FileObject<Game>(game, "table1"), "table1");
+		manager.force();
+		String store = new String(Files.readAllBytes(storeFile), StandardCharsets.UTF_8);
+		assertTrue(store.contains("{\"" + SaveSchema.VERSION_FIELD + "\":" + SaveSchema.GAME.getVersion()));
+
+		Game reloaded = manager.open("table1").get().getPOJO();
+		assertEquals(Color.GREEN, reloaded.getInterrupts().get(GreenPlayerCard.GASPODE));
+		// Read back like the save files, into enum maps
+		assertTrue(reloaded.getInterrupts() instanceof EnumMap);
+	}
+
+	@Test
+	public void testRecoverAfterRestart() throws IOException {
+		manager.saveAs(new FileObject<Game>(game, "table1"), "table1");
+		game.getPlayerOfColor(Color.RED).increaseMoney(5);
+		manager.saveAs(new FileObject<Game>(game, "table2"), "table2");
+		manager.saveAs(new FileObject<Game>(game, "table1"), "table1");
+		manager.force();
+
+		MappedSlotFileManager<Game> restarted =
+				new MappedSlotFileManager<>(new GameFileManager(), storeFile, SLOTS, SLOT_SIZE);
+		Map<String, Game> all = restarted.openAll();
+		assertEquals(2, all.size());
+		assertEquals(game.getPlayerOfColor(Color.RED).getMoney(), all.get("table1").getPlayerOfColor(Color.RED).getMoney());
+		assertEquals(2, restarted.getUsedSlots());
+	}
+
+	@Test
+	public void testTornWriteFallsBackToPreviousState() throws IOException {
+		int money = game.getPlayerOfColor(Color.RED).getMoney();
+		manager.saveAs(new FileObject<Game>(game, "table1"), "table1");
+		game.getPlayerOfColor(Color.RED).increaseMoney(5);
+		manager.saveAs(new FileObject<Game>(game, "table1"), "table1");
+		manager.force();
+
+		// The second save went to copy B of slot 0; damage its payload
+		try (RandomAccessFile file = new RandomAccessFile(storeFile.toFile(), "rw")) {
+			file.seek(16 + SLOT_SIZE / 2 + 100);
+			file.write(0x7F);
+		}
+
+		MappedSlotFileManager<Game> restarted =
+				new MappedSlotFileManager<>(new GameFileManager(), storeFile, SLOTS, SLOT_SIZE);
+		Optional<FileObject<Game>> f = restarted.open("table1");
+		assertTrue(f.isPresent());
+		assertEquals(money, f.get().getPOJO().getPlayerOfColor(Color.RED).getMoney());
+	}
+
+	@Test
+	public void testFullStoreAndDelete() {
+		for (int i = 0; i < SLOTS; i++) {
+			assertTrue(manager.saveAs(new FileObject<Game>(game, "t" + i), "t" + i));
+		}
+		assertFalse(manager.saveAs(new FileObject<Game>(game, "extra"), "extra"));
+		assertTrue(manager.delete("t0"));
+		assertFalse(manager.open("t0").isPresent());
+		assertTrue(manager.saveAs(new FileObject<Game>(game, "extra"), "extra"));
+		assertEquals(SLOTS, manager.getUsedSlots());
+	}
+
+	@Test
+	public void testDeletedSlotsAreReclaimed() {
+		for (int i = 0; i < SLOTS; i++) {
+			manager.saveAs(new FileObject<Game>(game, "t" + i), "t" + i);
+		}
+		manager.delete("t1");
+		manager.delete("t2");
+		assertTrue(manager.saveAs(new FileObject<Game>(game, "a"), "a"));
+		assertTrue(manager.saveAs(new FileObject<Game>(game, "b"), "b"));
+		assertFalse(manager.saveAs(new FileObject<Game>(game, "c"), "c"));
+		assertTrue(manager.open("a").isPresent());
+		assertTrue(manager.open("t3").isPresent());
+	}
+
+	@Test
+	public void testSaveRacingDeleteLeavesNoOrphanSlot() throws Exception {
+		FileObject<Game> table = new FileObject<Game>(game, "table1");
+		for (int round = 0; round < 50; round++) {
+			manager.saveAs(table, "table1");
+			// Keep reading (which holds the slot while parsing, so that the save
+			// waits for it after looking the slot up) and deleting the name while
+			// it is saved
+			AtomicBoolean saved = new AtomicBoolean();
+			Thread reader = new Thread(() -> {
+				while (!saved.get()) {
+					manager.open("table1");
+				}
+			});
+			Thread deleter = new Thread(() -> {
+				while (!saved.get()) {
+					manager.delete("table1");
+				}
+			});
+			reader.start();
+			deleter.start();
+			manager.saveAs(table, "table1");
+			saved.set(true);
+			reader.join();
+			deleter.join();
+
+			// Whichever came last, a restart must find the same names
+			manager.force();
+			MappedSlotFileManager<Game> restarted =
+					new MappedSlotFileManager<>(new GameFileManager(), storeFile, SLOTS, SLOT_SIZE);
+			assertEquals(manager.open("table1").isPresent(), restarted.open("table1").isPresent());
+			assertEquals(manager.getUsedSlots(), restarted.getUsedSlots());
+		}
+	}
+
+	@Test
+	public void testWholeGameFitsInDefaultSlot() {
+		GameRecord record = ReplayEngine.record(42, new String[] { "player1", "player2", "player3", "player4" },
+				new RandomUserInterface(7), 1000);
+		Replay replay = new Replay(record);
+		while (replay.playTurn()) {
+			assertTrue(manager.saveAs(new FileObject<Game>(replay.getGame(), "table1"), "table1"));
+		}
+	}
+
+	@Test
+	public void testStateLargerThanSlot() throws IOException {
+		Path small = Files.createTempFile("slots", ".store");
+		Files.delete(small);
+		try {
+			MappedSlotFileManager<Game> tooSmall = new MappedSlotFileManager<>(new GameFileManager(), small, SLOTS, 1024);
+			assertFalse(tooSmall.saveAs(new FileObject<Game>(game, "table1"), "table1"));
+			assertFalse(tooSmall.open("table1").isPresent());
+		} finally {
+			Files.deleteIfExists(small);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidName() {
+		manager.saveAs(new FileObject<Game>(game, "table1"), "");
+	}
+
+	@Test(expected = IOException.class)
+	public void testLayoutMismatch() throws IOException {
+		manager.saveAs(new FileObject<Game>(game, "table1"), "table1");
+		new MappedSlotFileManager<>(new GameFileManager(), storeFile, SLOTS + 1, SLOT_SIZE);
+	}
+
+}
@@ -0,0 +1,199 @@
+package io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import gameplay.BoardArea;
+import gameplay.Game;
+import io.migration.JsonWriterSink;
+import io.migration.MigratingReader;
+import io.migration.SaveSchema;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import util.Color;
+import card.city.AnkhMorporkArea;
+import card.personality.PersonalityCard;
+import card.player.GreenPlayerCard;
+import error.InvalidGameStateException;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+public class SaveMigrationTest {
+
+	private static final String TEST_FILE_NAME = "test_migration.json";
+
+	private JSONFileManager<Game> gameFileManager;
+
+	@Before
+	public void setUp() {
+		gameFileManager = new GameFileManager();
+	}
+
+	private Game open(String fileName) {
+		Optional<FileObject<Game>> f = gameFileManager.open(fileName);
+		assertTrue(fileName + " could not be loaded", f.isPresent());
+		return f.get().getPOJO();
+	}
+
+	@Test
+	public void testOpenEveryGameSave() throws IOException {
+		try (DirectoryStream<Path> saves = Files.newDirectoryStream(
+				Paths.get(FileObject.getFileRoot()), "*.json")) {
+			for (Path save : saves) {
+				String fileName = save.getFileName().toString();
+				if (fileName.startsWith("test_") || fileName.equals("foo.json")) {
+					continue;
+				}
+				Game game = open(fileName);
+				assertFalse(fileName, game.getPlayers().isEmpty());
+				assertEquals(fileName, AnkhMorporkArea.values().length, game.getGameBoard().size());
+				// Every player in the turn order must exist
+				assertEquals(fileName, game.getPlayers().size(), game.getPlayersFromCurrentPlayer().length);
+			}
+		}
+	}
+
+	@Test
+	public void testPrototypeLayout() {
+		Game game = open("initialGame2.json");
+		assertEquals(2, game.getPlayers().size());
+		assertEquals("Batman", game.getPlayerOfColor(Color.RED).getName());
+		assertEquals(PersonalityCard.LORD_SELACHII, game.getPlayerOfColor(Color.YELLOW).getPersonality());
+		assertEquals(2, game.getPlayerOfColor(Color.RED).getHandSize());
+		BoardArea napHill = game.getGameBoard().get(AnkhMorporkArea.NAP_HILL.getAreaCode());
+		assertEquals(AnkhMorporkArea.NAP_HILL, napHill.getArea());
+		assertEquals(Color.YELLOW, napHill.getBuildingOwner());
+		assertEquals(1, napHill.getTrollCount());
+		assertTrue(game.getGameBoard().get(AnkhMorporkArea.THE_SCOURS.getAreaCode()).hasTroubleMarker());
+
+		// Brown cards are dropped
+		game = open("simulatedGame1.json");
+		assertEquals(0, game.getPlayerOfColor(Color.RED).getHandSize());
+	}
+
+	@Test
+	public void testRenamedCards() {
+		Game game = open("TEST.json");
+		assertTrue(game.getPlayerOfColor(Color.RED).getPlayerCards().contains(GreenPlayerCard.DR_WHITEFACE));
+	}
+
+	@Test
+	public void testOnlyCardsAreRenamed() throws IOException {
+		String json = "{\"players\":{\"RED\":{\"name\":\"EXPLOSIONS\",\"playerCards\":[\"COMT_DIBBLER\"]}},"
+				+ "\"randomEventDeck\":{\"cards\":[\"EXPLOSIONS\"]}}";
+		StringWriter upgraded = new StringWriter();
+		SaveSchema.transfer(new JsonReader(new StringReader(json)),
+				SaveSchema.GAME.upgrade(1, new JsonWriterSink(new JsonWriter(upgraded))));
+		assertEquals("{\"players\":{\"RED\":{\"name\":\"EXPLOSIONS\",\"playerCards\":[\"CMOT_DIBBLER\"]}},"
+				+ "\"randomEventDeck\":{\"cards\":[\"EXPLOSION\"]}}", upgraded.toString());
+	}
+
+	@Test
+	public void testInterruptsKeyedByOwner() {
+		Game game = open("DEMO_STARTING_GAME.json");
+		assertEquals(Color.BLUE, game.getInterrupts().get(GreenPlayerCard.GASPODE));
+		assertEquals(Color.RED, game.getInterrupts().get(GreenPlayerCard.THE_FRESH_START_CLUB));
+	}
+
+	@Test
+	public void testInterruptsKeyedByCardText() {
+		Game game = open("ROSS_TEST3.json");
+		assertEquals(Color.YELLOW, game.getInterrupts().get(GreenPlayerCard.WALLACE_SONKY));
+		assertEquals(Color.RED, game.getInterrupts().get(GreenPlayerCard.THE_FRESH_START_CLUB));
+	}
+
+	@Test
+	public void testSaveIsStampedAndReadBack() throws InvalidGameStateException, IOException {
+		Game game = new Game();
+		game.setUp(2, new String[] { "George", "Dimitri" });
+		game.init();
+		game.getInterrupts().put(GreenPlayerCard.GASPODE, Color.YELLOW);
+		gameFileManager.saveAs(new FileObject<>(game, TEST_FILE_NAME), TEST_FILE_NAME);
+
+		String json = new String(Files.readAllBytes(Paths.get(FileObject.getFileRoot(), TEST_FILE_NAME)));
+		assertTrue(json.startsWith("{\n  \"" + SaveSchema.VERSION_FIELD + "\": " + SaveSchema.GAME.getVersion()));
+		Game reloaded = open(TEST_FILE_NAME);
+		assertEquals(Color.YELLOW, reloaded.getInterrupts().get(GreenPlayerCard.GASPODE));
+	}
+
+	@Test
+	public void testUpgradeIsStreamed() throws IOException {
+		Path save = Paths.get(FileObject.getFileRoot(), "initialGame2.json");
+		StringWriter upgraded = new StringWriter();
+		try (Reader in = Files.newBufferedReader(save)) {
+			SaveSchema.transfer(new JsonReader(in),
+					SaveSchema.GAME.upgrade(0, new JsonWriterSink(new JsonWriter(upgraded))));
+		}
+
+		long[] consumed = new long[1];
+		Reader counting = new FilterReader(Files.newBufferedReader(save)) {
+			@Override
+			public int read(char[] buffer, int offset, int length) throws IOException {
+				int n = super.read(buffer, offset, length);
+				consumed[0] += Math.max(n, 0);
+				return n;
+			}
+		};
+		try (Reader migrating = new MigratingReader(counting, 0, SaveSchema.GAME)) {
+			char[] start = new char[16];
+			assertEquals(16, migrating.read(start, 0, 16));
+			// Only the start of the old document was read to upgrade it
+			assertTrue(consumed[0] < Files.size(save));
+
+			StringBuilder text = new StringBuilder().append(start);
+			char[] buffer = new char[100];
+			int n;
+			while ((n = migrating.read(buffer, 0, buffer.length)) >= 0) {
+				text.append(buffer, 0, n);
+			}
+			assertEquals(upgraded.toString(), text.toString());
+		}
+	}
+
+	@Test
+	public void testNewerVersionIsRejected() {
+		String json = "{\"" + SaveSchema.VERSION_FIELD + "\": " + (SaveSchema.GAME.getVersion() + 1) + "}";
+		try {
+			gameFileManager.read(new StringReader(json));
+			fail("A save from a newer version should not be read");
+		} catch (IOException e) {
+		}
+	}
+
+	@Test
+	public void testMissingAndUnreadableSavesAreTold() throws IOException {
+		assertFalse(gameFileManager.open("test_no_such_save.json").isPresent());
+
+		Files.write(Paths.get(FileObject.getFileRoot(), TEST_FILE_NAME),
+				("{\"" + SaveSchema.VERSION_FIELD + "\": " + SaveSchema.GAME.getVersion() + ", \"players\": 3}").getBytes());
+		try {
+			gameFileManager.open(TEST_FILE_NAME);
+			fail("A save which cannot be read should not be taken for a missing one");
+		} catch (UncheckedIOException e) {
+			assertTrue(e.getMessage().startsWith(TEST_FILE_NAME + " could not be loaded"));
+		}
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(Paths.get(FileObject.getFileRoot(), TEST_FILE_NAME));
+	}
+
+}
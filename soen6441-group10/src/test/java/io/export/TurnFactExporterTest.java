@@ -0,0 +1,82 @@
+package io.export;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import replay.RandomUserInterface;
+
+public class TurnFactExporterTest {
+
+	private static final int PLAYERS = 3;
+	private static final int TURNS = 20;
+
+	/**
+	 * Plays a few turns of a game whose facts are exported.
+	 */
+	private void play(TurnFactExporter exporter) {
+		Die.getDie().setSeed(1);
+		Game game = new Game();
+		game.setUI(new RandomUserInterface(1));
+		game.addListener(exporter.listenerFor(42));
+		Controller controller = new Controller(game);
+		controller.newGame(PLAYERS, new String[] { "George", "Dimitri", "Ross" });
+		for (int i = 0; i < TURNS; i++) {
+			if (controller.playTurn(controller.advanceToNextTurn())) {
+				break;
+			}
+		}
+	}
+
+	@Test
+	public void testColumnarRoundTrip() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		// A small row group, so that there are several of them
+		try (TurnFactExporter exporter = new TurnFactExporter(out, ExportFormat.COLUMNAR, 7, 1024)) {
+			play(exporter);
+			assertEquals(0, exporter.getDroppedTurns());
+		}
+
+		int rows = 0;
+		long previousTurn = 1;
+		try (ColumnarFactReader reader = new ColumnarFactReader(new ByteArrayInputStream(out.toByteArray()))) {
+			long[][] group;
+			while ((group = reader.nextRowGroup()) != null) {
+				assertTrue(group[FactColumn.GAME.ordinal()].length <= 7);
+				for (int i = 0; i < group[FactColumn.GAME.ordinal()].length; i++) {
+					assertEquals(42, group[FactColumn.GAME.ordinal()][i]);
+					long turn = group[FactColumn.TURN.ordinal()][i];
+					assertTrue(turn == previousTurn || turn == previousTurn + 1);
+					previousTurn = turn;
+					assertTrue(group[FactColumn.MONEY.ordinal()][i] >= 0);
+					rows++;
+				}
+			}
+			assertNull(reader.nextRowGroup());
+		}
+		assertEquals(previousTurn * PLAYERS, rows);
+	}
+
+	@Test
+	public void testCsv() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (TurnFactExporter exporter = new TurnFactExporter(out, ExportFormat.CSV, 7, 1024)) {
+			play(exporter);
+		}
+		String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\r?\n");
+		assertEquals("game,turn,player,money,minions,areas,trouble_markers,card,cards_played,random_event", lines[0]);
+		assertEquals(0, (lines.length - 1) % PLAYERS);
+		assertTrue(lines[1].startsWith("42,1,"));
+	}
+
+}
@@ -0,0 +1,67 @@
+package load;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+import load.LoadReport.Action;
+import metrics.Histogram;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import server.GameServer;
+
+public class LoadGeneratorTest {
+
+	private static final int CLIENTS = 16;
+
+	private PrintStream out;
+
+	@Before
+	public void setUp() {
+		// The games print as they are played
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+	}
+
+	@After
+	public void tearDown() {
+		System.setOut(out);
+	}
+
+	@Test
+	public void testLoad() throws Exception {
+		try (GameServer server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2,
+				CLIENTS)) {
+			LoadReport report = new LoadGenerator(server, CLIENTS)
+					.setDuration(1500)
+					.setDisconnectRate(0.05)
+					.setReconnectMillis(20)
+					.setTurnsPerGame(10)
+					.run();
+			assertEquals(0, report.getErrors());
+			assertTrue(report.getLatencies(Action.NEW_GAME).getCount() >= CLIENTS);
+			assertTrue(report.getLatencies(Action.TURN).getCount() > 0);
+			assertTrue(report.getLatencies(Action.DECISION).getCount() > 0);
+			assertTrue(report.getActionCount() > 0);
+			assertTrue(report.getThroughput() > 0);
+			assertTrue(report.getPeakTables() > 0 && report.getPeakTables() <= CLIENTS);
+			Histogram turns = report.getLatencies(Action.TURN);
+			assertTrue(turns.getPercentile(50) <= turns.getPercentile(99));
+			assertTrue(turns.getPercentile(99) <= turns.getMax());
+			// Every client has left, so every table has been closed
+			assertEquals(0, server.getTableCount());
+		}
+	}
+
+}
@@ -0,0 +1,160 @@
+package lobby;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import gameplay.GameStatus;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import util.Color;
+
+public class LobbyTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private PrintStream out;
+	private Lobby lobby;
+
+	@Before
+	public void setUp() {
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+		lobby = new Lobby(100, SECOND, 10 * SECOND);
+	}
+
+	@After
+	public void tearDown() {
+		lobby.close();
+		System.setOut(out);
+	}
+
+	@Test
+	public void testTablesFormedBySizeAndRating() throws Exception {
+		Ticket a = lobby.join("a", 1000, 2);
+		Ticket b = lobby.join("b", 1500, 2);
+		Ticket c = lobby.join("c", 1050, 2);
+		Ticket d = lobby.join("d", 1520, 2);
+		Ticket e = lobby.join("e", 1000, 3);
+		assertEquals(2, lobby.matchmake(System.nanoTime()));
+
+		assertSame(a.getTable().get(), c.getTable().get());
+		assertSame(b.getTable().get(), d.getTable().get());
+		assertNotSame(a.getTable().get(), b.getTable().get());
+		LobbyTable table = a.getTable().get();
+		assertEquals(GameStatus.PLAYING, table.getGame().getStatus());
+		assertEquals(2, table.getGame().getPlayers().size());
+		assertFalse(table.isBot(Color.RED));
+		assertFalse(e.getTable().isDone());
+		assertEquals(1, lobby.getWaitingCount());
+	}
+
+	@Test
+	public void testSpreadWidensWithWaiting() {
+		Ticket a = lobby.join("a", 1000, 2);
+		Ticket b = lobby.join("b", 1250, 2);
+		assertEquals(0, lobby.matchmake(System.nanoTime()));
+		assertEquals(0, lobby.matchmake(a.getJoinedAt() + SECOND));
+		assertEquals(1, lobby.matchmake(a.getJoinedAt() + 2 * SECOND));
+		assertTrue(b.getTable().isDone());
+	}
+
+	@Test
+	public void testBotsFillSeatsAfterMaxWait() throws Exception {
+		Ticket a = lobby.join("a", 1000, 4);
+		Ticket b = lobby.join("b", 3000, 4);
+		assertEquals(0, lobby.matchmake(System.nanoTime()));
+		assertEquals(1, lobby.matchmake(b.getJoinedAt() + 10 * SECOND));
+		LobbyTable table = a.getTable().get();
+		assertSame(table, b.getTable().get());
+		assertEquals(4, table.getGame().getPlayers().size());
+		assertEquals(2, lobby.getBotsSeated());
+		assertTrue(table.isBot(Color.GREEN));
+		assertTrue(table.isBot(Color.BLUE));
+		assertEquals(2000, table.getSeats().get(3).getRating());
+	}
+
+	@Test
+	public void testCancelledTicket() {
+		Ticket a = lobby.join("a", 1000, 2);
+		assertTrue(a.cancel());
+		lobby.join("b", 1000, 2);
+		assertEquals(0, lobby.matchmake(System.nanoTime()));
+		assertEquals(1, lobby.getWaitingCount());
+	}
+
+	@Test
+	public void testClosedTablesAreReused() throws Exception {
+		Ticket a = lobby.join("a", 1000, 2);
+		lobby.join("b", 1000, 2);
+		lobby.matchmake(System.nanoTime());
+		LobbyTable first = a.getTable().get();
+		int firstId = first.getId();
+		first.close();
+
+		Ticket c = lobby.join("c", 1000, 3);
+		lobby.join("d", 1000, 3);
+		lobby.join("e", 1000, 3);
+		lobby.matchmake(System.nanoTime());
+		LobbyTable second = c.getTable().get();
+		assertSame(first, second);
+		assertTrue(second.getId() != firstId);
+		assertEquals(3, second.getGame().getPlayers().size());
+		assertEquals("c", second.getSeats().get(0).getName());
+	}
+
+	/**
+	 * Many threads joining at once while the matchmaker runs.
+	 */
+	@Test
+	public void testConcurrentJoins() throws Exception {
+		int threads = 8;
+		int joinsPerThread = 1500;
+		lobby = new Lobby(100, TimeUnit.MILLISECONDS.toNanos(50), TimeUnit.MILLISECONDS.toNanos(200));
+		lobby.start(5);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<List<Ticket>>> joins = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			int thread = i;
+			joins.add(executor.submit(() -> {
+				Random random = new Random(thread);
+				List<Ticket> tickets = new ArrayList<>();
+				for (int j = 0; j < joinsPerThread; j++) {
+					tickets.add(lobby.join("p" + thread + "_" + j, 1000 + random.nextInt(1000),
+							Lobby.MIN_PLAYERS + random.nextInt(Lobby.MAX_PLAYERS - Lobby.MIN_PLAYERS + 1)));
+				}
+				return tickets;
+			}));
+		}
+		int seated = 0;
+		for (Future<List<Ticket>> f : joins) {
+			for (Ticket t : f.get()) {
+				LobbyTable table = t.getTable().get(20, TimeUnit.SECONDS);
+				assertEquals(t.getPreferredSize(), table.getSeats().size());
+				seated++;
+			}
+		}
+		executor.shutdown();
+		assertEquals(threads * joinsPerThread, seated);
+		assertEquals(0, lobby.getWaitingCount());
+	}
+
+}
@@ -0,0 +1,87 @@
+package metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import replay.RandomUserInterface;
+
+public class FootprintEstimatorTest {
+
+	private PrintStream out;
+
+	@Before
+	public void setUp() {
+		// The game prints as it is set up
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+	}
+
+	@After
+	public void tearDown() {
+		System.setOut(out);
+	}
+
+	private static Game newGame(int players) {
+		Die.getDie().setSeed(1);
+		Game game = new Game();
+		game.setUI(new RandomUserInterface(1));
+		String[] names = { "George", "Dimitri", "Ross", "Nick" };
+		String[] chosen = new String[players];
+		System.arraycopy(names, 0, chosen, 0, players);
+		new Controller(game).newGame(players, chosen);
+		return game;
+	}
+
+	@Test
+	public void testComponents() {
+		Footprint f = FootprintEstimator.estimate(newGame(4));
+		for (String component : new String[] { "game", "players", "gameBoard", "playerDeck", "interrupts",
+				"snapshot" }) {
+			assertTrue(component, f.getBytes(component) > 0);
+		}
+		long sum = 0;
+		for (long bytes : f.getComponents().values()) {
+			sum += bytes;
+		}
+		assertEquals(sum, f.getTotal());
+		// A few kilobytes, far from a megabyte
+		assertTrue(f.toString(), f.getTotal() > 2000 && f.getTotal() < 1000000);
+		assertTrue(FootprintEstimator.estimate(newGame(2)).getBytes("players") < f.getBytes("players"));
+	}
+
+	@Test
+	public void testCollections() {
+		FootprintEstimator estimator = new FootprintEstimator();
+		List<String> list = new ArrayList<>();
+		list.add("abcdefgh");
+		// 24 for the list, 24 for its array of one, 24 for the string and 24 for its bytes
+		assertEquals(96, estimator.sizeOf(list));
+		// Already counted
+		assertEquals(0, estimator.sizeOf(list.get(0)));
+
+		Map<Integer, Integer> map = new HashMap<>();
+		map.put(1000, 1);
+		// The small box is shared, the large one is counted as a header and a long
+		long size = new FootprintEstimator().sizeOf(map);
+		assertEquals(FootprintEstimator.align(48) + FootprintEstimator.align(16 + 16 * 4) + 32 + 24, size);
+	}
+
+}
@@ -0,0 +1,162 @@
+package metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import replay.RandomUserInterface;
+import util.Color;
+
+public class MetricsRegistryTest {
+
+	private PrintStream out;
+
+	@Before
+	public void setUp() {
+		// The game prints as it is played
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+	}
+
+	@After
+	public void tearDown() {
+		System.setOut(out);
+	}
+
+	@Test
+	public void testHistogramPercentiles() {
+		Histogram h = new Histogram();
+		for (long v = 1; v <= 1000; v++) {
+			h.record(TimeUnit.MICROSECONDS.toNanos(v));
+		}
+		assertEquals(1000, h.getCount());
+		assertEquals(TimeUnit.MICROSECONDS.toNanos(500500), h.getSum());
+		assertEquals(TimeUnit.MICROSECONDS.toNanos(1000), h.getMax());
+		// Within the precision of a bucket
+		long p50 = h.getPercentile(50);
+		long p99 = h.getPercentile(99);
+		assertTrue(Math.abs(p50 - TimeUnit.MICROSECONDS.toNanos(500)) <= TimeUnit.MICROSECONDS.toNanos(500) / 16);
+		assertTrue(Math.abs(p99 - TimeUnit.MICROSECONDS.toNanos(990)) <= TimeUnit.MICROSECONDS.toNanos(990) / 16);
+		assertTrue(h.getPercentile(100) <= h.getMax());
+	}
+
+	@Test
+	public void testPrometheusText() {
+		MetricsRegistry registry = new MetricsRegistry();
+		Counter turns = registry.counter("turns_total", "Turns played");
+		EnumCounter<Color> colors = registry.enumCounter("colors_total", "Colors", "color", Color.class);
+		Gauge tables = registry.gauge("tables", "Tables");
+		Histogram durations = registry.histogram("duration_seconds", "Durations", MetricsRegistry.NANOS_TO_SECONDS);
+		turns.add(3);
+		colors.increment(Color.RED);
+		colors.increment(Color.RED);
+		tables.addSource(() -> 4);
+		tables.addSource(() -> 1);
+		durations.record(TimeUnit.SECONDS.toNanos(2));
+
+		StringBuilder text = new StringBuilder();
+		registry.writePrometheus(text);
+		String s = text.toString();
+		assertTrue(s.contains("# HELP turns_total Turns played\n# TYPE turns_total counter\nturns_total 3\n"));
+		assertTrue(s.contains("colors_total{color=\"RED\"} 2\n"));
+		assertTrue(s.contains("colors_total{color=\"GREEN\"} 0\n"));
+		assertTrue(s.contains("# TYPE tables gauge\ntables 5\n"));
+		assertTrue(s.contains("# TYPE duration_seconds summary\n"));
+		assertTrue(s.contains("duration_seconds{quantile=\"0.99\"} 2.0\n"));
+		assertTrue(s.contains("duration_seconds_sum 2.0\n"));
+		assertTrue(s.contains("duration_seconds_count 1\n"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDuplicateName() {
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.counter("turns_total", "Turns played");
+		registry.gauge("turns_total", "Turns played");
+	}
+
+	@Test
+	public void testEndpointAndMBean() throws Exception {
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.counter("scrapes_total", "Scrapes").add(7);
+		try (PrometheusEndpoint endpoint = new PrometheusEndpoint(
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), registry)) {
+			URL url = new URL("http://127.0.0.1:" + endpoint.getPort() + "/metrics");
+			HttpURLConnection c = (HttpURLConnection) url.openConnection();
+			assertEquals(200, c.getResponseCode());
+			assertTrue(c.getContentType().startsWith("text/plain"));
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			try (InputStream in = c.getInputStream()) {
+				byte[] buffer = new byte[1024];
+				int n;
+				while ((n = in.read(buffer)) > 0) {
+					body.write(buffer, 0, n);
+				}
+			}
+			assertTrue(new String(body.toByteArray(), StandardCharsets.UTF_8).contains("scrapes_total 7\n"));
+		}
+
+		String name = "ankhmorpork.test:type=Metrics";
+		assertTrue(registry.registerMBean(name));
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			assertEquals(7L, server.getAttribute(new ObjectName(name), "scrapes_total"));
+			assertFalse(registry.registerMBean(name));
+		} finally {
+			server.unregisterMBean(new ObjectName(name));
+		}
+	}
+
+	/**
+	 * Playing turns records the turns, their duration and their decisions.
+	 */
+	@Test
+	public void testEngineMetricsRecorded() {
+		long turns = EngineMetrics.TURNS.get();
+		long durations = EngineMetrics.TURN_DURATION.getCount();
+		long decisions = EngineMetrics.DECISIONS_PER_TURN.getSum();
+
+		Die.getDie().setSeed(3);
+		Game game = new Game();
+		game.setUI(new RandomUserInterface(3));
+		Controller controller = new Controller(game);
+		controller.newGame(2, new String[] { "George", "Dimitri" });
+		int played = 0;
+		while (played < 10) {
+			played++;
+			if (controller.playTurn(controller.advanceToNextTurn())) {
+				break;
+			}
+		}
+		assertEquals(turns + played, EngineMetrics.TURNS.get());
+		assertEquals(durations + played, EngineMetrics.TURN_DURATION.getCount());
+		// At least the card to play is chosen each turn
+		assertTrue(EngineMetrics.DECISIONS_PER_TURN.getSum() - decisions >= played);
+	}
+
+}
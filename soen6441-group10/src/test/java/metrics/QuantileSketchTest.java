@@ -0,0 +1,71 @@
+package metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class QuantileSketchTest {
+
+	@Test
+	public void testQuantiles() {
+		QuantileSketch sketch = new QuantileSketch();
+		for (int i = 1; i <= 1000; i++) {
+			sketch.record(i);
+		}
+		assertEquals(1000, sketch.getCount());
+		assertEquals(1, sketch.getMin());
+		assertEquals(1000, sketch.getMax());
+		// Within the width of a bucket
+		assertEquals(500, sketch.getQuantile(0.5), 500 / 16.0);
+		assertEquals(990, sketch.getQuantile(0.99), 990 / 16.0);
+		assertEquals(1000, sketch.getQuantile(1));
+	}
+
+	@Test
+	public void testNegativeValues() {
+		QuantileSketch sketch = new QuantileSketch();
+		for (int i = -50; i < 50; i++) {
+			sketch.record(i);
+		}
+		assertEquals(-50, sketch.getMin());
+		assertEquals(-50, sketch.getQuantile(0.01), 50 / 16.0);
+		assertEquals(-25, sketch.getQuantile(0.25), 25 / 16.0);
+		assertTrue(sketch.getQuantile(0.5) <= 0);
+		assertEquals(49, sketch.getQuantile(1));
+	}
+
+	@Test
+	public void testMerge() {
+		Random random = new Random(49);
+		QuantileSketch all = new QuantileSketch();
+		QuantileSketch[] parts = { new QuantileSketch(), new QuantileSketch(), new QuantileSketch() };
+		RunningStats allStats = new RunningStats();
+		RunningStats[] partStats = { new RunningStats(), new RunningStats(), new RunningStats() };
+		for (int i = 0; i < 30000; i++) {
+			long value = (long) (random.nextGaussian() * 20) + 30;
+			all.record(value);
+			allStats.record(value);
+			parts[i % 3].record(value);
+			partStats[i % 3].record(value);
+		}
+		QuantileSketch merged = new QuantileSketch();
+		RunningStats mergedStats = new RunningStats();
+		for (int i = 0; i < parts.length; i++) {
+			merged.merge(parts[i]);
+			mergedStats.merge(partStats[i]);
+		}
+		assertEquals(all.getCount(), merged.getCount());
+		for (double q = 0.05; q < 1; q += 0.05) {
+			assertEquals(all.getQuantile(q), merged.getQuantile(q));
+		}
+		assertEquals(allStats.getCount(), mergedStats.getCount());
+		assertEquals(allStats.getMean(), mergedStats.getMean(), 1e-9);
+		assertEquals(allStats.getVariance(), mergedStats.getVariance(), 1e-6);
+		assertEquals(30, mergedStats.getMean(), 1);
+		assertEquals(20, mergedStats.getStandardDeviation(), 1);
+	}
+
+}
@@ -0,0 +1,123 @@
+package profiling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.function.BiConsumer;
+
+import org.junit.After;
+import org.junit.Test;
+
+import simulation.Simulation;
+import card.EffectTable;
+import card.city.AnkhMorporkArea;
+import card.player.GreenPlayerCard;
+import card.player.Symbol;
+import card.random.RandomEventCard;
+import gameplay.Game;
+import gameplay.Player;
+
+public class RuleProfilerTest {
+
+	private RuleProfiler profiler = new RuleProfiler();
+
+	@After
+	public void tearDown() {
+		profiler.uninstall();
+	}
+
+	@Test
+	public void testInstallAndUninstall() {
+		BiConsumer<Player, Game> text = GreenPlayerCard.DRUMKNOTT.getText();
+		BiConsumer<Player, Game> symbol = Symbol.PLACE_MINION.getGameAction();
+		BiConsumer<Player, Game> area = AnkhMorporkArea.getAreaAction(AnkhMorporkArea.DOLLY_SISTERS);
+		BiConsumer<Game, Player> event = RandomEventCard.FLOOD.getGameAction();
+
+		profiler.install();
+		assertTrue(profiler.isInstalled());
+		assertTrue(EffectTable.isWrapped());
+		assertNotSame(text, GreenPlayerCard.DRUMKNOTT.getText());
+		assertNotSame(symbol, Symbol.PLACE_MINION.getGameAction());
+		assertNotSame(area, AnkhMorporkArea.getAreaAction(AnkhMorporkArea.DOLLY_SISTERS));
+		assertNotSame(event, RandomEventCard.FLOOD.getGameAction());
+
+		profiler.uninstall();
+		// Nothing of the profiler is left in the rules
+		assertFalse(profiler.isInstalled());
+		assertFalse(EffectTable.isWrapped());
+		assertSame(text, GreenPlayerCard.DRUMKNOTT.getText());
+		assertSame(symbol, Symbol.PLACE_MINION.getGameAction());
+		assertSame(area, AnkhMorporkArea.getAreaAction(AnkhMorporkArea.DOLLY_SISTERS));
+		assertSame(event, RandomEventCard.FLOOD.getGameAction());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testOneInstalled() {
+		profiler.install();
+		new RuleProfiler().install();
+	}
+
+	@Test
+	public void testEffectsWrappedElsewhere() {
+		EffectTable.wrap(new EffectTable.Wrapper() {
+			@Override
+			public <T, U> BiConsumer<T, U> wrap(Enum<?> effect, BiConsumer<T, U> action) {
+				return action;
+			}
+		});
+		try {
+			profiler.install();
+			fail("The effects were wrapped already");
+		} catch (IllegalStateException e) {
+			assertFalse(profiler.isInstalled());
+		} finally {
+			EffectTable.unwrap();
+		}
+	}
+
+	@Test
+	public void testInstallWhilePlaying() throws Exception {
+		// The games on the other threads see the wrapped effects from the install on
+		Thread games = new Thread(() -> new Simulation(100, 2).run());
+		games.start();
+		profiler.install();
+		games.join();
+		profiler.uninstall();
+		assertTrue(profiler.getProfile(EffectKind.SYMBOL, Symbol.PLACE_MINION).getCalls() > 0);
+	}
+
+	@Test
+	public void testSimulation() {
+		profiler.install();
+		new Simulation(40, 2).run();
+		profiler.uninstall();
+
+		EffectProfile placeMinion = profiler.getProfile(EffectKind.SYMBOL, Symbol.PLACE_MINION);
+		assertTrue(placeMinion.getCalls() > 0);
+		long previous = Long.MAX_VALUE;
+		for (EffectProfile p : profiler.getProfiles()) {
+			assertTrue(p.getCalls() > 0);
+			assertTrue(p.getSelfNanos() <= p.getNanos());
+			assertTrue(p.getSelfBytes() <= p.getBytes());
+			assertTrue(p.getSelfNanos() <= previous);
+			previous = p.getSelfNanos();
+		}
+		// The random event symbol plays the random events
+		EffectProfile randomEvent = profiler.getProfile(EffectKind.SYMBOL, Symbol.RANDOM_EVENT);
+		assertTrue(randomEvent.getSelfNanos() < randomEvent.getNanos());
+		assertTrue(profiler.report().contains("symbol PLACE_MINION"));
+
+		// Games played once it is uninstalled are not counted
+		long calls = placeMinion.getCalls();
+		new Simulation(5, 1).run();
+		assertEquals(calls, placeMinion.getCalls());
+
+		profiler.reset();
+		assertTrue(profiler.getProfiles().isEmpty());
+	}
+
+}
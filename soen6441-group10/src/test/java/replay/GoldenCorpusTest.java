@@ -0,0 +1,71 @@
+package replay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import io.FileObject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import replay.CorpusResult.Status;
+
+public class GoldenCorpusTest {
+
+	private static final String SAVE = "ROSS_TEST.json";
+
+	private Path corpusDirectory;
+
+	@Before
+	public void setUp() throws IOException {
+		corpusDirectory = Files.createTempDirectory("corpus");
+		Files.copy(Paths.get(FileObject.getFileRoot(), SAVE), corpusDirectory.resolve(SAVE));
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(corpusDirectory.resolve(SAVE));
+		Files.deleteIfExists(corpusDirectory.resolve(GoldenCorpus.EXPECTATIONS_FILE));
+		Files.delete(corpusDirectory);
+	}
+
+	@Test
+	public void testResourcesMatchExpectations() throws IOException {
+		GoldenCorpus corpus = new GoldenCorpus(Paths.get(FileObject.getFileRoot()));
+		List<CorpusResult> results = corpus.run(Runtime.getRuntime().availableProcessors());
+		long passed = 0;
+		for (CorpusResult r : results) {
+			assertTrue(r.toString(), r.getStatus() != Status.FAILED);
+			passed += (r.getStatus() == Status.PASSED) ? 1 : 0;
+		}
+		assertEquals(corpus.getExpectations().size(), passed);
+	}
+
+	@Test
+	public void testUpdateThenVerify() throws IOException {
+		GoldenCorpus corpus = new GoldenCorpus(corpusDirectory);
+		List<CorpusResult> results = corpus.run(2);
+		assertEquals(Status.UNVERIFIED, results.get(0).getStatus());
+		corpus.update(results);
+
+		results = new GoldenCorpus(corpusDirectory).run(2);
+		assertEquals(Status.PASSED, results.get(0).getStatus());
+	}
+
+	@Test
+	public void testChangedOutcomeFails() throws IOException {
+		GoldenCorpus corpus = new GoldenCorpus(corpusDirectory);
+		Outcome actual = corpus.play(corpusDirectory.resolve(SAVE)).getOutcome();
+		corpus.getExpectations().put(SAVE,
+				new Outcome(actual.getTurns() + 1, actual.getPoints(), Collections.emptyList()));
+		assertEquals(Status.FAILED, corpus.play(corpusDirectory.resolve(SAVE)).getStatus());
+	}
+
+}
@@ -0,0 +1,87 @@
+package replay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import gameplay.Game;
+import io.JSONFileManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import util.Color;
+import error.ReplayDivergenceException;
+
+public class ReplayEngineTest {
+
+	private static final String[] PLAYERS = { "George", "Dimitri", "Ross" };
+	private static final int MAX_TURNS = 300;
+
+	private GameRecord record;
+
+	@Before
+	public void setUp() {
+		record = ReplayEngine.record(42, PLAYERS, new RandomUserInterface(7), MAX_TURNS);
+	}
+
+	@Test
+	public void testRecordedGameReplays() {
+		assertTrue(record.getTurns() > 0);
+		assertFalse(record.getDecisions().isEmpty());
+		new Replay(record).verify();
+	}
+
+	@Test
+	public void testSameSeedsSameGame() {
+		GameRecord again = ReplayEngine.record(42, PLAYERS, new RandomUserInterface(7), MAX_TURNS);
+		assertEquals(record.getDecisions(), again.getDecisions());
+		assertEquals(record.getPoints(), again.getPoints());
+	}
+
+	@Test
+	public void testSeek() {
+		int middle = record.getTurns() / 2;
+		Map<Color, Integer> pointsInMiddle = GameRecord.pointsOf(new Replay(record).seek(middle));
+
+		Replay replay = new Replay(record, 3);
+		replay.run();
+		// Back to a checkpoint, then forward again
+		Game game = replay.seek(middle);
+		assertEquals(middle, replay.getTurn());
+		assertEquals(pointsInMiddle, GameRecord.pointsOf(game));
+		replay.verify();
+	}
+
+	@Test(expected = ReplayDivergenceException.class)
+	public void testDivergence() {
+		record.getDecisions().set(0, "NOT_A_DECISION");
+		new Replay(record).verify();
+	}
+
+	@Test
+	public void testRecordIsSavedAndReadBack() throws IOException {
+		JSONFileManager<GameRecord> recordFileManager = new JSONFileManager<>(GameRecord.class);
+		GameRecord reloaded = recordFileManager.read(new StringReader(recordFileManager.toJson(record)));
+		assertEquals(record.getDecisions(), reloaded.getDecisions());
+		new Replay(reloaded).verify();
+	}
+
+	@Test
+	public void testReplayAll() {
+		List<GameRecord> records = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			records.add(ReplayEngine.record(i, new String[] { "a", "b", "c", "d" }.clone(),
+					new RandomUserInterface(i), MAX_TURNS));
+		}
+		for (ReplayResult result : ReplayEngine.replayAll(records)) {
+			assertTrue(String.valueOf(result.getFailure()), result.isSuccessful());
+		}
+	}
+
+}
@@ -0,0 +1,204 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameServerTest {
+
+	private static final int CLIENTS = 20;
+	private static final int TURNS = 15;
+
+	private GameServer server;
+	private InetSocketAddress address;
+	private PrintStream out;
+
+	@Before
+	public void setUp() throws IOException {
+		// The games print as they are played
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+		server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 4);
+		address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		server.close();
+		System.setOut(out);
+	}
+
+	@Test
+	public void testFrameRoundTrip() {
+		ByteBuffer b = new FrameBuilder(ByteBuffer.allocate(64), MessageType.GAME_STATUS)
+				.putByte(1).putString("RED").putInt(-5).putInt(12).finish();
+		assertEquals(b.limit() - FrameBuilder.LENGTH_SIZE, b.getInt());
+		FrameReader frame = new FrameReader(MessageType.forCode(b.get()), b.slice());
+		assertEquals(MessageType.GAME_STATUS, frame.getType());
+		assertEquals(1, frame.getByte());
+		assertEquals("RED", frame.getString());
+		assertEquals(-5, frame.getInt());
+		assertEquals(12, frame.getInt());
+		assertTrue(frame.isFinished());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFrameTooLarge() {
+		new FrameBuilder(ByteBuffer.allocate(8), MessageType.OK).putString("Too long for the buffer");
+	}
+
+	@Test
+	public void testCommandsOutOfPlace() throws IOException {
+		try (GameClient client = new GameClient(address)) {
+			client.decide("Y");
+			assertEquals(MessageType.ERROR, client.receive().getType());
+			client.nextTurn();
+			assertEquals(MessageType.ERROR, client.receive().getType());
+			client.newGame("George");
+			assertEquals(MessageType.ERROR, client.receive().getType());
+
+			client.newGame("George", "Dimitri", "Ross");
+			assertEquals(MessageType.GAME_STARTED, client.receive().getType());
+			client.status();
+			FrameReader status = client.receive();
+			assertEquals(MessageType.GAME_STATUS, status.getType());
+			assertEquals(3, status.getByte());
+			for (int i = 0; i < 3; i++) {
+				status.getString();
+				assertTrue(status.getInt() > 0);
+				status.getInt();
+			}
+			assertTrue(status.isFinished());
+		}
+	}
+
+	/**
+	 * Many clients playing at the same time, taking random decisions.
+	 */
+	@Test
+	public void testConcurrentClients() throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		List<Future<Integer>> turns = new ArrayList<>();
+		for (int i = 0; i < CLIENTS; i++) {
+			long seed = i;
+			turns.add(clients.submit(() -> play(new Random(seed))));
+		}
+		for (Future<Integer> t : turns) {
+			assertTrue(t.get() > 0);
+		}
+		clients.shutdown();
+		assertTrue(server.getBufferPool().getIdleCount() > 0);
+	}
+
+	/**
+	 * A client which never answers: its decisions are taken for it once
+	 * their deadline has passed and its turns keep going.
+	 */
+	@Test
+	public void testDecisionDeadline() throws IOException {
+		try (GameServer timed = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, 2, 50);
+				GameClient client = new GameClient(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+						timed.getPort()))) {
+			client.newGame("George", "Dimitri");
+			assertEquals(MessageType.GAME_STARTED, client.receive().getType());
+			int timedOut = 0;
+			for (int turn = 0; turn < 3; turn++) {
+				client.nextTurn();
+				boolean finished = false;
+				while (!finished) {
+					FrameReader frame = client.receive();
+					switch (frame.getType()) {
+					case TURN_STARTED:
+						break;
+					case PROMPT:
+						frame.getString();
+						for (int i = frame.getShort(); i > 0; i--) {
+							frame.getString();
+						}
+						int millis = frame.getInt();
+						assertTrue(millis > 0 && millis <= 50);
+						break;
+					case DECISION_TIMED_OUT:
+						frame.getString();
+						timedOut++;
+						break;
+					case TURN_FINISHED:
+						finished = true;
+						break;
+					default:
+						fail("Unexpected " + frame.getType() + ": " + frame.getString());
+					}
+				}
+			}
+			assertTrue(timedOut > 0);
+		}
+	}
+
+	/**
+	 * @return the number of turns played.
+	 */
+	private int play(Random random) throws IOException {
+		try (GameClient client = new GameClient(address)) {
+			client.newGame("George", "Dimitri", "Ross", "Nick");
+			assertEquals(MessageType.GAME_STARTED, client.receive().getType());
+			for (int turn = 1; turn <= TURNS; turn++) {
+				client.nextTurn();
+				if (awaitEndOfTurn(client, random)) {
+					return turn;
+				}
+			}
+			return TURNS;
+		}
+	}
+
+	/**
+	 * Answers the prompts of a turn until it finishes.
+	 * @return true if the game has finished.
+	 */
+	private boolean awaitEndOfTurn(GameClient client, Random random) throws IOException {
+		while (true) {
+			FrameReader frame = client.receive();
+			switch (frame.getType()) {
+			case TURN_STARTED:
+				break;
+			case PROMPT:
+				frame.getString();
+				List<String> options = new ArrayList<>();
+				for (int i = frame.getShort(); i > 0; i--) {
+					options.add(frame.getString());
+				}
+				assertFalse(options.isEmpty());
+				assertTrue(frame.getInt() > 0);
+				client.decide(options.get(random.nextInt(options.size())));
+				break;
+			case TURN_FINISHED:
+				return frame.getBoolean();
+			default:
+				fail("Unexpected " + frame.getType() + ": " + frame.getString());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,166 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+import io.GameFileManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import replay.RandomUserInterface;
+
+public class HibernationTest {
+
+	private static final int TURNS = 6;
+	private static final long SWEEP_MILLIS = 20;
+	/**
+	 * Long enough for the table not to hibernate between the client's turns.
+	 */
+	private static final long IDLE_MILLIS = 300;
+
+	private PrintStream out;
+
+	@Before
+	public void setUp() {
+		// The games print as they are played
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+	}
+
+	@After
+	public void tearDown() {
+		System.setOut(out);
+	}
+
+	private static InetSocketAddress local(int port) {
+		return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+	}
+
+	/**
+	 * Answers the prompts of a turn at random until it finishes.
+	 */
+	private static void playTurn(GameClient client, Random random) throws IOException {
+		client.nextTurn();
+		while (true) {
+			FrameReader frame = client.receive();
+			switch (frame.getType()) {
+			case TURN_STARTED:
+				break;
+			case PROMPT:
+				frame.getString();
+				List<String> options = new ArrayList<>();
+				for (int i = frame.getShort(); i > 0; i--) {
+					options.add(frame.getString());
+				}
+				client.decide(options.get(random.nextInt(options.size())));
+				break;
+			case TURN_FINISHED:
+				return;
+			default:
+				fail("Unexpected " + frame.getType() + ": " + frame.getString());
+			}
+		}
+	}
+
+	private static Map<String, String> status(GameClient client) throws IOException {
+		client.status();
+		FrameReader frame = client.receive();
+		assertEquals(MessageType.GAME_STATUS, frame.getType());
+		Map<String, String> status = new LinkedHashMap<>();
+		for (int i = frame.getByte(); i > 0; i--) {
+			status.put(frame.getString(), frame.getInt() + "$ " + frame.getInt() + "pts");
+		}
+		return status;
+	}
+
+	/**
+	 * A stored game is loaded back as it was saved, and its bytes are
+	 * released once it is.
+	 */
+	@Test
+	public void testCompactStoreRoundTrip() throws IOException {
+		Die.getDie().setSeed(5);
+		Game game = new Game();
+		game.setUI(new RandomUserInterface(5));
+		Controller controller = new Controller(game);
+		controller.newGame(3, new String[] { "George", "Dimitri", "Ross" });
+		for (int turn = 0; turn < TURNS; turn++) {
+			if (controller.playTurn(controller.advanceToNextTurn())) {
+				break;
+			}
+		}
+		GameFileManager fileManager = new GameFileManager();
+		String saved = fileManager.toJson(game);
+
+		CompactTableStore store = new CompactTableStore();
+		TableStore.StoredGame stored = store.store(1, game);
+		assertEquals(1, store.getStoredGames());
+		assertEquals(stored.getSize(), store.getStoredBytes());
+		// Far smaller than the indented save
+		assertTrue(stored.getSize() * 4 < saved.length());
+
+		assertEquals(saved, fileManager.toJson(stored.load()));
+		assertEquals(0, store.getStoredGames());
+		assertEquals(0, store.getStoredBytes());
+	}
+
+	/**
+	 * An idle table hibernates, and wakes as it was when its client plays again.
+	 */
+	@Test
+	public void testIdleTableHibernatesAndWakes() throws Exception {
+		CompactTableStore store = new CompactTableStore();
+		try (GameServer server = new GameServer(local(0), 1, 2);
+				GameClient client = new GameClient(local(server.getPort()))) {
+			server.setHibernation(new Hibernation(IDLE_MILLIS, SWEEP_MILLIS, store));
+			Random random = new Random(4);
+			client.newGame("George", "Dimitri", "Ross");
+			assertEquals(MessageType.GAME_STARTED, client.receive().getType());
+			for (int turn = 0; turn < TURNS; turn++) {
+				playTurn(client, random);
+			}
+			Map<String, String> before = status(client);
+
+			long end = System.currentTimeMillis() + 5000;
+			while (server.getHibernatedCount() == 0 && System.currentTimeMillis() < end) {
+				Thread.sleep(5);
+			}
+			assertEquals(1, server.getHibernatedCount());
+			RemoteTable table = server.getTables().values().iterator().next();
+			assertFalse(table.getActor().isLoaded());
+			assertEquals(1, store.getStoredGames());
+			assertEquals(before, status(client));
+
+			playTurn(client, random);
+			assertEquals(0, store.getStoredGames());
+			// Woken by the turn, then asleep again once idle
+			end = System.currentTimeMillis() + 5000;
+			while (server.getHibernatedCount() == 1 && System.currentTimeMillis() < end) {
+				Thread.sleep(5);
+			}
+			assertEquals(2, server.getHibernatedCount());
+		}
+	}
+
+}
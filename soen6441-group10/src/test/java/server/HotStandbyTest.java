@@ -0,0 +1,164 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HotStandbyTest {
+
+	private static final int TURNS = 12;
+
+	private PrintStream out;
+
+	@Before
+	public void setUp() {
+		// The games print as they are played, on both servers
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+	}
+
+	@After
+	public void tearDown() {
+		System.setOut(out);
+	}
+
+	private static InetSocketAddress local(int port) {
+		return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+	}
+
+	/**
+	 * Answers the prompts of a turn at random until it finishes.
+	 * @return true if the game has finished.
+	 */
+	private static boolean playTurn(GameClient client, Random random) throws IOException {
+		client.nextTurn();
+		while (true) {
+			FrameReader frame = client.receive();
+			switch (frame.getType()) {
+			case TURN_STARTED:
+				break;
+			case PROMPT:
+				frame.getString();
+				List<String> options = new ArrayList<>();
+				for (int i = frame.getShort(); i > 0; i--) {
+					options.add(frame.getString());
+				}
+				client.decide(options.get(random.nextInt(options.size())));
+				break;
+			case TURN_FINISHED:
+				return frame.getBoolean();
+			default:
+				fail("Unexpected " + frame.getType() + ": " + frame.getString());
+			}
+		}
+	}
+
+	/**
+	 * @return the money and points of each player, in the order of the status.
+	 */
+	private static Map<String, String> status(GameClient client) throws IOException {
+		client.status();
+		FrameReader frame = client.receive();
+		assertEquals(MessageType.GAME_STATUS, frame.getType());
+		Map<String, String> status = new LinkedHashMap<>();
+		for (int i = frame.getByte(); i > 0; i--) {
+			status.put(frame.getString(), frame.getInt() + "$ " + frame.getInt() + "pts");
+		}
+		return status;
+	}
+
+	@Test
+	public void testFailoverResumesTheGame() throws Exception {
+		HotStandby standby = new HotStandby(local(0));
+		GameServer primary = new GameServer(local(0), 1, 2);
+		primary.replicateTo(local(standby.getPort()));
+
+		int table;
+		long token;
+		Map<String, String> before;
+		Random random = new Random(4);
+		try (GameClient client = new GameClient(local(primary.getPort()))) {
+			client.newGame("George", "Dimitri", "Ross");
+			FrameReader started = client.receive();
+			assertEquals(MessageType.GAME_STARTED, started.getType());
+			table = started.getInt();
+			token = started.getLong();
+			for (int turn = 0; turn < TURNS; turn++) {
+				if (playTurn(client, random)) {
+					break;
+				}
+			}
+			before = status(client);
+
+			// The journal is shipped within milliseconds
+			long end = System.currentTimeMillis() + 5000;
+			while (standby.getAppliedCount() < primary.getJournal().getAppendedCount()
+					&& System.currentTimeMillis() < end) {
+				Thread.sleep(1);
+			}
+			assertEquals(primary.getJournal().getAppendedCount(), standby.getAppliedCount());
+			primary.close();
+		}
+
+		assertTrue(standby.awaitPrimaryLoss(5, TimeUnit.SECONDS));
+		assertEquals(0, standby.getDivergedCount());
+		try (GameServer promoted = standby.promote(local(0), 1, 2, GameServer.DEFAULT_DECISION_MILLIS);
+				GameClient client = new GameClient(local(promoted.getPort()))) {
+			assertEquals(1, promoted.getSessionCount());
+			client.resume(table, token + 1);
+			assertEquals(MessageType.ERROR, client.receive().getType());
+
+			client.resume(table, token);
+			FrameReader resumed = client.receive();
+			assertEquals(MessageType.GAME_STARTED, resumed.getType());
+			assertEquals(table, resumed.getInt());
+			assertEquals(token, resumed.getLong());
+			assertEquals(0, promoted.getSessionCount());
+			assertEquals(before, status(client));
+			// The game goes on
+			playTurn(client, random);
+		}
+	}
+
+	@Test
+	public void testClosedTablesAreForgotten() throws Exception {
+		HotStandby standby = new HotStandby(local(0));
+		try (GameServer primary = new GameServer(local(0), 1, 2)) {
+			primary.replicateTo(local(standby.getPort()));
+			try (GameClient client = new GameClient(local(primary.getPort()))) {
+				client.newGame("George", "Dimitri");
+				assertEquals(MessageType.GAME_STARTED, client.receive().getType());
+			}
+			// The client leaving is journaled before the server closes
+			long end = System.currentTimeMillis() + 5000;
+			while (primary.getJournal().getAppendedCount() < 2 && System.currentTimeMillis() < end) {
+				Thread.sleep(1);
+			}
+		}
+		assertTrue(standby.awaitPrimaryLoss(5, TimeUnit.SECONDS));
+		try (GameServer promoted = standby.promote(local(0), 1, 1, GameServer.DEFAULT_DECISION_MILLIS)) {
+			assertEquals(0, promoted.getSessionCount());
+		}
+	}
+
+}
@@ -0,0 +1,176 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MemoryBudgetTest {
+
+	private static final int TURNS = 6;
+	private static final long SWEEP_MILLIS = 20;
+	/**
+	 * Long enough for the table not to be unloaded between the client's turns.
+	 */
+	private static final long IDLE_MILLIS = 300;
+
+	private PrintStream out;
+	private Path directory;
+
+	@Before
+	public void setUp() throws IOException {
+		// The games print as they are played
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+		directory = Files.createTempDirectory("tables");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		System.setOut(out);
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path f : (Iterable<Path>) files::iterator) {
+				Files.delete(f);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	private static InetSocketAddress local(int port) {
+		return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+	}
+
+	private static void start(GameClient client) throws IOException {
+		client.newGame("George", "Dimitri", "Ross");
+		assertEquals(MessageType.GAME_STARTED, client.receive().getType());
+	}
+
+	/**
+	 * Answers the prompts of a turn at random until it finishes.
+	 */
+	private static void playTurn(GameClient client, Random random) throws IOException {
+		client.nextTurn();
+		while (true) {
+			FrameReader frame = client.receive();
+			switch (frame.getType()) {
+			case TURN_STARTED:
+				break;
+			case PROMPT:
+				frame.getString();
+				List<String> options = new ArrayList<>();
+				for (int i = frame.getShort(); i > 0; i--) {
+					options.add(frame.getString());
+				}
+				client.decide(options.get(random.nextInt(options.size())));
+				break;
+			case TURN_FINISHED:
+				return;
+			default:
+				fail("Unexpected " + frame.getType() + ": " + frame.getString());
+			}
+		}
+	}
+
+	private static Map<String, String> status(GameClient client) throws IOException {
+		client.status();
+		FrameReader frame = client.receive();
+		assertEquals(MessageType.GAME_STATUS, frame.getType());
+		Map<String, String> status = new LinkedHashMap<>();
+		for (int i = frame.getByte(); i > 0; i--) {
+			status.put(frame.getString(), frame.getInt() + "$ " + frame.getInt() + "pts");
+		}
+		return status;
+	}
+
+	private static void await(GameServer server, long unloaded) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while (server.getUnloadedCount() < unloaded && System.currentTimeMillis() < end) {
+			Thread.sleep(5);
+		}
+		assertEquals(unloaded, server.getUnloadedCount());
+	}
+
+	/**
+	 * An idle table over the budget is unloaded to the store, and loaded back
+	 * as it was when its client plays again.
+	 */
+	@Test
+	public void testIdleTableUnloadedAndLoadedBack() throws Exception {
+		try (GameServer server = new GameServer(local(0), 1, 2);
+				GameClient client = new GameClient(local(server.getPort()))) {
+			server.setMemoryBudget(new MemoryBudget(1, IDLE_MILLIS, SWEEP_MILLIS, new FileTableStore(directory)));
+			Random random = new Random(8);
+			start(client);
+			for (int turn = 0; turn < TURNS; turn++) {
+				playTurn(client, random);
+			}
+			Map<String, String> before = status(client);
+
+			await(server, 1);
+			RemoteTable table = server.getTables().values().iterator().next();
+			assertFalse(table.getActor().isLoaded());
+			assertTrue(server.getUsedBytes() <= 1);
+			try (Stream<Path> files = Files.list(directory)) {
+				assertEquals(1, files.count());
+			}
+			// The status is read from the last snapshot, without loading the game
+			assertEquals(before, status(client));
+			assertFalse(table.getActor().isLoaded());
+
+			playTurn(client, random);
+			assertTrue(table.getActor().isLoaded());
+			try (Stream<Path> files = Files.list(directory)) {
+				assertEquals(0, files.count());
+			}
+		}
+	}
+
+	/**
+	 * Over the budget with no idle table to unload, new games are refused.
+	 */
+	@Test
+	public void testNewGamesRefusedOverBudget() throws Exception {
+		try (GameServer server = new GameServer(local(0), 1, 2);
+				GameClient first = new GameClient(local(server.getPort()));
+				GameClient second = new GameClient(local(server.getPort()))) {
+			server.setMemoryBudget(new MemoryBudget(1, TimeUnit.HOURS.toMillis(1), SWEEP_MILLIS,
+					new FileTableStore(directory)));
+			start(first);
+			long end = System.currentTimeMillis() + 5000;
+			while (server.getUsedBytes() <= 1 && System.currentTimeMillis() < end) {
+				Thread.sleep(5);
+			}
+			assertTrue(server.getUsedBytes() > 1);
+
+			second.newGame("George", "Dimitri");
+			FrameReader refused = second.receive();
+			assertEquals(MessageType.ERROR, refused.getType());
+			assertTrue(refused.getString().contains("full"));
+			assertEquals(0, server.getUnloadedCount());
+		}
+	}
+
+}
@@ -0,0 +1,229 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+import gameplay.GameSnapshot;
+import gameplay.GameSnapshot.AreaSnapshot;
+import gameplay.GameSnapshot.PlayerSnapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import replay.RandomUserInterface;
+import server.SpectatorView.AreaView;
+import server.SpectatorView.PlayerView;
+import util.Color;
+
+public class SpectatorBroadcasterTest {
+
+	private static final int TURNS = 30;
+
+	/**
+	 * Keeps the frames sent to it, with a backlog set by the test.
+	 */
+	private static class RecordingSink implements FrameSink {
+		private final List<ByteBuffer> frames = new ArrayList<>();
+		private int backlog;
+
+		@Override
+		public void send(ByteBuffer frame) {
+			frames.add(frame);
+		}
+
+		@Override
+		public int getBacklog() {
+			return backlog;
+		}
+
+		private SpectatorView replay() {
+			SpectatorView view = new SpectatorView();
+			for (ByteBuffer f : frames) {
+				f.position(FrameBuilder.LENGTH_SIZE);
+				MessageType type = MessageType.forCode(f.get());
+				assertTrue(view.apply(new FrameReader(type, f.slice())));
+			}
+			return view;
+		}
+	}
+
+	private PrintStream out;
+
+	@Before
+	public void setUp() {
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+	}
+
+	@After
+	public void tearDown() {
+		System.setOut(out);
+	}
+
+	/**
+	 * @return true if the spectator sees the game as it is in the snapshot.
+	 */
+	private static boolean sameState(GameSnapshot expected, SpectatorView view) {
+		if (expected.getStatus() != view.getStatus() || expected.getCurrentPlayer() != view.getCurrentPlayer()
+				|| expected.getBankBalance() != view.getBankBalance()
+				|| expected.getPlayerDeckSize() != view.getPlayerDeckSize()) {
+			return false;
+		}
+		for (PlayerSnapshot p : expected.getPlayers()) {
+			PlayerView v = view.getPlayer(p.getColor());
+			if (v == null || !p.getName().equals(v.getName()) || p.getMoney() != v.getMoney()
+					|| p.getPoints() != v.getPoints() || p.getMinions() != v.getMinions()) {
+				return false;
+			}
+		}
+		for (AreaSnapshot a : expected.getAreas()) {
+			AreaView v = view.getArea(a.getArea());
+			if (v == null || a.getTrolls() != v.getTrolls() || a.getDemons() != v.getDemons()
+					|| a.hasTroubleMarker() != v.hasTroubleMarker() || a.getControlledBy() != v.getControlledBy()) {
+				return false;
+			}
+			for (Color c : Color.values()) {
+				Integer m = a.getMinions().get(c);
+				if ((m == null ? 0 : m.intValue()) != v.getMinions(c)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A spectator which falls behind misses deltas and catches up with a
+	 * keyframe, while the others get every delta.
+	 */
+	@Test
+	public void testSlowSpectatorSkipsToKeyframe() {
+		SpectatorBroadcaster broadcaster = new SpectatorBroadcaster(4);
+		RecordingSink fast = new RecordingSink();
+		RecordingSink slow = new RecordingSink();
+
+		Die.getDie().setSeed(11);
+		Game game = new Game();
+		game.setUI(new RandomUserInterface(11));
+		game.addListener(broadcaster);
+		Controller controller = new Controller(game);
+		controller.newGame(4, new String[] { "George", "Dimitri", "Ross", "Nick" });
+		broadcaster.subscribe(fast);
+		broadcaster.subscribe(slow);
+		for (int i = 0; i < TURNS; i++) {
+			slow.backlog = (i >= 5 && i < 15) ? 10 : 0;
+			if (controller.playTurn(controller.advanceToNextTurn())) {
+				break;
+			}
+		}
+
+		assertTrue(broadcaster.getDeltasSkipped() > 0);
+		SpectatorView fastView = fast.replay();
+		SpectatorView slowView = slow.replay();
+		assertEquals(1, fastView.getKeyframeCount());
+		assertTrue(slowView.getKeyframeCount() >= 2);
+		assertTrue(slowView.getDeltaCount() < fastView.getDeltaCount());
+		assertTrue(sameState(game.getSnapshot(), fastView));
+		assertTrue(sameState(game.getSnapshot(), slowView));
+	}
+
+	/**
+	 * A spectator watching a remote game over the network.
+	 */
+	@Test
+	public void testSpectateRemoteGame() throws Exception {
+		try (GameServer server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, 2)) {
+			InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+			try (GameClient player = new GameClient(address); GameClient spectator = new GameClient(address)) {
+				player.newGame("George", "Dimitri", "Ross");
+				FrameReader started = player.receive();
+				assertEquals(MessageType.GAME_STARTED, started.getType());
+				int table = started.getInt();
+
+				SpectatorView view = new SpectatorView();
+				spectator.spectate(table);
+				Thread reader = new Thread(() -> {
+					try {
+						while (true) {
+							FrameReader frame = spectator.receive();
+							synchronized (view) {
+								view.apply(frame);
+							}
+						}
+					} catch (IOException e) {
+						// The test is over
+					}
+				});
+				reader.setDaemon(true);
+				reader.start();
+
+				Random random = new Random(7);
+				for (int turn = 0; turn < 10; turn++) {
+					player.nextTurn();
+					if (playTurn(player, random)) {
+						break;
+					}
+				}
+
+				RemoteTable remote = server.getTable(table);
+				assertNotNull(remote);
+				GameSnapshot last = remote.getActor().getSnapshot();
+				long deadline = System.currentTimeMillis() + 5000;
+				while (System.currentTimeMillis() < deadline) {
+					synchronized (view) {
+						if (sameState(last, view)) {
+							break;
+						}
+					}
+					Thread.sleep(10);
+				}
+				synchronized (view) {
+					assertTrue(sameState(last, view));
+					assertEquals(1, view.getKeyframeCount());
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true if the game has finished.
+	 */
+	private static boolean playTurn(GameClient client, Random random) throws IOException {
+		while (true) {
+			FrameReader frame = client.receive();
+			switch (frame.getType()) {
+			case PROMPT:
+				frame.getString();
+				List<String> options = new ArrayList<>();
+				for (int i = frame.getShort(); i > 0; i--) {
+					options.add(frame.getString());
+				}
+				client.decide(options.get(random.nextInt(options.size())));
+				break;
+			case TURN_FINISHED:
+				return frame.getBoolean();
+			default:
+				break;
+			}
+		}
+	}
+
+}
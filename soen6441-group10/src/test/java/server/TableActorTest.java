@@ -0,0 +1,114 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import gameplay.Game;
+import gameplay.GameSnapshot;
+import gameplay.GameStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import replay.RandomUserInterface;
+
+public class TableActorTest {
+
+	private static final int PRODUCERS = 8;
+	private static final int COMMANDS = 2000;
+
+	private ExecutorService workers;
+
+	@Before
+	public void setUp() {
+		workers = Executors.newFixedThreadPool(4);
+	}
+
+	@After
+	public void tearDown() {
+		workers.shutdownNow();
+	}
+
+	/**
+	 * Commands from many threads are applied one at a time, each producer's
+	 * in the order it submitted them.
+	 */
+	@Test
+	public void testCommandsAreSerialized() throws Exception {
+		TableActor actor = new TableActor(workers);
+		long version = actor.getSnapshot().getVersion();
+		// Deliberately unsynchronized: only the actor touches them
+		int[] count = new int[1];
+		int[] last = new int[PRODUCERS];
+		ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+		List<Future<CompletableFuture<Integer>>> lastResults = new ArrayList<>();
+		for (int p = 0; p < PRODUCERS; p++) {
+			int producer = p;
+			lastResults.add(producers.submit(() -> {
+				CompletableFuture<Integer> result = null;
+				for (int i = 1; i <= COMMANDS; i++) {
+					int sequence = i;
+					result = actor.submit(c -> {
+						assertEquals(sequence - 1, last[producer]);
+						last[producer] = sequence;
+						return ++count[0];
+					});
+				}
+				return result;
+			}));
+		}
+		for (Future<CompletableFuture<Integer>> f : lastResults) {
+			f.get().get();
+		}
+		producers.shutdown();
+		assertEquals(PRODUCERS * COMMANDS, actor.submit(c -> count[0]).get().intValue());
+		assertEquals(version + PRODUCERS * COMMANDS + 1, actor.getSnapshot().getVersion());
+	}
+
+	@Test
+	public void testFailedCommand() throws Exception {
+		TableActor actor = new TableActor(workers);
+		CompletableFuture<Object> failed = actor.submit(c -> {
+			throw new IllegalStateException("Failed");
+		});
+		try {
+			failed.get();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		// The table carries on
+		assertEquals("OK", actor.submit(c -> "OK").get());
+	}
+
+	@Test
+	public void testSnapshotPublishedAfterEachCommand() throws Exception {
+		Game game = new Game();
+		game.setUI(new RandomUserInterface(3));
+		TableActor actor = new TableActor(workers, game, new Random(3));
+		assertEquals(GameStatus.UNINITIATED, actor.getSnapshot().getStatus());
+
+		actor.submit(c -> c.newGame(3, new String[] { "George", "Dimitri", "Ross" })).get();
+		GameSnapshot started = actor.getSnapshot();
+		assertEquals(GameStatus.PLAYING, started.getStatus());
+		assertEquals(3, started.getPlayers().size());
+		assertNotNull(started.getCurrentPlayer());
+
+		actor.submit(c -> c.playTurn(c.advanceToNextTurn())).get();
+		GameSnapshot played = actor.getSnapshot();
+		assertTrue(played.getVersion() > started.getVersion());
+		assertEquals(played.getCurrentPlayer(), actor.submit(c -> c.getPlayerOfCurrentTurn().getColor()).get());
+		// The earlier snapshot is left as it was
+		assertEquals(3, started.getPlayers().size());
+	}
+
+}
@@ -0,0 +1,79 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TimingWheelTest {
+
+	private static final long TICK_MILLIS = 5;
+	private static final int TIMEOUTS = 2000;
+
+	private TimingWheel wheel;
+
+	@Before
+	public void setUp() {
+		// A small wheel, so that many timeouts go round it more than once
+		wheel = new TimingWheel(TICK_MILLIS, 8, "test-timers");
+	}
+
+	@After
+	public void tearDown() {
+		wheel.close();
+	}
+
+	@Test
+	public void testTimeoutsFireOnTimeUnlessCancelled() throws InterruptedException {
+		Random random = new Random(1);
+		CountDownLatch fired = new CountDownLatch(TIMEOUTS / 2);
+		AtomicInteger early = new AtomicInteger();
+		AtomicInteger cancelledFired = new AtomicInteger();
+		AtomicLong latest = new AtomicLong();
+		TimingWheel.Timeout[] timeouts = new TimingWheel.Timeout[TIMEOUTS];
+		for (int i = 0; i < TIMEOUTS; i++) {
+			// Far enough for the cancellations below to come first
+			long delay = 100 + random.nextInt(200);
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+			boolean keep = i % 2 == 0;
+			timeouts[i] = wheel.schedule(() -> {
+				long now = System.nanoTime();
+				if (!keep) {
+					cancelledFired.incrementAndGet();
+				}
+				if (now < deadline) {
+					early.incrementAndGet();
+				}
+				latest.accumulateAndGet(now - deadline, Math::max);
+				fired.countDown();
+			}, delay, TimeUnit.MILLISECONDS);
+		}
+		for (int i = 1; i < TIMEOUTS; i += 2) {
+			assertTrue(timeouts[i].cancel());
+		}
+		assertTrue(fired.await(5, TimeUnit.SECONDS));
+		assertEquals(0, early.get());
+		assertEquals(0, cancelledFired.get());
+		// Generous, since the machine may be busy
+		assertTrue(latest.get() < TimeUnit.MILLISECONDS.toNanos(100));
+		assertTrue(timeouts[0].isExpired());
+		assertFalse(timeouts[0].cancel());
+
+		// The cancelled timeouts are dropped as the hand passes over them
+		long end = System.currentTimeMillis() + 1000;
+		while (wheel.getPendingCount() > 0 && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, wheel.getPendingCount());
+	}
+
+}
@@ -0,0 +1,48 @@
+package simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import card.personality.PersonalityCard;
+
+public class SimulationTest {
+
+	private static final int GAMES = 60;
+
+	@Test
+	public void testSimulation() {
+		Simulation simulation = new Simulation(GAMES, 3).setPublishEvery(5);
+		SimulationStats stats = simulation.run();
+		assertEquals(GAMES, stats.getGames());
+		assertEquals(GAMES, simulation.getProgress().getGames());
+		assertEquals(GAMES, stats.getTurns().getCount());
+		assertEquals(GAMES * 4, stats.getPoints().getCount());
+		assertTrue(stats.getTurnStats().getMean() > 0);
+		assertTrue(stats.getMoneyAfterTurn(0).getCount() > 0);
+
+		long players = 0;
+		long wins = 0;
+		for (PersonalityCard c : PersonalityCard.values()) {
+			players += stats.getGames(c);
+			wins += stats.getWins(c);
+			double[] interval = stats.getWinRateInterval(c);
+			assertTrue(interval[0] <= stats.getWinRate(c) && stats.getWinRate(c) <= interval[1]);
+		}
+		assertEquals(stats.getFinishedGames() * 4, players);
+		assertTrue(wins >= stats.getFinishedGames());
+	}
+
+	@Test
+	public void testReproducible() {
+		SimulationStats once = new Simulation(20, 1).run();
+		SimulationStats again = new Simulation(20, 4).run();
+		assertEquals(once.getTurnStats().getMean(), again.getTurnStats().getMean(), 1e-9);
+		assertEquals(once.getPoints().getQuantile(0.5), again.getPoints().getQuantile(0.5));
+		for (PersonalityCard c : PersonalityCard.values()) {
+			assertEquals(once.getWins(c), again.getWins(c));
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+package telemetry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import replay.RandomUserInterface;
+
+public class TableEventTest {
+
+	private static final int TURNS = 40;
+
+	private PrintStream out;
+
+	@Before
+	public void setUp() {
+		// The game prints as it is played
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+	}
+
+	@After
+	public void tearDown() {
+		System.setOut(out);
+	}
+
+	private static void play(int tableId) {
+		Die.getDie().setSeed(5);
+		Game game = new Game();
+		game.setTableId(tableId);
+		game.setUI(new RandomUserInterface(5));
+		Controller controller = new Controller(game);
+		controller.newGame(3, new String[] { "George", "Dimitri", "Ross" });
+		for (int i = 0; i < TURNS; i++) {
+			if (controller.playTurn(controller.advanceToNextTurn())) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * The cards and symbols played are recorded with their table and duration.
+	 */
+	@Test
+	public void testGameEventsRecorded() throws Exception {
+		Path file = Files.createTempFile("game", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(CardPlayedEvent.class);
+			recording.enable(SymbolPerformedEvent.class);
+			recording.enable(RandomEventResolvedEvent.class);
+			recording.start();
+			play(7);
+			recording.stop();
+			recording.dump(file);
+		}
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		Files.delete(file);
+
+		Map<String, Integer> counts = new HashMap<>();
+		for (RecordedEvent e : events) {
+			counts.merge(e.getEventType().getName(), 1, Integer::sum);
+			assertEquals(7, e.getInt("tableId"));
+			assertFalse(e.getDuration().isNegative());
+			assertTrue(e.getString("player") != null);
+		}
+		assertTrue(counts.getOrDefault("ankhmorpork.CardPlayed", 0) > 0);
+		assertTrue(counts.getOrDefault("ankhmorpork.SymbolPerformed", 0) > 0);
+	}
+
+	/**
+	 * With no recording, nothing is committed.
+	 */
+	@Test
+	public void testNotRecorded() {
+		CardPlayedEvent event = new CardPlayedEvent();
+		event.begin();
+		event.end();
+		assertFalse(event.shouldCommit());
+	}
+
+}
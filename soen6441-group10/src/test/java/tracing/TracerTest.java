@@ -0,0 +1,145 @@
+package tracing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import gameplay.Controller;
+import gameplay.Die;
+import gameplay.Game;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import replay.RandomUserInterface;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class TracerTest {
+
+	private static final String[] NAMES = { "George", "Dimitri", "Ross", "Nick" };
+
+	private PrintStream out;
+
+	@Before
+	public void setUp() {
+		// The games print as they are played
+		out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+	}
+
+	@After
+	public void tearDown() {
+		Tracer.setSampling(0);
+		System.setOut(out);
+	}
+
+	private static void play(int tableId, int turns) {
+		Die.getDie().setSeed(tableId);
+		Game game = new Game();
+		game.setTableId(tableId);
+		game.setUI(new RandomUserInterface(tableId));
+		Controller controller = new Controller(game);
+		controller.newGame(NAMES.length, NAMES);
+		for (int turn = 0; turn < turns; turn++) {
+			if (controller.playTurn(controller.advanceToNextTurn())) {
+				break;
+			}
+		}
+	}
+
+	private static List<Span> turns(List<Span> spans) {
+		List<Span> turns = new ArrayList<>();
+		for (Span s : spans) {
+			if (s.getKind() == SpanKind.TURN) {
+				turns.add(s);
+			}
+		}
+		return turns;
+	}
+
+	@Test
+	public void testSamplingOff() {
+		play(4801, 10);
+		assertTrue(Tracer.getSpans(4801).isEmpty());
+	}
+
+	@Test
+	public void testSpanTree() throws Exception {
+		Tracer.setSampling(1);
+		play(4802, 10);
+		List<Span> spans = Tracer.getSpans(4802);
+		List<Span> turns = turns(spans);
+		assertTrue(!turns.isEmpty());
+
+		Set<SpanKind> kinds = EnumSet.noneOf(SpanKind.class);
+		for (Span s : spans) {
+			kinds.add(s.getKind());
+			if (s.getKind() == SpanKind.TURN) {
+				assertEquals(0, s.getDepth());
+				continue;
+			}
+			assertTrue(s.getDepth() > 0);
+			// Within its turn
+			boolean within = false;
+			for (Span t : turns) {
+				within |= t.getTurn() == s.getTurn() && t.getStartNanos() <= s.getStartNanos()
+						&& s.getStartNanos() + s.getDurationNanos() <= t.getStartNanos() + t.getDurationNanos();
+			}
+			assertTrue(s + " is not within its turn", within);
+		}
+		assertTrue(kinds.containsAll(EnumSet.of(SpanKind.CARD_CHOICE, SpanKind.CARD, SpanKind.RESTORE_HAND,
+				SpanKind.DRAW, SpanKind.WIN_CHECK)));
+
+		StringWriter json = new StringWriter();
+		ChromeTrace.write(spans, json);
+		JsonArray events = new JsonParser().parse(json.toString()).getAsJsonObject().getAsJsonArray("traceEvents");
+		assertEquals(spans.size(), events.size());
+		JsonObject first = events.get(0).getAsJsonObject();
+		assertEquals("X", first.get("ph").getAsString());
+		assertEquals(4802, first.get("pid").getAsInt());
+	}
+
+	@Test
+	public void testSampling() throws Exception {
+		Tracer.setSampling(3);
+		// On a thread of its own, whose turns are counted from the first
+		Thread t = new Thread(() -> play(4803, 9));
+		t.start();
+		t.join();
+		assertEquals(3, turns(Tracer.getSpans(4803)).size());
+	}
+
+	@Test
+	public void testRing() {
+		TraceBuffer buffer = new TraceBuffer(1, 4);
+		buffer.beginTurn(7, 1, 0);
+		for (int i = 0; i < 10; i++) {
+			buffer.begin();
+			buffer.end(SpanKind.SYMBOL, "S" + i, i, i + 1);
+		}
+		buffer.endTurn("George", 0, 20);
+
+		List<Span> spans = new ArrayList<>();
+		buffer.read(7, spans);
+		// The oldest slot may be being written over
+		assertEquals(3, spans.size());
+		assertEquals("S8", spans.get(0).getName());
+		assertEquals(SpanKind.TURN, spans.get(2).getKind());
+		assertTrue(!buffer.isTracing());
+	}
+
+}